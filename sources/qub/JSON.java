@@ -66,7 +66,8 @@ public interface JSON
     }
 
     /**
-     * Parse a JSONSegment from the provided File's content.
+     * Parse a JSONSegment from the provided File's content. Files on the Java file system are read
+     * through memory-mapped segments instead of being copied through heap buffers.
      * @param file The file to parse.
      * @return The JSONSegment parsed from the provided File's content.
      */
@@ -74,9 +75,13 @@ public interface JSON
     {
         PreCondition.assertNotNull(file, "file");
 
-        return Result.createUsing(
-            () -> ByteReadStream.buffer(file.getContentReadStream().await()),
-            (ByteReadStream byteReadStream) -> JSON.parse(byteReadStream).await());
+        return JSONMappedFileInput.isSupported(file)
+            ? Result.createUsing(
+                () -> JSONMappedFileInput.create(file),
+                (JSONMappedFileInput byteInput) -> JSON.parse(JSON.startTokenizer(JSONTokenizer.create(JSONUTF8TokenizerInput.create(byteInput)))).await())
+            : Result.createUsing(
+                () -> ByteReadStream.buffer(file.getContentReadStream().await()),
+                (ByteReadStream byteReadStream) -> JSON.parse(byteReadStream).await());
     }
 
     /**
@@ -88,7 +93,22 @@ public interface JSON
     {
         PreCondition.assertNotNull(bytes, "bytes");
 
-        return JSON.parse(CharacterReadStream.create(bytes));
+        return JSON.parse(JSON.startTokenizer(JSONTokenizer.create(bytes)));
+    }
+
+    /**
+     * Parse a JSONSegment from the provided bytes. The limits in the provided JSONParseOptions are
+     * checked as the bytes are read, so bytes that break a limit aren't read any further.
+     * @param bytes The bytes to parse into a JSONSegment.
+     * @param options The limits to enforce while parsing.
+     * @return The parsed JSONSegment.
+     */
+    static Result<JSONSegment> parse(ByteReadStream bytes, JSONParseOptions options)
+    {
+        PreCondition.assertNotNull(bytes, "bytes");
+        PreCondition.assertNotNull(options, "options");
+
+        return Result.create(() -> JSON.parse(JSON.startTokenizer(JSONTokenizer.create(bytes).setParseOptions(options))).await());
     }
 
     /**
@@ -104,7 +124,9 @@ public interface JSON
     }
 
     /**
-     * Parse a JSONSegment from the provided text.
+     * Parse a JSONSegment from the provided text. The parsed strings and numbers refer to the
+     * tokenizer's character blocks until their values are first read, so a parsed tree keeps
+     * those blocks from being garbage collected until then.
      * @param text The text to parse into a JSONSegment.
      * @return The parsed JSONSegment.
      */
@@ -112,7 +134,69 @@ public interface JSON
     {
         PreCondition.assertNotNull(text, "text");
 
-        return JSON.parse(Strings.iterable(text));
+        return JSON.parse(JSON.createTokenizer(text));
+    }
+
+    /**
+     * Parse a JSONSegment from the provided text. The limits in the provided JSONParseOptions are
+     * checked as the text is parsed, so text that breaks a limit isn't parsed any further.
+     * @param text The text to parse into a JSONSegment.
+     * @param options The limits to enforce while parsing.
+     * @return The parsed JSONSegment.
+     */
+    static Result<JSONSegment> parse(String text, JSONParseOptions options)
+    {
+        PreCondition.assertNotNull(text, "text");
+        PreCondition.assertNotNull(options, "options");
+
+        return Result.create(() -> JSON.parse(JSON.startTokenizer(JSONTokenizer.create(text).setParseOptions(options))).await());
+    }
+
+    /**
+     * Parse a JSONSegment from the provided text in two stages. The first stage indexes the
+     * offsets of the text's structural characters, strings, numbers, and literals, and the second
+     * stage builds the JSONSegment tree from that index. Text that the index doesn't model (such
+     * as comments) or that doesn't parse is parsed again with a JSONTokenizer, so the result and
+     * any errors are the same as JSON.parse(String).
+     * @param text The text to parse into a JSONSegment.
+     * @return The parsed JSONSegment.
+     */
+    static Result<JSONSegment> parseIndexed(String text)
+    {
+        PreCondition.assertNotNull(text, "text");
+
+        return JSON.parseIndexed(text.toCharArray());
+    }
+
+    /**
+     * Parse a JSONSegment from the provided characters in two stages. The first stage indexes the
+     * offsets of the characters' structural characters, strings, numbers, and literals, and the
+     * second stage builds the JSONSegment tree from that index. Characters that the index doesn't
+     * model (such as comments) or that don't parse are parsed again with a JSONTokenizer, so the
+     * result and any errors are the same as JSON.parse(String).
+     * @param characters The characters to parse into a JSONSegment.
+     * @return The parsed JSONSegment.
+     */
+    static Result<JSONSegment> parseIndexed(char[] characters)
+    {
+        PreCondition.assertNotNull(characters, "characters");
+
+        return Result.create(() ->
+        {
+            JSONSegment result;
+            try
+            {
+                result = JSONIndexedParser.parse(JSONStructuralIndex.create(characters)).await();
+            }
+            catch (ParseException e)
+            {
+                result = JSON.parse(JSON.startTokenizer(JSONTokenizer.create(characters))).await();
+            }
+
+            PostCondition.assertNotNull(result, "result");
+
+            return result;
+        });
     }
 
     /**
@@ -157,46 +241,224 @@ public interface JSON
                 throw new ParseException("No JSON tokens found.");
             }
 
-            JSONSegment result;
-            switch (tokenizer.getCurrent().getType())
-            {
-                case LeftCurlyBracket:
-                    result = JSON.parseObject(tokenizer).await();
-                    break;
+            final JSONSegment result = JSONTreeParser.parse(tokenizer);
 
-                case LeftSquareBracket:
-                    result = JSON.parseArray(tokenizer).await();
-                    break;
+            PostCondition.assertNotNull(result, "result");
 
-                case Boolean:
-                    result = JSONBoolean.get(JSONToken.falseToken != JSON.takeCurrent(tokenizer));
-                    break;
+            return result;
+        });
+    }
 
-                case Null:
-                    result = JSONNull.segment;
-                    JSON.next(tokenizer);
-                    break;
+    /**
+     * Parse the back-to-back JSON values in the provided text, such as {"a":1}{"a":2} or
+     * whitespace-separated records. The values are parsed as they are iterated.
+     * @param text The text that contains the values.
+     * @return An Iterator that parses each of the values.
+     */
+    static JSONDocumentIterator parseDocuments(String text)
+    {
+        PreCondition.assertNotNull(text, "text");
 
-                case Number:
-                    result = JSONNumber.get(JSON.takeCurrent(tokenizer).getText());
-                    break;
+        return JSONDocumentIterator.create(text);
+    }
 
-                case QuotedString:
-                    result = JSONString.getFromQuoted(JSON.takeCurrent(tokenizer).getText());
-                    break;
+    /**
+     * Parse the back-to-back JSON values in the provided bytes, such as {"a":1}{"a":2} or
+     * whitespace-separated records. The values are parsed as they are iterated.
+     * @param bytes The UTF-8 encoded bytes that contain the values.
+     * @return An Iterator that parses each of the values.
+     */
+    static JSONDocumentIterator parseDocuments(ByteReadStream bytes)
+    {
+        PreCondition.assertNotNull(bytes, "bytes");
+
+        return JSONDocumentIterator.create(bytes);
+    }
 
-                default:
-                    throw new ParseException("Unexpected JSON token: " + tokenizer.getCurrent());
+    /**
+     * Parse the back-to-back JSON values that the provided tokenizer produces. The values are
+     * parsed as they are iterated, and the tokenizer is reused for all of them.
+     * @param tokenizer The tokenizer that produces the values' tokens.
+     * @return An Iterator that parses each of the values.
+     */
+    static JSONDocumentIterator parseDocuments(JSONTokenizer tokenizer)
+    {
+        PreCondition.assertNotNull(tokenizer, "tokenizer");
+
+        return JSONDocumentIterator.create(tokenizer);
+    }
+
+    /**
+     * Pass each part of the provided File's content to the provided handler without building a
+     * JSONSegment tree. Files on the Java file system are read through memory-mapped segments.
+     * @param file The file to parse.
+     * @param handler The handler to pass the parts of the content to.
+     * @return Whether or not the whole content was read. This is false if the handler stopped the
+     * read.
+     */
+    static Result<Boolean> parse(File file, JSONHandler handler)
+    {
+        PreCondition.assertNotNull(file, "file");
+        PreCondition.assertNotNull(handler, "handler");
+
+        return JSONMappedFileInput.isSupported(file)
+            ? Result.createUsing(
+                () -> JSONMappedFileInput.create(file),
+                (JSONMappedFileInput byteInput) -> JSON.parse(JSONTokenizer.create(JSONUTF8TokenizerInput.create(byteInput)), handler).await())
+            : Result.createUsing(
+                () -> ByteReadStream.buffer(file.getContentReadStream().await()),
+                (ByteReadStream byteReadStream) -> JSON.parse(byteReadStream, handler).await());
+    }
+
+    /**
+     * Pass each part of the provided bytes to the provided handler without building a
+     * JSONSegment tree.
+     * @param bytes The bytes to parse.
+     * @param handler The handler to pass the parts of the content to.
+     * @return Whether or not the whole content was read. This is false if the handler stopped the
+     * read.
+     */
+    static Result<Boolean> parse(ByteReadStream bytes, JSONHandler handler)
+    {
+        PreCondition.assertNotNull(bytes, "bytes");
+        PreCondition.assertNotNull(handler, "handler");
+
+        return JSON.parse(JSONTokenizer.create(bytes), handler);
+    }
+
+    /**
+     * Pass each part of the provided text to the provided handler without building a JSONSegment
+     * tree.
+     * @param text The text to parse.
+     * @param handler The handler to pass the parts of the content to.
+     * @return Whether or not the whole content was read. This is false if the handler stopped the
+     * read.
+     */
+    static Result<Boolean> parse(String text, JSONHandler handler)
+    {
+        PreCondition.assertNotNull(text, "text");
+        PreCondition.assertNotNull(handler, "handler");
+
+        return JSON.parse(JSONTokenizer.create(text), handler);
+    }
+
+    /**
+     * Pass each part of the content of the provided tokenizer to the provided handler without
+     * building a JSONSegment tree. Every top-level value in the content is passed to the handler.
+     * @param tokenizer The tokenizer that hasn't started yet.
+     * @param handler The handler to pass the parts of the content to.
+     * @return Whether or not the whole content was read. This is false if the handler stopped the
+     * read.
+     */
+    static Result<Boolean> parse(JSONTokenizer tokenizer, JSONHandler handler)
+    {
+        PreCondition.assertNotNull(tokenizer, "tokenizer");
+        PreCondition.assertFalse(tokenizer.hasStarted(), "tokenizer.hasStarted()");
+        PreCondition.assertNotNull(handler, "handler");
+
+        return Result.create(() ->
+        {
+            final JSONReader reader = JSONReader.create(tokenizer);
+            if (!reader.next())
+            {
+                throw new ParseException("No JSON tokens found.");
             }
+            return reader.read(handler);
+        });
+    }
 
-            PostCondition.assertNotNull(result, "result");
+    /**
+     * Parse only the values of the provided File's top-level object that the provided JSON
+     * Pointers refer to. Files on the Java file system are read through memory-mapped segments.
+     * @param file The file to parse.
+     * @param jsonPointers The JSON Pointers of the values to parse. A "*" reference token matches
+     * every property or element.
+     * @return A JSONObject that contains only the selected values and the objects and arrays that
+     * lead to them.
+     */
+    static Result<JSONObject> parse(File file, Iterable<String> jsonPointers)
+    {
+        PreCondition.assertNotNull(file, "file");
+        PreCondition.assertNotNull(jsonPointers, "jsonPointers");
+
+        return JSONMappedFileInput.isSupported(file)
+            ? Result.createUsing(
+                () -> JSONMappedFileInput.create(file),
+                (JSONMappedFileInput byteInput) -> JSON.parse(JSONTokenizer.create(JSONUTF8TokenizerInput.create(byteInput)), jsonPointers).await())
+            : Result.createUsing(
+                () -> ByteReadStream.buffer(file.getContentReadStream().await()),
+                (ByteReadStream byteReadStream) -> JSON.parse(byteReadStream, jsonPointers).await());
+    }
 
-            return result;
+    /**
+     * Parse only the values of the provided bytes' top-level object that the provided JSON
+     * Pointers refer to.
+     * @param bytes The bytes to parse.
+     * @param jsonPointers The JSON Pointers of the values to parse. A "*" reference token matches
+     * every property or element.
+     * @return A JSONObject that contains only the selected values and the objects and arrays that
+     * lead to them.
+     */
+    static Result<JSONObject> parse(ByteReadStream bytes, Iterable<String> jsonPointers)
+    {
+        PreCondition.assertNotNull(bytes, "bytes");
+        PreCondition.assertNotNull(jsonPointers, "jsonPointers");
+
+        return JSON.parse(JSONTokenizer.create(bytes), jsonPointers);
+    }
+
+    /**
+     * Parse only the values of the provided text's top-level object that the provided JSON
+     * Pointers refer to.
+     * @param text The text to parse.
+     * @param jsonPointers The JSON Pointers of the values to parse. A "*" reference token matches
+     * every property or element.
+     * @return A JSONObject that contains only the selected values and the objects and arrays that
+     * lead to them.
+     */
+    static Result<JSONObject> parse(String text, Iterable<String> jsonPointers)
+    {
+        PreCondition.assertNotNull(text, "text");
+        PreCondition.assertNotNull(jsonPointers, "jsonPointers");
+
+        return JSON.parse(JSONTokenizer.create(text), jsonPointers);
+    }
+
+    /**
+     * Parse only the values of the provided tokenizer's top-level object that the provided JSON
+     * Pointers refer to. Every other value is skipped without being built into a JSONSegment.
+     * @param tokenizer The tokenizer that hasn't started yet.
+     * @param jsonPointers The JSON Pointers of the values to parse. A "*" reference token matches
+     * every property or element.
+     * @return A JSONObject that contains only the selected values and the objects and arrays that
+     * lead to them. Selected array elements keep their indexes, so the unselected elements before
+     * them are nulls.
+     */
+    static Result<JSONObject> parse(JSONTokenizer tokenizer, Iterable<String> jsonPointers)
+    {
+        PreCondition.assertNotNull(tokenizer, "tokenizer");
+        PreCondition.assertFalse(tokenizer.hasStarted(), "tokenizer.hasStarted()");
+        PreCondition.assertNotNull(jsonPointers, "jsonPointers");
+
+        return Result.create(() ->
+        {
+            final JSONSelector selector = JSONSelector.create(jsonPointers);
+            final JSONReader reader = JSONReader.create(tokenizer);
+            if (!reader.next())
+            {
+                throw new ParseException("Missing object left curly bracket ('{').");
+            }
+            else if (reader.getCurrent() != JSONReaderEvent.StartObject)
+            {
+                throw new ParseException("Expected object left curly bracket ('{').");
+            }
+            return selector.select(reader);
         });
     }
 
     /**
-     * Parse a JSONObject from the provided File's content.
+     * Parse a JSONObject from the provided File's content. Files on the Java file system are read
+     * through memory-mapped segments instead of being copied through heap buffers.
      * @param file The file to parse.
      * @return The JSONObject parsed from the provided File's content.
      */
@@ -204,9 +466,13 @@ public interface JSON
     {
         PreCondition.assertNotNull(file, "file");
 
-        return Result.createUsing(
-            () -> ByteReadStream.buffer(file.getContentReadStream().await()),
-            (ByteReadStream byteReadStream) -> JSON.parseObject(byteReadStream).await());
+        return JSONMappedFileInput.isSupported(file)
+            ? Result.createUsing(
+                () -> JSONMappedFileInput.create(file),
+                (JSONMappedFileInput byteInput) -> JSON.parseObject(JSON.startTokenizer(JSONTokenizer.create(JSONUTF8TokenizerInput.create(byteInput)))).await())
+            : Result.createUsing(
+                () -> ByteReadStream.buffer(file.getContentReadStream().await()),
+                (ByteReadStream byteReadStream) -> JSON.parseObject(byteReadStream).await());
     }
 
     /**
@@ -218,7 +484,7 @@ public interface JSON
     {
         PreCondition.assertNotNull(bytes, "bytes");
 
-        return JSON.parseObject(CharacterReadStream.create(bytes));
+        return JSON.parseObject(JSON.startTokenizer(JSONTokenizer.create(bytes)));
     }
 
     /**
@@ -242,7 +508,7 @@ public interface JSON
     {
         PreCondition.assertNotNull(text, "text");
 
-        return JSON.parseObject(Strings.iterable(text));
+        return JSON.parseObject(JSON.createTokenizer(text));
     }
 
     /**
@@ -289,77 +555,67 @@ public interface JSON
                 throw new ParseException("Expected object left curly bracket ('{').");
             }
 
-            JSON.takeCurrent(tokenizer);
+            return (JSONObject)JSONTreeParser.parse(tokenizer);
+        });
+    }
 
-            final List<JSONProperty> properties = List.create();
-            JSONToken rightCurlyBracket = null;
-            boolean expectProperty = true;
-            while (tokenizer.hasCurrent() && rightCurlyBracket == null)
-            {
-                switch (tokenizer.getCurrent().getType())
-                {
-                    case QuotedString:
-                        if (!expectProperty)
-                        {
-                            throw new ParseException("Expected object property separator (',') or right curly bracket ('}').");
-                        }
-                        properties.addAll(JSON.parseObjectProperty(tokenizer).await());
-                        expectProperty = false;
-                        break;
+    /**
+     * Parse a JSONShapedObject with the provided shape from the provided text. Properties that
+     * aren't part of the shape are skipped.
+     * @param text The text to parse into a JSONShapedObject.
+     * @param shape The expected shape of the object.
+     * @return The parsed JSONShapedObject.
+     */
+    static Result<JSONShapedObject> parseObject(String text, JSONShape shape)
+    {
+        PreCondition.assertNotNull(text, "text");
+        PreCondition.assertNotNull(shape, "shape");
 
-                    case Comma:
-                        if (expectProperty)
-                        {
-                            if (properties.any())
-                            {
-                                throw new ParseException("Expected quoted-string object property name.");
-                            }
-                            else
-                            {
-                                throw new ParseException("Expected quoted-string object property name or right curly bracket ('}').");
-                            }
-                        }
-                        JSON.next(tokenizer);
-                        expectProperty = true;
-                        break;
+        return JSON.parseObject(JSON.createTokenizer(text), shape);
+    }
 
-                    case RightCurlyBracket:
-                        if (properties.any() && expectProperty)
-                        {
-                            throw new ParseException("Expected quoted-string object property name.");
-                        }
-                        rightCurlyBracket = JSON.takeCurrent(tokenizer);
-                        break;
+    /**
+     * Parse a JSONShapedObject with the provided shape from the provided bytes. Properties that
+     * aren't part of the shape are skipped.
+     * @param bytes The bytes to parse into a JSONShapedObject.
+     * @param shape The expected shape of the object.
+     * @return The parsed JSONShapedObject.
+     */
+    static Result<JSONShapedObject> parseObject(ByteReadStream bytes, JSONShape shape)
+    {
+        PreCondition.assertNotNull(bytes, "bytes");
+        PreCondition.assertNotNull(shape, "shape");
 
-                    default:
-                        if (properties.any())
-                        {
-                            if (expectProperty)
-                            {
-                                throw new ParseException("Expected quoted-string object property name.");
-                            }
-                            else
-                            {
-                                throw new ParseException("Expected object property separator (',') or right curly bracket ('}').");
-                            }
-                        }
-                        else
-                        {
-                            throw new ParseException("Expected quoted-string object property name or right curly bracket ('}').");
-                        }
-                }
-            }
+        return JSON.parseObject(JSON.startTokenizer(JSONTokenizer.create(bytes)), shape);
+    }
+
+    /**
+     * Parse a JSONShapedObject with the provided shape from the provided JSONTokenizer. Each
+     * property name is looked up in the shape's perfect hash straight from the name token's
+     * characters, and each value is stored in its property's slot.
+     * @param tokenizer The tokenizer that produces JSONTokens.
+     * @param shape The expected shape of the object.
+     * @return The parsed JSONShapedObject.
+     */
+    static Result<JSONShapedObject> parseObject(JSONTokenizer tokenizer, JSONShape shape)
+    {
+        PreCondition.assertNotNull(tokenizer, "tokenizer");
+        PreCondition.assertNotNull(shape, "shape");
+
+        return Result.create(() ->
+        {
+            JSON.ensureHasStarted(tokenizer);
 
-            if (properties.any() && expectProperty)
+            if (!tokenizer.hasCurrent())
             {
-                throw new ParseException("Missing object property.");
+                throw new ParseException("Missing object left curly bracket ('{').");
             }
-            else if (rightCurlyBracket == null)
+            else if (tokenizer.getCurrent().getType() != JSONTokenType.LeftCurlyBracket)
             {
-                throw new ParseException("Missing object right curly bracket ('}').");
+                throw new ParseException("Expected object left curly bracket ('{').");
             }
 
-            return JSONObject.create(properties);
+            return shape.parse(tokenizer);
         });
     }
 
@@ -372,7 +628,7 @@ public interface JSON
     {
         PreCondition.assertNotNull(text, "text");
 
-        return JSON.parseObjectProperty(Strings.iterable(text));
+        return JSON.parseObjectProperty(JSON.createTokenizer(text));
     }
 
     /**
@@ -419,8 +675,7 @@ public interface JSON
                 throw new ParseException("Expected object property name.");
             }
 
-            final String quotedPropertyName = JSON.takeCurrent(tokenizer).getText();
-            final String propertyName = Strings.unquote(quotedPropertyName);
+            final String propertyName = JSON.takeCurrent(tokenizer).getUnquotedText(tokenizer.getNameTable());
             if (Strings.isNullOrEmpty(propertyName))
             {
                 throw new ParseException("Expected object property name to be not empty.");
@@ -453,7 +708,7 @@ public interface JSON
                     case QuotedString:
                     case LeftCurlyBracket:
                     case LeftSquareBracket:
-                        propertyValue = JSON.parse(tokenizer).await();
+                        propertyValue = JSONTreeParser.parse(tokenizer);
                         break;
 
                     default:
@@ -474,7 +729,7 @@ public interface JSON
     {
         PreCondition.assertNotNull(text, "text");
 
-        return JSON.parseArray(Strings.iterable(text));
+        return JSON.parseArray(JSON.createTokenizer(text));
     }
 
     /**
@@ -521,77 +776,253 @@ public interface JSON
                 throw new ParseException("Expected array left square bracket ('[').");
             }
 
-            JSON.takeCurrent(tokenizer);
+            return (JSONArray)JSONTreeParser.parse(tokenizer);
+        });
+    }
+
+    /**
+     * Parse a lazy JSONObject from the provided text. The returned JSONObject and the arrays and
+     * objects that it contains each record where their contents are in the text, and they only
+     * parse those contents the first time that they are accessed. Only the brackets, strings, and
+     * comments of the text are checked here, so other errors are thrown as ParseExceptions when
+     * the invalid array or object is first accessed.
+     * @param text The text to parse into a JSONObject.
+     * @return The lazy JSONObject.
+     */
+    static Result<JSONObject> parseObjectLazy(String text)
+    {
+        PreCondition.assertNotNull(text, "text");
 
-            final List<JSONSegment> elements = List.create();
+        return JSON.parseObjectLazy(text.toCharArray());
+    }
 
-            JSONToken rightSquareBracket = null;
-            boolean expectElement = true;
-            while (tokenizer.hasCurrent() && rightSquareBracket == null)
+    /**
+     * Parse a lazy JSONObject from the provided characters. The returned JSONObject and the
+     * arrays and objects that it contains each record where their contents are in the
+     * characters, and they only parse those contents the first time that they are accessed. The
+     * characters are kept until then, so they must not be modified.
+     * @param characters The characters to parse into a JSONObject.
+     * @return The lazy JSONObject.
+     */
+    static Result<JSONObject> parseObjectLazy(char[] characters)
+    {
+        PreCondition.assertNotNull(characters, "characters");
+
+        return Result.create(() ->
+        {
+            final JSONTokenizer tokenizer = JSON.startTokenizer(JSONTokenizer.create(characters));
+            if (!tokenizer.hasCurrent())
             {
-                switch (tokenizer.getCurrent().getType())
-                {
-                    case Boolean:
-                    case Null:
-                    case Number:
-                    case QuotedString:
-                    case LeftCurlyBracket:
-                    case LeftSquareBracket:
-                        if (!expectElement)
-                        {
-                            throw new ParseException("Expected array element separator (',') or right square bracket (']').");
-                        }
-                        elements.addAll(JSON.parse(tokenizer).await());
-                        expectElement = false;
-                        break;
+                throw new ParseException("Missing object left curly bracket ('{').");
+            }
+            else if (tokenizer.getCurrent().getType() != JSONTokenType.LeftCurlyBracket)
+            {
+                throw new ParseException("Expected object left curly bracket ('{').");
+            }
 
-                    case Comma:
-                        if (expectElement)
-                        {
-                            throw new ParseException("Expected array element.");
-                        }
-                        JSON.next(tokenizer);
-                        expectElement = true;
-                        break;
+            final int startIndex = tokenizer.getTokenStartIndex();
+            tokenizer.skipValue();
+            return JSONObject.createLazy(characters, startIndex, tokenizer.getTokenStartIndex() + 1 - startIndex, tokenizer.getNameTable());
+        });
+    }
 
-                    case RightSquareBracket:
-                        if (elements.any() && expectElement)
-                        {
-                            throw new ParseException("Expected array element.");
-                        }
-                        rightSquareBracket = JSON.takeCurrent(tokenizer);
-                        expectElement = false;
-                        break;
+    /**
+     * Parse the top-level JSONArray in the provided File's content on the provided number of
+     * threads. Files on the Java file system are read through memory-mapped segments.
+     * @param file The file to parse.
+     * @param parallelism The number of threads that parse the array's elements.
+     * @return The parsed JSONArray.
+     */
+    static Result<JSONArray> parseArrayParallel(File file, int parallelism)
+    {
+        PreCondition.assertNotNull(file, "file");
+        PreCondition.assertGreaterThanOrEqualTo(parallelism, 1, "parallelism");
+
+        return JSONMappedFileInput.isSupported(file)
+            ? Result.createUsing(
+                () -> JSONMappedFileInput.create(file),
+                (JSONMappedFileInput byteInput) -> JSONParallelArrayParser.parse(byteInput, parallelism))
+            : Result.createUsing(
+                () -> ByteReadStream.buffer(file.getContentReadStream().await()),
+                (ByteReadStream byteReadStream) -> JSON.parseArrayParallel(byteReadStream, parallelism).await());
+    }
 
-                    default:
-                        throw new ParseException("Unexpected array element token: " + Strings.escapeAndQuote(tokenizer.getCurrent()));
-                }
-            }
+    /**
+     * Parse the top-level JSONArray in the provided bytes on the provided number of threads. A
+     * single thread only finds where the array's elements start and end, and the elements are
+     * parsed in chunks on a ForkJoinPool.
+     * @param bytes The UTF-8 encoded bytes to parse into a JSONArray.
+     * @param parallelism The number of threads that parse the array's elements.
+     * @return The parsed JSONArray.
+     */
+    static Result<JSONArray> parseArrayParallel(ByteReadStream bytes, int parallelism)
+    {
+        PreCondition.assertNotNull(bytes, "bytes");
+        PreCondition.assertGreaterThanOrEqualTo(parallelism, 1, "parallelism");
 
-            if (elements.any() && expectElement)
+        return Result.create(() -> JSONParallelArrayParser.parse(JSONByteInput.create(bytes), parallelism));
+    }
+
+    /**
+     * Parse the top-level JSONArray in the provided text on the provided number of threads. A
+     * single thread only finds where the array's elements start and end, and the elements are
+     * parsed in chunks on a ForkJoinPool. The text is encoded to UTF-8 as it is scanned, so its
+     * whole encoding is never held in memory at once.
+     * @param text The text to parse into a JSONArray.
+     * @param parallelism The number of threads that parse the array's elements.
+     * @return The parsed JSONArray.
+     */
+    static Result<JSONArray> parseArrayParallel(String text, int parallelism)
+    {
+        PreCondition.assertNotNull(text, "text");
+        PreCondition.assertGreaterThanOrEqualTo(parallelism, 1, "parallelism");
+
+        return Result.create(() -> JSONParallelArrayParser.parse(JSONByteInput.create(text), parallelism));
+    }
+
+    /**
+     * Parse a lazy JSONArray from the provided text. The returned JSONArray and the arrays and
+     * objects that it contains each record where their contents are in the text, and they only
+     * parse those contents the first time that they are accessed. Only the brackets, strings, and
+     * comments of the text are checked here, so other errors are thrown as ParseExceptions when
+     * the invalid array or object is first accessed.
+     * @param text The text to parse into a JSONArray.
+     * @return The lazy JSONArray.
+     */
+    static Result<JSONArray> parseArrayLazy(String text)
+    {
+        PreCondition.assertNotNull(text, "text");
+
+        return JSON.parseArrayLazy(text.toCharArray());
+    }
+
+    /**
+     * Parse a lazy JSONArray from the provided characters. The returned JSONArray and the arrays
+     * and objects that it contains each record where their contents are in the characters, and
+     * they only parse those contents the first time that they are accessed. The characters are
+     * kept until then, so they must not be modified.
+     * @param characters The characters to parse into a JSONArray.
+     * @return The lazy JSONArray.
+     */
+    static Result<JSONArray> parseArrayLazy(char[] characters)
+    {
+        PreCondition.assertNotNull(characters, "characters");
+
+        return Result.create(() ->
+        {
+            final JSONTokenizer tokenizer = JSON.startTokenizer(JSONTokenizer.create(characters));
+            if (!tokenizer.hasCurrent())
             {
-                throw new ParseException("Missing array element.");
+                throw new ParseException("Missing array left square bracket ('[').");
             }
-            else if (rightSquareBracket == null)
+            else if (tokenizer.getCurrent().getType() != JSONTokenType.LeftSquareBracket)
             {
-                throw new ParseException("Missing array right square bracket (']').");
+                throw new ParseException("Expected array left square bracket ('[').");
             }
 
-            return JSONArray.create(elements);
+            final int startIndex = tokenizer.getTokenStartIndex();
+            tokenizer.skipValue();
+            return JSONArray.createLazy(characters, startIndex, tokenizer.getTokenStartIndex() + 1 - startIndex, tokenizer.getNameTable());
         });
     }
 
+    /**
+     * Parse the provided File's content into a JSONTape. Files on the Java file system are read
+     * through memory-mapped segments.
+     * @param file The file to parse.
+     * @return The parsed JSONTape.
+     */
+    static Result<JSONTape> parseTape(File file)
+    {
+        PreCondition.assertNotNull(file, "file");
+
+        return JSONMappedFileInput.isSupported(file)
+            ? Result.createUsing(
+                () -> JSONMappedFileInput.create(file),
+                (JSONMappedFileInput byteInput) -> JSON.parseTape(JSONTokenizer.create(JSONUTF8TokenizerInput.create(byteInput))).await())
+            : Result.createUsing(
+                () -> ByteReadStream.buffer(file.getContentReadStream().await()),
+                (ByteReadStream byteReadStream) -> JSON.parseTape(byteReadStream).await());
+    }
+
+    /**
+     * Parse the provided bytes into a JSONTape.
+     * @param bytes The bytes to parse.
+     * @return The parsed JSONTape.
+     */
+    static Result<JSONTape> parseTape(ByteReadStream bytes)
+    {
+        PreCondition.assertNotNull(bytes, "bytes");
+
+        return JSON.parseTape(JSONTokenizer.create(bytes));
+    }
+
+    /**
+     * Parse the provided text into a JSONTape.
+     * @param text The text to parse.
+     * @return The parsed JSONTape.
+     */
+    static Result<JSONTape> parseTape(String text)
+    {
+        PreCondition.assertNotNull(text, "text");
+
+        return JSON.parseTape(JSONTokenizer.create(text));
+    }
+
+    /**
+     * Parse the first top-level value of the provided tokenizer's content into a JSONTape. A
+     * JSONTape stores the value as a flat array of entries and a single shared character buffer
+     * instead of as a tree of JSONSegments.
+     * @param tokenizer The tokenizer that hasn't started yet.
+     * @return The parsed JSONTape.
+     */
+    static Result<JSONTape> parseTape(JSONTokenizer tokenizer)
+    {
+        PreCondition.assertNotNull(tokenizer, "tokenizer");
+        PreCondition.assertFalse(tokenizer.hasStarted(), "tokenizer.hasStarted()");
+
+        return Result.create(() ->
+        {
+            final JSONReader reader = JSONReader.create(tokenizer);
+            if (!reader.next())
+            {
+                throw new ParseException("No JSON tokens found.");
+            }
+            return JSONTape.parse(reader);
+        });
+    }
+
+    static JSONTokenizer createTokenizer(String text)
+    {
+        PreCondition.assertNotNull(text, "text");
+
+        return JSON.startTokenizer(JSONTokenizer.create(text));
+    }
+
     static JSONTokenizer createTokenizer(Iterator<Character> characters)
     {
         PreCondition.assertNotNull(characters, "characters");
 
-        final JSONTokenizer result = JSONTokenizer.create(characters);
-        JSON.next(result);
+        return JSON.startTokenizer(JSONTokenizer.create(characters));
+    }
 
-        PostCondition.assertNotNull(result, "result");
-        PostCondition.assertTrue(result.hasStarted(), "result.hasStarted()");
+    /**
+     * Start the provided tokenizer so that its current token is the first token that a parser
+     * needs. The tokenizer is set to skip whitespace, newlines, and comments, since the parsers
+     * would only throw those tokens away.
+     * @param tokenizer The tokenizer to start.
+     * @return The started tokenizer.
+     */
+    static JSONTokenizer startTokenizer(JSONTokenizer tokenizer)
+    {
+        PreCondition.assertNotNull(tokenizer, "tokenizer");
 
-        return result;
+        tokenizer.setSkipTrivia(true);
+        JSON.next(tokenizer);
+
+        PostCondition.assertTrue(tokenizer.hasStarted(), "tokenizer.hasStarted()");
+
+        return tokenizer;
     }
 
     static boolean shouldSkipCurrentToken(JSONTokenizer tokenizer)
@@ -5,7 +5,11 @@ package qub;
  */
 public class JSONArray implements JSONSegment, List<JSONSegment>
 {
-    private final List<JSONSegment> elements;
+    private volatile List<JSONSegment> elements;
+    private char[] lazyCharacters;
+    private int lazyStartIndex;
+    private int lazyLength;
+    private JSONNameTable lazyNames;
 
     private JSONArray(List<JSONSegment> elements)
     {
@@ -14,6 +18,17 @@ public class JSONArray implements JSONSegment, List<JSONSegment>
         this.elements = elements;
     }
 
+    private JSONArray(char[] characters, int startIndex, int length, JSONNameTable names)
+    {
+        PreCondition.assertNotNull(characters, "characters");
+        PreCondition.assertNotNull(names, "names");
+
+        this.lazyCharacters = characters;
+        this.lazyStartIndex = startIndex;
+        this.lazyLength = length;
+        this.lazyNames = names;
+    }
+
     public static JSONArray create(JSONSegment... elements)
     {
         PreCondition.assertNotNull(elements, "elements");
@@ -28,16 +43,75 @@ public class JSONArray implements JSONSegment, List<JSONSegment>
         return new JSONArray(List.create(elements));
     }
 
+    /**
+     * Create a lazy JSONArray that parses its elements from the provided characters the first
+     * time that it is accessed. The characters are kept until then, so they must not be modified.
+     * Reading a lazy JSONArray from several threads is safe, and its elements are only parsed once.
+     * @param characters The characters that contain the array.
+     * @param startIndex The index of the array's left square bracket.
+     * @param length The number of characters from the left square bracket through the right
+     * square bracket.
+     * @param names The table to look property names up in.
+     * @return The lazy JSONArray.
+     */
+    static JSONArray createLazy(char[] characters, int startIndex, int length, JSONNameTable names)
+    {
+        PreCondition.assertNotNull(characters, "characters");
+        PreCondition.assertBetween(0, startIndex, characters.length - 1, "startIndex");
+        PreCondition.assertBetween(2, length, characters.length - startIndex, "length");
+        PreCondition.assertNotNull(names, "names");
+
+        return new JSONArray(characters, startIndex, length, names);
+    }
+
+    /**
+     * Get whether or not this JSONArray still has to parse its elements.
+     * @return Whether or not this JSONArray still has to parse its elements.
+     */
+    boolean isLazy()
+    {
+        return this.elements == null;
+    }
+
+    /**
+     * Get this JSONArray's elements, parsing them first if this is a lazy JSONArray that hasn't
+     * been accessed yet.
+     * @return This JSONArray's elements.
+     * @throws ParseException If this is a lazy JSONArray whose characters aren't a valid array.
+     */
+    private List<JSONSegment> getElements()
+    {
+        List<JSONSegment> result = this.elements;
+        if (result == null)
+        {
+            // Another thread may be parsing the same lazy value, so the parse happens under a lock
+            // and the parsed elements are published by writing the volatile field last.
+            synchronized (this)
+            {
+                result = this.elements;
+                if (result == null)
+                {
+                    final JSONArray parsed = (JSONArray)JSONTreeParser.parseLazy(this.lazyCharacters, this.lazyStartIndex, this.lazyLength, this.lazyNames);
+                    result = parsed.elements;
+                    this.lazyCharacters = null;
+                    this.lazyNames = null;
+                    this.elements = result;
+                }
+            }
+        }
+        return result;
+    }
+
     @Override
     public JSONSegment get(int index)
     {
-        return this.elements.get(index);
+        return this.getElements().get(index);
     }
 
     @Override
     public Iterator<JSONSegment> iterate()
     {
-        return this.elements.iterate();
+        return this.getElements().iterate();
     }
 
     @Override
@@ -66,7 +140,7 @@ public class JSONArray implements JSONSegment, List<JSONSegment>
             try
             {
                 boolean wroteElement = false;
-                for (final JSONSegment element : this.elements)
+                for (final JSONSegment element : this.getElements())
                 {
                     if (!wroteElement)
                     {
@@ -107,7 +181,7 @@ public class JSONArray implements JSONSegment, List<JSONSegment>
 
     public boolean equals(JSONArray rhs)
     {
-        return rhs != null && this.elements.equals(rhs.elements);
+        return rhs != null && this.getElements().equals(rhs.getElements());
     }
 
     @Override
@@ -116,7 +190,7 @@ public class JSONArray implements JSONSegment, List<JSONSegment>
         PreCondition.assertBetween(0, insertIndex, this.getCount(), "insertIndex");
         PreCondition.assertNotNull(value, "value");
 
-        this.elements.insert(insertIndex, value);
+        this.getElements().insert(insertIndex, value);
         return this;
     }
 
@@ -125,7 +199,7 @@ public class JSONArray implements JSONSegment, List<JSONSegment>
     {
         PreCondition.assertIndexAccess(index, this.getCount(), "index");
 
-        return this.elements.removeAt(index);
+        return this.getElements().removeAt(index);
     }
 
     @Override
@@ -134,7 +208,7 @@ public class JSONArray implements JSONSegment, List<JSONSegment>
         PreCondition.assertIndexAccess(index, this.getCount(), "index");
         PreCondition.assertNotNull(value, "value");
 
-        this.elements.set(index, value);
+        this.getElements().set(index, value);
         return this;
     }
 }
@@ -0,0 +1,110 @@
+package qub;
+
+/**
+ * A source of bytes that a JSONUTF8TokenizerInput reads from in blocks.
+ */
+@FunctionalInterface
+public interface JSONByteInput
+{
+    /**
+     * Read bytes from this input into the provided buffer.
+     * @param buffer The buffer to read bytes into.
+     * @param startIndex The index in the buffer to start writing bytes at.
+     * @param length The maximum number of bytes to read.
+     * @return The number of bytes that were read, or -1 if the end of this input has been reached.
+     */
+    int read(byte[] buffer, int startIndex, int length);
+
+    /**
+     * Create a new JSONByteInput that reads from the provided ByteReadStream.
+     * @param byteReadStream The stream to read bytes from.
+     * @return The new JSONByteInput.
+     */
+    static JSONByteInput create(ByteReadStream byteReadStream)
+    {
+        PreCondition.assertNotNull(byteReadStream, "byteReadStream");
+
+        return (byte[] buffer, int startIndex, int length) ->
+        {
+            Integer result;
+            do
+            {
+                result = byteReadStream.readBytes(buffer, startIndex, length).await();
+            }
+            while (result != null && result == 0);
+
+            return result == null || result < 0 ? -1 : result;
+        };
+    }
+
+    /**
+     * Create a new JSONByteInput that reads from the provided bytes.
+     * @param bytes The bytes to read.
+     * @return The new JSONByteInput.
+     */
+    static JSONByteInput create(byte[] bytes)
+    {
+        PreCondition.assertNotNull(bytes, "bytes");
+
+        final int[] readIndex = new int[1];
+        return (byte[] buffer, int startIndex, int length) ->
+        {
+            int result = -1;
+            if (readIndex[0] < bytes.length)
+            {
+                result = java.lang.Math.min(length, bytes.length - readIndex[0]);
+                java.lang.System.arraycopy(bytes, readIndex[0], buffer, startIndex, result);
+                readIndex[0] += result;
+            }
+            return result;
+        };
+    }
+
+    /**
+     * Create a new JSONByteInput that reads the UTF-8 encoding of the provided text. The text is
+     * encoded as it is read, so the whole encoding is never held in memory at once. Like
+     * String.getBytes(), an unpaired surrogate is encoded as '?'.
+     * @param text The text to read the UTF-8 encoding of.
+     * @return The new JSONByteInput.
+     */
+    static JSONByteInput create(String text)
+    {
+        PreCondition.assertNotNull(text, "text");
+
+        final java.nio.CharBuffer characters = java.nio.CharBuffer.wrap(text);
+        final java.nio.charset.CharsetEncoder encoder = java.nio.charset.StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(java.nio.charset.CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(java.nio.charset.CodingErrorAction.REPLACE);
+        // The bytes of a character that didn't fit in the caller's buffer.
+        final java.nio.ByteBuffer pendingBytes = java.nio.ByteBuffer.allocate(4);
+        pendingBytes.flip();
+        return (byte[] buffer, int startIndex, int length) ->
+        {
+            final java.nio.ByteBuffer output = java.nio.ByteBuffer.wrap(buffer, startIndex, length);
+            while (pendingBytes.hasRemaining() && output.hasRemaining())
+            {
+                output.put(pendingBytes.get());
+            }
+
+            if (!pendingBytes.hasRemaining() && characters.hasRemaining())
+            {
+                encoder.encode(characters, output, true);
+                if (output.position() == startIndex && length > 0 && characters.hasRemaining())
+                {
+                    // The buffer is too small for the next character's bytes, so encode them on
+                    // their own and return as many of them as fit.
+                    pendingBytes.clear();
+                    encoder.encode(characters, pendingBytes, true);
+                    pendingBytes.flip();
+                    while (pendingBytes.hasRemaining() && output.hasRemaining())
+                    {
+                        output.put(pendingBytes.get());
+                    }
+                }
+            }
+
+            final int result = output.position() - startIndex;
+            return result == 0 && length > 0 && !characters.hasRemaining() && !pendingBytes.hasRemaining() ? -1 : result;
+        };
+    }
+}
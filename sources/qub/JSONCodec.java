@@ -0,0 +1,141 @@
+package qub;
+
+/**
+ * A type that decodes Java values straight from JSON tokens and encodes them straight to JSON
+ * text, without building JSONSegments in between.
+ * @param <T> The type of values that this JSONCodec decodes and encodes.
+ */
+public interface JSONCodec<T>
+{
+    /**
+     * Decode the value that starts at the provided tokenizer's current token. Afterwards the
+     * tokenizer's current token is the first token after the value.
+     * @param tokenizer The tokenizer whose current token is the first token of the value.
+     * @param valueName The name of the value to use in error messages, such as "the property
+     * named \"id\"".
+     * @return The decoded value, or null if the JSON value was null.
+     * @throws ParseException If the tokens don't form a JSON value.
+     * @throws WrongTypeException If the JSON value can't be decoded into this JSONCodec's type.
+     */
+    T decode(JSONTokenizer tokenizer, String valueName);
+
+    /**
+     * Write the JSON text of the provided value to the provided stream.
+     * @param value The value to encode. This may be null.
+     * @param stream The stream to write the JSON text to.
+     * @param format The format to use when writing the JSON text.
+     * @return The number of characters that were written.
+     */
+    int encode(T value, IndentedCharacterWriteStream stream, JSONFormat format);
+
+    /**
+     * Decode a value from the provided text.
+     * @param text The text to decode the value from.
+     * @return The decoded value.
+     */
+    default Result<T> parse(String text)
+    {
+        PreCondition.assertNotNull(text, "text");
+
+        return this.parse(JSON.createTokenizer(text));
+    }
+
+    /**
+     * Decode a value from the provided bytes.
+     * @param bytes The bytes to decode the value from.
+     * @return The decoded value.
+     */
+    default Result<T> parse(ByteReadStream bytes)
+    {
+        PreCondition.assertNotNull(bytes, "bytes");
+
+        return this.parse(JSON.startTokenizer(JSONTokenizer.create(bytes)));
+    }
+
+    /**
+     * Decode a value from the provided JSONTokenizer.
+     * @param tokenizer The tokenizer that produces JSONTokens.
+     * @return The decoded value.
+     */
+    default Result<T> parse(JSONTokenizer tokenizer)
+    {
+        PreCondition.assertNotNull(tokenizer, "tokenizer");
+
+        return Result.create(() ->
+        {
+            JSON.ensureHasStarted(tokenizer);
+
+            if (!tokenizer.hasCurrent())
+            {
+                throw new ParseException("No JSON tokens found.");
+            }
+
+            return this.decode(tokenizer, "value");
+        });
+    }
+
+    /**
+     * Get the JSON text of the provided value.
+     * @param value The value to encode. This may be null.
+     * @return The JSON text of the provided value.
+     */
+    default String toString(T value)
+    {
+        return this.toString(value, JSONFormat.consise);
+    }
+
+    /**
+     * Get the JSON text of the provided value using the provided format.
+     * @param value The value to encode. This may be null.
+     * @param format The format to use when writing the JSON text.
+     * @return The JSON text of the provided value.
+     */
+    default String toString(T value, JSONFormat format)
+    {
+        PreCondition.assertNotNull(format, "format");
+
+        return JSONSegment.toString((IndentedCharacterWriteStream stream) -> this.toString(value, stream, format));
+    }
+
+    /**
+     * Write the JSON text of the provided value to the provided stream.
+     * @param value The value to encode. This may be null.
+     * @param stream The stream to write the JSON text to.
+     * @return The number of characters that were written.
+     */
+    default Result<Integer> toString(T value, CharacterWriteStream stream)
+    {
+        PreCondition.assertNotNull(stream, "stream");
+
+        return this.toString(value, IndentedCharacterWriteStream.create(stream), JSONFormat.consise);
+    }
+
+    /**
+     * Write the JSON text of the provided value to the provided stream.
+     * @param value The value to encode. This may be null.
+     * @param stream The stream to write the JSON text to.
+     * @param format The format to use when writing the JSON text.
+     * @return The number of characters that were written.
+     */
+    default Result<Integer> toString(T value, IndentedCharacterWriteStream stream, JSONFormat format)
+    {
+        PreCondition.assertNotNull(stream, "stream");
+        PreCondition.assertNotNull(format, "format");
+
+        return Result.create(() -> this.encode(value, stream, format));
+    }
+
+    /**
+     * Get a JSONCodec that decodes JSON arrays into Lists and encodes Lists as JSON arrays, using
+     * the provided JSONCodec for each element.
+     * @param elementCodec The JSONCodec for each element.
+     * @param <T> The type of the elements.
+     * @return The JSONCodec for Lists of the elements.
+     */
+    static <T> JSONCodec<List<T>> list(JSONCodec<T> elementCodec)
+    {
+        PreCondition.assertNotNull(elementCodec, "elementCodec");
+
+        return new JSONListCodec<>(elementCodec);
+    }
+}
@@ -0,0 +1,1088 @@
+package qub;
+
+/**
+ * A generator that writes the Java source of a class and its JSONCodec from a JSON schema, so that
+ * a program can decode and encode the schema's objects without creating their codecs at runtime.
+ * The generated codecs read tokens straight from the JSONTokenizer, match property names with a
+ * switch on the name's length followed by a comparison of its characters, and write properties
+ * with precomputed name strings.
+ *
+ * The supported schema is the subset of JSON Schema that describes plain data:
+ * <ul>
+ *     <li>"type": "object" with "properties", "required", and an optional "title" that names the
+ *     generated class</li>
+ *     <li>"type": "array" with "items"</li>
+ *     <li>"type": "string", "integer", "number", and "boolean"</li>
+ *     <li>"$ref": "#", which refers to the root object</li>
+ * </ul>
+ * A property with any other schema is generated as a JSONSegment. Required integer, number, and
+ * boolean properties are generated as long, double, and boolean fields, and the others as their
+ * nullable boxed types. Decoding an object that doesn't contain one of its required properties
+ * throws a ParseException.
+ */
+public class JSONCodecGenerator
+{
+    private static final String codecFieldName = "codec";
+    private static final String codecClassName = "Codec";
+
+    private final List<ObjectType> objectTypes;
+    private ObjectType rootType;
+    private boolean usesRegistry;
+
+    private JSONCodecGenerator()
+    {
+        this.objectTypes = List.create();
+    }
+
+    /**
+     * Generate the Java source of a class and its JSONCodec from the provided JSON schema.
+     * @param packageName The package of the generated class, or an empty String for the default
+     * package.
+     * @param className The name of the generated class.
+     * @param schema The JSON schema of the objects that the generated class represents.
+     * @return The Java source of the generated class.
+     */
+    public static Result<String> generate(String packageName, String className, JSONObject schema)
+    {
+        PreCondition.assertNotNull(packageName, "packageName");
+        PreCondition.assertTrue(packageName.isEmpty() || javax.lang.model.SourceVersion.isName(packageName), "packageName.isEmpty() || javax.lang.model.SourceVersion.isName(packageName)");
+        PreCondition.assertNotNullAndNotEmpty(className, "className");
+        PreCondition.assertTrue(JSONCodecGenerator.isIdentifier(className), "JSONCodecGenerator.isIdentifier(className)");
+        PreCondition.assertNotNull(schema, "schema");
+
+        return Result.create(() ->
+        {
+            final JSONCodecGenerator generator = new JSONCodecGenerator();
+            generator.parseObjectType(className, schema);
+            final String result = generator.writeSource(packageName);
+
+            PostCondition.assertNotNullAndNotEmpty(result, "result");
+
+            return result;
+        });
+    }
+
+    /**
+     * Get whether or not the provided text can be used as the name of a Java class or field.
+     * @param text The text to check.
+     * @return Whether or not the provided text is a Java identifier that isn't a keyword.
+     */
+    private static boolean isIdentifier(String text)
+    {
+        return javax.lang.model.SourceVersion.isIdentifier(text) && !javax.lang.model.SourceVersion.isKeyword(text);
+    }
+
+    private static String capitalize(String text)
+    {
+        return java.lang.Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+
+    private ObjectType parseObjectType(String className, JSONObject schema)
+    {
+        if (!JSONCodecGenerator.isIdentifier(className))
+        {
+            throw new ParseException("Expected the object class name " + Strings.escapeAndQuote(className) + " to be a Java identifier.");
+        }
+        else if (className.equals(JSONCodecGenerator.codecClassName) || this.objectTypes.first((ObjectType objectType) -> objectType.className.equals(className)) != null)
+        {
+            throw new ParseException("Expected the object class name " + Strings.escapeAndQuote(className) + " to be unique.");
+        }
+
+        final ObjectType result = new ObjectType(className);
+        this.objectTypes.add(result);
+        if (this.rootType == null)
+        {
+            this.rootType = result;
+        }
+
+        final List<String> requiredPropertyNames = List.create();
+        if (schema.contains("required"))
+        {
+            for (final JSONSegment requiredPropertyName : schema.getArray("required").await())
+            {
+                requiredPropertyNames.add(JSON.as(requiredPropertyName, JSONString.class, "each required property name").await().getValue());
+            }
+        }
+
+        if (schema.contains("properties"))
+        {
+            for (final JSONProperty property : schema.getObject("properties").await().getProperties())
+            {
+                final String propertyName = property.getName();
+                if (!JSONCodecGenerator.isIdentifier(propertyName) || propertyName.equals(JSONCodecGenerator.codecFieldName))
+                {
+                    throw new ParseException("Expected the property name " + Strings.escapeAndQuote(propertyName) + " to be a Java identifier other than " + Strings.escapeAndQuote(JSONCodecGenerator.codecFieldName) + ".");
+                }
+
+                final JSONObject propertySchema = JSON.as(property.getValue(), JSONObject.class, JSON.thePropertyNamed(propertyName)).await();
+                final ValueType propertyType = this.parseValueType(propertySchema, JSONCodecGenerator.capitalize(propertyName));
+                result.properties.add(new Property(propertyName, propertyType, requiredPropertyNames.contains(propertyName)));
+            }
+        }
+
+        return result;
+    }
+
+    private ValueType parseValueType(JSONObject schema, String defaultClassName)
+    {
+        ValueType result;
+        if (schema.contains("$ref"))
+        {
+            final String reference = schema.getString("$ref").await();
+            if (!reference.equals("#"))
+            {
+                throw new ParseException("Expected the $ref " + Strings.escapeAndQuote(reference) + " to be \"#\".");
+            }
+            result = new ValueType(ValueKind.Object, this.rootType, null);
+        }
+        else
+        {
+            final JSONSegment type = schema.contains("type") ? schema.get("type").await() : null;
+            final String typeName = type instanceof JSONString ? ((JSONString)type).getValue() : "";
+            switch (typeName)
+            {
+                case "string":
+                    result = new ValueType(ValueKind.String, null, null);
+                    break;
+
+                case "integer":
+                    result = new ValueType(ValueKind.Integer, null, null);
+                    break;
+
+                case "number":
+                    result = new ValueType(ValueKind.Number, null, null);
+                    break;
+
+                case "boolean":
+                    result = new ValueType(ValueKind.Boolean, null, null);
+                    break;
+
+                case "object":
+                    final String className = schema.contains("title") ? schema.getString("title").await() : defaultClassName;
+                    result = new ValueType(ValueKind.Object, this.parseObjectType(className, schema), null);
+                    break;
+
+                case "array":
+                    final JSONObject itemsSchema = schema.contains("items") ? schema.getObject("items").await() : JSONObject.create();
+                    result = new ValueType(ValueKind.Array, null, this.parseValueType(itemsSchema, defaultClassName + "Element"));
+                    break;
+
+                default:
+                    result = new ValueType(ValueKind.Segment, null, null);
+                    break;
+            }
+        }
+        return result;
+    }
+
+    private String writeSource(String packageName)
+    {
+        final SourceBuilder source = new SourceBuilder();
+        if (!packageName.isEmpty())
+        {
+            source.line("package " + packageName + ";");
+            source.line();
+        }
+
+        for (final String importedTypeName : Iterable.create(
+            "IndentedCharacterWriteStream",
+            "Iterable",
+            "JSON",
+            "JSONBoolean",
+            "JSONCodec",
+            "JSONCodecRegistry",
+            "JSONFormat",
+            "JSONNull",
+            "JSONNumber",
+            "JSONObject",
+            "JSONSegment",
+            "JSONString",
+            "JSONToken",
+            "JSONTokenType",
+            "JSONTokenizer",
+            "JSONTreeParser",
+            "List",
+            "ParseException",
+            "Strings",
+            "WrongTypeException"))
+        {
+            source.line("import qub." + importedTypeName + ";");
+        }
+        source.line();
+
+        final SourceBuilder classBody = new SourceBuilder();
+        classBody.increaseIndent();
+        this.writeObjectTypeMembers(classBody, this.rootType);
+        for (final ObjectType objectType : this.objectTypes)
+        {
+            if (objectType != this.rootType)
+            {
+                classBody.line();
+                classBody.line("public static class " + objectType.className);
+                classBody.line("{");
+                classBody.increaseIndent();
+                this.writeObjectTypeMembers(classBody, objectType);
+                classBody.decreaseIndent();
+                classBody.line("}");
+            }
+        }
+        this.writeHelpers(classBody);
+
+        source.line("/**");
+        source.line(" * Generated by qub.JSONCodecGenerator from a JSON schema. Don't edit this file. Instead, change");
+        source.line(" * the schema and generate this file again.");
+        source.line(" */");
+        source.line("public class " + this.rootType.className);
+        source.line("{");
+        if (this.usesRegistry)
+        {
+            source.line("    private static final JSONCodecRegistry registry = JSONCodecRegistry.create();");
+            source.line();
+        }
+        source.append(classBody);
+        source.line("}");
+
+        return source.toString();
+    }
+
+    private void writeObjectTypeMembers(SourceBuilder source, ObjectType objectType)
+    {
+        final String className = objectType.className;
+        source.line("public static final JSONCodec<" + className + "> " + JSONCodecGenerator.codecFieldName + " = new " + JSONCodecGenerator.codecClassName + "();");
+        if (objectType.properties.any())
+        {
+            source.line();
+            for (final Property property : objectType.properties)
+            {
+                source.line("public " + this.getFieldTypeName(property) + " " + property.name + ";");
+            }
+        }
+        source.line();
+        source.line("private static class " + JSONCodecGenerator.codecClassName + " implements JSONCodec<" + className + ">");
+        source.line("{");
+        source.increaseIndent();
+
+        for (final Property property : objectType.properties)
+        {
+            if (property.type.kind == ValueKind.Array)
+            {
+                final String codecTypeName = "JSONCodec<" + this.getBoxedTypeName(property.type) + ">";
+                final String codecName = property.name + "Codec";
+                source.line("private static " + codecTypeName + " " + codecName + ";");
+                source.line();
+                source.line("private static " + codecTypeName + " " + codecName + "()");
+                source.line("{");
+                source.line("    if (" + JSONCodecGenerator.codecClassName + "." + codecName + " == null)");
+                source.line("    {");
+                source.line("        " + JSONCodecGenerator.codecClassName + "." + codecName + " = " + this.getCodecExpression(property.type) + ";");
+                source.line("    }");
+                source.line("    return " + JSONCodecGenerator.codecClassName + "." + codecName + ";");
+                source.line("}");
+                source.line();
+            }
+        }
+
+        this.writeGetPropertyIndex(source, objectType);
+        source.line();
+        this.writeDecode(source, objectType);
+        source.line();
+        this.writeEncode(source, objectType);
+
+        source.decreaseIndent();
+        source.line("}");
+    }
+
+    private void writeGetPropertyIndex(SourceBuilder source, ObjectType objectType)
+    {
+        source.line("private static int getPropertyIndex(JSONToken nameToken)");
+        source.line("{");
+        source.increaseIndent();
+        source.line("int result = -1;");
+        if (objectType.properties.any())
+        {
+            final List<Integer> nameLengths = List.create();
+            for (final Property property : objectType.properties)
+            {
+                if (!nameLengths.contains(property.name.length()))
+                {
+                    nameLengths.add(property.name.length());
+                }
+            }
+
+            source.line("switch (nameToken.getLength())");
+            source.line("{");
+            source.increaseIndent();
+            boolean firstCase = true;
+            for (final Integer nameLength : nameLengths)
+            {
+                if (!firstCase)
+                {
+                    source.line();
+                }
+                firstCase = false;
+
+                source.line("case " + (nameLength + 2) + ":");
+                source.increaseIndent();
+                boolean firstProperty = true;
+                for (int index = 0; index < objectType.properties.getCount(); ++index)
+                {
+                    final String propertyName = objectType.properties.get(index).name;
+                    if (propertyName.length() == nameLength)
+                    {
+                        final StringBuilder condition = new StringBuilder();
+                        for (int i = 0; i < propertyName.length(); ++i)
+                        {
+                            if (i > 0)
+                            {
+                                condition.append(" && ");
+                            }
+                            condition.append("nameToken.getCharacter(").append(i + 1).append(") == ").append(JSONCodecGenerator.toCharacterLiteral(propertyName.charAt(i)));
+                        }
+                        source.line((firstProperty ? "if (" : "else if (") + condition + ")");
+                        source.line("{");
+                        source.line("    result = " + index + ";");
+                        source.line("}");
+                        firstProperty = false;
+                    }
+                }
+                source.line("break;");
+                source.decreaseIndent();
+            }
+            source.decreaseIndent();
+            source.line("}");
+        }
+        source.line("return result;");
+        source.decreaseIndent();
+        source.line("}");
+    }
+
+    private void writeDecode(SourceBuilder source, ObjectType objectType)
+    {
+        final String className = objectType.className;
+        final String rootClassName = this.rootType.className;
+        source.line("@Override");
+        source.line("public " + className + " decode(JSONTokenizer tokenizer, String valueName)");
+        source.line("{");
+        source.increaseIndent();
+        source.line(className + " result = null;");
+        source.line("final JSONTokenType startTokenType = tokenizer.getCurrent().getType();");
+        source.line("if (startTokenType == JSONTokenType.Null)");
+        source.line("{");
+        source.line("    JSON.next(tokenizer);");
+        source.line("}");
+        source.line("else if (startTokenType != JSONTokenType.LeftCurlyBracket)");
+        source.line("{");
+        source.line("    throw " + rootClassName + ".createWrongTypeException(tokenizer, JSONObject.class, true, valueName);");
+        source.line("}");
+        source.line("else");
+        source.line("{");
+        source.increaseIndent();
+        source.line("result = new " + className + "();");
+        source.line("boolean hasProperties = false;");
+        source.line("boolean expectProperty = true;");
+        final List<Property> requiredProperties = objectType.properties.where((Property property) -> property.required).toList();
+        for (int word = 0; word * 64 < requiredProperties.getCount(); ++word)
+        {
+            source.line("long " + JSONCodecGenerator.getFoundRequiredPropertiesName(requiredProperties, word * 64) + " = 0L;");
+        }
+        source.line("JSON.next(tokenizer);");
+        source.line("while (true)");
+        source.line("{");
+        source.increaseIndent();
+        source.line("if (!tokenizer.hasCurrent())");
+        source.line("{");
+        source.line("    throw new ParseException(hasProperties && expectProperty");
+        source.line("        ? \"Missing object property.\"");
+        source.line("        : \"Missing object right curly bracket ('}').\");");
+        source.line("}");
+        source.line();
+        source.line("final JSONToken token = tokenizer.getCurrent();");
+        source.line("if (token.getType() == JSONTokenType.RightCurlyBracket)");
+        source.line("{");
+        source.line("    if (hasProperties && expectProperty)");
+        source.line("    {");
+        source.line("        throw new ParseException(\"Expected quoted-string object property name.\");");
+        source.line("    }");
+        source.line("    JSON.next(tokenizer);");
+        source.line("    break;");
+        source.line("}");
+        source.line("else if (token.getType() == JSONTokenType.Comma)");
+        source.line("{");
+        source.line("    if (expectProperty)");
+        source.line("    {");
+        source.line("        throw new ParseException(hasProperties");
+        source.line("            ? \"Expected quoted-string object property name.\"");
+        source.line("            : \"Expected quoted-string object property name or right curly bracket ('}').\");");
+        source.line("    }");
+        source.line("    expectProperty = true;");
+        source.line("    JSON.next(tokenizer);");
+        source.line("}");
+        source.line("else if (token.getType() == JSONTokenType.QuotedString)");
+        source.line("{");
+        source.increaseIndent();
+        source.line("if (!expectProperty)");
+        source.line("{");
+        source.line("    throw new ParseException(\"Expected object property separator (',') or right curly bracket ('}').\");");
+        source.line("}");
+        source.line("if (token.getLength() <= 2)");
+        source.line("{");
+        source.line("    throw new ParseException(\"Expected object property name to be not empty.\");");
+        source.line("}");
+        source.line("final int index = " + JSONCodecGenerator.codecClassName + ".getPropertyIndex(token);");
+        source.line();
+        source.line("if (!JSON.next(tokenizer))");
+        source.line("{");
+        source.line("    throw new ParseException(\"Missing object property name and value separator (':').\");");
+        source.line("}");
+        source.line("else if (tokenizer.getCurrent().getType() != JSONTokenType.Colon)");
+        source.line("{");
+        source.line("    throw new ParseException(\"Expected object property name and value separator (':').\");");
+        source.line("}");
+        source.line();
+        source.line("if (!JSON.next(tokenizer))");
+        source.line("{");
+        source.line("    throw new ParseException(\"Missing object property value.\");");
+        source.line("}");
+        source.line("final JSONToken valueToken = tokenizer.getCurrent();");
+        source.line("if (valueToken.getType() == JSONTokenType.Comma)");
+        source.line("{");
+        source.line("    throw new ParseException(\"Expected object property value.\");");
+        source.line("}");
+        source.line("else if (!" + rootClassName + ".startsValue(valueToken))");
+        source.line("{");
+        source.line("    throw new ParseException(\"Unexpected object property value token: \" + Strings.escapeAndQuote(valueToken));");
+        source.line("}");
+        source.line();
+        source.line("switch (index)");
+        source.line("{");
+        source.increaseIndent();
+        int requiredIndex = 0;
+        for (int index = 0; index < objectType.properties.getCount(); ++index)
+        {
+            final Property property = objectType.properties.get(index);
+            source.line("case " + index + ":");
+            source.line("    result." + property.name + " = " + this.getDecodeExpression(property) + ";");
+            if (property.required)
+            {
+                source.line("    " + JSONCodecGenerator.getFoundRequiredPropertiesName(requiredProperties, requiredIndex) + " |= " + JSONCodecGenerator.getRequiredPropertyBit(requiredIndex) + ";");
+                ++requiredIndex;
+            }
+            source.line("    break;");
+            source.line();
+        }
+        source.line("default:");
+        source.line("    tokenizer.skipValue();");
+        source.line("    JSON.next(tokenizer);");
+        source.line("    break;");
+        source.decreaseIndent();
+        source.line("}");
+        source.line();
+        source.line("hasProperties = true;");
+        source.line("expectProperty = false;");
+        source.decreaseIndent();
+        source.line("}");
+        source.line("else if (!hasProperties)");
+        source.line("{");
+        source.line("    throw new ParseException(\"Expected quoted-string object property name or right curly bracket ('}').\");");
+        source.line("}");
+        source.line("else");
+        source.line("{");
+        source.line("    throw new ParseException(expectProperty");
+        source.line("        ? \"Expected quoted-string object property name.\"");
+        source.line("        : \"Expected object property separator (',') or right curly bracket ('}').\");");
+        source.line("}");
+        source.decreaseIndent();
+        source.line("}");
+        for (requiredIndex = 0; requiredIndex < requiredProperties.getCount(); ++requiredIndex)
+        {
+            final String messageSuffix = " to contain " + JSON.thePropertyNamed(requiredProperties.get(requiredIndex).name) + ".";
+            source.line();
+            source.line("if ((" + JSONCodecGenerator.getFoundRequiredPropertiesName(requiredProperties, requiredIndex) + " & " + JSONCodecGenerator.getRequiredPropertyBit(requiredIndex) + ") == 0L)");
+            source.line("{");
+            source.line("    throw new ParseException(\"Expected \" + valueName + " + JSONCodecGenerator.toStringLiteral(messageSuffix) + ");");
+            source.line("}");
+        }
+        source.decreaseIndent();
+        source.line("}");
+        source.line("return result;");
+        source.decreaseIndent();
+        source.line("}");
+    }
+
+    private void writeEncode(SourceBuilder source, ObjectType objectType)
+    {
+        final boolean hasProperties = objectType.properties.any();
+        source.line("@Override");
+        source.line("public int encode(" + objectType.className + " value, IndentedCharacterWriteStream stream, JSONFormat format)");
+        source.line("{");
+        source.increaseIndent();
+        source.line("int result = 0;");
+        source.line("if (value == null)");
+        source.line("{");
+        source.line("    result += stream.write(\"null\").await();");
+        source.line("}");
+        source.line("else");
+        source.line("{");
+        source.increaseIndent();
+        if (hasProperties)
+        {
+            source.line("stream.setSingleIndent(format.getSingleIndent());");
+            source.line();
+            source.line("final String newLine = format.getNewLine();");
+            source.line("final boolean hasNewLine = !Strings.isNullOrEmpty(newLine);");
+            source.line("final String afterPropertySeparator = format.getAfterPropertySeparator();");
+            source.line("final boolean hasAfterPropertySeparator = !Strings.isNullOrEmpty(afterPropertySeparator);");
+            source.line();
+        }
+        source.line("result += stream.write('{').await();");
+        if (hasProperties)
+        {
+            source.line("stream.increaseIndent();");
+            source.line("try");
+            source.line("{");
+            source.increaseIndent();
+            boolean firstProperty = true;
+            for (final Property property : objectType.properties)
+            {
+                if (!firstProperty)
+                {
+                    source.line("result += stream.write(',').await();");
+                }
+                firstProperty = false;
+
+                source.line("if (hasNewLine)");
+                source.line("{");
+                source.line("    result += stream.write(newLine).await();");
+                source.line("}");
+                source.line("result += stream.write(" + JSONCodecGenerator.toStringLiteral(Strings.quote(property.name) + ":") + ").await();");
+                source.line("if (hasAfterPropertySeparator)");
+                source.line("{");
+                source.line("    result += stream.write(afterPropertySeparator).await();");
+                source.line("}");
+                source.line("result += " + this.getEncodeExpression(property) + ";");
+            }
+            source.line("if (hasNewLine)");
+            source.line("{");
+            source.line("    result += stream.write(newLine).await();");
+            source.line("}");
+            source.decreaseIndent();
+            source.line("}");
+            source.line("finally");
+            source.line("{");
+            source.line("    stream.decreaseIndent();");
+            source.line("}");
+        }
+        source.line("result += stream.write('}').await();");
+        source.decreaseIndent();
+        source.line("}");
+        source.line("return result;");
+        source.decreaseIndent();
+        source.line("}");
+    }
+
+    private void writeHelpers(SourceBuilder source)
+    {
+        source.line();
+        source.line("private static boolean startsValue(JSONToken token)");
+        source.line("{");
+        source.line("    final JSONTokenType tokenType = token.getType();");
+        source.line("    return tokenType == JSONTokenType.Boolean ||");
+        source.line("        tokenType == JSONTokenType.Null ||");
+        source.line("        tokenType == JSONTokenType.Number ||");
+        source.line("        tokenType == JSONTokenType.QuotedString ||");
+        source.line("        tokenType == JSONTokenType.LeftCurlyBracket ||");
+        source.line("        tokenType == JSONTokenType.LeftSquareBracket;");
+        source.line("}");
+        source.line();
+        source.line("private static WrongTypeException createWrongTypeException(JSONTokenizer tokenizer, java.lang.Class<? extends JSONSegment> expectedType, boolean nullable, String valueName)");
+        source.line("{");
+        source.line("    final JSONSegment value = JSONTreeParser.parse(tokenizer);");
+        source.line("    return new WrongTypeException(JSON.getWrongTypeExceptionMessage(value, nullable");
+        source.line("        ? Iterable.<java.lang.Class<? extends JSONSegment>>create(expectedType, JSONNull.class)");
+        source.line("        : Iterable.<java.lang.Class<? extends JSONSegment>>create(expectedType), valueName));");
+        source.line("}");
+
+        final String rootClassName = this.rootType.className;
+        if (this.usesValueKind(ValueKind.String))
+        {
+            source.line();
+            source.line("private static String decodeString(JSONTokenizer tokenizer, String valueName)");
+            source.line("{");
+            source.line("    String result = null;");
+            source.line("    final JSONToken token = tokenizer.getCurrent();");
+            source.line("    if (token.getType() == JSONTokenType.QuotedString)");
+            source.line("    {");
+            source.line("        result = token.getStringSegment().getUnescapedValue();");
+            source.line("    }");
+            source.line("    else if (token.getType() != JSONTokenType.Null)");
+            source.line("    {");
+            source.line("        throw " + rootClassName + ".createWrongTypeException(tokenizer, JSONString.class, true, valueName);");
+            source.line("    }");
+            source.line("    JSON.next(tokenizer);");
+            source.line("    return result;");
+            source.line("}");
+        }
+        if (this.usesValueKind(ValueKind.Integer))
+        {
+            source.line();
+            source.line("private static long decodeLong(JSONTokenizer tokenizer, String valueName)");
+            source.line("{");
+            source.line("    final JSONToken token = tokenizer.getCurrent();");
+            source.line("    if (token.getType() != JSONTokenType.Number)");
+            source.line("    {");
+            source.line("        throw " + rootClassName + ".createWrongTypeException(tokenizer, JSONNumber.class, false, valueName);");
+            source.line("    }");
+            source.line("    long result = 0;");
+            source.line("    boolean isWholeNumber;");
+            source.line("    if (token.isInteger())");
+            source.line("    {");
+            source.line("        try");
+            source.line("        {");
+            source.line("            result = token.getLongValue();");
+            source.line("            isWholeNumber = true;");
+            source.line("        }");
+            source.line("        catch (java.lang.NumberFormatException e)");
+            source.line("        {");
+            source.line("            isWholeNumber = false;");
+            source.line("        }");
+            source.line("    }");
+            source.line("    else");
+            source.line("    {");
+            source.line("        final double number = token.getNumberValue();");
+            source.line("        isWholeNumber = number == java.lang.Math.rint(number) && -0x1p63 <= number && number < 0x1p63;");
+            source.line("        if (isWholeNumber)");
+            source.line("        {");
+            source.line("            result = (long)number;");
+            source.line("        }");
+            source.line("    }");
+            source.line("    if (!isWholeNumber)");
+            source.line("    {");
+            source.line("        throw new WrongTypeException(\"Expected \" + valueName + \" to be a whole number between \" + java.lang.Long.MIN_VALUE + \" and \" + java.lang.Long.MAX_VALUE + \", but was \" + token.getText() + \" instead.\");");
+            source.line("    }");
+            source.line("    JSON.next(tokenizer);");
+            source.line("    return result;");
+            source.line("}");
+            this.writeOrNullHelper(source, "java.lang.Long", "Long", "JSONNumber");
+        }
+        if (this.usesValueKind(ValueKind.Number))
+        {
+            source.line();
+            source.line("private static double decodeDouble(JSONTokenizer tokenizer, String valueName)");
+            source.line("{");
+            source.line("    final JSONToken token = tokenizer.getCurrent();");
+            source.line("    if (token.getType() != JSONTokenType.Number)");
+            source.line("    {");
+            source.line("        throw " + rootClassName + ".createWrongTypeException(tokenizer, JSONNumber.class, false, valueName);");
+            source.line("    }");
+            source.line("    final double result = token.getNumberValue();");
+            source.line("    JSON.next(tokenizer);");
+            source.line("    return result;");
+            source.line("}");
+            this.writeOrNullHelper(source, "Double", "Double", "JSONNumber");
+        }
+        if (this.usesValueKind(ValueKind.Boolean))
+        {
+            source.line();
+            source.line("private static boolean decodeBoolean(JSONTokenizer tokenizer, String valueName)");
+            source.line("{");
+            source.line("    final JSONToken token = tokenizer.getCurrent();");
+            source.line("    if (token.getType() != JSONTokenType.Boolean)");
+            source.line("    {");
+            source.line("        throw " + rootClassName + ".createWrongTypeException(tokenizer, JSONBoolean.class, false, valueName);");
+            source.line("    }");
+            source.line("    final boolean result = (JSONToken.falseToken != token);");
+            source.line("    JSON.next(tokenizer);");
+            source.line("    return result;");
+            source.line("}");
+            this.writeOrNullHelper(source, "java.lang.Boolean", "Boolean", "JSONBoolean");
+        }
+    }
+
+    /**
+     * Write the helper that decodes a nullable boxed value with the helper that decodes its
+     * primitive value.
+     */
+    private void writeOrNullHelper(SourceBuilder source, String boxedTypeName, String helperSuffix, String segmentTypeName)
+    {
+        final String rootClassName = this.rootType.className;
+        source.line();
+        source.line("private static " + boxedTypeName + " decode" + helperSuffix + "OrNull(JSONTokenizer tokenizer, String valueName)");
+        source.line("{");
+        source.line("    " + boxedTypeName + " result = null;");
+        source.line("    final JSONTokenType tokenType = tokenizer.getCurrent().getType();");
+        source.line("    if (tokenType == JSONTokenType.Null)");
+        source.line("    {");
+        source.line("        JSON.next(tokenizer);");
+        source.line("    }");
+        source.line("    else if (tokenType != JSONTokenType." + (segmentTypeName.equals("JSONBoolean") ? "Boolean" : "Number") + ")");
+        source.line("    {");
+        source.line("        throw " + rootClassName + ".createWrongTypeException(tokenizer, " + segmentTypeName + ".class, true, valueName);");
+        source.line("    }");
+        source.line("    else");
+        source.line("    {");
+        source.line("        result = " + rootClassName + ".decode" + helperSuffix + "(tokenizer, valueName);");
+        source.line("    }");
+        source.line("    return result;");
+        source.line("}");
+    }
+
+    /**
+     * Get whether or not any property decodes a value of the provided kind with a helper. Array
+     * elements are decoded by codecs, so they don't count.
+     */
+    private boolean usesValueKind(ValueKind kind)
+    {
+        boolean result = false;
+        for (final ObjectType objectType : this.objectTypes)
+        {
+            for (final Property property : objectType.properties)
+            {
+                if (property.type.kind == kind)
+                {
+                    result = true;
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private String getFieldTypeName(Property property)
+    {
+        String result;
+        if (property.required && property.type.kind == ValueKind.Integer)
+        {
+            result = "long";
+        }
+        else if (property.required && property.type.kind == ValueKind.Number)
+        {
+            result = "double";
+        }
+        else if (property.required && property.type.kind == ValueKind.Boolean)
+        {
+            result = "boolean";
+        }
+        else
+        {
+            result = this.getBoxedTypeName(property.type);
+        }
+        return result;
+    }
+
+    private String getBoxedTypeName(ValueType type)
+    {
+        String result;
+        switch (type.kind)
+        {
+            case String:
+                result = "String";
+                break;
+
+            case Integer:
+                result = "java.lang.Long";
+                break;
+
+            case Number:
+                result = "Double";
+                break;
+
+            case Boolean:
+                result = "java.lang.Boolean";
+                break;
+
+            case Object:
+                result = type.objectType.className;
+                break;
+
+            case Array:
+                result = "List<" + this.getBoxedTypeName(type.elementType) + ">";
+                break;
+
+            default:
+                result = "JSONSegment";
+                break;
+        }
+        return result;
+    }
+
+    /**
+     * Get the Java expression that creates the JSONCodec for values of the provided type.
+     */
+    private String getCodecExpression(ValueType type)
+    {
+        String result;
+        switch (type.kind)
+        {
+            case Object:
+                result = type.objectType.className + "." + JSONCodecGenerator.codecFieldName;
+                break;
+
+            case Array:
+                result = "JSONCodec.list(" + this.getCodecExpression(type.elementType) + ")";
+                break;
+
+            default:
+                this.usesRegistry = true;
+                result = this.rootType.className + ".registry.get(" + this.getBoxedTypeName(type) + ".class).await()";
+                break;
+        }
+        return result;
+    }
+
+    private String getDecodeExpression(Property property)
+    {
+        final String rootClassName = this.rootType.className;
+        final String valueName = JSONCodecGenerator.toStringLiteral(JSON.thePropertyNamed(property.name));
+        final String orNull = property.required ? "" : "OrNull";
+        String result;
+        switch (property.type.kind)
+        {
+            case String:
+                result = rootClassName + ".decodeString(tokenizer, " + valueName + ")";
+                break;
+
+            case Integer:
+                result = rootClassName + ".decodeLong" + orNull + "(tokenizer, " + valueName + ")";
+                break;
+
+            case Number:
+                result = rootClassName + ".decodeDouble" + orNull + "(tokenizer, " + valueName + ")";
+                break;
+
+            case Boolean:
+                result = rootClassName + ".decodeBoolean" + orNull + "(tokenizer, " + valueName + ")";
+                break;
+
+            case Object:
+                result = property.type.objectType.className + "." + JSONCodecGenerator.codecFieldName + ".decode(tokenizer, " + valueName + ")";
+                break;
+
+            case Array:
+                result = JSONCodecGenerator.codecClassName + "." + property.name + "Codec().decode(tokenizer, " + valueName + ")";
+                break;
+
+            default:
+                result = "JSONTreeParser.parse(tokenizer)";
+                break;
+        }
+        return result;
+    }
+
+    private String getEncodeExpression(Property property)
+    {
+        final String value = "value." + property.name;
+        final boolean primitive = property.required;
+        String result;
+        switch (property.type.kind)
+        {
+            case String:
+                result = "(" + value + " == null ? stream.write(\"null\").await() : JSONString.writeQuoted(" + value + ", stream).await())";
+                break;
+
+            case Integer:
+                result = primitive
+                    ? "stream.write(java.lang.Long.toString(" + value + ")).await()"
+                    : "stream.write(" + value + " == null ? \"null\" : " + value + ".toString()).await()";
+                break;
+
+            case Number:
+                result = primitive
+                    ? "JSONNumber.get(" + value + ").toString(stream, format).await()"
+                    : "(" + value + " == null ? stream.write(\"null\").await() : JSONNumber.get(" + value + ".doubleValue()).toString(stream, format).await())";
+                break;
+
+            case Boolean:
+                result = primitive
+                    ? "stream.write(" + value + " ? \"true\" : \"false\").await()"
+                    : "stream.write(" + value + " == null ? \"null\" : " + value + ".toString()).await()";
+                break;
+
+            case Object:
+                result = property.type.objectType.className + "." + JSONCodecGenerator.codecFieldName + ".encode(" + value + ", stream, format)";
+                break;
+
+            case Array:
+                result = JSONCodecGenerator.codecClassName + "." + property.name + "Codec().encode(" + value + ", stream, format)";
+                break;
+
+            default:
+                result = "(" + value + " == null ? stream.write(\"null\").await() : " + value + ".toString(stream, format).await())";
+                break;
+        }
+        return result;
+    }
+
+    /**
+     * Get the name of the local variable whose bits record which of the required properties have
+     * been decoded. Each variable holds the bits of 64 required properties.
+     */
+    private static String getFoundRequiredPropertiesName(List<Property> requiredProperties, int requiredIndex)
+    {
+        return requiredProperties.getCount() <= 64
+            ? "foundRequiredProperties"
+            : "foundRequiredProperties" + (requiredIndex / 64);
+    }
+
+    /**
+     * Get the Java long literal of the bit that records whether the required property at the
+     * provided index has been decoded.
+     */
+    private static String getRequiredPropertyBit(int requiredIndex)
+    {
+        return "0x" + java.lang.Long.toHexString(1L << (requiredIndex % 64)) + "L";
+    }
+
+    /**
+     * Get the Java character literal for the provided character. Characters outside of printable
+     * ASCII are written as unicode escapes.
+     */
+    private static String toCharacterLiteral(char character)
+    {
+        return "'" + JSONCodecGenerator.escape(character) + "'";
+    }
+
+    /**
+     * Get the Java string literal for the provided text. Characters outside of printable ASCII are
+     * written as unicode escapes.
+     */
+    private static String toStringLiteral(String text)
+    {
+        final StringBuilder builder = new StringBuilder("\"");
+        for (int i = 0; i < text.length(); ++i)
+        {
+            builder.append(JSONCodecGenerator.escape(text.charAt(i)));
+        }
+        return builder.append('\"').toString();
+    }
+
+    private static String escape(char character)
+    {
+        String result;
+        if (character == '\"' || character == '\'' || character == '\\')
+        {
+            result = "\\" + character;
+        }
+        else if (' ' <= character && character <= '~')
+        {
+            result = java.lang.String.valueOf(character);
+        }
+        else
+        {
+            result = java.lang.String.format("\\u%04X", (int)character);
+        }
+        return result;
+    }
+
+    private enum ValueKind
+    {
+        String,
+        Integer,
+        Number,
+        Boolean,
+        Object,
+        Array,
+        Segment,
+    }
+
+    private static class ValueType
+    {
+        final ValueKind kind;
+        final ObjectType objectType;
+        final ValueType elementType;
+
+        ValueType(ValueKind kind, ObjectType objectType, ValueType elementType)
+        {
+            this.kind = kind;
+            this.objectType = objectType;
+            this.elementType = elementType;
+        }
+    }
+
+    private static class ObjectType
+    {
+        final String className;
+        final List<Property> properties;
+
+        ObjectType(String className)
+        {
+            this.className = className;
+            this.properties = List.create();
+        }
+    }
+
+    private static class Property
+    {
+        final String name;
+        final ValueType type;
+        final boolean required;
+
+        Property(String name, ValueType type, boolean required)
+        {
+            this.name = name;
+            this.type = type;
+            this.required = required;
+        }
+    }
+
+    /**
+     * A builder for lines of Java source that are indented by four spaces per level. Characters
+     * outside of ASCII, such as those in property names, are written as unicode escapes.
+     */
+    private static class SourceBuilder
+    {
+        private final StringBuilder builder;
+        private int indent;
+
+        SourceBuilder()
+        {
+            this.builder = new StringBuilder();
+        }
+
+        void increaseIndent()
+        {
+            ++this.indent;
+        }
+
+        void decreaseIndent()
+        {
+            --this.indent;
+        }
+
+        void line()
+        {
+            this.builder.append('\n');
+        }
+
+        void line(String text)
+        {
+            for (int i = 0; i < this.indent; ++i)
+            {
+                this.builder.append("    ");
+            }
+            for (int i = 0; i < text.length(); ++i)
+            {
+                final char character = text.charAt(i);
+                if (character <= '~')
+                {
+                    this.builder.append(character);
+                }
+                else
+                {
+                    this.builder.append(java.lang.String.format("\\u%04X", (int)character));
+                }
+            }
+            this.builder.append('\n');
+        }
+
+        void append(SourceBuilder source)
+        {
+            this.builder.append(source.builder);
+        }
+
+        @Override
+        public String toString()
+        {
+            return this.builder.toString();
+        }
+    }
+}
@@ -0,0 +1,456 @@
+package qub;
+
+/**
+ * A collection of JSONCodecs by the type that they decode and encode. Codecs for Strings,
+ * booleans, numbers, and JSONSegments are built in. A codec for any other class is created the
+ * first time that it is requested, and binds the class's non-static, non-transient, non-final
+ * fields to the properties of a JSON object with the same names. A class that is bound this way
+ * must have a parameterless constructor. Its fields can be any type that this registry has a
+ * codec for, including other bound classes and Lists of them.
+ */
+public class JSONCodecRegistry
+{
+    private final MutableMap<java.lang.Class<?>,JSONCodec<?>> codecs;
+    /**
+     * The object codecs that are being created by the current call to get(). They are only added
+     * to codecs once all of them have been created, so a class that can't be bound doesn't leave
+     * behind codecs that refer to it.
+     */
+    private MutableMap<java.lang.Class<?>,JSONCodec<?>> pendingCodecs;
+
+    private JSONCodecRegistry()
+    {
+        this.codecs = Map.create();
+
+        this.set(String.class, new StringCodec());
+        this.set(java.lang.Boolean.class, new BooleanCodec(true));
+        this.set(boolean.class, new BooleanCodec(false));
+        this.set(Integer.class, new IntegerCodec(true));
+        this.set(int.class, new IntegerCodec(false));
+        this.set(java.lang.Long.class, new LongCodec(true));
+        this.set(long.class, new LongCodec(false));
+        this.set(Double.class, new DoubleCodec(true));
+        this.set(double.class, new DoubleCodec(false));
+        this.set(JSONSegment.class, new SegmentCodec<>(JSONSegment.class));
+        this.set(JSONObject.class, new SegmentCodec<>(JSONObject.class));
+        this.set(JSONArray.class, new SegmentCodec<>(JSONArray.class));
+        this.set(JSONString.class, new SegmentCodec<>(JSONString.class));
+        this.set(JSONNumber.class, new SegmentCodec<>(JSONNumber.class));
+        this.set(JSONBoolean.class, new SegmentCodec<>(JSONBoolean.class));
+    }
+
+    /**
+     * Create a new JSONCodecRegistry that contains the built-in codecs.
+     * @return The new JSONCodecRegistry.
+     */
+    public static JSONCodecRegistry create()
+    {
+        return new JSONCodecRegistry();
+    }
+
+    /**
+     * Set the JSONCodec for the provided type. This replaces any codec that the type already had,
+     * but codecs that were already created for other classes keep using the replaced codec.
+     * @param type The type that the codec decodes and encodes.
+     * @param codec The codec for the type.
+     * @param <T> The type that the codec decodes and encodes.
+     * @return This object for method chaining.
+     */
+    public synchronized <T> JSONCodecRegistry set(java.lang.Class<T> type, JSONCodec<T> codec)
+    {
+        PreCondition.assertNotNull(type, "type");
+        PreCondition.assertNotNull(codec, "codec");
+
+        this.codecs.set(type, codec);
+
+        return this;
+    }
+
+    /**
+     * Get the JSONCodec for the provided type, creating it if the type is a class that hasn't been
+     * requested before.
+     * @param type The type to get the codec for.
+     * @param <T> The type to get the codec for.
+     * @return The codec for the provided type.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> Result<JSONCodec<T>> get(java.lang.Class<T> type)
+    {
+        PreCondition.assertNotNull(type, "type");
+
+        return Result.create(() ->
+        {
+            JSONCodec<T> result;
+            if (this.codecs.containsKey(type))
+            {
+                result = (JSONCodec<T>)this.codecs.get(type).await();
+            }
+            else if (this.pendingCodecs != null)
+            {
+                result = this.getPendingCodec(type);
+            }
+            else
+            {
+                this.pendingCodecs = Map.create();
+                try
+                {
+                    result = this.getPendingCodec(type);
+                    for (final java.lang.Class<?> pendingType : this.pendingCodecs.getKeys())
+                    {
+                        this.codecs.set(pendingType, this.pendingCodecs.get(pendingType).await());
+                    }
+                }
+                finally
+                {
+                    this.pendingCodecs = null;
+                }
+            }
+
+            PostCondition.assertNotNull(result, "result");
+
+            return result;
+        });
+    }
+
+    /**
+     * Get the JSONCodec for the provided type while creating object codecs.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> JSONCodec<T> getPendingCodec(java.lang.Class<T> type)
+    {
+        JSONCodec<T> result;
+        if (this.pendingCodecs.containsKey(type))
+        {
+            result = (JSONCodec<T>)this.pendingCodecs.get(type).await();
+        }
+        else
+        {
+            final JSONObjectCodec<T> objectCodec = JSONObjectCodec.create(type);
+            // Add the codec before its properties are bound so that a class can have fields of its
+            // own type.
+            this.pendingCodecs.set(type, objectCodec);
+            objectCodec.bindProperties(this);
+            result = objectCodec;
+        }
+        return result;
+    }
+
+    /**
+     * Get the JSONCodec for the provided field type.
+     * @param type The declared type of a field, which can be a Class or a List of another
+     * supported type.
+     * @return The codec for the provided type.
+     */
+    JSONCodec<?> get(java.lang.reflect.Type type)
+    {
+        PreCondition.assertNotNull(type, "type");
+
+        JSONCodec<?> result;
+        if (type instanceof java.lang.Class)
+        {
+            result = this.get((java.lang.Class<?>)type).await();
+        }
+        else if (type instanceof java.lang.reflect.ParameterizedType && ((java.lang.reflect.ParameterizedType)type).getRawType() == List.class)
+        {
+            result = JSONCodec.list(this.get(((java.lang.reflect.ParameterizedType)type).getActualTypeArguments()[0]));
+        }
+        else
+        {
+            throw new NotFoundException("No JSONCodec exists for the type " + type.getTypeName() + ".");
+        }
+        return result;
+    }
+
+    /**
+     * Create the WrongTypeException for when the value that starts at the provided tokenizer's
+     * current token isn't one of the expected types. The value is parsed so that the message can
+     * name its type, and afterwards the tokenizer's current token is the first token after the
+     * value.
+     * @param tokenizer The tokenizer whose current token is the first token of the value.
+     * @param expectedTypes The types that the value was expected to be.
+     * @param valueName The name of the value.
+     * @return The WrongTypeException.
+     * @throws ParseException If the tokens don't form a JSON value.
+     */
+    static WrongTypeException createWrongTypeException(JSONTokenizer tokenizer, Iterable<java.lang.Class<? extends JSONSegment>> expectedTypes, String valueName)
+    {
+        PreCondition.assertNotNull(tokenizer, "tokenizer");
+        PreCondition.assertNotNullAndNotEmpty(expectedTypes, "expectedTypes");
+        PreCondition.assertNotNullAndNotEmpty(valueName, "valueName");
+
+        return new WrongTypeException(JSON.getWrongTypeExceptionMessage(JSONTreeParser.parse(tokenizer), expectedTypes, valueName));
+    }
+
+    /**
+     * Get the types that a value is expected to be: the provided type, and JSONNull if the value
+     * can be null.
+     */
+    private static Iterable<java.lang.Class<? extends JSONSegment>> getExpectedTypes(java.lang.Class<? extends JSONSegment> type, boolean nullable)
+    {
+        return nullable
+            ? Iterable.create(type, JSONNull.class)
+            : Iterable.create(type);
+    }
+
+    /**
+     * Decode the whole number value of the Number token that is the provided tokenizer's current
+     * token. Afterwards the tokenizer's current token is the first token after the number.
+     * @param tokenizer The tokenizer whose current token is a Number token.
+     * @param minimum The smallest value that is allowed.
+     * @param maximum The largest value that is allowed.
+     * @param valueName The name of the value.
+     * @return The whole number value of the token.
+     * @throws WrongTypeException If the number isn't a whole number between the minimum and the
+     * maximum.
+     */
+    static long decodeLong(JSONTokenizer tokenizer, long minimum, long maximum, String valueName)
+    {
+        final JSONToken token = tokenizer.getCurrent();
+        long result = 0;
+        boolean isWholeNumber;
+        if (token.isInteger())
+        {
+            try
+            {
+                result = token.getLongValue();
+                isWholeNumber = true;
+            }
+            catch (java.lang.NumberFormatException e)
+            {
+                isWholeNumber = false;
+            }
+        }
+        else
+        {
+            // Whole numbers that are written with a fraction or an exponent, such as 1.0 or 1e3.
+            // The upper bound is exclusive because (double)Long.MAX_VALUE rounds up to 2^63.
+            final double value = token.getNumberValue();
+            isWholeNumber = value == java.lang.Math.rint(value) && -0x1p63 <= value && value < 0x1p63;
+            if (isWholeNumber)
+            {
+                result = (long)value;
+            }
+        }
+
+        if (!isWholeNumber || result < minimum || maximum < result)
+        {
+            throw new WrongTypeException("Expected " + valueName + " to be a whole number between " + minimum + " and " + maximum + ", but was " + token.getText() + " instead.");
+        }
+        JSON.next(tokenizer);
+        return result;
+    }
+
+    private static class StringCodec implements JSONCodec<String>
+    {
+        @Override
+        public String decode(JSONTokenizer tokenizer, String valueName)
+        {
+            final JSONToken token = tokenizer.getCurrent();
+            String result = null;
+            if (token.getType() == JSONTokenType.QuotedString)
+            {
+                result = token.getStringSegment().getUnescapedValue();
+                JSON.next(tokenizer);
+            }
+            else if (token.getType() == JSONTokenType.Null)
+            {
+                JSON.next(tokenizer);
+            }
+            else
+            {
+                throw JSONCodecRegistry.createWrongTypeException(tokenizer, Iterable.create(JSONString.class, JSONNull.class), valueName);
+            }
+            return result;
+        }
+
+        @Override
+        public int encode(String value, IndentedCharacterWriteStream stream, JSONFormat format)
+        {
+            return value == null
+                ? stream.write("null").await()
+                : JSONString.writeQuoted(value, stream).await();
+        }
+    }
+
+    private static class BooleanCodec implements JSONCodec<java.lang.Boolean>
+    {
+        private final boolean nullable;
+
+        BooleanCodec(boolean nullable)
+        {
+            this.nullable = nullable;
+        }
+
+        @Override
+        public java.lang.Boolean decode(JSONTokenizer tokenizer, String valueName)
+        {
+            final JSONToken token = tokenizer.getCurrent();
+            java.lang.Boolean result = null;
+            if (token.getType() == JSONTokenType.Boolean)
+            {
+                result = JSONToken.falseToken != token;
+                JSON.next(tokenizer);
+            }
+            else if (this.nullable && token.getType() == JSONTokenType.Null)
+            {
+                JSON.next(tokenizer);
+            }
+            else
+            {
+                throw JSONCodecRegistry.createWrongTypeException(tokenizer, JSONCodecRegistry.getExpectedTypes(JSONBoolean.class, this.nullable), valueName);
+            }
+            return result;
+        }
+
+        @Override
+        public int encode(java.lang.Boolean value, IndentedCharacterWriteStream stream, JSONFormat format)
+        {
+            return stream.write(value == null ? "null" : value.toString()).await();
+        }
+    }
+
+    private static class IntegerCodec implements JSONCodec<Integer>
+    {
+        private final boolean nullable;
+
+        IntegerCodec(boolean nullable)
+        {
+            this.nullable = nullable;
+        }
+
+        @Override
+        public Integer decode(JSONTokenizer tokenizer, String valueName)
+        {
+            final JSONToken token = tokenizer.getCurrent();
+            Integer result = null;
+            if (token.getType() == JSONTokenType.Number)
+            {
+                result = (int)JSONCodecRegistry.decodeLong(tokenizer, java.lang.Integer.MIN_VALUE, java.lang.Integer.MAX_VALUE, valueName);
+            }
+            else if (this.nullable && token.getType() == JSONTokenType.Null)
+            {
+                JSON.next(tokenizer);
+            }
+            else
+            {
+                throw JSONCodecRegistry.createWrongTypeException(tokenizer, JSONCodecRegistry.getExpectedTypes(JSONNumber.class, this.nullable), valueName);
+            }
+            return result;
+        }
+
+        @Override
+        public int encode(Integer value, IndentedCharacterWriteStream stream, JSONFormat format)
+        {
+            return stream.write(value == null ? "null" : value.toString()).await();
+        }
+    }
+
+    private static class LongCodec implements JSONCodec<java.lang.Long>
+    {
+        private final boolean nullable;
+
+        LongCodec(boolean nullable)
+        {
+            this.nullable = nullable;
+        }
+
+        @Override
+        public java.lang.Long decode(JSONTokenizer tokenizer, String valueName)
+        {
+            final JSONToken token = tokenizer.getCurrent();
+            java.lang.Long result = null;
+            if (token.getType() == JSONTokenType.Number)
+            {
+                result = JSONCodecRegistry.decodeLong(tokenizer, java.lang.Long.MIN_VALUE, java.lang.Long.MAX_VALUE, valueName);
+            }
+            else if (this.nullable && token.getType() == JSONTokenType.Null)
+            {
+                JSON.next(tokenizer);
+            }
+            else
+            {
+                throw JSONCodecRegistry.createWrongTypeException(tokenizer, JSONCodecRegistry.getExpectedTypes(JSONNumber.class, this.nullable), valueName);
+            }
+            return result;
+        }
+
+        @Override
+        public int encode(java.lang.Long value, IndentedCharacterWriteStream stream, JSONFormat format)
+        {
+            return stream.write(value == null ? "null" : value.toString()).await();
+        }
+    }
+
+    private static class DoubleCodec implements JSONCodec<Double>
+    {
+        private final boolean nullable;
+
+        DoubleCodec(boolean nullable)
+        {
+            this.nullable = nullable;
+        }
+
+        @Override
+        public Double decode(JSONTokenizer tokenizer, String valueName)
+        {
+            final JSONToken token = tokenizer.getCurrent();
+            Double result = null;
+            if (token.getType() == JSONTokenType.Number)
+            {
+                result = token.getNumberValue();
+                JSON.next(tokenizer);
+            }
+            else if (this.nullable && token.getType() == JSONTokenType.Null)
+            {
+                JSON.next(tokenizer);
+            }
+            else
+            {
+                throw JSONCodecRegistry.createWrongTypeException(tokenizer, JSONCodecRegistry.getExpectedTypes(JSONNumber.class, this.nullable), valueName);
+            }
+            return result;
+        }
+
+        @Override
+        public int encode(Double value, IndentedCharacterWriteStream stream, JSONFormat format)
+        {
+            return value == null
+                ? stream.write("null").await()
+                : JSONNumber.get(value.doubleValue()).toString(stream, format).await();
+        }
+    }
+
+    private static class SegmentCodec<T extends JSONSegment> implements JSONCodec<T>
+    {
+        private final java.lang.Class<T> type;
+
+        SegmentCodec(java.lang.Class<T> type)
+        {
+            this.type = type;
+        }
+
+        @Override
+        public T decode(JSONTokenizer tokenizer, String valueName)
+        {
+            final JSONSegment value = JSONTreeParser.parse(tokenizer);
+            T result = null;
+            if (this.type.isInstance(value))
+            {
+                result = this.type.cast(value);
+            }
+            else if (!(value instanceof JSONNull))
+            {
+                throw new WrongTypeException(JSON.getWrongTypeExceptionMessage(value, Iterable.create(this.type, JSONNull.class), valueName));
+            }
+            return result;
+        }
+
+        @Override
+        public int encode(T value, IndentedCharacterWriteStream stream, JSONFormat format)
+        {
+            return value == null
+                ? stream.write("null").await()
+                : value.toString(stream, format).await();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package qub;
+
+/**
+ * An Iterator that parses a stream of back-to-back JSON values, such as {"a":1}{"a":2} or
+ * whitespace-separated records, from a single JSONTokenizer. The tokenizer's buffer, its name
+ * table, and one JSONTreeParser are reused for every value.
+ */
+public class JSONDocumentIterator implements Iterator<JSONSegment>
+{
+    private final JSONTokenizer tokenizer;
+    private final JSONTreeParser parser;
+    private boolean hasStarted;
+    private boolean failed;
+    private JSONSegment current;
+
+    private JSONDocumentIterator(JSONTokenizer tokenizer)
+    {
+        PreCondition.assertNotNull(tokenizer, "tokenizer");
+
+        this.tokenizer = tokenizer;
+        this.parser = JSONTreeParser.create(tokenizer.getNameTable());
+    }
+
+    /**
+     * Create a new JSONDocumentIterator that parses the values in the provided text.
+     * @param text The text that contains the values.
+     * @return The new JSONDocumentIterator.
+     */
+    public static JSONDocumentIterator create(String text)
+    {
+        PreCondition.assertNotNull(text, "text");
+
+        return JSONDocumentIterator.create(JSONTokenizer.create(text));
+    }
+
+    /**
+     * Create a new JSONDocumentIterator that parses the values in the provided bytes.
+     * @param bytes The UTF-8 encoded bytes that contain the values.
+     * @return The new JSONDocumentIterator.
+     */
+    public static JSONDocumentIterator create(ByteReadStream bytes)
+    {
+        PreCondition.assertNotNull(bytes, "bytes");
+
+        return JSONDocumentIterator.create(JSONTokenizer.create(bytes));
+    }
+
+    /**
+     * Create a new JSONDocumentIterator that parses the values that the provided tokenizer
+     * produces, starting at its current token if it has already started.
+     * @param tokenizer The tokenizer that produces the values' tokens.
+     * @return The new JSONDocumentIterator.
+     */
+    public static JSONDocumentIterator create(JSONTokenizer tokenizer)
+    {
+        PreCondition.assertNotNull(tokenizer, "tokenizer");
+
+        return new JSONDocumentIterator(tokenizer.setSkipTrivia(true));
+    }
+
+    @Override
+    public boolean hasStarted()
+    {
+        return this.hasStarted;
+    }
+
+    @Override
+    public boolean hasCurrent()
+    {
+        return this.current != null;
+    }
+
+    @Override
+    public JSONSegment getCurrent()
+    {
+        PreCondition.assertTrue(this.hasCurrent(), "this.hasCurrent()");
+
+        return this.current;
+    }
+
+    /**
+     * Parse the next value.
+     * @return Whether or not there was a next value.
+     * @throws ParseException If the next value isn't valid JSON. The iterator can't find the
+     * start of the value after an invalid one, so every later call to next() returns false.
+     */
+    @Override
+    public boolean next()
+    {
+        this.current = null;
+        if (!this.hasStarted)
+        {
+            this.hasStarted = true;
+            JSON.ensureHasStarted(this.tokenizer);
+        }
+
+        if (!this.failed && this.tokenizer.hasCurrent())
+        {
+            this.failed = true;
+            this.current = JSONTreeParser.parse(this.tokenizer, this.parser);
+            this.failed = false;
+        }
+        return this.hasCurrent();
+    }
+}
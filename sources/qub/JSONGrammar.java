@@ -0,0 +1,335 @@
+package qub;
+
+/**
+ * The grammar of JSON arrays and objects as a state machine that JSONTokens are added to one at a
+ * time. Each token that starts or ends a value or names a property is reported as the
+ * JSONReaderEvent that it causes, and every token that can't appear at its position causes a
+ * ParseException. Only the state of each open array and object is kept, so the parsers that build
+ * values from the events decide for themselves what to keep. This is the only place that knows
+ * the order that tokens can appear in, so every parser reports the same ParseException messages.
+ */
+class JSONGrammar
+{
+    private static final int arrayExpectFirstElement = 0;
+    private static final int arrayExpectElement = 1;
+    private static final int arrayExpectSeparator = 2;
+    private static final int objectExpectFirstPropertyName = 3;
+    private static final int objectExpectPropertyName = 4;
+    private static final int objectExpectNameValueSeparator = 5;
+    private static final int objectExpectPropertyValue = 6;
+    private static final int objectExpectSeparator = 7;
+
+    private int[] states;
+    private int depth;
+
+    private JSONGrammar()
+    {
+        this.states = new int[16];
+    }
+
+    /**
+     * Create a new JSONGrammar that expects a top-level value.
+     * @return The new JSONGrammar.
+     */
+    static JSONGrammar create()
+    {
+        return new JSONGrammar();
+    }
+
+    /**
+     * Create a new JSONGrammar that is inside of an array whose left square bracket has already
+     * been added.
+     * @param afterSeparator Whether or not the array's tokens so far end with an element
+     * separator, so that an element must come next.
+     * @return The new JSONGrammar.
+     */
+    static JSONGrammar createInArray(boolean afterSeparator)
+    {
+        final JSONGrammar result = new JSONGrammar();
+        result.push(afterSeparator ? JSONGrammar.arrayExpectElement : JSONGrammar.arrayExpectFirstElement);
+        return result;
+    }
+
+    /**
+     * Get the number of arrays and objects that are open.
+     * @return The number of arrays and objects that are open.
+     */
+    int getDepth()
+    {
+        return this.depth;
+    }
+
+    /**
+     * Get whether or not the provided token can start a JSON value.
+     * @param token The token to check.
+     * @return Whether or not the provided token can start a JSON value.
+     */
+    static boolean startsValue(JSONToken token)
+    {
+        boolean result;
+        switch (token.getType())
+        {
+            case Boolean:
+            case Null:
+            case Number:
+            case QuotedString:
+            case LeftCurlyBracket:
+            case LeftSquareBracket:
+                result = true;
+                break;
+
+            default:
+                result = false;
+                break;
+        }
+        return result;
+    }
+
+    /**
+     * Add the provided token.
+     * @param token The next token.
+     * @return The event that the provided token causes, or null if the token is a separator.
+     * @throws ParseException If the provided token can't appear at this point.
+     */
+    JSONReaderEvent add(JSONToken token)
+    {
+        PreCondition.assertNotNull(token, "token");
+
+        JSONReaderEvent result;
+        if (this.depth == 0)
+        {
+            if (!JSONGrammar.startsValue(token))
+            {
+                throw new ParseException("Unexpected JSON token: " + token);
+            }
+            result = this.startValue(token);
+        }
+        else if (this.states[this.depth - 1] < JSONGrammar.objectExpectFirstPropertyName)
+        {
+            result = this.continueArray(token);
+        }
+        else
+        {
+            result = this.continueObject(token);
+        }
+        return result;
+    }
+
+    /**
+     * Close the innermost open array or object without adding its remaining tokens. This is used
+     * after the rest of a value has been skipped or parsed by something else.
+     */
+    void endValue()
+    {
+        PreCondition.assertGreaterThan(this.depth, 0, "this.getDepth()");
+
+        --this.depth;
+    }
+
+    /**
+     * Get the message of the ParseException for when the tokens end while an array or object is
+     * still open.
+     * @return The message for when the tokens end before the innermost open value is complete.
+     */
+    String getMissingMessage()
+    {
+        PreCondition.assertGreaterThan(this.depth, 0, "this.getDepth()");
+
+        String result;
+        switch (this.states[this.depth - 1])
+        {
+            case JSONGrammar.arrayExpectElement:
+                result = "Missing array element.";
+                break;
+
+            case JSONGrammar.arrayExpectFirstElement:
+            case JSONGrammar.arrayExpectSeparator:
+                result = "Missing array right square bracket (']').";
+                break;
+
+            case JSONGrammar.objectExpectNameValueSeparator:
+                result = "Missing object property name and value separator (':').";
+                break;
+
+            case JSONGrammar.objectExpectPropertyValue:
+                result = "Missing object property value.";
+                break;
+
+            case JSONGrammar.objectExpectPropertyName:
+                result = "Missing object property.";
+                break;
+
+            default:
+                result = "Missing object right curly bracket ('}').";
+                break;
+        }
+        return result;
+    }
+
+    /**
+     * Start the value that begins with the provided token.
+     * @param token The first token of the value.
+     * @return The event that starts the value.
+     */
+    private JSONReaderEvent startValue(JSONToken token)
+    {
+        JSONReaderEvent result;
+        switch (token.getType())
+        {
+            case LeftCurlyBracket:
+                this.push(JSONGrammar.objectExpectFirstPropertyName);
+                result = JSONReaderEvent.StartObject;
+                break;
+
+            case LeftSquareBracket:
+                this.push(JSONGrammar.arrayExpectFirstElement);
+                result = JSONReaderEvent.StartArray;
+                break;
+
+            case Boolean:
+                result = JSONReaderEvent.BooleanValue;
+                break;
+
+            case Null:
+                result = JSONReaderEvent.NullValue;
+                break;
+
+            case Number:
+                result = JSONReaderEvent.NumberValue;
+                break;
+
+            default:
+                result = JSONReaderEvent.StringValue;
+                break;
+        }
+        return result;
+    }
+
+    private void push(int state)
+    {
+        if (this.depth == this.states.length)
+        {
+            this.states = java.util.Arrays.copyOf(this.states, this.states.length * 2);
+        }
+        this.states[this.depth++] = state;
+    }
+
+    private JSONReaderEvent continueArray(JSONToken token)
+    {
+        final int state = this.states[this.depth - 1];
+        JSONReaderEvent result = null;
+        switch (token.getType())
+        {
+            case Boolean:
+            case Null:
+            case Number:
+            case QuotedString:
+            case LeftCurlyBracket:
+            case LeftSquareBracket:
+                if (state == JSONGrammar.arrayExpectSeparator)
+                {
+                    throw new ParseException("Expected array element separator (',') or right square bracket (']').");
+                }
+                this.states[this.depth - 1] = JSONGrammar.arrayExpectSeparator;
+                result = this.startValue(token);
+                break;
+
+            case Comma:
+                if (state != JSONGrammar.arrayExpectSeparator)
+                {
+                    throw new ParseException("Expected array element.");
+                }
+                this.states[this.depth - 1] = JSONGrammar.arrayExpectElement;
+                break;
+
+            case RightSquareBracket:
+                if (state == JSONGrammar.arrayExpectElement)
+                {
+                    throw new ParseException("Expected array element.");
+                }
+                --this.depth;
+                result = JSONReaderEvent.EndArray;
+                break;
+
+            default:
+                throw new ParseException("Unexpected array element token: " + Strings.escapeAndQuote(token));
+        }
+        return result;
+    }
+
+    private JSONReaderEvent continueObject(JSONToken token)
+    {
+        final int state = this.states[this.depth - 1];
+        JSONReaderEvent result = null;
+        switch (state)
+        {
+            case JSONGrammar.objectExpectNameValueSeparator:
+                if (token.getType() != JSONTokenType.Colon)
+                {
+                    throw new ParseException("Expected object property name and value separator (':').");
+                }
+                this.states[this.depth - 1] = JSONGrammar.objectExpectPropertyValue;
+                break;
+
+            case JSONGrammar.objectExpectPropertyValue:
+                if (token.getType() == JSONTokenType.Comma)
+                {
+                    throw new ParseException("Expected object property value.");
+                }
+                else if (!JSONGrammar.startsValue(token))
+                {
+                    throw new ParseException("Unexpected object property value token: " + Strings.escapeAndQuote(token));
+                }
+                this.states[this.depth - 1] = JSONGrammar.objectExpectSeparator;
+                result = this.startValue(token);
+                break;
+
+            default:
+                switch (token.getType())
+                {
+                    case QuotedString:
+                        if (state == JSONGrammar.objectExpectSeparator)
+                        {
+                            throw new ParseException("Expected object property separator (',') or right curly bracket ('}').");
+                        }
+                        if (token.getLength() <= 2)
+                        {
+                            throw new ParseException("Expected object property name to be not empty.");
+                        }
+                        this.states[this.depth - 1] = JSONGrammar.objectExpectNameValueSeparator;
+                        result = JSONReaderEvent.PropertyName;
+                        break;
+
+                    case Comma:
+                        if (state != JSONGrammar.objectExpectSeparator)
+                        {
+                            throw new ParseException(state == JSONGrammar.objectExpectPropertyName
+                                ? "Expected quoted-string object property name."
+                                : "Expected quoted-string object property name or right curly bracket ('}').");
+                        }
+                        this.states[this.depth - 1] = JSONGrammar.objectExpectPropertyName;
+                        break;
+
+                    case RightCurlyBracket:
+                        if (state == JSONGrammar.objectExpectPropertyName)
+                        {
+                            throw new ParseException("Expected quoted-string object property name.");
+                        }
+                        --this.depth;
+                        result = JSONReaderEvent.EndObject;
+                        break;
+
+                    default:
+                        if (state == JSONGrammar.objectExpectFirstPropertyName)
+                        {
+                            throw new ParseException("Expected quoted-string object property name or right curly bracket ('}').");
+                        }
+                        throw new ParseException(state == JSONGrammar.objectExpectPropertyName
+                            ? "Expected quoted-string object property name."
+                            : "Expected object property separator (',') or right curly bracket ('}').");
+                }
+                break;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,108 @@
+package qub;
+
+/**
+ * A set of callbacks that are invoked for each part of JSON content as it is read, without a
+ * JSONSegment tree being built. Each callback returns whether or not the read should continue, so
+ * a handler can stop the read as soon as it has what it needs. Every callback does nothing and
+ * continues the read by default.
+ */
+public interface JSONHandler
+{
+    /**
+     * Called when a left curly bracket ('{') starts an object.
+     * @return Whether or not to continue the read.
+     */
+    default boolean onObjectStart()
+    {
+        return true;
+    }
+
+    /**
+     * Called when a right curly bracket ('}') ends an object.
+     * @return Whether or not to continue the read.
+     */
+    default boolean onObjectEnd()
+    {
+        return true;
+    }
+
+    /**
+     * Called when a left square bracket ('[') starts an array.
+     * @return Whether or not to continue the read.
+     */
+    default boolean onArrayStart()
+    {
+        return true;
+    }
+
+    /**
+     * Called when a right square bracket (']') ends an array.
+     * @return Whether or not to continue the read.
+     */
+    default boolean onArrayEnd()
+    {
+        return true;
+    }
+
+    /**
+     * Called with the name of an object's property. The property's value is passed to the next
+     * callback.
+     * @param name The name of the property.
+     * @return Whether or not to continue the read.
+     */
+    default boolean onPropertyName(String name)
+    {
+        return true;
+    }
+
+    /**
+     * Called with the text between the quotes of a string. Like JSONString.getValue(), escape
+     * sequences are not decoded.
+     * @param value The text between the quotes of the string.
+     * @return Whether or not to continue the read.
+     */
+    default boolean onString(String value)
+    {
+        return true;
+    }
+
+    /**
+     * Called with the value of a number that isn't an integer that fits in a long.
+     * @param value The value of the number.
+     * @return Whether or not to continue the read.
+     */
+    default boolean onNumber(double value)
+    {
+        return true;
+    }
+
+    /**
+     * Called with the exact value of a number that is an integer that fits in a long. By default
+     * this passes the value to onNumber(double).
+     * @param value The value of the number.
+     * @return Whether or not to continue the read.
+     */
+    default boolean onLong(long value)
+    {
+        return this.onNumber(value);
+    }
+
+    /**
+     * Called with the value of a boolean.
+     * @param value The value of the boolean.
+     * @return Whether or not to continue the read.
+     */
+    default boolean onBoolean(boolean value)
+    {
+        return true;
+    }
+
+    /**
+     * Called when a null is read.
+     * @return Whether or not to continue the read.
+     */
+    default boolean onNull()
+    {
+        return true;
+    }
+}
@@ -0,0 +1,249 @@
+package qub;
+
+/**
+ * The second stage of a two-stage parse. A JSONIndexedParser walks the offsets of a
+ * JSONStructuralIndex instead of a JSONTokenizer, and adds a JSONToken for each one to a
+ * JSONTreeParser that builds the JSONSegment tree.
+ */
+public class JSONIndexedParser
+{
+    private final JSONStructuralIndex index;
+    private final char[] characters;
+    private final int count;
+    private final JSONNameTable names;
+    private int offsetIndex;
+
+    private JSONIndexedParser(JSONStructuralIndex index, JSONNameTable names)
+    {
+        PreCondition.assertNotNull(index, "index");
+        PreCondition.assertNotNull(names, "names");
+
+        this.index = index;
+        this.characters = index.getCharacters();
+        this.count = index.getCount();
+        this.names = names;
+    }
+
+    /**
+     * Parse the JSONSegment that the provided JSONStructuralIndex refers to. Unlike JSON.parse(),
+     * the indexed document must contain exactly one value. Arrays and objects are checked by the
+     * same JSONGrammar as JSON.parse(), but the index can't tell where an unsupported character or
+     * a comment was, so callers that need the same errors as JSON.parse() should parse the
+     * document again with a JSONTokenizer when this fails.
+     * @param index The index of the document to parse.
+     * @return The parsed JSONSegment.
+     */
+    public static Result<JSONSegment> parse(JSONStructuralIndex index)
+    {
+        PreCondition.assertNotNull(index, "index");
+
+        return JSONIndexedParser.parse(index, JSONNameTable.create());
+    }
+
+    /**
+     * Parse the JSONSegment that the provided JSONStructuralIndex refers to.
+     * @param index The index of the document to parse.
+     * @param names The table to look property names up in.
+     * @return The parsed JSONSegment.
+     */
+    public static Result<JSONSegment> parse(JSONStructuralIndex index, JSONNameTable names)
+    {
+        PreCondition.assertNotNull(index, "index");
+        PreCondition.assertNotNull(names, "names");
+
+        return Result.create(() ->
+        {
+            final JSONIndexedParser parser = new JSONIndexedParser(index, names);
+            final JSONSegment result = parser.parseValue();
+            if (parser.offsetIndex != parser.count)
+            {
+                throw new ParseException("Expected the end of the document at offset " + index.getOffset(parser.offsetIndex) + ".");
+            }
+
+            PostCondition.assertNotNull(result, "result");
+
+            return result;
+        });
+    }
+
+    /**
+     * Take the next offset from the index.
+     * @return The next offset.
+     */
+    private int takeOffset()
+    {
+        if (this.offsetIndex == this.count)
+        {
+            throw new ParseException("Unexpected end of the document.");
+        }
+        return this.index.getOffset(this.offsetIndex++);
+    }
+
+    /**
+     * Parse the value that the remaining offsets start with. The offsets are turned into
+     * JSONTokens and added to a JSONTreeParser, so the arrays and objects are checked by the same
+     * JSONGrammar as JSON.parse() and deeply nested documents don't overflow the call stack.
+     * @return The parsed value.
+     */
+    private JSONSegment parseValue()
+    {
+        final JSONTreeParser parser = JSONTreeParser.create(this.names);
+        JSONSegment result = null;
+        while (result == null)
+        {
+            if (this.offsetIndex == this.count && parser.isParsingValue())
+            {
+                throw new ParseException(parser.getMissingMessage());
+            }
+            result = parser.add(this.takeToken());
+        }
+        return result;
+    }
+
+    /**
+     * Take the offsets of the next token from the index.
+     * @return The JSONToken that the next offsets refer to.
+     */
+    private JSONToken takeToken()
+    {
+        final int offset = this.takeOffset();
+
+        JSONToken result;
+        switch (this.characters[offset])
+        {
+            case '{':
+                result = JSONToken.leftCurlyBracket;
+                break;
+
+            case '}':
+                result = JSONToken.rightCurlyBracket;
+                break;
+
+            case '[':
+                result = JSONToken.leftSquareBracket;
+                break;
+
+            case ']':
+                result = JSONToken.rightSquareBracket;
+                break;
+
+            case ':':
+                result = JSONToken.colon;
+                break;
+
+            case ',':
+                result = JSONToken.comma;
+                break;
+
+            case '\"':
+            case '\'':
+                final int closingQuoteOffset = this.takeOffset();
+                result = new JSONToken(this.characters, offset, closingQuoteOffset - offset + 1, JSONTokenType.QuotedString);
+                break;
+
+            default:
+                result = this.parseScalar(offset);
+                break;
+        }
+        return result;
+    }
+
+    /**
+     * Get the token for the number or literal that starts at the provided offset. The whole run
+     * of scalar characters must form a single number or literal.
+     * @param startOffset The offset of the first character of the number or literal.
+     * @return The token for the number or literal.
+     */
+    private JSONToken parseScalar(int startOffset)
+    {
+        int endOffset = startOffset + 1;
+        while (endOffset < this.characters.length && JSONStructuralIndex.isScalarCharacter(this.characters[endOffset]))
+        {
+            ++endOffset;
+        }
+
+        JSONToken result;
+        if (this.scalarEquals(startOffset, endOffset, "true"))
+        {
+            result = JSONToken.trueToken;
+        }
+        else if (this.scalarEquals(startOffset, endOffset, "false"))
+        {
+            result = JSONToken.falseToken;
+        }
+        else if (this.scalarEquals(startOffset, endOffset, "null"))
+        {
+            result = JSONToken.nullToken;
+        }
+        else if (this.isNumber(startOffset, endOffset))
+        {
+            result = new JSONToken(this.characters, startOffset, endOffset - startOffset, JSONTokenType.Number);
+        }
+        else
+        {
+            throw new ParseException("Unrecognized number or literal at offset " + startOffset + ".");
+        }
+        return result;
+    }
+
+    private boolean scalarEquals(int startOffset, int endOffset, String text)
+    {
+        final int textLength = text.length();
+        boolean result = (endOffset - startOffset == textLength);
+        for (int i = 0; result && i < textLength; ++i)
+        {
+            result = (this.characters[startOffset + i] == text.charAt(i));
+        }
+        return result;
+    }
+
+    /**
+     * Get whether or not the provided range of characters is a number that a JSONTokenizer would
+     * read as a single Number token.
+     * @param startOffset The offset of the first character.
+     * @param endOffset The offset after the last character.
+     * @return Whether or not the provided range of characters is a single number.
+     */
+    private boolean isNumber(int startOffset, int endOffset)
+    {
+        int offset = startOffset;
+        if (this.characters[offset] == '-')
+        {
+            ++offset;
+        }
+
+        final int integerStartOffset = offset;
+        offset = this.skipDigits(offset, endOffset);
+        boolean result = (offset != integerStartOffset);
+
+        if (result && offset < endOffset && this.characters[offset] == '.')
+        {
+            final int fractionStartOffset = ++offset;
+            offset = this.skipDigits(offset, endOffset);
+            result = (offset != fractionStartOffset);
+        }
+
+        if (result && offset < endOffset && (this.characters[offset] == 'e' || this.characters[offset] == 'E'))
+        {
+            ++offset;
+            if (offset < endOffset && (this.characters[offset] == '-' || this.characters[offset] == '+'))
+            {
+                ++offset;
+            }
+            final int exponentStartOffset = offset;
+            offset = this.skipDigits(offset, endOffset);
+            result = (offset != exponentStartOffset);
+        }
+
+        return result && offset == endOffset;
+    }
+
+    private int skipDigits(int offset, int endOffset)
+    {
+        while (offset < endOffset && JSONTokenizer.isDigit(this.characters[offset]))
+        {
+            ++offset;
+        }
+        return offset;
+    }
+}
@@ -0,0 +1,488 @@
+package qub;
+
+/**
+ * A reader for JSON Lines (newline-delimited JSON) content, where each line holds one JSON value.
+ * The input is read in blocks of whole lines, and each block is parsed with JSON.parse() on a pool
+ * of worker threads while the next blocks are read. By default the values are returned in input
+ * order. Unordered output returns each block's values as soon as the block is parsed, so one slow
+ * block doesn't hold back the blocks after it. Lines that only contain whitespace are skipped.
+ */
+public class JSONLinesReader implements Disposable
+{
+    private static final int defaultBlockLength = 1024 * 1024;
+
+    private final JSONByteInput input;
+    private final Disposable inputOwner;
+    private int threadCount;
+    private boolean ordered;
+    private int blockLength;
+
+    private java.util.concurrent.ExecutorService executor;
+    private java.util.concurrent.ExecutorCompletionService<Block> unorderedBlocks;
+    private final java.util.ArrayDeque<java.util.concurrent.Future<Block>> orderedBlocks;
+    private int blocksInFlight;
+
+    private byte[] buffer;
+    private int bufferStartIndex;
+    private int bufferEndIndex;
+    private boolean endOfInput;
+    private long nextLineNumber;
+
+    private Block currentBlock;
+    private int currentIndex;
+    private boolean disposed;
+
+    private JSONLinesReader(JSONByteInput input, Disposable inputOwner)
+    {
+        PreCondition.assertNotNull(input, "input");
+
+        this.input = input;
+        this.inputOwner = inputOwner;
+        this.threadCount = java.lang.Runtime.getRuntime().availableProcessors();
+        this.ordered = true;
+        this.blockLength = JSONLinesReader.defaultBlockLength;
+        this.orderedBlocks = new java.util.ArrayDeque<>();
+        this.nextLineNumber = 1;
+    }
+
+    /**
+     * Create a new JSONLinesReader that reads from the provided File. Files on the Java file
+     * system are read through memory-mapped segments. The File is closed when the
+     * JSONLinesReader is disposed.
+     * @param file The file to read.
+     * @return The new JSONLinesReader.
+     */
+    public static JSONLinesReader create(File file)
+    {
+        PreCondition.assertNotNull(file, "file");
+
+        JSONLinesReader result;
+        if (JSONMappedFileInput.isSupported(file))
+        {
+            final JSONMappedFileInput mappedInput = JSONMappedFileInput.create(file);
+            result = new JSONLinesReader(mappedInput, mappedInput);
+        }
+        else
+        {
+            final ByteReadStream byteReadStream = ByteReadStream.buffer(file.getContentReadStream().await());
+            result = new JSONLinesReader(JSONByteInput.create(byteReadStream), byteReadStream);
+        }
+        return result;
+    }
+
+    /**
+     * Create a new JSONLinesReader that reads from the provided ByteReadStream. The stream is not
+     * disposed when the JSONLinesReader is disposed.
+     * @param bytes The UTF-8 encoded bytes to read.
+     * @return The new JSONLinesReader.
+     */
+    public static JSONLinesReader create(ByteReadStream bytes)
+    {
+        PreCondition.assertNotNull(bytes, "bytes");
+
+        return JSONLinesReader.create(JSONByteInput.create(bytes));
+    }
+
+    /**
+     * Create a new JSONLinesReader that reads from the provided JSONByteInput.
+     * @param input The input to read UTF-8 encoded bytes from.
+     * @return The new JSONLinesReader.
+     */
+    public static JSONLinesReader create(JSONByteInput input)
+    {
+        PreCondition.assertNotNull(input, "input");
+
+        return new JSONLinesReader(input, null);
+    }
+
+    /**
+     * Get the number of worker threads that parse the lines. The default is the number of
+     * available processors.
+     * @return The number of worker threads that parse the lines.
+     */
+    public int getThreadCount()
+    {
+        return this.threadCount;
+    }
+
+    /**
+     * Set the number of worker threads that parse the lines. This can't be changed once reading
+     * has started.
+     * @param threadCount The number of worker threads that parse the lines.
+     * @return This object for method chaining.
+     */
+    public JSONLinesReader setThreadCount(int threadCount)
+    {
+        PreCondition.assertGreaterThanOrEqualTo(threadCount, 1, "threadCount");
+        PreCondition.assertFalse(this.hasStarted(), "this.hasStarted()");
+
+        this.threadCount = threadCount;
+        return this;
+    }
+
+    /**
+     * Get whether or not values are returned in input order. The default is true.
+     * @return Whether or not values are returned in input order.
+     */
+    public boolean isOrdered()
+    {
+        return this.ordered;
+    }
+
+    /**
+     * Set whether or not values are returned in input order. When this is false, the values of
+     * each block of lines are still returned in order, but the blocks are returned in the order
+     * that they finish parsing. This can't be changed once reading has started.
+     * @param ordered Whether or not values are returned in input order.
+     * @return This object for method chaining.
+     */
+    public JSONLinesReader setOrdered(boolean ordered)
+    {
+        PreCondition.assertFalse(this.hasStarted(), "this.hasStarted()");
+
+        this.ordered = ordered;
+        return this;
+    }
+
+    /**
+     * Set the number of bytes that are read for each block of lines that a worker thread parses.
+     * A line that is longer than this is read into a larger block. This can't be changed once
+     * reading has started.
+     * @param blockLength The number of bytes that are read for each block of lines.
+     * @return This object for method chaining.
+     */
+    JSONLinesReader setBlockLength(int blockLength)
+    {
+        PreCondition.assertGreaterThanOrEqualTo(blockLength, 1, "blockLength");
+        PreCondition.assertFalse(this.hasStarted(), "this.hasStarted()");
+
+        this.blockLength = blockLength;
+        return this;
+    }
+
+    /**
+     * Get whether or not this reader has started reading its input.
+     * @return Whether or not this reader has started reading its input.
+     */
+    public boolean hasStarted()
+    {
+        return this.buffer != null;
+    }
+
+    /**
+     * Get whether or not this reader has a current value.
+     * @return Whether or not this reader has a current value.
+     */
+    public boolean hasCurrent()
+    {
+        return this.currentBlock != null && this.currentBlock.values[this.currentIndex] != null;
+    }
+
+    /**
+     * Get the current value.
+     * @return The current value.
+     */
+    public JSONSegment getCurrent()
+    {
+        PreCondition.assertTrue(this.hasCurrent(), "this.hasCurrent()");
+
+        return this.currentBlock.values[this.currentIndex];
+    }
+
+    /**
+     * Get the line number (starting at 1) of the current value.
+     * @return The line number of the current value.
+     */
+    public long getLineNumber()
+    {
+        PreCondition.assertTrue(this.hasCurrent(), "this.hasCurrent()");
+
+        return this.currentBlock.lineNumbers[this.currentIndex];
+    }
+
+    /**
+     * Move to the next value.
+     * @return Whether or not there was a next value. This is false when the end of the input has
+     * been reached.
+     * @throws ParseException If the next line isn't valid JSON. The message starts with the
+     * line's number, and the following call to next() moves past the invalid line.
+     */
+    public boolean next()
+    {
+        PreCondition.assertFalse(this.isDisposed(), "this.isDisposed()");
+
+        if (this.currentBlock != null)
+        {
+            ++this.currentIndex;
+        }
+
+        while (this.currentBlock == null || this.currentIndex == this.currentBlock.count)
+        {
+            this.currentBlock = null;
+            this.startBlocks();
+            if (this.blocksInFlight == 0)
+            {
+                this.shutDownExecutor();
+                break;
+            }
+            this.currentBlock = this.takeBlock();
+            this.currentIndex = 0;
+        }
+
+        if (this.currentBlock != null && this.currentBlock.values[this.currentIndex] == null)
+        {
+            throw this.currentBlock.errors[this.currentIndex];
+        }
+        return this.hasCurrent();
+    }
+
+    /**
+     * Read blocks of lines from the input and start parsing them until either enough blocks are
+     * being parsed to keep the worker threads busy or the end of the input has been reached.
+     */
+    private void startBlocks()
+    {
+        if (this.executor == null)
+        {
+            this.buffer = new byte[this.blockLength];
+            this.executor = java.util.concurrent.Executors.newFixedThreadPool(this.threadCount, (java.lang.Runnable runnable) ->
+            {
+                final java.lang.Thread thread = new java.lang.Thread(runnable, "JSONLinesReader");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.unorderedBlocks = new java.util.concurrent.ExecutorCompletionService<>(this.executor);
+        }
+
+        final int maximumBlocksInFlight = this.threadCount * 2;
+        while (this.blocksInFlight < maximumBlocksInFlight)
+        {
+            final Block block = this.readBlock();
+            if (block == null)
+            {
+                break;
+            }
+
+            if (this.ordered)
+            {
+                this.orderedBlocks.addLast(this.executor.submit(block::parse));
+            }
+            else
+            {
+                this.unorderedBlocks.submit(block::parse);
+            }
+            ++this.blocksInFlight;
+        }
+    }
+
+    /**
+     * Wait for the next parsed block. If the block's parse failed with something other than a
+     * ParseException for one of its lines, then the worker threads are stopped and the failure is
+     * thrown.
+     * @return The next parsed block.
+     */
+    private Block takeBlock()
+    {
+        try
+        {
+            final java.util.concurrent.Future<Block> block = this.ordered
+                ? this.orderedBlocks.removeFirst()
+                : this.unorderedBlocks.take();
+            // The block isn't in flight anymore once it has been taken, even if its parse failed.
+            --this.blocksInFlight;
+            return block.get();
+        }
+        catch (java.util.concurrent.ExecutionException e)
+        {
+            this.shutDownExecutor();
+
+            final java.lang.Throwable cause = e.getCause();
+            if (cause instanceof java.lang.RuntimeException)
+            {
+                throw (java.lang.RuntimeException)cause;
+            }
+            throw new java.lang.RuntimeException(cause);
+        }
+        catch (java.lang.InterruptedException e)
+        {
+            java.lang.Thread.currentThread().interrupt();
+            throw new java.lang.RuntimeException(e);
+        }
+    }
+
+    /**
+     * Read the next block of whole lines from the input.
+     * @return The next block of lines, or null if the end of the input has been reached.
+     */
+    private Block readBlock()
+    {
+        Block result = null;
+        while (result == null && !(this.endOfInput && this.bufferStartIndex == this.bufferEndIndex))
+        {
+            if (!this.endOfInput && this.bufferEndIndex < this.buffer.length)
+            {
+                final int bytesRead = this.input.read(this.buffer, this.bufferEndIndex, this.buffer.length - this.bufferEndIndex);
+                if (bytesRead < 0)
+                {
+                    this.endOfInput = true;
+                }
+                else
+                {
+                    this.bufferEndIndex += bytesRead;
+                }
+            }
+
+            int blockEndIndex = this.bufferEndIndex;
+            if (!this.endOfInput)
+            {
+                while (blockEndIndex > this.bufferStartIndex && this.buffer[blockEndIndex - 1] != '\n')
+                {
+                    --blockEndIndex;
+                }
+            }
+
+            if (blockEndIndex > this.bufferStartIndex && (this.endOfInput || this.bufferEndIndex == this.buffer.length))
+            {
+                result = new Block(java.util.Arrays.copyOfRange(this.buffer, this.bufferStartIndex, blockEndIndex), this.nextLineNumber);
+                for (int i = this.bufferStartIndex; i < blockEndIndex; ++i)
+                {
+                    if (this.buffer[i] == '\n')
+                    {
+                        ++this.nextLineNumber;
+                    }
+                }
+                this.bufferStartIndex = blockEndIndex;
+            }
+
+            if (this.bufferEndIndex == this.buffer.length)
+            {
+                // Move the partial line at the end of the buffer to the start of the buffer, and
+                // make the buffer bigger if the partial line already fills it.
+                final int partialLength = this.bufferEndIndex - this.bufferStartIndex;
+                final byte[] newBuffer = (partialLength == this.buffer.length ? new byte[this.buffer.length * 2] : this.buffer);
+                java.lang.System.arraycopy(this.buffer, this.bufferStartIndex, newBuffer, 0, partialLength);
+                this.buffer = newBuffer;
+                this.bufferStartIndex = 0;
+                this.bufferEndIndex = partialLength;
+            }
+        }
+        return result;
+    }
+
+    private void shutDownExecutor()
+    {
+        if (this.executor != null)
+        {
+            this.executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isDisposed()
+    {
+        return this.disposed;
+    }
+
+    @Override
+    public Result<Boolean> dispose()
+    {
+        return Result.create(() ->
+        {
+            final boolean result = !this.disposed;
+            if (result)
+            {
+                this.disposed = true;
+                this.shutDownExecutor();
+                this.orderedBlocks.clear();
+                this.currentBlock = null;
+                if (this.inputOwner != null)
+                {
+                    this.inputOwner.dispose().await();
+                }
+            }
+            return result;
+        });
+    }
+
+    /**
+     * A block of whole lines that a worker thread parses.
+     */
+    private static class Block
+    {
+        private final byte[] bytes;
+        private final long firstLineNumber;
+        private JSONSegment[] values;
+        private long[] lineNumbers;
+        private ParseException[] errors;
+        private int count;
+
+        private Block(byte[] bytes, long firstLineNumber)
+        {
+            this.bytes = bytes;
+            this.firstLineNumber = firstLineNumber;
+        }
+
+        /**
+         * Parse each of this block's lines. A line that isn't valid JSON is stored as the
+         * ParseException for that line instead of as a value.
+         * @return This block.
+         */
+        Block parse()
+        {
+            this.values = new JSONSegment[16];
+            this.lineNumbers = new long[16];
+            this.errors = new ParseException[16];
+            long lineNumber = this.firstLineNumber;
+            int lineStartIndex = 0;
+            while (lineStartIndex < this.bytes.length)
+            {
+                int lineEndIndex = lineStartIndex;
+                while (lineEndIndex < this.bytes.length && this.bytes[lineEndIndex] != '\n')
+                {
+                    ++lineEndIndex;
+                }
+
+                if (!Block.isWhitespace(this.bytes, lineStartIndex, lineEndIndex))
+                {
+                    final String line = new String(this.bytes, lineStartIndex, lineEndIndex - lineStartIndex, java.nio.charset.StandardCharsets.UTF_8);
+                    try
+                    {
+                        this.add(JSON.parse(line).await(), null, lineNumber);
+                    }
+                    catch (ParseException e)
+                    {
+                        this.add(null, new ParseException("Line " + lineNumber + ": " + e.getMessage()), lineNumber);
+                    }
+                }
+
+                ++lineNumber;
+                lineStartIndex = lineEndIndex + 1;
+            }
+            return this;
+        }
+
+        private void add(JSONSegment value, ParseException error, long lineNumber)
+        {
+            if (this.count == this.values.length)
+            {
+                this.values = java.util.Arrays.copyOf(this.values, this.count * 2);
+                this.lineNumbers = java.util.Arrays.copyOf(this.lineNumbers, this.count * 2);
+                this.errors = java.util.Arrays.copyOf(this.errors, this.count * 2);
+            }
+            this.values[this.count] = value;
+            this.errors[this.count] = error;
+            this.lineNumbers[this.count] = lineNumber;
+            ++this.count;
+        }
+
+        private static boolean isWhitespace(byte[] bytes, int startIndex, int endIndex)
+        {
+            boolean result = true;
+            for (int i = startIndex; result && i < endIndex; ++i)
+            {
+                result = (bytes[i] == ' ' || bytes[i] == '\t' || bytes[i] == '\r');
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package qub;
+
+/**
+ * A JSONCodec that decodes JSON arrays into Lists and encodes Lists as JSON arrays.
+ * @param <T> The type of the elements.
+ */
+class JSONListCodec<T> implements JSONCodec<List<T>>
+{
+    private final JSONCodec<T> elementCodec;
+
+    JSONListCodec(JSONCodec<T> elementCodec)
+    {
+        PreCondition.assertNotNull(elementCodec, "elementCodec");
+
+        this.elementCodec = elementCodec;
+    }
+
+    @Override
+    public List<T> decode(JSONTokenizer tokenizer, String valueName)
+    {
+        PreCondition.assertNotNull(tokenizer, "tokenizer");
+        PreCondition.assertTrue(tokenizer.hasCurrent(), "tokenizer.hasCurrent()");
+        PreCondition.assertNotNullAndNotEmpty(valueName, "valueName");
+
+        List<T> result = null;
+        final JSONTokenType tokenType = tokenizer.getCurrent().getType();
+        if (tokenType == JSONTokenType.Null)
+        {
+            JSON.next(tokenizer);
+        }
+        else if (tokenType != JSONTokenType.LeftSquareBracket)
+        {
+            throw JSONCodecRegistry.createWrongTypeException(tokenizer, Iterable.create(JSONArray.class, JSONNull.class), valueName);
+        }
+        else
+        {
+            result = List.create();
+            final String elementName = "an element of " + valueName;
+            boolean expectElement = true;
+            JSON.next(tokenizer);
+            while (true)
+            {
+                if (!tokenizer.hasCurrent())
+                {
+                    throw new ParseException(result.any() && expectElement
+                        ? "Missing array element."
+                        : "Missing array right square bracket (']').");
+                }
+
+                final JSONToken token = tokenizer.getCurrent();
+                if (token.getType() == JSONTokenType.RightSquareBracket)
+                {
+                    if (result.any() && expectElement)
+                    {
+                        throw new ParseException("Expected array element.");
+                    }
+                    JSON.next(tokenizer);
+                    break;
+                }
+                else if (token.getType() == JSONTokenType.Comma)
+                {
+                    if (expectElement)
+                    {
+                        throw new ParseException("Expected array element.");
+                    }
+                    expectElement = true;
+                    JSON.next(tokenizer);
+                }
+                else if (!JSONGrammar.startsValue(token))
+                {
+                    throw new ParseException("Unexpected array element token: " + Strings.escapeAndQuote(token));
+                }
+                else if (!expectElement)
+                {
+                    throw new ParseException("Expected array element separator (',') or right square bracket (']').");
+                }
+                else
+                {
+                    result.add(this.elementCodec.decode(tokenizer, elementName));
+                    expectElement = false;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int encode(List<T> value, IndentedCharacterWriteStream stream, JSONFormat format)
+    {
+        PreCondition.assertNotNull(stream, "stream");
+        PreCondition.assertNotNull(format, "format");
+
+        int result = 0;
+        if (value == null)
+        {
+            result += stream.write("null").await();
+        }
+        else
+        {
+            stream.setSingleIndent(format.getSingleIndent());
+
+            final String newLine = format.getNewLine();
+            final boolean hasNewLine = !Strings.isNullOrEmpty(newLine);
+
+            result += stream.write('[').await();
+            stream.increaseIndent();
+            try
+            {
+                boolean wroteElement = false;
+                for (final T element : value)
+                {
+                    if (!wroteElement)
+                    {
+                        wroteElement = true;
+                    }
+                    else
+                    {
+                        result += stream.write(',').await();
+                    }
+                    if (hasNewLine)
+                    {
+                        result += stream.write(newLine).await();
+                    }
+                    result += this.elementCodec.encode(element, stream, format);
+                }
+                if (hasNewLine && wroteElement)
+                {
+                    result += stream.write(newLine).await();
+                }
+            }
+            finally
+            {
+                stream.decreaseIndent();
+            }
+            result += stream.write(']').await();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,165 @@
+package qub;
+
+/**
+ * A JSONByteInput that reads a file's bytes through memory-mapped segments of the file. The
+ * file's content is never copied into the heap as a whole. Only one segment is mapped at a time,
+ * which lets files that are larger than a single mapping (2 GB) be read.
+ */
+public class JSONMappedFileInput implements JSONByteInput, Disposable
+{
+    private static final long defaultSegmentLength = 256L * 1024 * 1024;
+
+    private final java.nio.channels.FileChannel channel;
+    private final long fileLength;
+    private final long segmentLength;
+    private long nextSegmentStartIndex;
+    private java.nio.MappedByteBuffer segment;
+    private boolean disposed;
+
+    private JSONMappedFileInput(java.nio.channels.FileChannel channel, long fileLength, long segmentLength)
+    {
+        PreCondition.assertNotNull(channel, "channel");
+        PreCondition.assertGreaterThanOrEqualTo(fileLength, 0L, "fileLength");
+        PreCondition.assertBetween(1L, segmentLength, (long)Integer.MAX_VALUE, "segmentLength");
+
+        this.channel = channel;
+        this.fileLength = fileLength;
+        this.segmentLength = segmentLength;
+    }
+
+    /**
+     * Get whether or not the provided File can be read through a JSONMappedFileInput. Only existing
+     * files on the Java file system can be memory-mapped.
+     * @param file The file to check.
+     * @return Whether or not the provided File can be read through a JSONMappedFileInput.
+     */
+    public static boolean isSupported(File file)
+    {
+        PreCondition.assertNotNull(file, "file");
+
+        return file.getFileSystem() instanceof JavaFileSystem &&
+            java.nio.file.Files.isRegularFile(JSONMappedFileInput.getPath(file));
+    }
+
+    /**
+     * Create a new JSONMappedFileInput that reads the provided File's content.
+     * @param file The file to read.
+     * @return The new JSONMappedFileInput.
+     */
+    public static JSONMappedFileInput create(File file)
+    {
+        PreCondition.assertNotNull(file, "file");
+        PreCondition.assertTrue(JSONMappedFileInput.isSupported(file), "JSONMappedFileInput.isSupported(file)");
+
+        return JSONMappedFileInput.create(JSONMappedFileInput.getPath(file));
+    }
+
+    /**
+     * Create a new JSONMappedFileInput that reads the content of the file at the provided path.
+     * @param path The path to the file to read.
+     * @return The new JSONMappedFileInput.
+     */
+    public static JSONMappedFileInput create(java.nio.file.Path path)
+    {
+        return JSONMappedFileInput.create(path, JSONMappedFileInput.defaultSegmentLength);
+    }
+
+    /**
+     * Create a new JSONMappedFileInput that reads the content of the file at the provided path.
+     * @param path The path to the file to read.
+     * @param segmentLength The maximum number of bytes to map at a time.
+     * @return The new JSONMappedFileInput.
+     */
+    static JSONMappedFileInput create(java.nio.file.Path path, long segmentLength)
+    {
+        PreCondition.assertNotNull(path, "path");
+
+        try
+        {
+            final java.nio.channels.FileChannel channel = java.nio.channels.FileChannel.open(path, java.nio.file.StandardOpenOption.READ);
+            return new JSONMappedFileInput(channel, channel.size(), segmentLength);
+        }
+        catch (java.io.IOException e)
+        {
+            throw new java.io.UncheckedIOException(e);
+        }
+    }
+
+    private static java.nio.file.Path getPath(File file)
+    {
+        return java.nio.file.Paths.get(file.toString());
+    }
+
+    @Override
+    public int read(byte[] buffer, int startIndex, int length)
+    {
+        PreCondition.assertNotNull(buffer, "buffer");
+        PreCondition.assertBetween(0, startIndex, buffer.length - 1, "startIndex");
+        PreCondition.assertBetween(1, length, buffer.length - startIndex, "length");
+        PreCondition.assertNotDisposed(this, "this");
+
+        if (this.segment == null || !this.segment.hasRemaining())
+        {
+            this.mapNextSegment();
+        }
+
+        int result = -1;
+        if (this.segment != null)
+        {
+            result = java.lang.Math.min(length, this.segment.remaining());
+            this.segment.get(buffer, startIndex, result);
+        }
+        return result;
+    }
+
+    /**
+     * Map the next segment of the file. If the end of the file has been reached, then the current
+     * segment will be set to null.
+     */
+    private void mapNextSegment()
+    {
+        this.segment = null;
+        if (this.nextSegmentStartIndex < this.fileLength)
+        {
+            final long mappedLength = java.lang.Math.min(this.segmentLength, this.fileLength - this.nextSegmentStartIndex);
+            try
+            {
+                this.segment = this.channel.map(java.nio.channels.FileChannel.MapMode.READ_ONLY, this.nextSegmentStartIndex, mappedLength);
+            }
+            catch (java.io.IOException e)
+            {
+                throw new java.io.UncheckedIOException(e);
+            }
+            this.nextSegmentStartIndex += mappedLength;
+        }
+    }
+
+    @Override
+    public boolean isDisposed()
+    {
+        return this.disposed;
+    }
+
+    @Override
+    public Result<Boolean> dispose()
+    {
+        return Result.create(() ->
+        {
+            final boolean result = !this.disposed;
+            if (result)
+            {
+                this.disposed = true;
+                this.segment = null;
+                try
+                {
+                    this.channel.close();
+                }
+                catch (java.io.IOException e)
+                {
+                    throw new java.io.UncheckedIOException(e);
+                }
+            }
+            return result;
+        });
+    }
+}
@@ -0,0 +1,179 @@
+package qub;
+
+/**
+ * A table of the property names that have been parsed. Looking up a name that is already in the
+ * table returns the shared String instance without allocating anything, so a document with many
+ * objects that have the same property names only creates one String for each distinct name. A
+ * JSONNameTable can be reused across all of the documents of a stream, but it isn't safe to use
+ * from multiple threads at the same time.
+ */
+public class JSONNameTable
+{
+    private static final int defaultMaximumCount = 4096;
+    private static final int maximumNameLength = 256;
+    private static final int initialCapacity = 64;
+
+    private final int maximumCount;
+    private String[] names;
+    private int[] hashes;
+    private int count;
+
+    private JSONNameTable(int maximumCount)
+    {
+        PreCondition.assertGreaterThanOrEqualTo(maximumCount, 0, "maximumCount");
+
+        this.maximumCount = maximumCount;
+        this.names = new String[JSONNameTable.initialCapacity];
+        this.hashes = new int[JSONNameTable.initialCapacity];
+    }
+
+    /**
+     * Create a new empty JSONNameTable.
+     * @return The new JSONNameTable.
+     */
+    public static JSONNameTable create()
+    {
+        return JSONNameTable.create(JSONNameTable.defaultMaximumCount);
+    }
+
+    /**
+     * Create a new empty JSONNameTable that holds at most the provided number of names. Once the
+     * table is full, names that aren't already in the table are still returned but are no longer
+     * added to the table. This keeps documents with unbounded sets of property names (such as
+     * objects that are used as maps) from growing the table forever.
+     * @param maximumCount The maximum number of names that the table will hold.
+     * @return The new JSONNameTable.
+     */
+    public static JSONNameTable create(int maximumCount)
+    {
+        return new JSONNameTable(maximumCount);
+    }
+
+    /**
+     * Get the number of names in this table.
+     * @return The number of names in this table.
+     */
+    public int getCount()
+    {
+        return this.count;
+    }
+
+    /**
+     * Get the maximum number of names that this table will hold.
+     * @return The maximum number of names that this table will hold.
+     */
+    public int getMaximumCount()
+    {
+        return this.maximumCount;
+    }
+
+    /**
+     * Get the String with the provided characters.
+     * @param text The characters of the String to get.
+     * @return The shared String with the provided characters.
+     */
+    public String get(String text)
+    {
+        PreCondition.assertNotNull(text, "text");
+
+        return this.get(text.toCharArray(), 0, text.length());
+    }
+
+    /**
+     * Get the String with the provided range of characters. If the table already has a name with
+     * these characters, then that shared String is returned. Otherwise a new String is created and
+     * added to the table.
+     * @param characters The array that contains the characters of the String.
+     * @param startIndex The index of the first character of the String.
+     * @param length The number of characters in the String.
+     * @return The shared String with the provided characters.
+     */
+    public String get(char[] characters, int startIndex, int length)
+    {
+        PreCondition.assertNotNull(characters, "characters");
+        PreCondition.assertBetween(0, startIndex, characters.length, "startIndex");
+        PreCondition.assertBetween(0, length, characters.length - startIndex, "length");
+
+        String result = null;
+        if (length <= JSONNameTable.maximumNameLength)
+        {
+            int hash = 0;
+            for (int i = 0; i < length; ++i)
+            {
+                hash = 31 * hash + characters[startIndex + i];
+            }
+
+            final int mask = this.names.length - 1;
+            int index = (hash ^ (hash >>> 16)) & mask;
+            String name = this.names[index];
+            while (name != null)
+            {
+                if (this.hashes[index] == hash && JSONNameTable.equals(name, characters, startIndex, length))
+                {
+                    result = name;
+                    break;
+                }
+                index = (index + 1) & mask;
+                name = this.names[index];
+            }
+
+            if (result == null && this.count < this.maximumCount)
+            {
+                result = new String(characters, startIndex, length);
+                this.names[index] = result;
+                this.hashes[index] = hash;
+                ++this.count;
+                if (this.count * 2 > this.names.length)
+                {
+                    this.grow();
+                }
+            }
+        }
+
+        if (result == null)
+        {
+            result = new String(characters, startIndex, length);
+        }
+
+        PostCondition.assertNotNull(result, "result");
+
+        return result;
+    }
+
+    private static boolean equals(String name, char[] characters, int startIndex, int length)
+    {
+        boolean result = (name.length() == length);
+        for (int i = 0; result && i < length; ++i)
+        {
+            result = (name.charAt(i) == characters[startIndex + i]);
+        }
+        return result;
+    }
+
+    /**
+     * Double the capacity of this table so that it stays at most half full.
+     */
+    private void grow()
+    {
+        final String[] oldNames = this.names;
+        final int[] oldHashes = this.hashes;
+        this.names = new String[oldNames.length * 2];
+        this.hashes = new int[oldNames.length * 2];
+
+        final int mask = this.names.length - 1;
+        for (int i = 0; i < oldNames.length; ++i)
+        {
+            if (oldNames[i] != null)
+            {
+                final int hash = oldHashes[i];
+                int index = (hash ^ (hash >>> 16)) & mask;
+                while (this.names[index] != null)
+                {
+                    index = (index + 1) & mask;
+                }
+                this.names[index] = oldNames[i];
+                this.hashes[index] = hash;
+            }
+        }
+    }
+}
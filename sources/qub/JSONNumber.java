@@ -2,17 +2,52 @@ package qub;
 
 public class JSONNumber implements JSONSegment
 {
-    private final String text;
+    /**
+     * The largest integer that every smaller integer can be exactly represented as a double.
+     */
+    private static final long maximumExactDoubleInteger = 1L << 53;
+
+    /**
+     * The powers of ten that can be exactly represented as a double.
+     */
+    private static final double[] exactPowersOfTen =
+    {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20,
+        1e21, 1e22,
+    };
+
+    /**
+     * The most significant digits that are accumulated into a long before a number is parsed by
+     * java.lang.Double.parseDouble() instead. Any 18 digit integer fits in a long.
+     */
+    private static final int maximumMantissaDigits = 18;
+
+    private volatile char[] characters;
+    private final int startIndex;
+    private final int length;
     private final double value;
+    private String text;
 
     private JSONNumber(String text, double value)
     {
         PreCondition.assertNotNullAndNotEmpty(text, "text");
 
+        this.characters = null;
+        this.startIndex = 0;
+        this.length = text.length();
         this.text = text;
         this.value = value;
     }
 
+    private JSONNumber(char[] characters, int startIndex, int length, double value)
+    {
+        this.characters = characters;
+        this.startIndex = startIndex;
+        this.length = length;
+        this.value = value;
+    }
+
     public static JSONNumber get(long value)
     {
         return new JSONNumber(Longs.toString(value), value);
@@ -27,7 +62,168 @@ public class JSONNumber implements JSONSegment
     {
         PreCondition.assertNotNullAndNotEmpty(text, "text");
 
-        return new JSONNumber(text, java.lang.Double.parseDouble(text));
+        return new JSONNumber(text, JSONNumber.parse(text.toCharArray(), 0, text.length()));
+    }
+
+    /**
+     * Get a JSONNumber that refers to the provided range of characters. The text of the JSONNumber
+     * is not created until it is needed, so the characters in the range must not be modified
+     * while the JSONNumber is in use. Until then the JSONNumber keeps the whole array from being
+     * garbage collected, not just the range. The array is released once the text has been created.
+     * @param characters The array that contains the number's characters.
+     * @param startIndex The index of the number's first character.
+     * @param length The number of characters in the number.
+     * @return The JSONNumber that refers to the provided range of characters.
+     */
+    public static JSONNumber get(char[] characters, int startIndex, int length)
+    {
+        PreCondition.assertNotNull(characters, "characters");
+        PreCondition.assertBetween(0, startIndex, characters.length - 1, "startIndex");
+        PreCondition.assertBetween(1, length, characters.length - startIndex, "length");
+
+        return new JSONNumber(characters, startIndex, length, JSONNumber.parse(characters, startIndex, length));
+    }
+
+    /**
+     * Parse the double value of the provided range of characters. Numbers whose significant
+     * digits fit in a long and whose power of ten can be exactly represented as a double are
+     * computed with a single multiplication or division, which is correctly rounded. Integers
+     * without a fraction or exponent only need a conversion from long. Anything else (including
+     * text that isn't a JSON number) is parsed by java.lang.Double.parseDouble().
+     * @param characters The array that contains the number's characters.
+     * @param startIndex The index of the number's first character.
+     * @param length The number of characters in the number.
+     * @return The double value of the number.
+     */
+    static double parse(char[] characters, int startIndex, int length)
+    {
+        final int endIndex = startIndex + length;
+        int index = startIndex;
+
+        final boolean negative = (characters[index] == '-');
+        if (negative)
+        {
+            ++index;
+        }
+
+        long mantissa = 0;
+        int mantissaDigits = 0;
+        int exponent = 0;
+        boolean foundDigits = false;
+        boolean exact = true;
+
+        while (index < endIndex && JSONTokenizer.isDigit(characters[index]))
+        {
+            final int digit = characters[index++] - '0';
+            if (mantissaDigits < JSONNumber.maximumMantissaDigits)
+            {
+                mantissa = mantissa * 10 + digit;
+                if (mantissa != 0)
+                {
+                    ++mantissaDigits;
+                }
+            }
+            else
+            {
+                exact = false;
+            }
+            foundDigits = true;
+        }
+
+        if (index < endIndex && characters[index] == '.')
+        {
+            ++index;
+            while (index < endIndex && JSONTokenizer.isDigit(characters[index]))
+            {
+                final int digit = characters[index++] - '0';
+                if (mantissaDigits < JSONNumber.maximumMantissaDigits)
+                {
+                    mantissa = mantissa * 10 + digit;
+                    if (mantissa != 0)
+                    {
+                        ++mantissaDigits;
+                    }
+                    --exponent;
+                }
+                else
+                {
+                    exact = false;
+                }
+                foundDigits = true;
+            }
+        }
+
+        if (index < endIndex && (characters[index] == 'e' || characters[index] == 'E'))
+        {
+            ++index;
+            boolean negativeExponent = false;
+            if (index < endIndex && (characters[index] == '-' || characters[index] == '+'))
+            {
+                negativeExponent = (characters[index] == '-');
+                ++index;
+            }
+
+            final int exponentStartIndex = index;
+            int exponentValue = 0;
+            while (index < endIndex && JSONTokenizer.isDigit(characters[index]))
+            {
+                if (exponentValue < 10000)
+                {
+                    exponentValue = exponentValue * 10 + (characters[index] - '0');
+                }
+                ++index;
+            }
+            foundDigits &= (index != exponentStartIndex);
+            exponent += negativeExponent ? -exponentValue : exponentValue;
+        }
+
+        double result;
+        if (!foundDigits || index != endIndex || !exact)
+        {
+            result = java.lang.Double.parseDouble(new String(characters, startIndex, length));
+        }
+        else if (mantissa == 0 || exponent == 0)
+        {
+            result = negative ? -(double)mantissa : (double)mantissa;
+        }
+        else if (mantissa <= JSONNumber.maximumExactDoubleInteger && -22 <= exponent && exponent <= 22)
+        {
+            final double unsignedResult = exponent < 0
+                ? mantissa / JSONNumber.exactPowersOfTen[-exponent]
+                : mantissa * JSONNumber.exactPowersOfTen[exponent];
+            result = negative ? -unsignedResult : unsignedResult;
+        }
+        else
+        {
+            result = java.lang.Double.parseDouble(new String(characters, startIndex, length));
+        }
+        return result;
+    }
+
+    /**
+     * Get the text of this JSONNumber.
+     * @return The text of this JSONNumber.
+     */
+    private String getText()
+    {
+        String result = this.text;
+        if (result == null)
+        {
+            final char[] characters = this.characters;
+            if (characters != null)
+            {
+                result = new String(characters, this.startIndex, this.length);
+                this.text = result;
+                // Release the source array so that this JSONNumber doesn't keep it alive. The
+                // text is written first, so a thread that sees the released array sees the text.
+                this.characters = null;
+            }
+            else
+            {
+                result = this.text;
+            }
+        }
+        return result;
     }
 
     public double getValue()
@@ -35,6 +231,105 @@ public class JSONNumber implements JSONSegment
         return this.value;
     }
 
+    /**
+     * Get whether or not this JSONNumber is an integer that fits in a long, which means that
+     * getLongValue() won't throw.
+     * @return Whether or not this JSONNumber is an integer that fits in a long.
+     */
+    public boolean isLong()
+    {
+        final char[] sourceCharacters = this.characters;
+        final char[] characters = sourceCharacters != null ? sourceCharacters : this.getText().toCharArray();
+        final int startIndex = sourceCharacters != null ? this.startIndex : 0;
+        final int endIndex = startIndex + this.length;
+
+        int index = startIndex;
+        if (characters[index] == '-')
+        {
+            ++index;
+        }
+        final int digitsStartIndex = index;
+        while (index < endIndex && JSONTokenizer.isDigit(characters[index]))
+        {
+            ++index;
+        }
+        final int digitCount = index - digitsStartIndex;
+
+        boolean result = (index == endIndex && digitCount > 0);
+        if (result && digitCount > JSONNumber.maximumMantissaDigits)
+        {
+            try
+            {
+                JSONNumber.parseLong(characters, startIndex, this.length);
+            }
+            catch (NumberFormatException e)
+            {
+                result = false;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the exact value of this JSONNumber as a long. Unlike getValue(), integers with more than
+     * 15 digits don't lose precision.
+     * @return The value of this JSONNumber as a long.
+     * @throws NumberFormatException If this JSONNumber isn't an integer that fits in a long.
+     */
+    public long getLongValue()
+    {
+        long result;
+        final char[] characters = this.characters;
+        if (characters != null)
+        {
+            result = JSONNumber.parseLong(characters, this.startIndex, this.length);
+        }
+        else
+        {
+            result = JSONNumber.parseLong(this.getText().toCharArray(), 0, this.length);
+        }
+        return result;
+    }
+
+    /**
+     * Parse the long value of the provided range of characters. Integers with up to 18 digits are
+     * accumulated directly, and anything else is parsed by java.lang.Long.parseLong().
+     * @param characters The array that contains the number's characters.
+     * @param startIndex The index of the number's first character.
+     * @param length The number of characters in the number.
+     * @return The long value of the number.
+     * @throws NumberFormatException If the characters aren't an integer that fits in a long.
+     */
+    static long parseLong(char[] characters, int startIndex, int length)
+    {
+        final int endIndex = startIndex + length;
+        int index = startIndex;
+
+        final boolean negative = (characters[index] == '-');
+        if (negative)
+        {
+            ++index;
+        }
+
+        final int digitsStartIndex = index;
+        long result = 0;
+        while (index < endIndex && JSONTokenizer.isDigit(characters[index]))
+        {
+            result = result * 10 + (characters[index++] - '0');
+        }
+
+        final int digitCount = index - digitsStartIndex;
+        if (index != endIndex || digitCount == 0 || digitCount > JSONNumber.maximumMantissaDigits)
+        {
+            result = java.lang.Long.parseLong(new String(characters, startIndex, length));
+        }
+        else if (negative)
+        {
+            result = -result;
+        }
+        return result;
+    }
+
     @Override
     public String toString()
     {
@@ -47,7 +342,7 @@ public class JSONNumber implements JSONSegment
         PreCondition.assertNotNull(stream, "stream");
         PreCondition.assertNotNull(format, "format");
 
-        return stream.write(this.text);
+        return stream.write(this.getText());
     }
 
     @Override
@@ -60,6 +355,6 @@ public class JSONNumber implements JSONSegment
     {
         return rhs != null &&
             this.value == rhs.value &&
-            this.text.equals(rhs.text);
+            this.getText().equals(rhs.getText());
     }
 }
@@ -5,7 +5,11 @@ package qub;
  */
 public class JSONObject implements JSONSegment, MutableMap<String,JSONSegment>
 {
-    private final MutableMap<String,JSONSegment> properties;
+    private volatile MutableMap<String,JSONSegment> properties;
+    private char[] lazyCharacters;
+    private int lazyStartIndex;
+    private int lazyLength;
+    private JSONNameTable lazyNames;
 
     private JSONObject(MutableMap<String,JSONSegment> properties)
     {
@@ -14,6 +18,17 @@ public class JSONObject implements JSONSegment, MutableMap<String,JSONSegment>
         this.properties = properties;
     }
 
+    private JSONObject(char[] characters, int startIndex, int length, JSONNameTable names)
+    {
+        PreCondition.assertNotNull(characters, "characters");
+        PreCondition.assertNotNull(names, "names");
+
+        this.lazyCharacters = characters;
+        this.lazyStartIndex = startIndex;
+        this.lazyLength = length;
+        this.lazyNames = names;
+    }
+
     public static JSONObject create(JSONProperty... properties)
     {
         PreCondition.assertNotNull(properties, "properties");
@@ -32,7 +47,7 @@ public class JSONObject implements JSONSegment, MutableMap<String,JSONSegment>
     {
         PreCondition.assertNotNull(properties, "properties");
 
-        return JSONObject.create(
+        return new JSONObject(
             properties.toMap(
                 JSONProperty::getName,
                 JSONProperty::getValue));
@@ -45,6 +60,79 @@ public class JSONObject implements JSONSegment, MutableMap<String,JSONSegment>
         return new JSONObject(Map.create(properties));
     }
 
+    /**
+     * Create a new JSONObject that uses the provided map as its properties instead of copying it.
+     * Parsers use this to insert each property straight into the map that the JSONObject will
+     * keep, so the map must not be used by anything else afterwards.
+     * @param properties The map that the new JSONObject will own.
+     * @return The new JSONObject.
+     */
+    static JSONObject wrap(MutableMap<String,JSONSegment> properties)
+    {
+        PreCondition.assertNotNull(properties, "properties");
+
+        return new JSONObject(properties);
+    }
+
+    /**
+     * Create a lazy JSONObject that parses its properties from the provided characters the first
+     * time that it is accessed. The characters are kept until then, so they must not be modified.
+     * Reading a lazy JSONObject from several threads is safe, and its properties are only parsed once.
+     * @param characters The characters that contain the object.
+     * @param startIndex The index of the object's left curly bracket.
+     * @param length The number of characters from the left curly bracket through the right curly
+     * bracket.
+     * @param names The table to look property names up in.
+     * @return The lazy JSONObject.
+     */
+    static JSONObject createLazy(char[] characters, int startIndex, int length, JSONNameTable names)
+    {
+        PreCondition.assertNotNull(characters, "characters");
+        PreCondition.assertBetween(0, startIndex, characters.length - 1, "startIndex");
+        PreCondition.assertBetween(2, length, characters.length - startIndex, "length");
+        PreCondition.assertNotNull(names, "names");
+
+        return new JSONObject(characters, startIndex, length, names);
+    }
+
+    /**
+     * Get whether or not this JSONObject still has to parse its properties.
+     * @return Whether or not this JSONObject still has to parse its properties.
+     */
+    boolean isLazy()
+    {
+        return this.properties == null;
+    }
+
+    /**
+     * Get this JSONObject's properties, parsing them first if this is a lazy JSONObject that
+     * hasn't been accessed yet.
+     * @return This JSONObject's properties.
+     * @throws ParseException If this is a lazy JSONObject whose characters aren't a valid object.
+     */
+    private MutableMap<String,JSONSegment> getPropertyMap()
+    {
+        MutableMap<String,JSONSegment> result = this.properties;
+        if (result == null)
+        {
+            // Another thread may be parsing the same lazy value, so the parse happens under a lock
+            // and the parsed properties are published by writing the volatile field last.
+            synchronized (this)
+            {
+                result = this.properties;
+                if (result == null)
+                {
+                    final JSONObject parsed = (JSONObject)JSONTreeParser.parseLazy(this.lazyCharacters, this.lazyStartIndex, this.lazyLength, this.lazyNames);
+                    result = parsed.properties;
+                    this.lazyCharacters = null;
+                    this.lazyNames = null;
+                    this.properties = result;
+                }
+            }
+        }
+        return result;
+    }
+
     /**
      * Get whether or not this JSONObject contains a property with the provided name.
      * @param propertyName The name of the property to look for.
@@ -54,7 +142,7 @@ public class JSONObject implements JSONSegment, MutableMap<String,JSONSegment>
     {
         PreCondition.assertNotNullAndNotEmpty(propertyName, "propertyName");
 
-        return this.properties.containsKey(propertyName);
+        return this.getPropertyMap().containsKey(propertyName);
     }
 
     @Override
@@ -68,7 +156,7 @@ public class JSONObject implements JSONSegment, MutableMap<String,JSONSegment>
     {
         PreCondition.assertNotNullAndNotEmpty(propertyName, "propertyName");
 
-        return this.properties.get(propertyName)
+        return this.getPropertyMap().get(propertyName)
             .convertError(NotFoundException.class, () -> new NotFoundException("No property found with the name: " + Strings.escapeAndQuote(propertyName)));
     }
 
@@ -206,7 +294,7 @@ public class JSONObject implements JSONSegment, MutableMap<String,JSONSegment>
      */
     public Iterable<String> getPropertyNames()
     {
-        return this.properties.getKeys();
+        return this.getPropertyMap().getKeys();
     }
 
     @Override
@@ -221,7 +309,7 @@ public class JSONObject implements JSONSegment, MutableMap<String,JSONSegment>
      */
     public Iterable<JSONSegment> getPropertyValues()
     {
-        return this.properties.getValues();
+        return this.getPropertyMap().getValues();
     }
 
     @Override
@@ -236,19 +324,19 @@ public class JSONObject implements JSONSegment, MutableMap<String,JSONSegment>
      */
     public Iterable<JSONProperty> getProperties()
     {
-        return this.properties.map((MapEntry<String,JSONSegment> entry) -> JSONProperty.create(entry.getKey(), entry.getValue()));
+        return this.getPropertyMap().map((MapEntry<String,JSONSegment> entry) -> JSONProperty.create(entry.getKey(), entry.getValue()));
     }
 
     @Override
     public Iterator<MapEntry<String,JSONSegment>> iterate()
     {
-        return this.properties.iterate();
+        return this.getPropertyMap().iterate();
     }
 
     @Override
     public JSONObject clear()
     {
-        this.properties.clear();
+        this.getPropertyMap().clear();
         return this;
     }
 
@@ -258,7 +346,7 @@ public class JSONObject implements JSONSegment, MutableMap<String,JSONSegment>
         PreCondition.assertNotNullAndNotEmpty(propertyName, "propertyName");
         PreCondition.assertNotNull(propertyValue, "propertyValue");
 
-        this.properties.set(propertyName, propertyValue);
+        this.getPropertyMap().set(propertyName, propertyValue);
 
         return this;
     }
@@ -381,7 +469,7 @@ public class JSONObject implements JSONSegment, MutableMap<String,JSONSegment>
     {
         PreCondition.assertNotNullAndNotEmpty(propertyName, "propertyName");
 
-        return this.properties.remove(propertyName)
+        return this.getPropertyMap().remove(propertyName)
             .convertError(NotFoundException.class, () -> new NotFoundException("No property exists in this JSONObject with the name: " + Strings.escapeAndQuote(propertyName)));
     }
 
@@ -454,6 +542,6 @@ public class JSONObject implements JSONSegment, MutableMap<String,JSONSegment>
     public boolean equals(JSONObject rhs)
     {
         return rhs != null &&
-            this.properties.equals(rhs.properties);
+            this.getPropertyMap().equals(rhs.getPropertyMap());
     }
 }
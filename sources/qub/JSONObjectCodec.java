@@ -0,0 +1,519 @@
+package qub;
+
+/**
+ * A JSONCodec that binds the fields of a class to the properties of a JSON object. The class's
+ * constructor and fields are looked up once, when the codec is created, as MethodHandles, so
+ * decoding and encoding don't use reflection. Fields of the primitive types boolean, int, long,
+ * and double are read and written without boxing. Property names are matched through the perfect
+ * hash of a JSONShape, and properties that the class doesn't have are skipped.
+ * @param <T> The class that this codec decodes and encodes.
+ */
+class JSONObjectCodec<T> implements JSONCodec<T>
+{
+    private static final java.lang.invoke.MethodType constructorType = java.lang.invoke.MethodType.methodType(Object.class);
+
+    private final java.lang.Class<T> type;
+    private final java.lang.invoke.MethodHandle constructor;
+    private final JSONShape shape;
+    private Property[] properties;
+
+    private JSONObjectCodec(java.lang.Class<T> type, java.lang.invoke.MethodHandle constructor)
+    {
+        this.type = type;
+        this.constructor = constructor;
+        this.shape = JSONShape.create();
+    }
+
+    /**
+     * Create a new JSONObjectCodec for the provided class. The codec can't be used until its
+     * properties are bound.
+     * @param type The class to create the codec for.
+     * @param <T> The class to create the codec for.
+     * @return The new JSONObjectCodec.
+     * @throws NotFoundException If the provided type isn't a concrete class with a parameterless
+     * constructor.
+     */
+    static <T> JSONObjectCodec<T> create(java.lang.Class<T> type)
+    {
+        PreCondition.assertNotNull(type, "type");
+
+        final int modifiers = type.getModifiers();
+        if (type.isPrimitive() || type.isArray() || type.isEnum() || java.lang.reflect.Modifier.isAbstract(modifiers) ||
+            (type.isMemberClass() && !java.lang.reflect.Modifier.isStatic(modifiers)))
+        {
+            throw new NotFoundException("No JSONCodec exists for the type " + type.getName() + ".");
+        }
+
+        final java.lang.reflect.Constructor<T> constructor;
+        try
+        {
+            constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+        }
+        catch (java.lang.NoSuchMethodException e)
+        {
+            throw new NotFoundException("No JSONCodec exists for the type " + type.getName() + ", and it can't be created because the type doesn't have a parameterless constructor.");
+        }
+
+        return new JSONObjectCodec<>(type, JSONObjectCodec.unreflect(() -> java.lang.invoke.MethodHandles.lookup().unreflectConstructor(constructor).asType(JSONObjectCodec.constructorType)));
+    }
+
+    /**
+     * Bind this codec's class's fields to properties, getting the codec for each field's type
+     * from the provided registry. The fields of the class come first, followed by the fields of
+     * its superclasses that it doesn't hide.
+     * @param registry The registry to get each field type's codec from.
+     */
+    void bindProperties(JSONCodecRegistry registry)
+    {
+        PreCondition.assertNotNull(registry, "registry");
+        PreCondition.assertNull(this.properties, "this.properties");
+
+        final List<Property> properties = List.create();
+        for (java.lang.Class<?> currentType = this.type; currentType != Object.class; currentType = currentType.getSuperclass())
+        {
+            for (final java.lang.reflect.Field field : currentType.getDeclaredFields())
+            {
+                final int modifiers = field.getModifiers();
+                if (!field.isSynthetic() &&
+                    !java.lang.reflect.Modifier.isStatic(modifiers) &&
+                    !java.lang.reflect.Modifier.isTransient(modifiers) &&
+                    !java.lang.reflect.Modifier.isFinal(modifiers) &&
+                    this.shape.getIndex(field.getName()) == -1)
+                {
+                    this.shape.addProperty(field.getName(), JSONSegment.class);
+                    properties.add(JSONObjectCodec.createProperty(field, registry));
+                }
+            }
+        }
+        this.properties = new Property[properties.getCount()];
+        for (int i = 0; i < this.properties.length; ++i)
+        {
+            this.properties[i] = properties.get(i);
+        }
+    }
+
+    private static Property createProperty(java.lang.reflect.Field field, JSONCodecRegistry registry)
+    {
+        field.setAccessible(true);
+        final java.lang.invoke.MethodHandle getter = JSONObjectCodec.unreflect(() -> java.lang.invoke.MethodHandles.lookup().unreflectGetter(field));
+        final java.lang.invoke.MethodHandle setter = JSONObjectCodec.unreflect(() -> java.lang.invoke.MethodHandles.lookup().unreflectSetter(field));
+
+        final String name = field.getName();
+        final java.lang.Class<?> fieldType = field.getType();
+        Property result;
+        if (fieldType == boolean.class)
+        {
+            result = new BooleanProperty(name, getter, setter);
+        }
+        else if (fieldType == int.class)
+        {
+            result = new IntegerProperty(name, getter, setter);
+        }
+        else if (fieldType == long.class)
+        {
+            result = new LongProperty(name, getter, setter);
+        }
+        else if (fieldType == double.class)
+        {
+            result = new DoubleProperty(name, getter, setter);
+        }
+        else
+        {
+            result = new ValueProperty(name, getter, setter, registry.get(field.getGenericType()));
+        }
+        return result;
+    }
+
+    @Override
+    public T decode(JSONTokenizer tokenizer, String valueName)
+    {
+        PreCondition.assertNotNull(tokenizer, "tokenizer");
+        PreCondition.assertTrue(tokenizer.hasCurrent(), "tokenizer.hasCurrent()");
+        PreCondition.assertNotNullAndNotEmpty(valueName, "valueName");
+
+        T result = null;
+        final JSONTokenType tokenType = tokenizer.getCurrent().getType();
+        if (tokenType == JSONTokenType.Null)
+        {
+            JSON.next(tokenizer);
+        }
+        else if (tokenType != JSONTokenType.LeftCurlyBracket)
+        {
+            throw JSONCodecRegistry.createWrongTypeException(tokenizer, Iterable.create(JSONObject.class, JSONNull.class), valueName);
+        }
+        else
+        {
+            final Object instance = this.newInstance();
+            this.shape.parse(tokenizer, (Integer index) -> this.properties[index].decode(tokenizer, instance));
+            result = this.type.cast(instance);
+        }
+        return result;
+    }
+
+    @Override
+    public int encode(T value, IndentedCharacterWriteStream stream, JSONFormat format)
+    {
+        PreCondition.assertNotNull(stream, "stream");
+        PreCondition.assertNotNull(format, "format");
+
+        int result = 0;
+        if (value == null)
+        {
+            result += stream.write("null").await();
+        }
+        else
+        {
+            stream.setSingleIndent(format.getSingleIndent());
+
+            final String newLine = format.getNewLine();
+            final boolean hasNewLine = !Strings.isNullOrEmpty(newLine);
+            final String afterPropertySeparator = format.getAfterPropertySeparator();
+            final boolean hasAfterPropertySeparator = !Strings.isNullOrEmpty(afterPropertySeparator);
+
+            result += stream.write('{').await();
+            stream.increaseIndent();
+            try
+            {
+                boolean wroteProperty = false;
+                for (final Property property : this.properties)
+                {
+                    if (!wroteProperty)
+                    {
+                        wroteProperty = true;
+                    }
+                    else
+                    {
+                        result += stream.write(',').await();
+                    }
+                    if (hasNewLine)
+                    {
+                        result += stream.write(newLine).await();
+                    }
+                    result += stream.write(property.quotedName).await();
+                    result += stream.write(':').await();
+                    if (hasAfterPropertySeparator)
+                    {
+                        result += stream.write(afterPropertySeparator).await();
+                    }
+                    result += property.encode(value, stream, format);
+                }
+                if (hasNewLine && wroteProperty)
+                {
+                    result += stream.write(newLine).await();
+                }
+            }
+            finally
+            {
+                stream.decreaseIndent();
+            }
+            result += stream.write('}').await();
+        }
+        return result;
+    }
+
+    private Object newInstance()
+    {
+        try
+        {
+            return (Object)this.constructor.invokeExact();
+        }
+        catch (java.lang.Throwable e)
+        {
+            throw JSONObjectCodec.asRuntimeException(e);
+        }
+    }
+
+    private static java.lang.invoke.MethodHandle unreflect(Function0Throws<java.lang.invoke.MethodHandle> unreflectFunction)
+    {
+        try
+        {
+            return unreflectFunction.run();
+        }
+        catch (java.lang.IllegalAccessException e)
+        {
+            throw new java.lang.RuntimeException(e);
+        }
+    }
+
+    private static java.lang.RuntimeException asRuntimeException(java.lang.Throwable error)
+    {
+        if (error instanceof java.lang.Error)
+        {
+            throw (java.lang.Error)error;
+        }
+        return error instanceof java.lang.RuntimeException
+            ? (java.lang.RuntimeException)error
+            : new java.lang.RuntimeException(error);
+    }
+
+    @FunctionalInterface
+    private interface Function0Throws<T>
+    {
+        T run() throws java.lang.IllegalAccessException;
+    }
+
+    /**
+     * A field of the bound class and the JSON object property that it is bound to.
+     */
+    private static abstract class Property
+    {
+        final String quotedName;
+        final String valueName;
+
+        Property(String name)
+        {
+            this.quotedName = Strings.quote(name);
+            this.valueName = JSON.thePropertyNamed(name);
+        }
+
+        /**
+         * Decode the property value that starts at the provided tokenizer's current token into
+         * this property's field of the provided instance.
+         */
+        abstract void decode(JSONTokenizer tokenizer, Object instance);
+
+        /**
+         * Write the JSON text of this property's field of the provided instance.
+         */
+        abstract int encode(Object instance, IndentedCharacterWriteStream stream, JSONFormat format);
+    }
+
+    private static class BooleanProperty extends Property
+    {
+        private final java.lang.invoke.MethodHandle getter;
+        private final java.lang.invoke.MethodHandle setter;
+
+        BooleanProperty(String name, java.lang.invoke.MethodHandle getter, java.lang.invoke.MethodHandle setter)
+        {
+            super(name);
+
+            this.getter = getter.asType(java.lang.invoke.MethodType.methodType(boolean.class, Object.class));
+            this.setter = setter.asType(java.lang.invoke.MethodType.methodType(void.class, Object.class, boolean.class));
+        }
+
+        @Override
+        void decode(JSONTokenizer tokenizer, Object instance)
+        {
+            final JSONToken token = tokenizer.getCurrent();
+            if (token.getType() != JSONTokenType.Boolean)
+            {
+                throw JSONCodecRegistry.createWrongTypeException(tokenizer, Iterable.create(JSONBoolean.class), this.valueName);
+            }
+            final boolean value = JSONToken.falseToken != token;
+            JSON.next(tokenizer);
+            try
+            {
+                this.setter.invokeExact(instance, value);
+            }
+            catch (java.lang.Throwable e)
+            {
+                throw JSONObjectCodec.asRuntimeException(e);
+            }
+        }
+
+        @Override
+        int encode(Object instance, IndentedCharacterWriteStream stream, JSONFormat format)
+        {
+            final boolean value;
+            try
+            {
+                value = (boolean)this.getter.invokeExact(instance);
+            }
+            catch (java.lang.Throwable e)
+            {
+                throw JSONObjectCodec.asRuntimeException(e);
+            }
+            return stream.write(value ? "true" : "false").await();
+        }
+    }
+
+    private static class IntegerProperty extends Property
+    {
+        private final java.lang.invoke.MethodHandle getter;
+        private final java.lang.invoke.MethodHandle setter;
+
+        IntegerProperty(String name, java.lang.invoke.MethodHandle getter, java.lang.invoke.MethodHandle setter)
+        {
+            super(name);
+
+            this.getter = getter.asType(java.lang.invoke.MethodType.methodType(int.class, Object.class));
+            this.setter = setter.asType(java.lang.invoke.MethodType.methodType(void.class, Object.class, int.class));
+        }
+
+        @Override
+        void decode(JSONTokenizer tokenizer, Object instance)
+        {
+            if (tokenizer.getCurrent().getType() != JSONTokenType.Number)
+            {
+                throw JSONCodecRegistry.createWrongTypeException(tokenizer, Iterable.create(JSONNumber.class), this.valueName);
+            }
+            final int value = (int)JSONCodecRegistry.decodeLong(tokenizer, java.lang.Integer.MIN_VALUE, java.lang.Integer.MAX_VALUE, this.valueName);
+            try
+            {
+                this.setter.invokeExact(instance, value);
+            }
+            catch (java.lang.Throwable e)
+            {
+                throw JSONObjectCodec.asRuntimeException(e);
+            }
+        }
+
+        @Override
+        int encode(Object instance, IndentedCharacterWriteStream stream, JSONFormat format)
+        {
+            final int value;
+            try
+            {
+                value = (int)this.getter.invokeExact(instance);
+            }
+            catch (java.lang.Throwable e)
+            {
+                throw JSONObjectCodec.asRuntimeException(e);
+            }
+            return stream.write(java.lang.Integer.toString(value)).await();
+        }
+    }
+
+    private static class LongProperty extends Property
+    {
+        private final java.lang.invoke.MethodHandle getter;
+        private final java.lang.invoke.MethodHandle setter;
+
+        LongProperty(String name, java.lang.invoke.MethodHandle getter, java.lang.invoke.MethodHandle setter)
+        {
+            super(name);
+
+            this.getter = getter.asType(java.lang.invoke.MethodType.methodType(long.class, Object.class));
+            this.setter = setter.asType(java.lang.invoke.MethodType.methodType(void.class, Object.class, long.class));
+        }
+
+        @Override
+        void decode(JSONTokenizer tokenizer, Object instance)
+        {
+            if (tokenizer.getCurrent().getType() != JSONTokenType.Number)
+            {
+                throw JSONCodecRegistry.createWrongTypeException(tokenizer, Iterable.create(JSONNumber.class), this.valueName);
+            }
+            final long value = JSONCodecRegistry.decodeLong(tokenizer, java.lang.Long.MIN_VALUE, java.lang.Long.MAX_VALUE, this.valueName);
+            try
+            {
+                this.setter.invokeExact(instance, value);
+            }
+            catch (java.lang.Throwable e)
+            {
+                throw JSONObjectCodec.asRuntimeException(e);
+            }
+        }
+
+        @Override
+        int encode(Object instance, IndentedCharacterWriteStream stream, JSONFormat format)
+        {
+            final long value;
+            try
+            {
+                value = (long)this.getter.invokeExact(instance);
+            }
+            catch (java.lang.Throwable e)
+            {
+                throw JSONObjectCodec.asRuntimeException(e);
+            }
+            return stream.write(java.lang.Long.toString(value)).await();
+        }
+    }
+
+    private static class DoubleProperty extends Property
+    {
+        private final java.lang.invoke.MethodHandle getter;
+        private final java.lang.invoke.MethodHandle setter;
+
+        DoubleProperty(String name, java.lang.invoke.MethodHandle getter, java.lang.invoke.MethodHandle setter)
+        {
+            super(name);
+
+            this.getter = getter.asType(java.lang.invoke.MethodType.methodType(double.class, Object.class));
+            this.setter = setter.asType(java.lang.invoke.MethodType.methodType(void.class, Object.class, double.class));
+        }
+
+        @Override
+        void decode(JSONTokenizer tokenizer, Object instance)
+        {
+            final JSONToken token = tokenizer.getCurrent();
+            if (token.getType() != JSONTokenType.Number)
+            {
+                throw JSONCodecRegistry.createWrongTypeException(tokenizer, Iterable.create(JSONNumber.class), this.valueName);
+            }
+            final double value = token.getNumberValue();
+            JSON.next(tokenizer);
+            try
+            {
+                this.setter.invokeExact(instance, value);
+            }
+            catch (java.lang.Throwable e)
+            {
+                throw JSONObjectCodec.asRuntimeException(e);
+            }
+        }
+
+        @Override
+        int encode(Object instance, IndentedCharacterWriteStream stream, JSONFormat format)
+        {
+            final double value;
+            try
+            {
+                value = (double)this.getter.invokeExact(instance);
+            }
+            catch (java.lang.Throwable e)
+            {
+                throw JSONObjectCodec.asRuntimeException(e);
+            }
+            return JSONNumber.get(value).toString(stream, format).await();
+        }
+    }
+
+    private static class ValueProperty extends Property
+    {
+        private final java.lang.invoke.MethodHandle getter;
+        private final java.lang.invoke.MethodHandle setter;
+        private final JSONCodec<Object> codec;
+
+        @SuppressWarnings("unchecked")
+        ValueProperty(String name, java.lang.invoke.MethodHandle getter, java.lang.invoke.MethodHandle setter, JSONCodec<?> codec)
+        {
+            super(name);
+
+            this.getter = getter.asType(java.lang.invoke.MethodType.methodType(Object.class, Object.class));
+            this.setter = setter.asType(java.lang.invoke.MethodType.methodType(void.class, Object.class, Object.class));
+            this.codec = (JSONCodec<Object>)codec;
+        }
+
+        @Override
+        void decode(JSONTokenizer tokenizer, Object instance)
+        {
+            final Object value = this.codec.decode(tokenizer, this.valueName);
+            try
+            {
+                this.setter.invokeExact(instance, value);
+            }
+            catch (java.lang.Throwable e)
+            {
+                throw JSONObjectCodec.asRuntimeException(e);
+            }
+        }
+
+        @Override
+        int encode(Object instance, IndentedCharacterWriteStream stream, JSONFormat format)
+        {
+            final Object value;
+            try
+            {
+                value = (Object)this.getter.invokeExact(instance);
+            }
+            catch (java.lang.Throwable e)
+            {
+                throw JSONObjectCodec.asRuntimeException(e);
+            }
+            return this.codec.encode(value, stream, format);
+        }
+    }
+}
@@ -0,0 +1,447 @@
+package qub;
+
+/**
+ * A parser that parses the elements of a large top-level JSON array on several threads. A single
+ * thread scans the UTF-8 bytes of the array only to find the commas that separate its top-level
+ * elements, tracking bracket depth, strings, and comments without creating any tokens. The
+ * elements are grouped into chunks of about the same number of bytes, each chunk is parsed on a
+ * ForkJoinPool while the scan continues, and the chunks' elements are added to the result in
+ * input order.
+ */
+public class JSONParallelArrayParser
+{
+    private static final int defaultChunkLength = 1024 * 1024;
+
+    private static final int normalState = 0;
+    private static final int stringState = 1;
+    private static final int stringEscapeState = 2;
+    private static final int slashState = 3;
+    private static final int lineCommentState = 4;
+    private static final int blockCommentState = 5;
+    private static final int blockCommentStarState = 6;
+
+    private final JSONByteInput input;
+    private final int parallelism;
+    private final int chunkLength;
+
+    private byte[] buffer;
+    private int bufferEndIndex;
+    private int scanIndex;
+    private int chunkStartIndex;
+    private boolean endOfInput;
+    private int state;
+    private byte stringQuote;
+    private int depth;
+    private int chunkCount;
+
+    private JSONParallelArrayParser(JSONByteInput input, int parallelism, int chunkLength)
+    {
+        PreCondition.assertNotNull(input, "input");
+        PreCondition.assertGreaterThanOrEqualTo(parallelism, 1, "parallelism");
+        PreCondition.assertGreaterThanOrEqualTo(chunkLength, 1, "chunkLength");
+
+        this.input = input;
+        this.parallelism = parallelism;
+        this.chunkLength = chunkLength;
+        this.buffer = new byte[java.lang.Math.max(chunkLength, 4096) * 2];
+    }
+
+    /**
+     * Parse the top-level JSON array in the provided input with the provided number of threads.
+     * @param input The input to read the array's UTF-8 encoded bytes from.
+     * @param parallelism The number of threads that parse the array's elements.
+     * @return The parsed JSONArray.
+     * @throws ParseException If the input isn't a valid JSON array.
+     */
+    public static JSONArray parse(JSONByteInput input, int parallelism)
+    {
+        return JSONParallelArrayParser.parse(input, parallelism, JSONParallelArrayParser.defaultChunkLength);
+    }
+
+    /**
+     * Parse the top-level JSON array in the provided input with the provided number of threads.
+     * @param input The input to read the array's UTF-8 encoded bytes from.
+     * @param parallelism The number of threads that parse the array's elements.
+     * @param chunkLength The minimum number of bytes of elements in each chunk that is parsed on
+     * its own.
+     * @return The parsed JSONArray.
+     * @throws ParseException If the input isn't a valid JSON array.
+     */
+    static JSONArray parse(JSONByteInput input, int parallelism, int chunkLength)
+    {
+        PreCondition.assertNotNull(input, "input");
+        PreCondition.assertGreaterThanOrEqualTo(parallelism, 1, "parallelism");
+        PreCondition.assertGreaterThanOrEqualTo(chunkLength, 1, "chunkLength");
+
+        return new JSONParallelArrayParser(input, parallelism, chunkLength).parse();
+    }
+
+    private JSONArray parse()
+    {
+        this.findArrayStart();
+
+        final JSONArray result = JSONArray.create();
+        final java.util.concurrent.ForkJoinPool pool = new java.util.concurrent.ForkJoinPool(this.parallelism);
+        try
+        {
+            final java.util.ArrayDeque<java.util.concurrent.ForkJoinTask<List<JSONSegment>>> chunks = new java.util.ArrayDeque<>();
+            final int maximumChunksInFlight = this.parallelism * 4;
+            Chunk chunk;
+            do
+            {
+                chunk = this.findChunk();
+                chunks.addLast(pool.submit(chunk::parse));
+                if (chunks.size() > maximumChunksInFlight)
+                {
+                    result.addAll(JSONParallelArrayParser.join(chunks.removeFirst()));
+                }
+            }
+            while (!chunk.isLast);
+
+            while (!chunks.isEmpty())
+            {
+                result.addAll(JSONParallelArrayParser.join(chunks.removeFirst()));
+            }
+        }
+        finally
+        {
+            pool.shutdownNow();
+        }
+        return result;
+    }
+
+    /**
+     * Wait for the provided chunk to be parsed and get its elements.
+     * @param chunk The chunk to wait for.
+     * @return The chunk's elements.
+     */
+    private static List<JSONSegment> join(java.util.concurrent.ForkJoinTask<List<JSONSegment>> chunk)
+    {
+        try
+        {
+            return chunk.get();
+        }
+        catch (java.util.concurrent.ExecutionException e)
+        {
+            // A ForkJoinTask that is joined from another thread rethrows a new copy of its
+            // exception with the original exception as the copy's cause.
+            java.lang.Throwable cause = e.getCause();
+            while (cause.getCause() != null && cause.getCause().getClass() == cause.getClass())
+            {
+                cause = cause.getCause();
+            }
+            if (cause instanceof java.lang.RuntimeException)
+            {
+                throw (java.lang.RuntimeException)cause;
+            }
+            throw new java.lang.RuntimeException(cause);
+        }
+        catch (java.lang.InterruptedException e)
+        {
+            java.lang.Thread.currentThread().interrupt();
+            throw new java.lang.RuntimeException(e);
+        }
+    }
+
+    /**
+     * Skip the whitespace and comments before the array's left square bracket, and then move past
+     * the left square bracket.
+     */
+    private void findArrayStart()
+    {
+        while (true)
+        {
+            this.chunkStartIndex = this.scanIndex;
+            if (this.scanIndex == this.bufferEndIndex && !this.readMoreBytes())
+            {
+                switch (this.state)
+                {
+                    case JSONParallelArrayParser.slashState:
+                        throw new ParseException("Missing comment start sequence second character.");
+
+                    case JSONParallelArrayParser.blockCommentState:
+                        throw new ParseException("Missing block comment end sequence (\"*/\").");
+
+                    case JSONParallelArrayParser.blockCommentStarState:
+                        throw new ParseException("Missing block comment end sequence second character (\"/\").");
+
+                    default:
+                        throw new ParseException("Missing array left square bracket ('[').");
+                }
+            }
+
+            final byte b = this.buffer[this.scanIndex];
+            if (this.state == JSONParallelArrayParser.normalState && !JSONParallelArrayParser.isWhitespace(b) && b != '/')
+            {
+                if (b != '[')
+                {
+                    throw new ParseException("Expected array left square bracket ('[').");
+                }
+                ++this.scanIndex;
+                this.depth = 1;
+                this.chunkStartIndex = this.scanIndex;
+                break;
+            }
+            this.scan(b);
+        }
+    }
+
+    /**
+     * Scan forward to the end of the next chunk of elements. A chunk ends at the first top-level
+     * comma after at least chunkLength bytes, or at the array's closing bracket.
+     * @return The next chunk of elements.
+     */
+    private Chunk findChunk()
+    {
+        Chunk result = null;
+        while (result == null)
+        {
+            if (this.scanIndex == this.bufferEndIndex && !this.readMoreBytes())
+            {
+                result = this.createChunk(this.scanIndex, true, true);
+                break;
+            }
+
+            final byte b = this.buffer[this.scanIndex];
+            if (this.state == JSONParallelArrayParser.normalState && this.depth == 1)
+            {
+                if (b == ',' && this.scanIndex - this.chunkStartIndex >= this.chunkLength)
+                {
+                    result = this.createChunk(this.scanIndex, false, false);
+                    ++this.scanIndex;
+                    this.chunkStartIndex = this.scanIndex;
+                    break;
+                }
+                else if (b == ']')
+                {
+                    result = this.createChunk(this.scanIndex, true, false);
+                    ++this.scanIndex;
+                    break;
+                }
+                else if (b == '}')
+                {
+                    // Leave the mismatched bracket in the chunk so that parsing the chunk reports
+                    // it the same way that the single-threaded parser does.
+                    result = this.createChunk(this.scanIndex + 1, true, false);
+                    ++this.scanIndex;
+                    break;
+                }
+            }
+            this.scan(b);
+        }
+        return result;
+    }
+
+    /**
+     * Update the scan state for the byte at the scan index, and move past it.
+     * @param b The byte at the scan index.
+     */
+    private void scan(byte b)
+    {
+        switch (this.state)
+        {
+            case JSONParallelArrayParser.stringState:
+                if (b == '\\')
+                {
+                    this.state = JSONParallelArrayParser.stringEscapeState;
+                }
+                else if (b == this.stringQuote)
+                {
+                    this.state = JSONParallelArrayParser.normalState;
+                }
+                break;
+
+            case JSONParallelArrayParser.stringEscapeState:
+                this.state = JSONParallelArrayParser.stringState;
+                break;
+
+            case JSONParallelArrayParser.slashState:
+                if (b == '/')
+                {
+                    this.state = JSONParallelArrayParser.lineCommentState;
+                }
+                else if (b == '*')
+                {
+                    this.state = JSONParallelArrayParser.blockCommentState;
+                }
+                else
+                {
+                    // Not a comment, so scan this byte again as a normal byte.
+                    this.state = JSONParallelArrayParser.normalState;
+                    return;
+                }
+                break;
+
+            case JSONParallelArrayParser.lineCommentState:
+                if (b == '\n')
+                {
+                    this.state = JSONParallelArrayParser.normalState;
+                }
+                break;
+
+            case JSONParallelArrayParser.blockCommentState:
+                if (b == '*')
+                {
+                    this.state = JSONParallelArrayParser.blockCommentStarState;
+                }
+                break;
+
+            case JSONParallelArrayParser.blockCommentStarState:
+                if (b == '/')
+                {
+                    this.state = JSONParallelArrayParser.normalState;
+                }
+                else if (b != '*')
+                {
+                    this.state = JSONParallelArrayParser.blockCommentState;
+                }
+                break;
+
+            default:
+                switch (b)
+                {
+                    case '"':
+                    case '\'':
+                        // A string ends at the same kind of quote that started it, the same way
+                        // that JSONTokenizer reads quoted strings.
+                        this.stringQuote = b;
+                        this.state = JSONParallelArrayParser.stringState;
+                        break;
+
+                    case '/':
+                        this.state = JSONParallelArrayParser.slashState;
+                        break;
+
+                    case '[':
+                    case '{':
+                        ++this.depth;
+                        break;
+
+                    case ']':
+                    case '}':
+                        --this.depth;
+                        break;
+                }
+                break;
+        }
+        ++this.scanIndex;
+    }
+
+    private Chunk createChunk(int endIndex, boolean isLast, boolean isUnterminated)
+    {
+        final Chunk result = new Chunk(
+            java.util.Arrays.copyOfRange(this.buffer, this.chunkStartIndex, endIndex),
+            this.chunkCount == 0,
+            isLast,
+            isUnterminated);
+        ++this.chunkCount;
+        return result;
+    }
+
+    /**
+     * Read more bytes into the buffer. The bytes of the current chunk are moved to the start of
+     * the buffer first, and the buffer is made bigger if the chunk already fills it.
+     * @return Whether or not any bytes were read.
+     */
+    private boolean readMoreBytes()
+    {
+        if (!this.endOfInput && this.bufferEndIndex == this.buffer.length)
+        {
+            final int keepLength = this.bufferEndIndex - this.chunkStartIndex;
+            final byte[] newBuffer = (keepLength > this.buffer.length / 2 ? new byte[this.buffer.length * 2] : this.buffer);
+            java.lang.System.arraycopy(this.buffer, this.chunkStartIndex, newBuffer, 0, keepLength);
+            this.buffer = newBuffer;
+            this.scanIndex -= this.chunkStartIndex;
+            this.bufferEndIndex = keepLength;
+            this.chunkStartIndex = 0;
+        }
+
+        boolean result = false;
+        if (!this.endOfInput)
+        {
+            int bytesRead;
+            do
+            {
+                bytesRead = this.input.read(this.buffer, this.bufferEndIndex, this.buffer.length - this.bufferEndIndex);
+            }
+            while (bytesRead == 0);
+
+            if (bytesRead < 0)
+            {
+                this.endOfInput = true;
+            }
+            else
+            {
+                this.bufferEndIndex += bytesRead;
+                result = true;
+            }
+        }
+        return result;
+    }
+
+    private static boolean isWhitespace(byte b)
+    {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+
+    /**
+     * A run of consecutive top-level elements that is parsed on its own.
+     */
+    private static class Chunk
+    {
+        private final byte[] bytes;
+        private final boolean isFirst;
+        private final boolean isLast;
+        private final boolean isUnterminated;
+
+        private Chunk(byte[] bytes, boolean isFirst, boolean isLast, boolean isUnterminated)
+        {
+            this.bytes = bytes;
+            this.isFirst = isFirst;
+            this.isLast = isLast;
+            this.isUnterminated = isUnterminated;
+        }
+
+        /**
+         * Parse this chunk's elements.
+         * @return This chunk's elements.
+         * @throws ParseException If this chunk's bytes aren't valid array elements.
+         */
+        List<JSONSegment> parse()
+        {
+            final List<JSONSegment> result = List.create();
+
+            final JSONTokenizer tokenizer = JSON.startTokenizer(JSONTokenizer.create(JSONUTF8TokenizerInput.create(JSONByteInput.create(this.bytes))));
+            final JSONTreeParser parser = JSONTreeParser.create(tokenizer.getNameTable());
+
+            // Every chunk after the first follows a comma, so it must start with an element.
+            final JSONGrammar grammar = JSONGrammar.createInArray(!this.isFirst);
+            while (tokenizer.hasCurrent())
+            {
+                final JSONReaderEvent event = grammar.add(tokenizer.getCurrent());
+                if (event == JSONReaderEvent.StartObject || event == JSONReaderEvent.StartArray)
+                {
+                    grammar.endValue();
+                }
+
+                if (event == null || event == JSONReaderEvent.EndArray)
+                {
+                    JSON.next(tokenizer);
+                }
+                else
+                {
+                    result.add(JSONTreeParser.parse(tokenizer, parser));
+                }
+            }
+
+            if (this.isUnterminated)
+            {
+                throw new ParseException(grammar.getMissingMessage());
+            }
+            // The comma or right square bracket that ended this chunk isn't part of its bytes.
+            grammar.add(this.isLast ? JSONToken.rightSquareBracket : JSONToken.comma);
+
+            return result;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package qub;
+
+/**
+ * Limits that a JSONTokenizer enforces on the JSON that it reads. Each limit is checked as the
+ * characters are read, so JSON that breaks a limit causes a ParseException before the memory for
+ * the rest of it is allocated. A new JSONParseOptions object doesn't limit anything.
+ */
+public class JSONParseOptions
+{
+    private int maxDepth;
+    private int maxMembers;
+    private int maxStringLength;
+    private long maxTotalLength;
+
+    private JSONParseOptions()
+    {
+        this.maxDepth = java.lang.Integer.MAX_VALUE;
+        this.maxMembers = java.lang.Integer.MAX_VALUE;
+        this.maxStringLength = java.lang.Integer.MAX_VALUE;
+        this.maxTotalLength = java.lang.Long.MAX_VALUE;
+    }
+
+    /**
+     * Create a new JSONParseOptions object.
+     * @return A new JSONParseOptions object.
+     */
+    public static JSONParseOptions create()
+    {
+        return new JSONParseOptions();
+    }
+
+    /**
+     * Get the maximum number of levels that objects and arrays can be nested.
+     * @return The maximum number of levels that objects and arrays can be nested.
+     */
+    public int getMaxDepth()
+    {
+        return this.maxDepth;
+    }
+
+    /**
+     * Set the maximum number of levels that objects and arrays can be nested. A depth of 0 only
+     * allows JSON that is a single string, number, boolean, or null.
+     * @param maxDepth The maximum number of levels that objects and arrays can be nested.
+     * @return This object for method chaining.
+     */
+    public JSONParseOptions setMaxDepth(int maxDepth)
+    {
+        PreCondition.assertGreaterThanOrEqualTo(maxDepth, 0, "maxDepth");
+
+        this.maxDepth = maxDepth;
+        return this;
+    }
+
+    /**
+     * Get the maximum number of properties in an object or elements in an array.
+     * @return The maximum number of properties in an object or elements in an array.
+     */
+    public int getMaxMembers()
+    {
+        return this.maxMembers;
+    }
+
+    /**
+     * Set the maximum number of properties in an object or elements in an array.
+     * @param maxMembers The maximum number of properties in an object or elements in an array.
+     * @return This object for method chaining.
+     */
+    public JSONParseOptions setMaxMembers(int maxMembers)
+    {
+        PreCondition.assertGreaterThanOrEqualTo(maxMembers, 1, "maxMembers");
+
+        this.maxMembers = maxMembers;
+        return this;
+    }
+
+    /**
+     * Get the maximum number of characters between the quotes of a quoted string.
+     * @return The maximum number of characters between the quotes of a quoted string.
+     */
+    public int getMaxStringLength()
+    {
+        return this.maxStringLength;
+    }
+
+    /**
+     * Set the maximum number of characters between the quotes of a quoted string. Escape sequences
+     * are counted as they are written, so "\n" counts as two characters.
+     * @param maxStringLength The maximum number of characters between the quotes of a quoted
+     *                        string.
+     * @return This object for method chaining.
+     */
+    public JSONParseOptions setMaxStringLength(int maxStringLength)
+    {
+        PreCondition.assertGreaterThanOrEqualTo(maxStringLength, 0, "maxStringLength");
+
+        this.maxStringLength = maxStringLength;
+        return this;
+    }
+
+    /**
+     * Get the maximum number of characters that can be read, including whitespace and comments.
+     * @return The maximum number of characters that can be read.
+     */
+    public long getMaxTotalLength()
+    {
+        return this.maxTotalLength;
+    }
+
+    /**
+     * Set the maximum number of characters that can be read, including whitespace and comments.
+     * @param maxTotalLength The maximum number of characters that can be read.
+     * @return This object for method chaining.
+     */
+    public JSONParseOptions setMaxTotalLength(long maxTotalLength)
+    {
+        PreCondition.assertGreaterThanOrEqualTo(maxTotalLength, 0, "maxTotalLength");
+
+        this.maxTotalLength = maxTotalLength;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object rhs)
+    {
+        return rhs instanceof JSONParseOptions && this.equals((JSONParseOptions)rhs);
+    }
+
+    public boolean equals(JSONParseOptions rhs)
+    {
+        return rhs != null &&
+            this.maxDepth == rhs.maxDepth &&
+            this.maxMembers == rhs.maxMembers &&
+            this.maxStringLength == rhs.maxStringLength &&
+            this.maxTotalLength == rhs.maxTotalLength;
+    }
+}
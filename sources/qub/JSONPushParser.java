@@ -0,0 +1,150 @@
+package qub;
+
+/**
+ * A parser that is given its input in chunks through feed() and produces each top-level
+ * JSONSegment as soon as the last of its input has been fed. The state of the values that are
+ * still being parsed is kept on a JSONTreeParser's explicit stack, so parsing can stop at the
+ * end of any chunk and continue when the next chunk is fed. Property names are looked up in a
+ * JSONNameTable that is shared by all of the values in the stream.
+ */
+public class JSONPushParser
+{
+    private final JSONPushTokenizer tokenizer;
+    private final JSONTreeParser parser;
+    private JSONSegment current;
+
+    private JSONPushParser(JSONPushTokenizer tokenizer)
+    {
+        PreCondition.assertNotNull(tokenizer, "tokenizer");
+
+        this.tokenizer = tokenizer.setSkipTrivia(true);
+        this.parser = JSONTreeParser.create();
+    }
+
+    /**
+     * Create a new JSONPushParser that is fed characters.
+     * @return The new JSONPushParser.
+     */
+    public static JSONPushParser create()
+    {
+        return new JSONPushParser(JSONPushTokenizer.create());
+    }
+
+    /**
+     * Create a new JSONPushParser that is fed UTF-8 encoded bytes.
+     * @return The new JSONPushParser.
+     */
+    public static JSONPushParser createUTF8()
+    {
+        return new JSONPushParser(JSONPushTokenizer.createUTF8());
+    }
+
+    /**
+     * Add the provided characters to the end of this parser's input.
+     * @param chunk The characters to add.
+     * @return This object for method chaining.
+     */
+    public JSONPushParser feed(String chunk)
+    {
+        this.tokenizer.feed(chunk);
+        return this;
+    }
+
+    /**
+     * Add the provided characters to the end of this parser's input.
+     * @param chunk The array that contains the characters to add.
+     * @param startIndex The index of the first character to add.
+     * @param length The number of characters to add.
+     * @return This object for method chaining.
+     */
+    public JSONPushParser feed(char[] chunk, int startIndex, int length)
+    {
+        this.tokenizer.feed(chunk, startIndex, length);
+        return this;
+    }
+
+    /**
+     * Add the provided UTF-8 encoded bytes to the end of this parser's input.
+     * @param chunk The bytes to add.
+     * @return This object for method chaining.
+     */
+    public JSONPushParser feed(byte[] chunk)
+    {
+        this.tokenizer.feed(chunk);
+        return this;
+    }
+
+    /**
+     * Add the provided UTF-8 encoded bytes to the end of this parser's input.
+     * @param chunk The array that contains the bytes to add.
+     * @param startIndex The index of the first byte to add.
+     * @param length The number of bytes to add.
+     * @return This object for method chaining.
+     */
+    public JSONPushParser feed(byte[] chunk, int startIndex, int length)
+    {
+        this.tokenizer.feed(chunk, startIndex, length);
+        return this;
+    }
+
+    /**
+     * Mark that no more input will be fed to this parser.
+     * @return This object for method chaining.
+     */
+    public JSONPushParser endOfInput()
+    {
+        this.tokenizer.endOfInput();
+        return this;
+    }
+
+    /**
+     * Get whether or not the last call to next() stopped because it needs more input.
+     * @return Whether or not the last call to next() stopped because it needs more input.
+     */
+    public boolean needsInput()
+    {
+        return this.tokenizer.needsInput();
+    }
+
+    /**
+     * Get whether or not this parser has a current top-level value.
+     * @return Whether or not this parser has a current top-level value.
+     */
+    public boolean hasCurrent()
+    {
+        return this.current != null;
+    }
+
+    /**
+     * Get the current top-level value.
+     * @return The current top-level value.
+     */
+    public JSONSegment getCurrent()
+    {
+        PreCondition.assertTrue(this.hasCurrent(), "this.hasCurrent()");
+
+        return this.current;
+    }
+
+    /**
+     * Parse the input that has been fed so far until the next top-level value is complete.
+     * @return Whether or not a top-level value was completed. If no value was completed, then
+     * either more input is needed (see needsInput()) or the end of the input has been reached.
+     * @throws ParseException If the input isn't valid JSON.
+     */
+    public boolean next()
+    {
+        this.current = null;
+        while (this.current == null && this.tokenizer.next())
+        {
+            this.current = this.parser.add(this.tokenizer.getCurrent());
+        }
+
+        if (this.current == null && !this.tokenizer.needsInput() && this.parser.isParsingValue())
+        {
+            throw new ParseException(this.parser.getMissingMessage());
+        }
+
+        return this.hasCurrent();
+    }
+}
@@ -0,0 +1,334 @@
+package qub;
+
+/**
+ * A JSONTokenizer that is given its input in chunks through feed() instead of pulling it from a
+ * stream. When a chunk ends partway through a token, next() returns false and the partial token
+ * is read again once more input has been fed, so no caller ever has to block waiting for the rest
+ * of a message.
+ */
+public class JSONPushTokenizer
+{
+    /**
+     * The signal that the fed input has been consumed but the end of the input hasn't been
+     * reached yet. A single instance is reused and no stack trace is captured, since this is
+     * thrown every time a chunk ends partway through a token.
+     */
+    private static final NeedsInputException needsInputException = new NeedsInputException();
+
+    private final boolean utf8;
+    private final JSONTokenizer tokenizer;
+    private char[] pendingCharacters;
+    private byte[] pendingBytes;
+    private int pendingStartIndex;
+    private int pendingEndIndex;
+    private boolean endOfInput;
+    private boolean needsInput;
+    private JSONToken current;
+
+    private JSONPushTokenizer(boolean utf8)
+    {
+        this.utf8 = utf8;
+        if (utf8)
+        {
+            this.pendingBytes = new byte[1024];
+            this.tokenizer = JSONTokenizer.create(JSONUTF8TokenizerInput.create(this::readPendingBytes));
+        }
+        else
+        {
+            this.pendingCharacters = new char[1024];
+            this.tokenizer = JSONTokenizer.create(this::readPendingCharacters);
+        }
+        this.needsInput = true;
+    }
+
+    /**
+     * Create a new JSONPushTokenizer that is fed characters.
+     * @return The new JSONPushTokenizer.
+     */
+    public static JSONPushTokenizer create()
+    {
+        return new JSONPushTokenizer(false);
+    }
+
+    /**
+     * Create a new JSONPushTokenizer that is fed UTF-8 encoded bytes. A multiple-byte character
+     * can be split across chunks.
+     * @return The new JSONPushTokenizer.
+     */
+    public static JSONPushTokenizer createUTF8()
+    {
+        return new JSONPushTokenizer(true);
+    }
+
+    /**
+     * Get whether or not this tokenizer is fed UTF-8 encoded bytes instead of characters.
+     * @return Whether or not this tokenizer is fed UTF-8 encoded bytes instead of characters.
+     */
+    public boolean isUTF8()
+    {
+        return this.utf8;
+    }
+
+    /**
+     * Get whether or not this tokenizer skips whitespace, newlines, and comments instead of
+     * returning them as JSONTokens.
+     * @return Whether or not this tokenizer skips whitespace, newlines, and comments.
+     */
+    public boolean getSkipTrivia()
+    {
+        return this.tokenizer.getSkipTrivia();
+    }
+
+    /**
+     * Set whether or not this tokenizer skips whitespace, newlines, and comments instead of
+     * returning them as JSONTokens.
+     * @param skipTrivia Whether or not this tokenizer skips whitespace, newlines, and comments.
+     * @return This object for method chaining.
+     */
+    public JSONPushTokenizer setSkipTrivia(boolean skipTrivia)
+    {
+        this.tokenizer.setSkipTrivia(skipTrivia);
+        return this;
+    }
+
+    /**
+     * Add the provided characters to the end of this tokenizer's input.
+     * @param chunk The characters to add.
+     * @return This object for method chaining.
+     */
+    public JSONPushTokenizer feed(String chunk)
+    {
+        PreCondition.assertNotNull(chunk, "chunk");
+
+        return this.feed(chunk.toCharArray());
+    }
+
+    /**
+     * Add the provided characters to the end of this tokenizer's input.
+     * @param chunk The characters to add.
+     * @return This object for method chaining.
+     */
+    public JSONPushTokenizer feed(char[] chunk)
+    {
+        PreCondition.assertNotNull(chunk, "chunk");
+
+        return this.feed(chunk, 0, chunk.length);
+    }
+
+    /**
+     * Add the provided characters to the end of this tokenizer's input. The characters are copied,
+     * so the chunk can be reused as soon as this method returns.
+     * @param chunk The array that contains the characters to add.
+     * @param startIndex The index of the first character to add.
+     * @param length The number of characters to add.
+     * @return This object for method chaining.
+     */
+    public JSONPushTokenizer feed(char[] chunk, int startIndex, int length)
+    {
+        PreCondition.assertNotNull(chunk, "chunk");
+        PreCondition.assertBetween(0, startIndex, chunk.length, "startIndex");
+        PreCondition.assertBetween(0, length, chunk.length - startIndex, "length");
+        PreCondition.assertFalse(this.isUTF8(), "this.isUTF8()");
+        PreCondition.assertFalse(this.isEndOfInput(), "this.isEndOfInput()");
+
+        this.ensurePendingCapacity(length);
+        java.lang.System.arraycopy(chunk, startIndex, this.pendingCharacters, this.pendingEndIndex, length);
+        this.pendingEndIndex += length;
+
+        return this;
+    }
+
+    /**
+     * Add the provided UTF-8 encoded bytes to the end of this tokenizer's input.
+     * @param chunk The bytes to add.
+     * @return This object for method chaining.
+     */
+    public JSONPushTokenizer feed(byte[] chunk)
+    {
+        PreCondition.assertNotNull(chunk, "chunk");
+
+        return this.feed(chunk, 0, chunk.length);
+    }
+
+    /**
+     * Add the provided UTF-8 encoded bytes to the end of this tokenizer's input. The bytes are
+     * copied, so the chunk can be reused as soon as this method returns.
+     * @param chunk The array that contains the bytes to add.
+     * @param startIndex The index of the first byte to add.
+     * @param length The number of bytes to add.
+     * @return This object for method chaining.
+     */
+    public JSONPushTokenizer feed(byte[] chunk, int startIndex, int length)
+    {
+        PreCondition.assertNotNull(chunk, "chunk");
+        PreCondition.assertBetween(0, startIndex, chunk.length, "startIndex");
+        PreCondition.assertBetween(0, length, chunk.length - startIndex, "length");
+        PreCondition.assertTrue(this.isUTF8(), "this.isUTF8()");
+        PreCondition.assertFalse(this.isEndOfInput(), "this.isEndOfInput()");
+
+        this.ensurePendingCapacity(length);
+        java.lang.System.arraycopy(chunk, startIndex, this.pendingBytes, this.pendingEndIndex, length);
+        this.pendingEndIndex += length;
+
+        return this;
+    }
+
+    /**
+     * Mark that no more input will be fed to this tokenizer. Any token that was waiting for more
+     * input is completed (or fails) the next time that next() is called.
+     * @return This object for method chaining.
+     */
+    public JSONPushTokenizer endOfInput()
+    {
+        this.endOfInput = true;
+        return this;
+    }
+
+    /**
+     * Get whether or not endOfInput() has been called.
+     * @return Whether or not endOfInput() has been called.
+     */
+    public boolean isEndOfInput()
+    {
+        return this.endOfInput;
+    }
+
+    /**
+     * Get whether or not the last call to next() stopped because it needs more input. This is
+     * false once the end of the input has been reached.
+     * @return Whether or not the last call to next() stopped because it needs more input.
+     */
+    public boolean needsInput()
+    {
+        return this.needsInput;
+    }
+
+    /**
+     * Get whether or not this tokenizer has a current token.
+     * @return Whether or not this tokenizer has a current token.
+     */
+    public boolean hasCurrent()
+    {
+        return this.current != null;
+    }
+
+    /**
+     * Get the current token.
+     * @return The current token.
+     */
+    public JSONToken getCurrent()
+    {
+        PreCondition.assertTrue(this.hasCurrent(), "this.hasCurrent()");
+
+        return this.current;
+    }
+
+    /**
+     * Move to the next token in the input that has been fed so far.
+     * @return Whether or not a token was found. If no token was found, then either more input is
+     * needed (see needsInput()) or the end of the input has been reached.
+     */
+    public boolean next()
+    {
+        try
+        {
+            this.current = this.tokenizer.next() ? this.tokenizer.getCurrent() : null;
+            this.needsInput = false;
+        }
+        catch (NeedsInputException e)
+        {
+            this.tokenizer.rewindToTokenStart();
+            this.current = null;
+            this.needsInput = true;
+        }
+        return this.hasCurrent();
+    }
+
+    /**
+     * Make room at the end of the pending input for the provided number of characters or bytes.
+     * The pending input is moved to the start of its array first, and the array is only replaced
+     * if that doesn't make enough room.
+     * @param length The number of characters or bytes that need to fit.
+     */
+    private void ensurePendingCapacity(int length)
+    {
+        final int capacity = this.utf8 ? this.pendingBytes.length : this.pendingCharacters.length;
+        if (capacity - this.pendingEndIndex < length)
+        {
+            final int pendingLength = this.pendingEndIndex - this.pendingStartIndex;
+            final int newCapacity = pendingLength + length <= capacity
+                ? capacity
+                : java.lang.Math.max(capacity * 2, pendingLength + length);
+            if (this.utf8)
+            {
+                final byte[] newPendingBytes = newCapacity == capacity ? this.pendingBytes : new byte[newCapacity];
+                java.lang.System.arraycopy(this.pendingBytes, this.pendingStartIndex, newPendingBytes, 0, pendingLength);
+                this.pendingBytes = newPendingBytes;
+            }
+            else
+            {
+                final char[] newPendingCharacters = newCapacity == capacity ? this.pendingCharacters : new char[newCapacity];
+                java.lang.System.arraycopy(this.pendingCharacters, this.pendingStartIndex, newPendingCharacters, 0, pendingLength);
+                this.pendingCharacters = newPendingCharacters;
+            }
+            this.pendingStartIndex = 0;
+            this.pendingEndIndex = pendingLength;
+        }
+    }
+
+    /**
+     * Get the number of pending characters or bytes that can be read into a buffer of the
+     * provided length.
+     * @param length The maximum number of characters or bytes to read.
+     * @return The number that can be read, or -1 if the end of the input has been reached.
+     * @throws NeedsInputException If there is no pending input and the end of the input hasn't
+     * been reached.
+     */
+    private int takePendingLength(int length)
+    {
+        int result;
+        if (this.pendingStartIndex < this.pendingEndIndex)
+        {
+            result = java.lang.Math.min(length, this.pendingEndIndex - this.pendingStartIndex);
+        }
+        else if (this.endOfInput)
+        {
+            result = -1;
+        }
+        else
+        {
+            throw JSONPushTokenizer.needsInputException;
+        }
+        return result;
+    }
+
+    private int readPendingCharacters(char[] buffer, int startIndex, int length)
+    {
+        final int result = this.takePendingLength(length);
+        if (result > 0)
+        {
+            java.lang.System.arraycopy(this.pendingCharacters, this.pendingStartIndex, buffer, startIndex, result);
+            this.pendingStartIndex += result;
+        }
+        return result;
+    }
+
+    private int readPendingBytes(byte[] buffer, int startIndex, int length)
+    {
+        final int result = this.takePendingLength(length);
+        if (result > 0)
+        {
+            java.lang.System.arraycopy(this.pendingBytes, this.pendingStartIndex, buffer, startIndex, result);
+            this.pendingStartIndex += result;
+        }
+        return result;
+    }
+
+    private static class NeedsInputException extends java.lang.RuntimeException
+    {
+        NeedsInputException()
+        {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,404 @@
+package qub;
+
+/**
+ * A reader that moves through JSON content one JSONReaderEvent at a time instead of building a
+ * JSONSegment tree. Only the open arrays and objects are remembered, so content of any size can be
+ * read with a small, fixed amount of memory, and values that aren't needed can be skipped with
+ * skipValue(). The content can contain more than one top-level value. The events come from a
+ * JSONGrammar, so the ParseException messages are the same as JSON.parse().
+ */
+public class JSONReader
+{
+    private final JSONTokenizer tokenizer;
+    private final JSONNameTable names;
+    private final JSONGrammar grammar;
+    private JSONToken token;
+    private java.lang.Boolean isLong;
+    private long longValue;
+    private JSONReaderEvent current;
+    private String propertyName;
+
+    private JSONReader(JSONTokenizer tokenizer)
+    {
+        PreCondition.assertNotNull(tokenizer, "tokenizer");
+        PreCondition.assertFalse(tokenizer.hasStarted(), "tokenizer.hasStarted()");
+
+        this.tokenizer = tokenizer.setSkipTrivia(true);
+        this.names = tokenizer.getNameTable();
+        this.grammar = JSONGrammar.create();
+    }
+
+    /**
+     * Create a new JSONReader that reads the provided text.
+     * @param text The text to read.
+     * @return The new JSONReader.
+     */
+    public static JSONReader create(String text)
+    {
+        PreCondition.assertNotNull(text, "text");
+
+        return JSONReader.create(JSONTokenizer.create(text));
+    }
+
+    /**
+     * Create a new JSONReader that reads the provided UTF-8 encoded bytes.
+     * @param bytes The bytes to read.
+     * @return The new JSONReader.
+     */
+    public static JSONReader create(ByteReadStream bytes)
+    {
+        PreCondition.assertNotNull(bytes, "bytes");
+
+        return JSONReader.create(JSONTokenizer.create(bytes));
+    }
+
+    /**
+     * Create a new JSONReader that reads the JSONTokens from the provided tokenizer. The tokenizer
+     * is set to skip whitespace, newlines, and comments.
+     * @param tokenizer The tokenizer that hasn't started yet.
+     * @return The new JSONReader.
+     */
+    public static JSONReader create(JSONTokenizer tokenizer)
+    {
+        return new JSONReader(tokenizer);
+    }
+
+    /**
+     * Get whether or not this reader has a current event.
+     * @return Whether or not this reader has a current event.
+     */
+    public boolean hasCurrent()
+    {
+        return this.current != null;
+    }
+
+    /**
+     * Get the current event.
+     * @return The current event.
+     */
+    public JSONReaderEvent getCurrent()
+    {
+        PreCondition.assertTrue(this.hasCurrent(), "this.hasCurrent()");
+
+        return this.current;
+    }
+
+    /**
+     * Get the number of arrays and objects that contain the current event. A StartObject or
+     * StartArray event is counted as inside of the object or array that it starts, and an
+     * EndObject or EndArray event is counted as outside of it.
+     * @return The number of arrays and objects that contain the current event.
+     */
+    public int getDepth()
+    {
+        return this.grammar.getDepth();
+    }
+
+    /**
+     * Move to the next event.
+     * @return Whether or not there was a next event. This is false when the end of the content has
+     * been reached.
+     * @throws ParseException If the content isn't valid JSON.
+     */
+    public boolean next()
+    {
+        this.current = null;
+        this.propertyName = null;
+        this.isLong = null;
+        while (this.current == null)
+        {
+            if (!JSON.next(this.tokenizer))
+            {
+                this.token = null;
+                if (this.grammar.getDepth() > 0)
+                {
+                    throw new ParseException(this.grammar.getMissingMessage());
+                }
+                break;
+            }
+
+            this.token = this.tokenizer.getCurrent();
+            this.current = this.grammar.add(this.token);
+            if (this.current == JSONReaderEvent.PropertyName)
+            {
+                this.propertyName = this.token.getUnquotedText(this.names);
+            }
+        }
+        return this.hasCurrent();
+    }
+
+    /**
+     * Get the JSONToken of the current event. For a PropertyName event this is the property
+     * name's QuotedString token.
+     * @return The JSONToken of the current event.
+     */
+    JSONToken getToken()
+    {
+        PreCondition.assertTrue(this.hasCurrent(), "this.hasCurrent()");
+
+        return this.token;
+    }
+
+    /**
+     * Get the name of the current PropertyName event.
+     * @return The name of the current PropertyName event.
+     */
+    public String getPropertyName()
+    {
+        PreCondition.assertEqual(JSONReaderEvent.PropertyName, this.current, "this.getCurrent()");
+
+        return this.propertyName;
+    }
+
+    /**
+     * Get the text between the quotes of the current StringValue event. Like
+     * JSONString.getValue(), escape sequences are not decoded.
+     * @return The text between the quotes of the current StringValue event.
+     */
+    public String getString()
+    {
+        PreCondition.assertEqual(JSONReaderEvent.StringValue, this.current, "this.getCurrent()");
+
+        return this.token.getUnquotedText();
+    }
+
+    /**
+     * Get the value of the current NumberValue event. The value is parsed straight from the
+     * event's token.
+     * @return The value of the current NumberValue event.
+     */
+    public double getNumber()
+    {
+        PreCondition.assertEqual(JSONReaderEvent.NumberValue, this.current, "this.getCurrent()");
+
+        return this.token.getNumberValue();
+    }
+
+    /**
+     * Get whether or not the current NumberValue event is an integer that fits in a long, which
+     * means that getLong() won't throw.
+     * @return Whether or not the current NumberValue event is an integer that fits in a long.
+     */
+    public boolean isLong()
+    {
+        PreCondition.assertEqual(JSONReaderEvent.NumberValue, this.current, "this.getCurrent()");
+
+        return this.parseLong();
+    }
+
+    /**
+     * Get the exact value of the current NumberValue event as a long.
+     * @return The value of the current NumberValue event as a long.
+     * @throws NumberFormatException If the number isn't an integer that fits in a long.
+     */
+    public long getLong()
+    {
+        PreCondition.assertEqual(JSONReaderEvent.NumberValue, this.current, "this.getCurrent()");
+
+        if (!this.parseLong())
+        {
+            throw new java.lang.NumberFormatException("For input string: \"" + this.token.getText() + "\"");
+        }
+        return this.longValue;
+    }
+
+    /**
+     * Parse the current NumberValue event's token as a long. The token is only parsed once for
+     * each event, and a token with a fraction or an exponent isn't parsed at all.
+     * @return Whether or not the current NumberValue event is an integer that fits in a long.
+     */
+    private boolean parseLong()
+    {
+        if (this.isLong == null)
+        {
+            boolean isLong = this.token.isInteger();
+            if (isLong)
+            {
+                try
+                {
+                    this.longValue = this.token.getLongValue();
+                }
+                catch (java.lang.NumberFormatException e)
+                {
+                    isLong = false;
+                }
+            }
+            this.isLong = isLong;
+        }
+        return this.isLong;
+    }
+
+    /**
+     * Get the value of the current BooleanValue event.
+     * @return The value of the current BooleanValue event.
+     */
+    public boolean getBoolean()
+    {
+        PreCondition.assertEqual(JSONReaderEvent.BooleanValue, this.current, "this.getCurrent()");
+
+        return JSONToken.falseToken != this.token;
+    }
+
+    /**
+     * Skip the value that the current event starts. If the current event is a PropertyName, then
+     * the property's value is skipped. An array or object is skipped with
+     * JSONTokenizer.skipValue(), so its contents aren't tokenized or validated. Afterwards the
+     * current event is the last event of the skipped value, so the next call to next() moves to
+     * the event after the value.
+     * @throws ParseException If the content ends before the skipped value does.
+     */
+    public void skipValue()
+    {
+        PreCondition.assertTrue(this.hasCurrent(), "this.hasCurrent()");
+        PreCondition.assertFalse(JSONReader.endsValue(this.current), "JSONReader.endsValue(this.getCurrent())");
+
+        if (this.current == JSONReaderEvent.PropertyName)
+        {
+            this.next();
+        }
+
+        if (this.current == JSONReaderEvent.StartObject || this.current == JSONReaderEvent.StartArray)
+        {
+            this.tokenizer.skipValue();
+            this.token = this.tokenizer.getCurrent();
+            this.grammar.endValue();
+            this.current = (this.current == JSONReaderEvent.StartObject ? JSONReaderEvent.EndObject : JSONReaderEvent.EndArray);
+        }
+    }
+
+    /**
+     * Read the value that the current event starts as a JSONSegment. Afterwards the current event
+     * is the last event of the value, so the next call to next() moves to the event after the
+     * value.
+     * @return The value that the current event starts.
+     * @throws ParseException If the value isn't valid JSON.
+     */
+    public JSONSegment readValue()
+    {
+        PreCondition.assertTrue(this.hasCurrent(), "this.hasCurrent()");
+        PreCondition.assertFalse(JSONReader.endsValue(this.current), "JSONReader.endsValue(this.getCurrent())");
+        PreCondition.assertNotEqual(JSONReaderEvent.PropertyName, this.current, "this.getCurrent()");
+
+        JSONSegment result;
+        switch (this.current)
+        {
+            case StartObject:
+            case StartArray:
+                final JSONTreeParser parser = JSONTreeParser.create(this.names);
+                result = parser.add(this.token);
+                while (result == null)
+                {
+                    if (!JSON.next(this.tokenizer))
+                    {
+                        throw new ParseException(parser.getMissingMessage());
+                    }
+                    this.token = this.tokenizer.getCurrent();
+                    result = parser.add(this.token);
+                }
+                this.grammar.endValue();
+                this.current = (this.current == JSONReaderEvent.StartObject ? JSONReaderEvent.EndObject : JSONReaderEvent.EndArray);
+                break;
+
+            case StringValue:
+                result = this.token.getStringSegment();
+                break;
+
+            case NumberValue:
+                result = this.token.getNumberSegment();
+                break;
+
+            case BooleanValue:
+                result = JSONBoolean.get(this.getBoolean());
+                break;
+
+            default:
+                result = JSONNull.segment;
+                break;
+        }
+
+        PostCondition.assertNotNull(result, "result");
+
+        return result;
+    }
+
+    /**
+     * Pass the current event and each of the following events to the provided handler until
+     * either the handler returns false or the end of the content is reached. If this reader
+     * doesn't have a current event, then it moves to the next event first.
+     * @param handler The handler to pass the events to.
+     * @return Whether or not the end of the content was reached. This is false if the handler
+     * stopped the read.
+     * @throws ParseException If the content isn't valid JSON.
+     */
+    public boolean read(JSONHandler handler)
+    {
+        PreCondition.assertNotNull(handler, "handler");
+
+        boolean result = this.hasCurrent() || this.next();
+        while (result)
+        {
+            if (!this.handleCurrent(handler))
+            {
+                break;
+            }
+            result = this.next();
+        }
+        return !result;
+    }
+
+    /**
+     * Pass the current event to the matching method of the provided handler.
+     * @param handler The handler to pass the current event to.
+     * @return Whether or not the handler wants to keep reading.
+     */
+    private boolean handleCurrent(JSONHandler handler)
+    {
+        boolean result;
+        switch (this.current)
+        {
+            case StartObject:
+                result = handler.onObjectStart();
+                break;
+
+            case EndObject:
+                result = handler.onObjectEnd();
+                break;
+
+            case StartArray:
+                result = handler.onArrayStart();
+                break;
+
+            case EndArray:
+                result = handler.onArrayEnd();
+                break;
+
+            case PropertyName:
+                result = handler.onPropertyName(this.propertyName);
+                break;
+
+            case StringValue:
+                result = handler.onString(this.getString());
+                break;
+
+            case NumberValue:
+                result = this.parseLong()
+                    ? handler.onLong(this.longValue)
+                    : handler.onNumber(this.token.getNumberValue());
+                break;
+
+            case BooleanValue:
+                result = handler.onBoolean(this.getBoolean());
+                break;
+
+            default:
+                result = handler.onNull();
+                break;
+        }
+        return result;
+    }
+
+    private static boolean endsValue(JSONReaderEvent event)
+    {
+        return event == JSONReaderEvent.EndObject || event == JSONReaderEvent.EndArray;
+    }
+}
@@ -0,0 +1,17 @@
+package qub;
+
+/**
+ * The type of an event that a JSONReader reads.
+ */
+public enum JSONReaderEvent
+{
+    StartObject,
+    EndObject,
+    StartArray,
+    EndArray,
+    PropertyName,
+    StringValue,
+    NumberValue,
+    BooleanValue,
+    NullValue
+}
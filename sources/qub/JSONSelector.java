@@ -0,0 +1,365 @@
+package qub;
+
+/**
+ * A set of JSON Pointers (RFC 6901) that selects the parts of a JSON document to parse. A "*"
+ * reference token matches every property of an object and every element of an array. Selected
+ * array elements keep their indexes, so the unselected elements before them are replaced with
+ * nulls. Only the selected values are built into JSONSegments; every other value is skipped with
+ * JSONReader.skipValue(), so skipped arrays and objects aren't tokenized.
+ */
+public class JSONSelector
+{
+    private static final String wildcard = "*";
+
+    private final Step root;
+
+    private JSONSelector(Step root)
+    {
+        PreCondition.assertNotNull(root, "root");
+
+        this.root = root;
+    }
+
+    /**
+     * Create a new JSONSelector that selects the values that the provided JSON Pointers refer to.
+     * @param jsonPointers The JSON Pointers of the values to select, such as "/metadata/id".
+     * @return The new JSONSelector.
+     * @throws ParseException If one of the JSON Pointers isn't valid.
+     */
+    public static JSONSelector create(Iterable<String> jsonPointers)
+    {
+        PreCondition.assertNotNull(jsonPointers, "jsonPointers");
+
+        final List<String[]> paths = List.create();
+        for (final String jsonPointer : jsonPointers)
+        {
+            paths.add(JSONSelector.parseJSONPointer(jsonPointer));
+        }
+        return new JSONSelector(JSONSelector.createStep(paths, 0));
+    }
+
+    /**
+     * Split the provided JSON Pointer into its decoded reference tokens.
+     * @param jsonPointer The JSON Pointer to split.
+     * @return The decoded reference tokens of the JSON Pointer.
+     * @throws ParseException If the JSON Pointer isn't valid.
+     */
+    static String[] parseJSONPointer(String jsonPointer)
+    {
+        PreCondition.assertNotNull(jsonPointer, "jsonPointer");
+
+        final List<String> referenceTokens = List.create();
+        if (!jsonPointer.isEmpty())
+        {
+            if (jsonPointer.charAt(0) != '/')
+            {
+                throw new ParseException("Expected JSON Pointer " + Strings.escapeAndQuote(jsonPointer) + " to start with \"/\".");
+            }
+
+            final StringBuilder referenceToken = new StringBuilder();
+            final int length = jsonPointer.length();
+            for (int i = 1; i <= length; ++i)
+            {
+                final char character = (i == length ? '/' : jsonPointer.charAt(i));
+                if (character == '/')
+                {
+                    referenceTokens.add(referenceToken.toString());
+                    referenceToken.setLength(0);
+                }
+                else if (character != '~')
+                {
+                    referenceToken.append(character);
+                }
+                else
+                {
+                    final char escapedCharacter = (i + 1 < length ? jsonPointer.charAt(++i) : '\0');
+                    if (escapedCharacter == '0')
+                    {
+                        referenceToken.append('~');
+                    }
+                    else if (escapedCharacter == '1')
+                    {
+                        referenceToken.append('/');
+                    }
+                    else
+                    {
+                        throw new ParseException("Expected \"~\" in JSON Pointer " + Strings.escapeAndQuote(jsonPointer) + " to be followed by \"0\" or \"1\".");
+                    }
+                }
+            }
+        }
+
+        final String[] result = new String[referenceTokens.getCount()];
+        for (int i = 0; i < result.length; ++i)
+        {
+            result[i] = referenceTokens.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Create the Step that matches the reference tokens of the provided paths at the provided
+     * index. A named child also includes the paths that continue through a wildcard, so a single
+     * child is enough to find everything that a property or element selects.
+     * @param paths The paths that reach this Step.
+     * @param index The index of the reference tokens that this Step's children match.
+     * @return The new Step.
+     */
+    private static Step createStep(List<String[]> paths, int index)
+    {
+        final Step result = new Step();
+        final List<String> childNames = List.create();
+        boolean hasWildcard = false;
+        for (final String[] path : paths)
+        {
+            if (path.length == index)
+            {
+                result.selected = true;
+            }
+            else if (path[index].equals(JSONSelector.wildcard))
+            {
+                hasWildcard = true;
+            }
+            else if (!JSONSelector.contains(childNames, path[index]))
+            {
+                childNames.add(path[index]);
+            }
+        }
+
+        if (!result.selected)
+        {
+            for (final String childName : childNames)
+            {
+                final List<String[]> childPaths = List.create();
+                for (final String[] path : paths)
+                {
+                    if (path.length > index && (path[index].equals(childName) || path[index].equals(JSONSelector.wildcard)))
+                    {
+                        childPaths.add(path);
+                    }
+                }
+                final Step child = JSONSelector.createStep(childPaths, index + 1);
+                child.name = childName;
+                child.arrayIndex = JSONSelector.getArrayIndex(childName);
+                result.children.add(child);
+            }
+
+            if (hasWildcard)
+            {
+                final List<String[]> wildcardPaths = List.create();
+                for (final String[] path : paths)
+                {
+                    if (path.length > index && path[index].equals(JSONSelector.wildcard))
+                    {
+                        wildcardPaths.add(path);
+                    }
+                }
+                result.wildcardChild = JSONSelector.createStep(wildcardPaths, index + 1);
+            }
+        }
+        return result;
+    }
+
+    private static boolean contains(List<String> values, String value)
+    {
+        boolean result = false;
+        for (final String element : values)
+        {
+            if (element.equals(value))
+            {
+                result = true;
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the array index that the provided reference token refers to.
+     * @param referenceToken The reference token.
+     * @return The array index, or -1 if the reference token isn't an array index.
+     */
+    static int getArrayIndex(String referenceToken)
+    {
+        PreCondition.assertNotNull(referenceToken, "referenceToken");
+
+        final int length = referenceToken.length();
+        int result = (length == 0 || length > 9 || (length > 1 && referenceToken.charAt(0) == '0') ? -1 : 0);
+        for (int i = 0; result != -1 && i < length; ++i)
+        {
+            final char character = referenceToken.charAt(i);
+            result = (JSONTokenizer.isDigit(character) ? (result * 10) + (character - '0') : -1);
+        }
+        return result;
+    }
+
+    /**
+     * Parse the selected parts of the top-level object that the provided reader's current event
+     * starts. Afterwards the reader's current event is the EndObject event of the top-level
+     * object.
+     * @param reader The reader whose current event is the StartObject event of the object.
+     * @return A JSONObject that contains only the selected values and the objects and arrays that
+     * lead to them.
+     * @throws ParseException If the selected parts of the content aren't valid JSON.
+     */
+    public JSONObject select(JSONReader reader)
+    {
+        PreCondition.assertNotNull(reader, "reader");
+        PreCondition.assertTrue(reader.hasCurrent(), "reader.hasCurrent()");
+        PreCondition.assertEqual(JSONReaderEvent.StartObject, reader.getCurrent(), "reader.getCurrent()");
+
+        final JSONObject result = this.root.selected
+            ? (JSONObject)reader.readValue()
+            : JSONSelector.selectObject(reader, this.root);
+
+        PostCondition.assertNotNull(result, "result");
+
+        return result;
+    }
+
+    /**
+     * Parse the selected parts of the value that the provided reader's current event starts.
+     * @param reader The reader whose current event starts the value.
+     * @param step The Step that the value matches.
+     * @return The selected parts of the value, or null if the Step's children can't match
+     * anything in the value.
+     */
+    private static JSONSegment selectValue(JSONReader reader, Step step)
+    {
+        JSONSegment result;
+        if (step.selected)
+        {
+            result = reader.readValue();
+        }
+        else if (reader.getCurrent() == JSONReaderEvent.StartObject)
+        {
+            result = JSONSelector.selectObject(reader, step);
+        }
+        else if (reader.getCurrent() == JSONReaderEvent.StartArray)
+        {
+            result = JSONSelector.selectArray(reader, step);
+        }
+        else
+        {
+            result = null;
+        }
+        return result;
+    }
+
+    private static JSONObject selectObject(JSONReader reader, Step step)
+    {
+        final MutableMap<String,JSONSegment> properties = Map.create();
+        while (reader.next() && reader.getCurrent() == JSONReaderEvent.PropertyName)
+        {
+            final String propertyName = reader.getPropertyName();
+            final Step child = step.getChild(propertyName);
+            reader.next();
+            if (child == null)
+            {
+                reader.skipValue();
+            }
+            else
+            {
+                final JSONSegment value = JSONSelector.selectValue(reader, child);
+                if (value != null)
+                {
+                    properties.set(propertyName, value);
+                }
+            }
+        }
+        return JSONObject.wrap(properties);
+    }
+
+    /**
+     * Parse the selected elements of the array that the provided reader's current event starts.
+     * Selected elements keep their indexes, so the elements before them that aren't selected are
+     * replaced with nulls. Elements after the last selected element are dropped, unless the Step
+     * has a wildcard child, in which case every element is kept.
+     * @param reader The reader whose current event is the StartArray event of the array.
+     * @param step The Step that the array matches.
+     * @return The selected elements of the array.
+     */
+    private static JSONArray selectArray(JSONReader reader, Step step)
+    {
+        final List<JSONSegment> elements = List.create();
+        int elementIndex = 0;
+        int skippedElementCount = 0;
+        while (reader.next() && reader.getCurrent() != JSONReaderEvent.EndArray)
+        {
+            final Step child = step.getChild(elementIndex++);
+            JSONSegment value = null;
+            if (child == null)
+            {
+                reader.skipValue();
+            }
+            else
+            {
+                value = JSONSelector.selectValue(reader, child);
+            }
+
+            if (value == null)
+            {
+                ++skippedElementCount;
+            }
+            else
+            {
+                JSONSelector.addNulls(elements, skippedElementCount);
+                skippedElementCount = 0;
+                elements.add(value);
+            }
+        }
+        if (step.wildcardChild != null)
+        {
+            JSONSelector.addNulls(elements, skippedElementCount);
+        }
+        return JSONArray.create(elements);
+    }
+
+    private static void addNulls(List<JSONSegment> elements, int count)
+    {
+        for (int i = 0; i < count; ++i)
+        {
+            elements.add(JSONNull.segment);
+        }
+    }
+
+    /**
+     * A node in the tree of reference tokens that a JSONSelector matches.
+     */
+    private static class Step
+    {
+        private final List<Step> children = List.create();
+        private String name;
+        private int arrayIndex;
+        private Step wildcardChild;
+        private boolean selected;
+
+        Step getChild(String propertyName)
+        {
+            Step result = this.wildcardChild;
+            for (final Step child : this.children)
+            {
+                if (child.name.equals(propertyName))
+                {
+                    result = child;
+                    break;
+                }
+            }
+            return result;
+        }
+
+        Step getChild(int elementIndex)
+        {
+            Step result = this.wildcardChild;
+            for (final Step child : this.children)
+            {
+                if (child.arrayIndex == elementIndex)
+                {
+                    result = child;
+                    break;
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,483 @@
+package qub;
+
+/**
+ * The expected shape of a JSON object: a fixed set of property names, each with the JSONSegment
+ * type that its value is expected to have. The property names are compiled into a minimal
+ * perfect hash, so a parser can find a property's index straight from the characters of its name
+ * token without creating the name's String. Objects that are parsed with a JSONShape are stored
+ * as JSONShapedObjects, which keep each property's value in a slot at the property's index. A
+ * JSONShape is frozen the first time that it is used to parse an object, so after that no more
+ * properties can be added and the same JSONShape can be used by several threads at once.
+ */
+public class JSONShape
+{
+    private static final java.lang.Class<?>[] supportedTypes = new java.lang.Class<?>[]
+    {
+        JSONSegment.class,
+        JSONObject.class,
+        JSONArray.class,
+        JSONString.class,
+        JSONNumber.class,
+        JSONBoolean.class,
+    };
+
+    private final List<String> propertyNames;
+    private final List<java.lang.Class<? extends JSONSegment>> propertyTypes;
+
+    /**
+     * The displacement of each bucket of property names. A positive displacement is the seed
+     * that the bucket's names are hashed with again to find their slots, and a negative
+     * displacement is the bitwise complement of the slot of the bucket's only name.
+     */
+    private int[] displacements;
+    /**
+     * The index of the property in each slot.
+     */
+    private int[] slotIndexes;
+    /**
+     * Whether or not this JSONShape has been used to parse an object.
+     */
+    private volatile boolean frozen;
+
+    private JSONShape()
+    {
+        this.propertyNames = List.create();
+        this.propertyTypes = List.create();
+        this.displacements = new int[0];
+        this.slotIndexes = new int[0];
+    }
+
+    /**
+     * Create a new JSONShape with no properties.
+     * @return The new JSONShape.
+     */
+    public static JSONShape create()
+    {
+        return new JSONShape();
+    }
+
+    /**
+     * Add a property to this JSONShape. The property's index is the number of properties that
+     * were added before it. Properties can't be added once this JSONShape is frozen.
+     * @param propertyName The name of the property.
+     * @param propertyType The type of the property's value. JSONSegment.class accepts any value.
+     * @return This object for method chaining.
+     */
+    public synchronized JSONShape addProperty(String propertyName, java.lang.Class<? extends JSONSegment> propertyType)
+    {
+        PreCondition.assertFalse(this.frozen, "this.isFrozen()");
+        PreCondition.assertNotNullAndNotEmpty(propertyName, "propertyName");
+        PreCondition.assertNotNull(propertyType, "propertyType");
+        PreCondition.assertTrue(JSONShape.isSupportedType(propertyType), "JSONShape.isSupportedType(propertyType)");
+        PreCondition.assertEqual(-1, this.getIndex(propertyName), "this.getIndex(propertyName)");
+
+        this.propertyNames.add(propertyName);
+        this.propertyTypes.add(propertyType);
+        this.compile();
+
+        return this;
+    }
+
+    /**
+     * Get whether or not this JSONShape has been used to parse an object, which means that no
+     * more properties can be added to it.
+     * @return Whether or not this JSONShape is frozen.
+     */
+    public boolean isFrozen()
+    {
+        return this.frozen;
+    }
+
+    /**
+     * Freeze this JSONShape so that no more properties can be added to it. The lock makes sure
+     * that a property that is being added is finished first.
+     */
+    private void freeze()
+    {
+        if (!this.frozen)
+        {
+            synchronized (this)
+            {
+                this.frozen = true;
+            }
+        }
+    }
+
+    /**
+     * Get whether or not the provided type can be the type of a JSONShape property.
+     * @param propertyType The type to check.
+     * @return Whether or not the provided type can be the type of a JSONShape property.
+     */
+    public static boolean isSupportedType(java.lang.Class<?> propertyType)
+    {
+        boolean result = false;
+        for (final java.lang.Class<?> supportedType : JSONShape.supportedTypes)
+        {
+            if (supportedType == propertyType)
+            {
+                result = true;
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the number of properties in this JSONShape.
+     * @return The number of properties in this JSONShape.
+     */
+    public int getCount()
+    {
+        return this.propertyNames.getCount();
+    }
+
+    /**
+     * Get the index of the property with the provided name.
+     * @param propertyName The name of the property.
+     * @return The index of the property, or -1 if this JSONShape doesn't have a property with the
+     * provided name.
+     */
+    public int getIndex(String propertyName)
+    {
+        PreCondition.assertNotNull(propertyName, "propertyName");
+
+        int result = -1;
+        final int count = this.getCount();
+        if (count > 0)
+        {
+            final int bucket = JSONShape.hash(0, propertyName) % count;
+            final int displacement = this.displacements[bucket];
+            final int slot = displacement < 0 ? ~displacement : JSONShape.hash(displacement, propertyName) % count;
+            final int index = this.slotIndexes[slot];
+            if (this.propertyNames.get(index).equals(propertyName))
+            {
+                result = index;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the index of the property whose name is the provided QuotedString token's text. Like
+     * the other parsers, the name's escape sequences aren't decoded before it is compared.
+     * @param nameToken The QuotedString token of a property name.
+     * @return The index of the property, or -1 if this JSONShape doesn't have a property with the
+     * token's name.
+     */
+    int getIndex(JSONToken nameToken)
+    {
+        final int nameLength = nameToken.getLength() - 2;
+        int result = -1;
+        final int count = this.getCount();
+        if (count > 0)
+        {
+            final int bucket = JSONShape.hash(0, nameToken) % count;
+            final int displacement = this.displacements[bucket];
+            final int slot = displacement < 0 ? ~displacement : JSONShape.hash(displacement, nameToken) % count;
+            final int index = this.slotIndexes[slot];
+            final String propertyName = this.propertyNames.get(index);
+            if (propertyName.length() == nameLength)
+            {
+                result = index;
+                for (int i = 0; i < nameLength; ++i)
+                {
+                    if (propertyName.charAt(i) != nameToken.characterAt(i + 1))
+                    {
+                        result = -1;
+                        break;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the name of the property at the provided index.
+     * @param index The index of the property.
+     * @return The name of the property.
+     */
+    public String getPropertyName(int index)
+    {
+        PreCondition.assertIndexAccess(index, this.getCount(), "index");
+
+        return this.propertyNames.get(index);
+    }
+
+    /**
+     * Get the expected type of the value of the property at the provided index.
+     * @param index The index of the property.
+     * @return The expected type of the property's value.
+     */
+    public java.lang.Class<? extends JSONSegment> getPropertyType(int index)
+    {
+        PreCondition.assertIndexAccess(index, this.getCount(), "index");
+
+        return this.propertyTypes.get(index);
+    }
+
+    /**
+     * Build the minimal perfect hash for the current property names with hash-and-displace. The
+     * names are put into buckets by their unseeded hash, and then starting with the largest
+     * bucket, each bucket's names are hashed again with increasing seeds until they all land in
+     * free slots.
+     */
+    private void compile()
+    {
+        final int count = this.getCount();
+        final int[] buckets = new int[count];
+        final int[] bucketSizes = new int[count];
+        for (int i = 0; i < count; ++i)
+        {
+            buckets[i] = JSONShape.hash(0, this.propertyNames.get(i)) % count;
+            ++bucketSizes[buckets[i]];
+        }
+
+        final Integer[] bucketOrder = new Integer[count];
+        for (int i = 0; i < count; ++i)
+        {
+            bucketOrder[i] = i;
+        }
+        java.util.Arrays.sort(bucketOrder, (Integer lhs, Integer rhs) -> bucketSizes[rhs] - bucketSizes[lhs]);
+
+        final int[] displacements = new int[count];
+        final int[] slotIndexes = new int[count];
+        java.util.Arrays.fill(slotIndexes, -1);
+        final int[] bucketSlots = new int[count];
+        int freeSlot = 0;
+        for (final int bucket : bucketOrder)
+        {
+            final int bucketSize = bucketSizes[bucket];
+            if (bucketSize == 1)
+            {
+                while (slotIndexes[freeSlot] != -1)
+                {
+                    ++freeSlot;
+                }
+                for (int i = 0; i < count; ++i)
+                {
+                    if (buckets[i] == bucket)
+                    {
+                        slotIndexes[freeSlot] = i;
+                        displacements[bucket] = ~freeSlot;
+                        break;
+                    }
+                }
+            }
+            else if (bucketSize > 1)
+            {
+                int seed = 1;
+                while (!JSONShape.tryPlaceBucket(this.propertyNames, buckets, bucket, seed, slotIndexes, bucketSlots))
+                {
+                    ++seed;
+                }
+                displacements[bucket] = seed;
+            }
+        }
+
+        this.displacements = displacements;
+        this.slotIndexes = slotIndexes;
+    }
+
+    /**
+     * Try to put the names in the provided bucket into free slots by hashing them with the
+     * provided seed.
+     * @return Whether or not all of the bucket's names were put into free slots.
+     */
+    private static boolean tryPlaceBucket(List<String> propertyNames, int[] buckets, int bucket, int seed, int[] slotIndexes, int[] bucketSlots)
+    {
+        final int count = buckets.length;
+        int placedCount = 0;
+        boolean result = true;
+        for (int i = 0; result && i < count; ++i)
+        {
+            if (buckets[i] == bucket)
+            {
+                final int slot = JSONShape.hash(seed, propertyNames.get(i)) % count;
+                if (slotIndexes[slot] != -1)
+                {
+                    result = false;
+                }
+                else
+                {
+                    slotIndexes[slot] = i;
+                    bucketSlots[placedCount++] = slot;
+                }
+            }
+        }
+
+        if (!result)
+        {
+            for (int i = 0; i < placedCount; ++i)
+            {
+                slotIndexes[bucketSlots[i]] = -1;
+            }
+        }
+        return result;
+    }
+
+    private static int hash(int seed, String text)
+    {
+        int result = JSONShape.startHash(seed);
+        final int length = text.length();
+        for (int i = 0; i < length; ++i)
+        {
+            result = (result ^ text.charAt(i)) * 0x01000193;
+        }
+        return JSONShape.finishHash(result);
+    }
+
+    /**
+     * Hash the text of the provided QuotedString token without its quotes.
+     */
+    private static int hash(int seed, JSONToken nameToken)
+    {
+        int result = JSONShape.startHash(seed);
+        final int endIndex = nameToken.getLength() - 1;
+        for (int i = 1; i < endIndex; ++i)
+        {
+            result = (result ^ nameToken.characterAt(i)) * 0x01000193;
+        }
+        return JSONShape.finishHash(result);
+    }
+
+    private static int startHash(int seed)
+    {
+        return 0x811C9DC5 ^ (seed * 0x9E3779B9);
+    }
+
+    private static int finishHash(int hash)
+    {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        return hash & 0x7FFFFFFF;
+    }
+
+    /**
+     * Parse the object that starts at the provided tokenizer's current token into a new
+     * JSONShapedObject, and freeze this JSONShape. Properties that aren't part of this JSONShape
+     * are skipped, and a property whose value isn't its expected type (or null) causes a
+     * WrongTypeException. Afterwards the tokenizer's current token is the first token after the
+     * object.
+     * @param tokenizer The tokenizer whose current token is the object's left curly bracket.
+     * @return The new JSONShapedObject.
+     * @throws ParseException If the tokens don't form a JSON object.
+     */
+    JSONShapedObject parse(JSONTokenizer tokenizer)
+    {
+        PreCondition.assertNotNull(tokenizer, "tokenizer");
+        PreCondition.assertTrue(tokenizer.hasCurrent(), "tokenizer.hasCurrent()");
+        PreCondition.assertEqual(JSONTokenType.LeftCurlyBracket, tokenizer.getCurrent().getType(), "tokenizer.getCurrent().getType()");
+
+        this.freeze();
+        final JSONShapedObject result = new JSONShapedObject(this);
+        this.parse(tokenizer, (Integer index) -> this.parseValue(tokenizer, index, result));
+        return result;
+    }
+
+    /**
+     * Parse the object that starts at the provided tokenizer's current token, and pass the index
+     * of each of its properties that is part of this JSONShape to the provided action while the
+     * tokenizer's current token is the first token of the property's value. The action must
+     * parse the whole value. Properties that aren't part of this JSONShape are skipped. This
+     * JSONShape is frozen first. Afterwards the tokenizer's current token is the first token after
+     * the object.
+     * @param tokenizer The tokenizer whose current token is the object's left curly bracket.
+     * @param parsePropertyValue The action that parses the value of the property at an index.
+     * @throws ParseException If the tokens don't form a JSON object.
+     */
+    void parse(JSONTokenizer tokenizer, Action1<Integer> parsePropertyValue)
+    {
+        PreCondition.assertNotNull(tokenizer, "tokenizer");
+        PreCondition.assertTrue(tokenizer.hasCurrent(), "tokenizer.hasCurrent()");
+        PreCondition.assertEqual(JSONTokenType.LeftCurlyBracket, tokenizer.getCurrent().getType(), "tokenizer.getCurrent().getType()");
+        PreCondition.assertNotNull(parsePropertyValue, "parsePropertyValue");
+
+        this.freeze();
+        final JSONGrammar grammar = JSONGrammar.create();
+        grammar.add(tokenizer.getCurrent());
+        JSON.next(tokenizer);
+
+        int index = -1;
+        while (grammar.getDepth() > 0)
+        {
+            if (!tokenizer.hasCurrent())
+            {
+                throw new ParseException(grammar.getMissingMessage());
+            }
+
+            final JSONToken token = tokenizer.getCurrent();
+            final JSONReaderEvent event = grammar.add(token);
+            if (event == null || event == JSONReaderEvent.EndObject)
+            {
+                JSON.next(tokenizer);
+            }
+            else if (event == JSONReaderEvent.PropertyName)
+            {
+                index = this.getIndex(token);
+                JSON.next(tokenizer);
+            }
+            else
+            {
+                // The value is parsed or skipped as a whole, so the grammar only needs to know
+                // that it has ended.
+                if (grammar.getDepth() > 1)
+                {
+                    grammar.endValue();
+                }
+
+                if (index == -1)
+                {
+                    tokenizer.skipValue();
+                    JSON.next(tokenizer);
+                }
+                else
+                {
+                    parsePropertyValue.run(index);
+                }
+            }
+        }
+    }
+
+    /**
+     * Parse the value that starts at the provided tokenizer's current token into the slot of the
+     * property at the provided index. Afterwards the tokenizer's current token is the first token
+     * after the value.
+     */
+    private void parseValue(JSONTokenizer tokenizer, int index, JSONShapedObject result)
+    {
+        final java.lang.Class<? extends JSONSegment> propertyType = this.propertyTypes.get(index);
+        final JSONToken token = tokenizer.getCurrent();
+        final JSONTokenType tokenType = token.getType();
+        if (tokenType == JSONTokenType.Null)
+        {
+            result.setNull(index);
+            JSON.next(tokenizer);
+        }
+        else if (propertyType == JSONString.class && tokenType == JSONTokenType.QuotedString)
+        {
+            result.setValue(index, token.getStringSegment().getValue());
+            JSON.next(tokenizer);
+        }
+        else if (propertyType == JSONNumber.class && tokenType == JSONTokenType.Number)
+        {
+            result.setNumber(index, token.getNumberValue());
+            JSON.next(tokenizer);
+        }
+        else if (propertyType == JSONBoolean.class && tokenType == JSONTokenType.Boolean)
+        {
+            result.setValue(index, JSONToken.falseToken != token ? java.lang.Boolean.TRUE : java.lang.Boolean.FALSE);
+            JSON.next(tokenizer);
+        }
+        else
+        {
+            final JSONSegment value = JSONTreeParser.parse(tokenizer);
+            if (!propertyType.isInstance(value))
+            {
+                throw new WrongTypeException(JSON.getWrongTypeExceptionMessage(value, Iterable.create(propertyType, JSONNull.class), JSON.thePropertyNamed(this.propertyNames.get(index))));
+            }
+            result.setValue(index, value);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package qub;
+
+/**
+ * A JSON object that was parsed with a JSONShape. Each property's value is kept in a slot at the
+ * property's index in the JSONShape, so reading a property doesn't hash its name or wrap its
+ * value in a Result. String, number, and boolean values are stored as their Java values instead
+ * of as JSONSegments.
+ */
+public class JSONShapedObject
+{
+    private static final byte missingState = 0;
+    private static final byte nullState = 1;
+    private static final byte valueState = 2;
+
+    private final JSONShape shape;
+    private final Object[] values;
+    private final double[] numbers;
+    private final byte[] states;
+
+    JSONShapedObject(JSONShape shape)
+    {
+        PreCondition.assertNotNull(shape, "shape");
+
+        this.shape = shape;
+        final int count = shape.getCount();
+        this.values = new Object[count];
+        this.numbers = new double[count];
+        this.states = new byte[count];
+    }
+
+    /**
+     * Get the JSONShape that this object was parsed with.
+     * @return The JSONShape that this object was parsed with.
+     */
+    public JSONShape getShape()
+    {
+        return this.shape;
+    }
+
+    /**
+     * Get whether or not the parsed object contained the property at the provided index, even if
+     * its value was null.
+     * @param index The index of the property.
+     * @return Whether or not the parsed object contained the property.
+     */
+    public boolean contains(int index)
+    {
+        PreCondition.assertIndexAccess(index, this.shape.getCount(), "index");
+
+        return this.states[index] != JSONShapedObject.missingState;
+    }
+
+    /**
+     * Get whether or not the property at the provided index has a value that isn't null.
+     * @param index The index of the property.
+     * @return Whether or not the property has a value that isn't null.
+     */
+    public boolean hasValue(int index)
+    {
+        PreCondition.assertIndexAccess(index, this.shape.getCount(), "index");
+
+        return this.states[index] == JSONShapedObject.valueState;
+    }
+
+    /**
+     * Get the value of the property at the provided index as a JSONSegment.
+     * @param index The index of the property.
+     * @return The value of the property, JSONNull.segment if its value was null, or null if the
+     * parsed object didn't contain the property.
+     */
+    public JSONSegment get(int index)
+    {
+        PreCondition.assertIndexAccess(index, this.shape.getCount(), "index");
+
+        JSONSegment result;
+        switch (this.states[index])
+        {
+            case JSONShapedObject.missingState:
+                result = null;
+                break;
+
+            case JSONShapedObject.nullState:
+                result = JSONNull.segment;
+                break;
+
+            default:
+                final java.lang.Class<? extends JSONSegment> propertyType = this.shape.getPropertyType(index);
+                if (propertyType == JSONNumber.class)
+                {
+                    final double number = this.numbers[index];
+                    result = number == (long)number
+                        ? JSONNumber.get((long)number)
+                        : JSONNumber.get(number);
+                }
+                else if (propertyType == JSONString.class)
+                {
+                    result = JSONString.get((String)this.values[index]);
+                }
+                else if (propertyType == JSONBoolean.class)
+                {
+                    result = JSONBoolean.get((java.lang.Boolean)this.values[index]);
+                }
+                else
+                {
+                    result = (JSONSegment)this.values[index];
+                }
+                break;
+        }
+        return result;
+    }
+
+    /**
+     * Get the value of the JSONString property at the provided index.
+     * @param index The index of a JSONString property.
+     * @return The value of the property, or null if the property was missing or null.
+     */
+    public String getString(int index)
+    {
+        PreCondition.assertIndexAccess(index, this.shape.getCount(), "index");
+        PreCondition.assertTrue(this.shape.getPropertyType(index) == JSONString.class, "this.getShape().getPropertyType(index) == JSONString.class");
+
+        return (String)this.values[index];
+    }
+
+    /**
+     * Get the value of the JSONNumber property at the provided index.
+     * @param index The index of a JSONNumber property that has a value.
+     * @return The value of the property.
+     */
+    public double getNumber(int index)
+    {
+        PreCondition.assertIndexAccess(index, this.shape.getCount(), "index");
+        PreCondition.assertTrue(this.shape.getPropertyType(index) == JSONNumber.class, "this.getShape().getPropertyType(index) == JSONNumber.class");
+        PreCondition.assertTrue(this.hasValue(index), "this.hasValue(index)");
+
+        return this.numbers[index];
+    }
+
+    /**
+     * Get the value of the JSONBoolean property at the provided index.
+     * @param index The index of a JSONBoolean property that has a value.
+     * @return The value of the property.
+     */
+    public boolean getBoolean(int index)
+    {
+        PreCondition.assertIndexAccess(index, this.shape.getCount(), "index");
+        PreCondition.assertTrue(this.shape.getPropertyType(index) == JSONBoolean.class, "this.getShape().getPropertyType(index) == JSONBoolean.class");
+        PreCondition.assertTrue(this.hasValue(index), "this.hasValue(index)");
+
+        return (java.lang.Boolean)this.values[index];
+    }
+
+    /**
+     * Get the value of the JSONObject property at the provided index.
+     * @param index The index of a JSONObject property.
+     * @return The value of the property, or null if the property was missing or null.
+     */
+    public JSONObject getObject(int index)
+    {
+        PreCondition.assertIndexAccess(index, this.shape.getCount(), "index");
+        PreCondition.assertTrue(this.shape.getPropertyType(index) == JSONObject.class, "this.getShape().getPropertyType(index) == JSONObject.class");
+
+        return (JSONObject)this.values[index];
+    }
+
+    /**
+     * Get the value of the JSONArray property at the provided index.
+     * @param index The index of a JSONArray property.
+     * @return The value of the property, or null if the property was missing or null.
+     */
+    public JSONArray getArray(int index)
+    {
+        PreCondition.assertIndexAccess(index, this.shape.getCount(), "index");
+        PreCondition.assertTrue(this.shape.getPropertyType(index) == JSONArray.class, "this.getShape().getPropertyType(index) == JSONArray.class");
+
+        return (JSONArray)this.values[index];
+    }
+
+    void setNull(int index)
+    {
+        this.values[index] = null;
+        this.states[index] = JSONShapedObject.nullState;
+    }
+
+    void setValue(int index, Object value)
+    {
+        this.values[index] = value;
+        this.states[index] = JSONShapedObject.valueState;
+    }
+
+    void setNumber(int index, double value)
+    {
+        this.numbers[index] = value;
+        this.states[index] = JSONShapedObject.valueState;
+    }
+
+    /**
+     * Create a JSONObject that contains the properties of this object that were in the parsed
+     * object, in the order of their indexes.
+     * @return The new JSONObject.
+     */
+    public JSONObject toJSONObject()
+    {
+        final MutableMap<String,JSONSegment> properties = Map.create();
+        final int count = this.shape.getCount();
+        for (int i = 0; i < count; ++i)
+        {
+            if (this.contains(i))
+            {
+                properties.set(this.shape.getPropertyName(i), this.get(i));
+            }
+        }
+        return JSONObject.wrap(properties);
+    }
+
+    @Override
+    public String toString()
+    {
+        return this.toJSONObject().toString();
+    }
+}
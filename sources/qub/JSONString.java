@@ -2,15 +2,30 @@ package qub;
 
 public class JSONString implements JSONSegment
 {
-    private final String text;
+    private volatile char[] characters;
+    private final int startIndex;
+    private final int length;
     private final char quote;
+    private String text;
+    private String unescapedText;
 
     private JSONString(String text, char quote)
     {
         PreCondition.assertNotNull(text, "text");
         PreCondition.assertFalse(text.contains("\n"), "text.contains(\"\\n\")");
 
+        this.characters = null;
+        this.startIndex = 0;
+        this.length = text.length();
+        this.quote = quote;
         this.text = text;
+    }
+
+    private JSONString(char[] characters, int startIndex, int length, char quote)
+    {
+        this.characters = characters;
+        this.startIndex = startIndex;
+        this.length = length;
         this.quote = quote;
     }
 
@@ -24,6 +39,45 @@ public class JSONString implements JSONSegment
         return JSONString.get(text, quote);
     }
 
+    /**
+     * Get a JSONString that refers to the provided range of quoted characters. The String value of
+     * the JSONString is not created until it is first read, so the characters in the range must
+     * not be modified while the JSONString is in use. Until then the JSONString keeps the whole
+     * array from being garbage collected, not just the range. The array is released once the
+     * String value has been created.
+     * @param characters The array that contains the quoted characters.
+     * @param startIndex The index of the opening quote.
+     * @param length The number of characters in the range, including both quotes.
+     * @return The JSONString that refers to the provided range of characters.
+     */
+    public static JSONString getFromQuoted(char[] characters, int startIndex, int length)
+    {
+        PreCondition.assertNotNull(characters, "characters");
+        PreCondition.assertBetween(0, startIndex, characters.length, "startIndex");
+        PreCondition.assertBetween(2, length, characters.length - startIndex, "length");
+        PreCondition.assertTrue(JSONString.isQuoted(characters, startIndex, length), "JSONString.isQuoted(characters, startIndex, length)");
+        PreCondition.assertFalse(JSONString.contains(characters, startIndex + 1, length - 2, '\n'), "text.contains(\"\\n\")");
+
+        return new JSONString(characters, startIndex + 1, length - 2, characters[startIndex]);
+    }
+
+    private static boolean isQuoted(char[] characters, int startIndex, int length)
+    {
+        final char quote = characters[startIndex];
+        return (quote == '\"' || quote == '\'') && characters[startIndex + length - 1] == quote;
+    }
+
+    private static boolean contains(char[] characters, int startIndex, int length, char character)
+    {
+        final int endIndex = startIndex + length;
+        boolean result = false;
+        for (int i = startIndex; !result && i < endIndex; ++i)
+        {
+            result = (characters[i] == character);
+        }
+        return result;
+    }
+
     public static JSONString get(String text)
     {
         PreCondition.assertNotNull(text, "text");
@@ -38,9 +92,246 @@ public class JSONString implements JSONSegment
         return new JSONString(text, quote);
     }
 
+    /**
+     * Get the text between this JSONString's quotes. Escape sequences are not decoded.
+     * @return The text between this JSONString's quotes.
+     */
     public String getValue()
     {
-        return this.text;
+        String result = this.text;
+        if (result == null)
+        {
+            final char[] characters = this.characters;
+            if (characters != null)
+            {
+                result = new String(characters, this.startIndex, this.length);
+                this.text = result;
+                // Release the source array so that this JSONString doesn't keep it alive. The
+                // text is written first, so a thread that sees the released array sees the text.
+                this.characters = null;
+            }
+            else
+            {
+                result = this.text;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the text between this JSONString's quotes with its escape sequences decoded. The decoded
+     * text is created the first time this is called, and text without any backslashes is returned
+     * as-is. A backslash that doesn't start a recognized escape sequence is left in the text.
+     * @return The text between this JSONString's quotes with its escape sequences decoded.
+     */
+    public String getUnescapedValue()
+    {
+        if (this.unescapedText == null)
+        {
+            final String value = this.getValue();
+            final int backslashIndex = value.indexOf('\\');
+            this.unescapedText = backslashIndex == -1
+                ? value
+                : JSONString.unescape(value, backslashIndex);
+        }
+        return this.unescapedText;
+    }
+
+    /**
+     * Decode the escape sequences in the provided text.
+     * @param text The text to decode.
+     * @param backslashIndex The index of the first backslash in the text.
+     * @return The decoded text.
+     */
+    private static String unescape(String text, int backslashIndex)
+    {
+        final int textLength = text.length();
+        final StringBuilder builder = new StringBuilder(textLength);
+        builder.append(text, 0, backslashIndex);
+
+        int index = backslashIndex;
+        while (index < textLength)
+        {
+            final char character = text.charAt(index);
+            if (character != '\\' || index + 1 == textLength)
+            {
+                builder.append(character);
+                ++index;
+            }
+            else
+            {
+                final char escapedCharacter = text.charAt(index + 1);
+                switch (escapedCharacter)
+                {
+                    case '\"':
+                    case '\'':
+                    case '\\':
+                    case '/':
+                        builder.append(escapedCharacter);
+                        index += 2;
+                        break;
+
+                    case 'b':
+                        builder.append('\b');
+                        index += 2;
+                        break;
+
+                    case 'f':
+                        builder.append('\f');
+                        index += 2;
+                        break;
+
+                    case 'n':
+                        builder.append('\n');
+                        index += 2;
+                        break;
+
+                    case 'r':
+                        builder.append('\r');
+                        index += 2;
+                        break;
+
+                    case 't':
+                        builder.append('\t');
+                        index += 2;
+                        break;
+
+                    case 'u':
+                        final int codeUnit = JSONString.parseHexCodeUnit(text, index + 2);
+                        if (codeUnit == -1)
+                        {
+                            builder.append(character);
+                            ++index;
+                        }
+                        else
+                        {
+                            // A surrogate pair is written as two escape sequences, and each one
+                            // decodes to one of the pair's UTF-16 code units.
+                            builder.append((char)codeUnit);
+                            index += 6;
+                        }
+                        break;
+
+                    default:
+                        builder.append(character);
+                        ++index;
+                        break;
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Parse the four hexadecimal digits that start at the provided index.
+     * @param text The text that contains the digits.
+     * @param startIndex The index of the first digit.
+     * @return The UTF-16 code unit that the digits represent, or -1 if there aren't four
+     * hexadecimal digits at the provided index.
+     */
+    private static int parseHexCodeUnit(String text, int startIndex)
+    {
+        int result = -1;
+        if (startIndex + 4 <= text.length())
+        {
+            result = 0;
+            for (int i = startIndex; result != -1 && i < startIndex + 4; ++i)
+            {
+                final int digit = java.lang.Character.digit(text.charAt(i), 16);
+                result = digit == -1 ? -1 : (result << 4) | digit;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Write the provided value to the provided stream as a double-quoted JSON string. Quotes,
+     * backslashes, and control characters in the value are written as escape sequences, so
+     * reading the written string back with getUnescapedValue() returns the provided value.
+     * @param value The value to write.
+     * @param stream The stream to write the quoted string to.
+     * @return The number of characters that were written.
+     */
+    public static Result<Integer> writeQuoted(String value, IndentedCharacterWriteStream stream)
+    {
+        PreCondition.assertNotNull(value, "value");
+        PreCondition.assertNotNull(stream, "stream");
+
+        return Result.create(() ->
+        {
+            int result = 0;
+
+            result += stream.write('\"').await();
+
+            final int valueLength = value.length();
+            int startIndex = 0;
+            for (int i = 0; i < valueLength; ++i)
+            {
+                final char character = value.charAt(i);
+                if (character == '\"' || character == '\\' || character < ' ')
+                {
+                    if (startIndex < i)
+                    {
+                        result += stream.write(value.substring(startIndex, i)).await();
+                    }
+                    result += stream.write(JSONString.escape(character)).await();
+                    startIndex = i + 1;
+                }
+            }
+            if (startIndex < valueLength)
+            {
+                result += stream.write(startIndex == 0 ? value : value.substring(startIndex)).await();
+            }
+
+            result += stream.write('\"').await();
+
+            return result;
+        });
+    }
+
+    /**
+     * Get the escape sequence that represents the provided quote, backslash, or control character.
+     * @param character The character to escape.
+     * @return The escape sequence that represents the provided character.
+     */
+    private static String escape(char character)
+    {
+        String result;
+        switch (character)
+        {
+            case '\"':
+                result = "\\\"";
+                break;
+
+            case '\\':
+                result = "\\\\";
+                break;
+
+            case '\b':
+                result = "\\b";
+                break;
+
+            case '\f':
+                result = "\\f";
+                break;
+
+            case '\n':
+                result = "\\n";
+                break;
+
+            case '\r':
+                result = "\\r";
+                break;
+
+            case '\t':
+                result = "\\t";
+                break;
+
+            default:
+                result = java.lang.String.format("\\u%04X", (int)character);
+                break;
+        }
+        return result;
     }
 
     public char getQuote()
@@ -66,24 +357,25 @@ public class JSONString implements JSONSegment
 
             result += stream.write(this.quote).await();
 
-            final int textLength = this.text.length();
+            final String text = this.getValue();
+            final int textLength = text.length();
             int startIndex = 0;
-            int quoteIndex = this.text.indexOf(this.quote);
+            int quoteIndex = text.indexOf(this.quote);
             while (startIndex < textLength)
             {
                 if (quoteIndex == -1)
                 {
-                    result += stream.write(this.text.substring(startIndex)).await();
+                    result += stream.write(text.substring(startIndex)).await();
                     startIndex = textLength;
                 }
                 else
                 {
-                    result += stream.write(this.text.substring(startIndex, quoteIndex)).await();
+                    result += stream.write(text.substring(startIndex, quoteIndex)).await();
                     result += stream.write('\\').await();
                     result += stream.write(this.quote).await();
 
                     startIndex = quoteIndex + 1;
-                    quoteIndex = this.text.indexOf(this.quote, startIndex);
+                    quoteIndex = text.indexOf(this.quote, startIndex);
                 }
             }
 
@@ -102,7 +394,7 @@ public class JSONString implements JSONSegment
     public boolean equals(JSONString rhs)
     {
         return rhs != null &&
-            this.text.equals(rhs.text) &&
+            this.getValue().equals(rhs.getValue()) &&
             this.quote == rhs.quote;
     }
 }
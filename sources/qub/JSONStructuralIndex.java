@@ -0,0 +1,223 @@
+package qub;
+
+/**
+ * The offsets of the tokens in a JSON document. This is the first stage of a two-stage parse. A
+ * single pass over the document records the offset of every structural character ('{', '}',
+ * '[', ']', ':', and ','), the offsets of the opening and closing quotes of every quoted string,
+ * and the offset of the first character of every number and literal. A JSONIndexedParser then
+ * builds the JSONSegment tree from these offsets without going back through a JSONTokenizer.
+ */
+public class JSONStructuralIndex
+{
+    private static final int unsupportedCharacterClass = 0;
+    private static final int structuralCharacterClass = 1;
+    private static final int quoteCharacterClass = 2;
+    private static final int whitespaceCharacterClass = 3;
+    private static final int carriageReturnCharacterClass = 4;
+    private static final int scalarCharacterClass = 5;
+
+    /**
+     * The character class of each ASCII character. Characters outside of the ASCII range are
+     * always unsupported outside of quoted strings.
+     */
+    private static final byte[] characterClasses = JSONStructuralIndex.createCharacterClasses();
+
+    private final char[] characters;
+    private final int[] offsets;
+    private final int count;
+
+    private JSONStructuralIndex(char[] characters, int[] offsets, int count)
+    {
+        PreCondition.assertNotNull(characters, "characters");
+        PreCondition.assertNotNull(offsets, "offsets");
+        PreCondition.assertBetween(0, count, offsets.length, "count");
+
+        this.characters = characters;
+        this.offsets = offsets;
+        this.count = count;
+    }
+
+    /**
+     * Create a new JSONStructuralIndex for the provided text.
+     * @param text The text to index.
+     * @return The new JSONStructuralIndex.
+     * @throws ParseException If the text contains a character or sequence that this index doesn't
+     * model, such as a comment or an unterminated quoted string.
+     */
+    public static JSONStructuralIndex create(String text)
+    {
+        PreCondition.assertNotNull(text, "text");
+
+        return JSONStructuralIndex.create(text.toCharArray());
+    }
+
+    /**
+     * Create a new JSONStructuralIndex for the provided characters. The characters are indexed in
+     * place, so they should not be modified while the JSONStructuralIndex is in use.
+     * @param characters The characters to index.
+     * @return The new JSONStructuralIndex.
+     * @throws ParseException If the characters contain a character or sequence that this index
+     * doesn't model, such as a comment or an unterminated quoted string.
+     */
+    public static JSONStructuralIndex create(char[] characters)
+    {
+        PreCondition.assertNotNull(characters, "characters");
+
+        final int endIndex = characters.length;
+        int[] offsets = new int[java.lang.Math.max(16, endIndex / 8)];
+        int count = 0;
+
+        int index = 0;
+        while (index < endIndex)
+        {
+            final char character = characters[index];
+            final int characterClass = character < JSONStructuralIndex.characterClasses.length
+                ? JSONStructuralIndex.characterClasses[character]
+                : JSONStructuralIndex.unsupportedCharacterClass;
+            switch (characterClass)
+            {
+                case JSONStructuralIndex.whitespaceCharacterClass:
+                    ++index;
+                    break;
+
+                case JSONStructuralIndex.carriageReturnCharacterClass:
+                    if (index + 1 == endIndex || characters[index + 1] != '\n')
+                    {
+                        throw new ParseException("Unsupported carriage return at offset " + index + ".");
+                    }
+                    index += 2;
+                    break;
+
+                case JSONStructuralIndex.structuralCharacterClass:
+                case JSONStructuralIndex.scalarCharacterClass:
+                case JSONStructuralIndex.quoteCharacterClass:
+                    if (offsets.length - count < 2)
+                    {
+                        offsets = java.util.Arrays.copyOf(offsets, offsets.length * 2);
+                    }
+                    offsets[count++] = index;
+
+                    if (characterClass == JSONStructuralIndex.structuralCharacterClass)
+                    {
+                        ++index;
+                    }
+                    else if (characterClass == JSONStructuralIndex.scalarCharacterClass)
+                    {
+                        do
+                        {
+                            ++index;
+                        }
+                        while (index < endIndex && JSONStructuralIndex.isScalarCharacter(characters[index]));
+                    }
+                    else
+                    {
+                        final int closingQuoteIndex = JSONStructuralIndex.findClosingQuote(characters, index + 1, endIndex, character);
+                        if (closingQuoteIndex == -1)
+                        {
+                            throw new ParseException("Missing quoted-string closing quote: " + character);
+                        }
+                        offsets[count++] = closingQuoteIndex;
+                        index = closingQuoteIndex + 1;
+                    }
+                    break;
+
+                default:
+                    throw new ParseException("Unsupported character at offset " + index + ": " + Strings.escapeAndQuote(java.lang.Character.toString(character)));
+            }
+        }
+
+        return new JSONStructuralIndex(characters, offsets, count);
+    }
+
+    /**
+     * Get the characters that this index refers to.
+     * @return The characters that this index refers to.
+     */
+    public char[] getCharacters()
+    {
+        return this.characters;
+    }
+
+    /**
+     * Get the number of offsets in this index.
+     * @return The number of offsets in this index.
+     */
+    public int getCount()
+    {
+        return this.count;
+    }
+
+    /**
+     * Get the offset at the provided index.
+     * @param index The index of the offset to get.
+     * @return The offset at the provided index.
+     */
+    public int getOffset(int index)
+    {
+        PreCondition.assertIndexAccess(index, this.count, "index");
+
+        return this.offsets[index];
+    }
+
+    /**
+     * Get whether or not the provided character can be part of a number or literal.
+     * @param character The character to check.
+     * @return Whether or not the provided character can be part of a number or literal.
+     */
+    static boolean isScalarCharacter(char character)
+    {
+        return character < JSONStructuralIndex.characterClasses.length &&
+            JSONStructuralIndex.characterClasses[character] == JSONStructuralIndex.scalarCharacterClass;
+    }
+
+    /**
+     * Find the quote that closes the quoted string whose body starts at the provided index.
+     * @param characters The characters to search.
+     * @param index The index of the first character after the opening quote.
+     * @param endIndex The index after the last character to search.
+     * @param quote The quote character that opened the quoted string.
+     * @return The index of the closing quote, or -1 if the quoted string isn't closed.
+     */
+    static int findClosingQuote(char[] characters, int index, int endIndex, char quote)
+    {
+        int result = -1;
+        while (index < endIndex)
+        {
+            final char character = characters[index];
+            if (character == quote)
+            {
+                result = index;
+                break;
+            }
+            index += (character == '\\' ? 2 : 1);
+        }
+        return result;
+    }
+
+    private static byte[] createCharacterClasses()
+    {
+        final byte[] result = new byte[128];
+        for (final char character : new char[] { '{', '}', '[', ']', ':', ',' })
+        {
+            result[character] = JSONStructuralIndex.structuralCharacterClass;
+        }
+        result['\''] = JSONStructuralIndex.quoteCharacterClass;
+        result['\"'] = JSONStructuralIndex.quoteCharacterClass;
+        result[' '] = JSONStructuralIndex.whitespaceCharacterClass;
+        result['\t'] = JSONStructuralIndex.whitespaceCharacterClass;
+        result['\n'] = JSONStructuralIndex.whitespaceCharacterClass;
+        result['\r'] = JSONStructuralIndex.carriageReturnCharacterClass;
+        for (final char character : new char[] { '-', '+', '.' })
+        {
+            result[character] = JSONStructuralIndex.scalarCharacterClass;
+        }
+        for (char character = 0; character < result.length; ++character)
+        {
+            if (JSONTokenizer.isLetter(character) || JSONTokenizer.isDigit(character))
+            {
+                result[character] = JSONStructuralIndex.scalarCharacterClass;
+            }
+        }
+        return result;
+    }
+}
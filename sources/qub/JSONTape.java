@@ -0,0 +1,469 @@
+package qub;
+
+/**
+ * A parsed JSON document that is stored as a flat tape of long entries instead of a tree of
+ * JSONSegments. Each entry holds its type in its top byte. An object or array start entry holds
+ * the index of its end entry and its number of properties or elements, and a string, property
+ * name, or number entry holds the offset and length of its text in a single character buffer
+ * that the whole document shares. JSONTapeObject and JSONTapeArray are views over the tape, and
+ * strings and numbers are only created as JSONSegments when they are read.
+ */
+public class JSONTape
+{
+    static final int objectStartType = 1;
+    static final int objectEndType = 2;
+    static final int arrayStartType = 3;
+    static final int arrayEndType = 4;
+    static final int propertyNameType = 5;
+    static final int stringType = 6;
+    static final int numberType = 7;
+    static final int trueType = 8;
+    static final int falseType = 9;
+    static final int nullType = 10;
+
+    private static final int typeShift = 56;
+    private static final int countOrLengthShift = 32;
+    private static final long indexOrOffsetMask = 0xFFFFFFFFL;
+
+    /**
+     * The largest count or text length that fits in an entry. A larger object or array count is
+     * counted again when it is needed, and a longer text length is stored in an extra entry that
+     * follows the text's entry.
+     */
+    private static final int maximumCountOrLength = 0xFFFFFF;
+
+    private final long[] tape;
+    private final char[] characters;
+
+    private JSONTape(long[] tape, char[] characters)
+    {
+        PreCondition.assertNotNull(tape, "tape");
+        PreCondition.assertGreaterThanOrEqualTo(tape.length, 1, "tape.length");
+        PreCondition.assertNotNull(characters, "characters");
+
+        this.tape = tape;
+        this.characters = characters;
+    }
+
+    /**
+     * Parse the value that starts at the provided reader's current event into a new JSONTape.
+     * Afterwards the reader's current event is the last event of the value.
+     * @param reader The reader whose current event starts the value.
+     * @return The new JSONTape.
+     * @throws ParseException If the value isn't valid JSON.
+     */
+    public static JSONTape parse(JSONReader reader)
+    {
+        PreCondition.assertNotNull(reader, "reader");
+        PreCondition.assertTrue(reader.hasCurrent(), "reader.hasCurrent()");
+
+        final Builder builder = new Builder();
+        builder.add(reader);
+        while (builder.openCount > 0)
+        {
+            reader.next();
+            builder.add(reader);
+        }
+        return new JSONTape(
+            java.util.Arrays.copyOf(builder.tape, builder.tapeLength),
+            java.util.Arrays.copyOf(builder.characters, builder.charactersLength));
+    }
+
+    /**
+     * Get the number of entries in this JSONTape.
+     * @return The number of entries in this JSONTape.
+     */
+    public int getEntryCount()
+    {
+        return this.tape.length;
+    }
+
+    /**
+     * Get the number of characters in this JSONTape's shared character buffer.
+     * @return The number of characters in this JSONTape's shared character buffer.
+     */
+    public int getCharacterCount()
+    {
+        return this.characters.length;
+    }
+
+    /**
+     * Get the top-level value of this JSONTape.
+     * @return The top-level value of this JSONTape.
+     */
+    public JSONSegment getRoot()
+    {
+        return this.getSegment(0);
+    }
+
+    /**
+     * Get the type of the entry at the provided index.
+     * @param index The index of the entry.
+     * @return The type of the entry.
+     */
+    int getType(int index)
+    {
+        return (int)(this.tape[index] >>> JSONTape.typeShift);
+    }
+
+    /**
+     * Get the index of the entry that follows the value that starts at the provided index.
+     * @param index The index of the entry that starts the value.
+     * @return The index of the entry after the value.
+     */
+    int getNextIndex(int index)
+    {
+        int result;
+        switch (this.getType(index))
+        {
+            case JSONTape.objectStartType:
+            case JSONTape.arrayStartType:
+                result = (int)(this.tape[index] & JSONTape.indexOrOffsetMask) + 1;
+                break;
+
+            case JSONTape.propertyNameType:
+            case JSONTape.stringType:
+            case JSONTape.numberType:
+                result = index + (this.getPackedCountOrLength(index) == JSONTape.maximumCountOrLength ? 2 : 1);
+                break;
+
+            default:
+                result = index + 1;
+                break;
+        }
+        return result;
+    }
+
+    /**
+     * Get the number of properties or elements in the object or array that starts at the
+     * provided index. Like JSONObject, a property name that appears more than once in an object
+     * is only counted once.
+     * @param index The index of the object's or array's start entry.
+     * @return The number of properties or elements.
+     */
+    int getCount(int index)
+    {
+        int result = this.getPackedCountOrLength(index);
+        if (this.getType(index) == JSONTape.objectStartType)
+        {
+            if (result > 1)
+            {
+                result = this.getPropertyValueIndexes(index).size();
+            }
+        }
+        else if (result == JSONTape.maximumCountOrLength)
+        {
+            final int endIndex = this.getNextIndex(index) - 1;
+            result = 0;
+            for (int childIndex = index + 1; childIndex < endIndex; childIndex = this.getNextIndex(childIndex))
+            {
+                ++result;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the index of the value entry of each distinct property name in the object that starts
+     * at the provided index. The names are in the order that they first appear, and a name that
+     * appears more than once is mapped to its last value, the same as JSONObject.
+     * @param index The index of the object's start entry.
+     * @return Each distinct property name mapped to the index of its value's entry.
+     */
+    java.util.LinkedHashMap<String,java.lang.Integer> getPropertyValueIndexes(int index)
+    {
+        final java.util.LinkedHashMap<String,java.lang.Integer> result = new java.util.LinkedHashMap<>();
+        final int endIndex = this.getNextIndex(index) - 1;
+        int nameIndex = index + 1;
+        while (nameIndex < endIndex)
+        {
+            final int valueIndex = this.getNextIndex(nameIndex);
+            result.put(this.getPropertyName(nameIndex), valueIndex);
+            nameIndex = this.getNextIndex(valueIndex);
+        }
+        return result;
+    }
+
+    /**
+     * Get the offset in the shared character buffer of the text of the entry at the provided
+     * index.
+     * @param index The index of a property name, string, or number entry.
+     * @return The offset of the entry's text.
+     */
+    int getTextOffset(int index)
+    {
+        return (int)(this.tape[index] & JSONTape.indexOrOffsetMask);
+    }
+
+    /**
+     * Get the length of the text of the entry at the provided index.
+     * @param index The index of a property name, string, or number entry.
+     * @return The length of the entry's text.
+     */
+    int getTextLength(int index)
+    {
+        final int result = this.getPackedCountOrLength(index);
+        return result == JSONTape.maximumCountOrLength
+            ? (int)this.tape[index + 1]
+            : result;
+    }
+
+    /**
+     * Get whether or not the quoted text of the property name entry at the provided index is the
+     * provided property name.
+     * @param index The index of a property name entry.
+     * @param propertyName The property name to compare against.
+     * @return Whether or not the entry's property name is the provided property name.
+     */
+    boolean propertyNameEquals(int index, String propertyName)
+    {
+        final int nameLength = propertyName.length();
+        final int offset = this.getTextOffset(index) + 1;
+        boolean result = (this.getTextLength(index) - 2 == nameLength);
+        for (int i = 0; result && i < nameLength; ++i)
+        {
+            result = (this.characters[offset + i] == propertyName.charAt(i));
+        }
+        return result;
+    }
+
+    /**
+     * Get whether or not the value that starts at the provided index has the same entries as the
+     * value that starts at the provided index of the provided JSONTape. Strings, property names,
+     * and numbers are compared by their text.
+     * @param index The index of the entry that starts the value in this JSONTape.
+     * @param rhs The JSONTape that contains the value to compare against.
+     * @param rhsIndex The index of the entry that starts the value in the provided JSONTape.
+     * @return Whether or not the two values have the same entries.
+     */
+    boolean valueEquals(int index, JSONTape rhs, int rhsIndex)
+    {
+        final int endIndex = this.getNextIndex(index);
+        final int rhsEndIndex = rhs.getNextIndex(rhsIndex);
+        boolean result = (endIndex - index == rhsEndIndex - rhsIndex);
+        while (result && index < endIndex)
+        {
+            final int type = this.getType(index);
+            result = (type == rhs.getType(rhsIndex));
+            if (result)
+            {
+                switch (type)
+                {
+                    case JSONTape.propertyNameType:
+                    case JSONTape.stringType:
+                    case JSONTape.numberType:
+                        result = this.textEquals(index, rhs, rhsIndex);
+                        index = this.getNextIndex(index);
+                        rhsIndex = rhs.getNextIndex(rhsIndex);
+                        break;
+
+                    default:
+                        ++index;
+                        ++rhsIndex;
+                        break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private boolean textEquals(int index, JSONTape rhs, int rhsIndex)
+    {
+        final int length = this.getTextLength(index);
+        boolean result = (length == rhs.getTextLength(rhsIndex));
+        final int offset = this.getTextOffset(index);
+        final int rhsOffset = rhs.getTextOffset(rhsIndex);
+        for (int i = 0; result && i < length; ++i)
+        {
+            result = (this.characters[offset + i] == rhs.characters[rhsOffset + i]);
+        }
+        return result;
+    }
+
+    /**
+     * Get the unquoted text of the property name entry at the provided index.
+     * @param index The index of a property name entry.
+     * @return The property name.
+     */
+    String getPropertyName(int index)
+    {
+        return new String(this.characters, this.getTextOffset(index) + 1, this.getTextLength(index) - 2);
+    }
+
+    /**
+     * Get the JSONSegment for the value that starts at the provided index. Objects and arrays are
+     * returned as views over this JSONTape.
+     * @param index The index of the entry that starts the value.
+     * @return The JSONSegment for the value.
+     */
+    JSONSegment getSegment(int index)
+    {
+        JSONSegment result;
+        switch (this.getType(index))
+        {
+            case JSONTape.objectStartType:
+                result = new JSONTapeObject(this, index);
+                break;
+
+            case JSONTape.arrayStartType:
+                result = new JSONTapeArray(this, index);
+                break;
+
+            case JSONTape.stringType:
+                result = JSONString.getFromQuoted(this.characters, this.getTextOffset(index), this.getTextLength(index));
+                break;
+
+            case JSONTape.numberType:
+                result = JSONNumber.get(this.characters, this.getTextOffset(index), this.getTextLength(index));
+                break;
+
+            case JSONTape.trueType:
+                result = JSONBoolean.trueSegment;
+                break;
+
+            case JSONTape.falseType:
+                result = JSONBoolean.falseSegment;
+                break;
+
+            default:
+                result = JSONNull.segment;
+                break;
+        }
+        return result;
+    }
+
+    private int getPackedCountOrLength(int index)
+    {
+        return (int)(this.tape[index] >>> JSONTape.countOrLengthShift) & JSONTape.maximumCountOrLength;
+    }
+
+    private static long createEntry(int type, int countOrLength, int indexOrOffset)
+    {
+        return ((long)type << JSONTape.typeShift) |
+            ((long)countOrLength << JSONTape.countOrLengthShift) |
+            (indexOrOffset & JSONTape.indexOrOffsetMask);
+    }
+
+    /**
+     * The state of a JSONTape that is being parsed.
+     */
+    private static class Builder
+    {
+        private long[] tape = new long[64];
+        private int tapeLength;
+        private char[] characters = new char[256];
+        private int charactersLength;
+        private int[] openIndexes = new int[16];
+        private int[] openCounts = new int[16];
+        private int openCount;
+
+        void add(JSONReader reader)
+        {
+            switch (reader.getCurrent())
+            {
+                case StartObject:
+                    this.countValue();
+                    this.open(JSONTape.objectStartType);
+                    break;
+
+                case StartArray:
+                    this.countValue();
+                    this.open(JSONTape.arrayStartType);
+                    break;
+
+                case EndObject:
+                    this.close(JSONTape.objectStartType, JSONTape.objectEndType);
+                    break;
+
+                case EndArray:
+                    this.close(JSONTape.arrayStartType, JSONTape.arrayEndType);
+                    break;
+
+                case PropertyName:
+                    ++this.openCounts[this.openCount - 1];
+                    this.addText(JSONTape.propertyNameType, reader.getToken());
+                    break;
+
+                case StringValue:
+                    this.countValue();
+                    this.addText(JSONTape.stringType, reader.getToken());
+                    break;
+
+                case NumberValue:
+                    this.countValue();
+                    this.addText(JSONTape.numberType, reader.getToken());
+                    break;
+
+                case BooleanValue:
+                    this.countValue();
+                    this.addEntry(JSONTape.createEntry(reader.getBoolean() ? JSONTape.trueType : JSONTape.falseType, 0, 0));
+                    break;
+
+                default:
+                    this.countValue();
+                    this.addEntry(JSONTape.createEntry(JSONTape.nullType, 0, 0));
+                    break;
+            }
+        }
+
+        /**
+         * Count a value that is starting as an element of the array that is open, if any. The
+         * properties of an object are counted by their names instead.
+         */
+        private void countValue()
+        {
+            if (this.openCount > 0 && (this.tape[this.openIndexes[this.openCount - 1]] >>> JSONTape.typeShift) == JSONTape.arrayStartType)
+            {
+                ++this.openCounts[this.openCount - 1];
+            }
+        }
+
+        private void open(int type)
+        {
+            if (this.openCount == this.openIndexes.length)
+            {
+                this.openIndexes = java.util.Arrays.copyOf(this.openIndexes, this.openIndexes.length * 2);
+                this.openCounts = java.util.Arrays.copyOf(this.openCounts, this.openCounts.length * 2);
+            }
+            this.openIndexes[this.openCount] = this.tapeLength;
+            this.openCounts[this.openCount] = 0;
+            ++this.openCount;
+            this.addEntry(JSONTape.createEntry(type, 0, 0));
+        }
+
+        private void close(int startType, int endType)
+        {
+            --this.openCount;
+            final int startIndex = this.openIndexes[this.openCount];
+            final int count = java.lang.Math.min(this.openCounts[this.openCount], JSONTape.maximumCountOrLength);
+            this.tape[startIndex] = JSONTape.createEntry(startType, count, this.tapeLength);
+            this.addEntry(JSONTape.createEntry(endType, 0, startIndex));
+        }
+
+        private void addText(int type, JSONToken token)
+        {
+            final int length = token.getLength();
+            if (this.charactersLength + length > this.characters.length)
+            {
+                this.characters = java.util.Arrays.copyOf(this.characters, java.lang.Math.max(this.characters.length * 2, this.charactersLength + length));
+            }
+            token.copyTo(this.characters, this.charactersLength);
+
+            this.addEntry(JSONTape.createEntry(type, java.lang.Math.min(length, JSONTape.maximumCountOrLength), this.charactersLength));
+            if (length >= JSONTape.maximumCountOrLength)
+            {
+                this.addEntry(length);
+            }
+            this.charactersLength += length;
+        }
+
+        private void addEntry(long entry)
+        {
+            if (this.tapeLength == this.tape.length)
+            {
+                this.tape = java.util.Arrays.copyOf(this.tape, this.tape.length * 2);
+            }
+            this.tape[this.tapeLength++] = entry;
+        }
+    }
+}
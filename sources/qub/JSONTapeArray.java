@@ -0,0 +1,88 @@
+package qub;
+
+/**
+ * A read-only view of a JSON array that is stored in a JSONTape. A JSONTapeArray only holds its
+ * JSONTape and the index of its start entry, and its elements are created when they are read.
+ */
+public class JSONTapeArray implements JSONSegment
+{
+    private final JSONTape tape;
+    private final int startIndex;
+
+    JSONTapeArray(JSONTape tape, int startIndex)
+    {
+        PreCondition.assertNotNull(tape, "tape");
+        PreCondition.assertEqual(JSONTape.arrayStartType, tape.getType(startIndex), "tape.getType(startIndex)");
+
+        this.tape = tape;
+        this.startIndex = startIndex;
+    }
+
+    /**
+     * Get the number of elements in this JSONTapeArray.
+     * @return The number of elements in this JSONTapeArray.
+     */
+    public int getCount()
+    {
+        return this.tape.getCount(this.startIndex);
+    }
+
+    /**
+     * Get the element at the provided index.
+     * @param index The index of the element.
+     * @return The element at the provided index.
+     */
+    public JSONSegment get(int index)
+    {
+        PreCondition.assertIndexAccess(index, this.getCount(), "index");
+
+        int elementIndex = this.startIndex + 1;
+        for (int i = 0; i < index; ++i)
+        {
+            elementIndex = this.tape.getNextIndex(elementIndex);
+        }
+        return this.tape.getSegment(elementIndex);
+    }
+
+    /**
+     * Get the elements of this JSONTapeArray.
+     * @return The elements of this JSONTapeArray.
+     */
+    public Iterable<JSONSegment> getElements()
+    {
+        final List<JSONSegment> result = List.create();
+        final int endIndex = this.tape.getNextIndex(this.startIndex) - 1;
+        for (int elementIndex = this.startIndex + 1; elementIndex < endIndex; elementIndex = this.tape.getNextIndex(elementIndex))
+        {
+            result.add(this.tape.getSegment(elementIndex));
+        }
+        return result;
+    }
+
+    @Override
+    public String toString()
+    {
+        return JSONSegment.toString(this);
+    }
+
+    @Override
+    public Result<Integer> toString(IndentedCharacterWriteStream stream, JSONFormat format)
+    {
+        PreCondition.assertNotNull(stream, "stream");
+        PreCondition.assertNotNull(format, "format");
+
+        return JSONArray.create(this.getElements()).toString(stream, format);
+    }
+
+    @Override
+    public boolean equals(Object rhs)
+    {
+        return rhs instanceof JSONTapeArray && this.equals((JSONTapeArray)rhs);
+    }
+
+    public boolean equals(JSONTapeArray rhs)
+    {
+        return rhs != null &&
+            ((this.tape == rhs.tape && this.startIndex == rhs.startIndex) || this.tape.valueEquals(this.startIndex, rhs.tape, rhs.startIndex));
+    }
+}
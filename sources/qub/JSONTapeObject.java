@@ -0,0 +1,178 @@
+package qub;
+
+/**
+ * A read-only view of a JSON object that is stored in a JSONTape. A JSONTapeObject only holds
+ * its JSONTape and the index of its start entry, and its property values are created when they
+ * are read. Like JSONObject, when a property name appears more than once, the property is only
+ * counted once and its last value wins.
+ */
+public class JSONTapeObject implements JSONSegment
+{
+    private final JSONTape tape;
+    private final int startIndex;
+
+    JSONTapeObject(JSONTape tape, int startIndex)
+    {
+        PreCondition.assertNotNull(tape, "tape");
+        PreCondition.assertEqual(JSONTape.objectStartType, tape.getType(startIndex), "tape.getType(startIndex)");
+
+        this.tape = tape;
+        this.startIndex = startIndex;
+    }
+
+    /**
+     * Get the number of properties in this JSONTapeObject.
+     * @return The number of properties in this JSONTapeObject.
+     */
+    public int getCount()
+    {
+        return this.tape.getCount(this.startIndex);
+    }
+
+    /**
+     * Get whether or not this JSONTapeObject contains a property with the provided name.
+     * @param propertyName The name of the property to look for.
+     * @return Whether or not this JSONTapeObject contains a property with the provided name.
+     */
+    public boolean contains(String propertyName)
+    {
+        PreCondition.assertNotNullAndNotEmpty(propertyName, "propertyName");
+
+        return this.findValueIndex(propertyName) != -1;
+    }
+
+    /**
+     * Get the value of the property with the provided name.
+     * @param propertyName The name of the property.
+     * @return The value of the property with the provided name.
+     */
+    public Result<JSONSegment> get(String propertyName)
+    {
+        PreCondition.assertNotNullAndNotEmpty(propertyName, "propertyName");
+
+        final int valueIndex = this.findValueIndex(propertyName);
+        return valueIndex == -1
+            ? Result.error(new NotFoundException("No property found with the name: " + Strings.escapeAndQuote(propertyName)))
+            : Result.success(this.tape.getSegment(valueIndex));
+    }
+
+    public <T extends JSONSegment> Result<T> get(String propertyName, java.lang.Class<T> propertyValueType)
+    {
+        PreCondition.assertNotNullAndNotEmpty(propertyName, "propertyName");
+        PreCondition.assertNotNull(propertyValueType, "propertyValueType");
+
+        return this.get(propertyName)
+            .then((JSONSegment propertyValue) -> JSON.as(propertyValue, propertyValueType, JSON.thePropertyNamed(propertyName)).await());
+    }
+
+    public Result<JSONTapeObject> getObject(String propertyName)
+    {
+        return this.get(propertyName, JSONTapeObject.class);
+    }
+
+    public Result<JSONTapeArray> getArray(String propertyName)
+    {
+        return this.get(propertyName, JSONTapeArray.class);
+    }
+
+    public Result<Boolean> getBoolean(String propertyName)
+    {
+        return this.get(propertyName, JSONBoolean.class)
+            .then(JSONBoolean::getValue);
+    }
+
+    public Result<Double> getNumber(String propertyName)
+    {
+        return this.get(propertyName, JSONNumber.class)
+            .then(JSONNumber::getValue);
+    }
+
+    public Result<String> getString(String propertyName)
+    {
+        return this.get(propertyName, JSONString.class)
+            .then(JSONString::getValue);
+    }
+
+    /**
+     * Get the names of the properties in this JSONTapeObject.
+     * @return The names of the properties in this JSONTapeObject.
+     */
+    public Iterable<String> getPropertyNames()
+    {
+        final List<String> result = List.create();
+        for (final String propertyName : this.tape.getPropertyValueIndexes(this.startIndex).keySet())
+        {
+            result.add(propertyName);
+        }
+        return result;
+    }
+
+    /**
+     * Get the properties in this JSONTapeObject.
+     * @return The properties in this JSONTapeObject.
+     */
+    public Iterable<JSONProperty> getProperties()
+    {
+        final List<JSONProperty> result = List.create();
+        for (final java.util.Map.Entry<String,java.lang.Integer> entry : this.tape.getPropertyValueIndexes(this.startIndex).entrySet())
+        {
+            result.add(JSONProperty.create(entry.getKey(), this.tape.getSegment(entry.getValue())));
+        }
+        return result;
+    }
+
+    /**
+     * Get the index of the entry of the value of the property with the provided name. If the name
+     * appears more than once, then the last value is used.
+     * @param propertyName The name of the property.
+     * @return The index of the value's entry, or -1 if no property has the provided name.
+     */
+    private int findValueIndex(String propertyName)
+    {
+        int result = -1;
+        final int endIndex = this.getEndIndex();
+        int nameIndex = this.startIndex + 1;
+        while (nameIndex < endIndex)
+        {
+            final int valueIndex = this.tape.getNextIndex(nameIndex);
+            if (this.tape.propertyNameEquals(nameIndex, propertyName))
+            {
+                result = valueIndex;
+            }
+            nameIndex = this.tape.getNextIndex(valueIndex);
+        }
+        return result;
+    }
+
+    private int getEndIndex()
+    {
+        return this.tape.getNextIndex(this.startIndex) - 1;
+    }
+
+    @Override
+    public String toString()
+    {
+        return JSONSegment.toString(this);
+    }
+
+    @Override
+    public Result<Integer> toString(IndentedCharacterWriteStream stream, JSONFormat format)
+    {
+        PreCondition.assertNotNull(stream, "stream");
+        PreCondition.assertNotNull(format, "format");
+
+        return JSONObject.create(this.getProperties()).toString(stream, format);
+    }
+
+    @Override
+    public boolean equals(Object rhs)
+    {
+        return rhs instanceof JSONTapeObject && this.equals((JSONTapeObject)rhs);
+    }
+
+    public boolean equals(JSONTapeObject rhs)
+    {
+        return rhs != null &&
+            ((this.tape == rhs.tape && this.startIndex == rhs.startIndex) || this.tape.valueEquals(this.startIndex, rhs.tape, rhs.startIndex));
+    }
+}
@@ -5,8 +5,11 @@ package qub;
  */
 public class JSONToken
 {
-    private final String text;
+    private final char[] characters;
+    private final int startIndex;
+    private final int length;
     private final JSONTokenType type;
+    private String text;
 
     /**
      * Create a new JSONToken object with the provided text and type.
@@ -18,7 +21,32 @@ public class JSONToken
         PreCondition.assertNotNullAndNotEmpty(text, "text");
         PreCondition.assertNotNull(type, "type");
 
+        this.characters = null;
+        this.startIndex = 0;
+        this.length = text.length();
+        this.type = type;
         this.text = text;
+    }
+
+    /**
+     * Create a new JSONToken object that refers to the provided range of characters. The text of
+     * the JSONToken is not created until getText() is called, so the characters in the range must
+     * not be modified while the JSONToken is in use.
+     * @param characters The characters that the JSONToken was parsed from.
+     * @param startIndex The index of the first character of the JSONToken.
+     * @param length The number of characters in the JSONToken.
+     * @param type The type of the JSONToken.
+     */
+    public JSONToken(char[] characters, int startIndex, int length, JSONTokenType type)
+    {
+        PreCondition.assertNotNull(characters, "characters");
+        PreCondition.assertBetween(0, startIndex, characters.length - 1, "startIndex");
+        PreCondition.assertBetween(1, length, characters.length - startIndex, "length");
+        PreCondition.assertNotNull(type, "type");
+
+        this.characters = characters;
+        this.startIndex = startIndex;
+        this.length = length;
         this.type = type;
     }
 
@@ -28,9 +56,193 @@ public class JSONToken
      */
     public String getText()
     {
+        if (this.text == null)
+        {
+            this.text = new String(this.characters, this.startIndex, this.length);
+        }
         return this.text;
     }
 
+    /**
+     * Get the number of characters in this JSONToken.
+     * @return The number of characters in this JSONToken.
+     */
+    public int getLength()
+    {
+        return this.length;
+    }
+
+    /**
+     * Copy this JSONToken's characters into the provided array.
+     * @param destination The array to copy the characters into.
+     * @param destinationIndex The index in the array to copy the first character to.
+     */
+    void copyTo(char[] destination, int destinationIndex)
+    {
+        PreCondition.assertNotNull(destination, "destination");
+        PreCondition.assertBetween(0, destinationIndex, destination.length - this.length, "destinationIndex");
+
+        if (this.characters != null)
+        {
+            java.lang.System.arraycopy(this.characters, this.startIndex, destination, destinationIndex, this.length);
+        }
+        else
+        {
+            this.text.getChars(0, this.length, destination, destinationIndex);
+        }
+    }
+
+    /**
+     * Get the character at the provided index in this JSONToken's text.
+     * @param index The index of the character to get.
+     * @return The character at the provided index in this JSONToken's text.
+     */
+    public char getCharacter(int index)
+    {
+        PreCondition.assertIndexAccess(index, this.length, "index");
+
+        return this.characterAt(index);
+    }
+
+    /**
+     * Get the character at the provided index in this JSONToken's text without checking the
+     * index.
+     * @param index The index of the character to get.
+     * @return The character at the provided index in this JSONToken's text.
+     */
+    char characterAt(int index)
+    {
+        return this.characters != null
+            ? this.characters[this.startIndex + index]
+            : this.text.charAt(index);
+    }
+
+    /**
+     * Get whether or not this JSONToken's text is equal to the provided text. This doesn't create
+     * this JSONToken's text.
+     * @param text The text to compare against.
+     * @return Whether or not this JSONToken's text is equal to the provided text.
+     */
+    public boolean textEquals(String text)
+    {
+        PreCondition.assertNotNull(text, "text");
+
+        boolean result = (this.length == text.length());
+        for (int i = 0; result && i < this.length; ++i)
+        {
+            result = (this.characterAt(i) == text.charAt(i));
+        }
+        return result;
+    }
+
+    /**
+     * Get the text of this QuotedString JSONToken without its quotes. Like JSONString.getValue(),
+     * escape sequences are not decoded. If this JSONToken refers to a range of characters, then the
+     * text is created straight from that range without creating this JSONToken's full text.
+     * @return The text of this JSONToken without its quotes.
+     */
+    public String getUnquotedText()
+    {
+        PreCondition.assertEqual(JSONTokenType.QuotedString, this.type, "this.getType()");
+
+        return this.characters != null && this.length >= 2 && this.characters[this.startIndex] == this.characters[this.startIndex + this.length - 1]
+            ? new String(this.characters, this.startIndex + 1, this.length - 2)
+            : Strings.unquote(this.getText());
+    }
+
+    /**
+     * Get the text of this QuotedString JSONToken without its quotes. The text is looked up in the
+     * provided JSONNameTable, so a name that is already in the table doesn't create a new String.
+     * @param names The table to look the unquoted text up in.
+     * @return The text of this JSONToken without its quotes.
+     */
+    public String getUnquotedText(JSONNameTable names)
+    {
+        PreCondition.assertNotNull(names, "names");
+        PreCondition.assertEqual(JSONTokenType.QuotedString, this.type, "this.getType()");
+
+        return this.characters != null && this.length >= 2 && this.characters[this.startIndex] == this.characters[this.startIndex + this.length - 1]
+            ? names.get(this.characters, this.startIndex + 1, this.length - 2)
+            : Strings.unquote(this.getText());
+    }
+
+    /**
+     * Get the JSONString that this QuotedString JSONToken represents. If this JSONToken refers to a
+     * range of characters, then the JSONString refers to the same range and its value isn't
+     * created until it is read.
+     * @return The JSONString that this JSONToken represents.
+     */
+    public JSONString getStringSegment()
+    {
+        PreCondition.assertEqual(JSONTokenType.QuotedString, this.type, "this.getType()");
+
+        return this.characters != null
+            ? JSONString.getFromQuoted(this.characters, this.startIndex, this.length)
+            : JSONString.getFromQuoted(this.getText());
+    }
+
+    /**
+     * Get the JSONNumber that this Number JSONToken represents. If this JSONToken refers to a range
+     * of characters, then the number's value is parsed straight from that range and its text isn't
+     * created until it is written.
+     * @return The JSONNumber that this JSONToken represents.
+     */
+    public JSONNumber getNumberSegment()
+    {
+        PreCondition.assertEqual(JSONTokenType.Number, this.type, "this.getType()");
+
+        return this.characters != null
+            ? JSONNumber.get(this.characters, this.startIndex, this.length)
+            : JSONNumber.get(this.getText());
+    }
+
+    /**
+     * Get the double value of this Number JSONToken. If this JSONToken refers to a range of
+     * characters, then the value is parsed straight from that range without creating a
+     * JSONNumber.
+     * @return The double value of this JSONToken.
+     */
+    public double getNumberValue()
+    {
+        PreCondition.assertEqual(JSONTokenType.Number, this.type, "this.getType()");
+
+        return this.characters != null
+            ? JSONNumber.parse(this.characters, this.startIndex, this.length)
+            : JSONNumber.get(this.getText()).getValue();
+    }
+
+    /**
+     * Get the long value of this Number JSONToken, parsed straight from its characters.
+     * @return The long value of this JSONToken.
+     * @throws NumberFormatException If this JSONToken's text isn't an integer that fits in a long.
+     */
+    public long getLongValue()
+    {
+        PreCondition.assertEqual(JSONTokenType.Number, this.type, "this.getType()");
+
+        return this.characters != null
+            ? JSONNumber.parseLong(this.characters, this.startIndex, this.length)
+            : JSONNumber.parseLong(this.text.toCharArray(), 0, this.length);
+    }
+
+    /**
+     * Get whether or not this Number JSONToken is written as an integer, without a fraction or an
+     * exponent. This checks the token's characters without parsing its value.
+     * @return Whether or not this JSONToken is written as an integer.
+     */
+    public boolean isInteger()
+    {
+        PreCondition.assertEqual(JSONTokenType.Number, this.type, "this.getType()");
+
+        boolean result = true;
+        for (int i = 0; result && i < this.length; ++i)
+        {
+            final char character = this.characterAt(i);
+            result = (character != '.' && character != 'e' && character != 'E');
+        }
+        return result;
+    }
+
     /**
      * Get the type of this JSONToken.
      * @return The type of this JSONToken.
@@ -53,15 +265,20 @@ public class JSONToken
      */
     public boolean equals(JSONToken rhs)
     {
-        return rhs != null &&
-            this.text.equals(rhs.text) &&
-            this.type == rhs.type;
+        boolean result = rhs != null &&
+            this.type == rhs.type &&
+            this.length == rhs.length;
+        for (int i = 0; result && i < this.length; ++i)
+        {
+            result = (this.characterAt(i) == rhs.characterAt(i));
+        }
+        return result;
     }
 
     @Override
     public String toString()
     {
-        return this.text;
+        return this.getText();
     }
 
     /**
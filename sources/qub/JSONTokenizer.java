@@ -5,22 +5,80 @@ package qub;
  */
 public class JSONTokenizer implements Iterator<JSONToken>
 {
-    private static final Iterable<JSONToken> literalTokens = Iterable.create(JSONToken.nullToken, JSONToken.falseToken, JSONToken.trueToken);
-    private final Iterator<Character> characters;
-    private final CharacterList builder;
+    private static final int defaultBufferLength = 4096;
+
+    private static final int unrecognizedCharacterClass = 0;
+    private static final int singleCharacterTokenCharacterClass = 1;
+    private static final int carriageReturnCharacterClass = 2;
+    private static final int quoteCharacterClass = 3;
+    private static final int whitespaceCharacterClass = 4;
+    private static final int slashCharacterClass = 5;
+    private static final int letterCharacterClass = 6;
+    private static final int numberStartCharacterClass = 7;
+
+    /**
+     * The character class of each ASCII character. Characters outside of the ASCII range are
+     * always unrecognized.
+     */
+    private static final byte[] characterClasses = JSONTokenizer.createCharacterClasses();
+    /**
+     * The JSONToken that each single-character token character is converted to.
+     */
+    private static final JSONToken[] singleCharacterTokens = JSONTokenizer.createSingleCharacterTokens();
+
+    private static final byte otherSkipCharacterClass = 0;
+    private static final byte openingBracketSkipCharacterClass = 1;
+    private static final byte closingBracketSkipCharacterClass = 2;
+    private static final byte quoteSkipCharacterClass = 3;
+    private static final byte slashSkipCharacterClass = 4;
+
+    /**
+     * The character class of each ASCII character when skipping a value. Only the characters that
+     * change the bracket depth or start a string or comment are recognized.
+     */
+    private static final byte[] skipCharacterClasses = JSONTokenizer.createSkipCharacterClasses();
+
+    private final JSONTokenizerInput input;
+    private char[] buffer;
+    private int bufferEndIndex;
+    private int currentIndex;
+    private int tokenStartIndex;
     private boolean hasStarted;
     private JSONToken current;
+    private boolean skipTrivia;
+    private JSONNameTable names;
+    private JSONParseOptions parseOptions;
+    private long characterCount;
+    private long maxTotalLength;
+    private int maxStringLength;
+    private int maxDepth;
+    private int maxMembers;
+    private boolean limitsStructure;
+    private int depth;
+    private int[] memberCounts;
 
     /**
-     * Create a new JSONTokenizer from the provided characters.
-     * @param characters The characters to convert to JSONTokens.
+     * Create a new JSONTokenizer that reads from the provided characters.
+     * @param buffer The buffer that contains the initial characters to convert to JSONTokens.
+     * @param startIndex The index of the first character in the buffer.
+     * @param length The number of characters in the buffer.
+     * @param input The input that more characters will be read from once the buffer has been
+     *              consumed, or null if the buffer contains all of the characters.
      */
-    private JSONTokenizer(Iterator<Character> characters)
+    private JSONTokenizer(char[] buffer, int startIndex, int length, JSONTokenizerInput input)
     {
-        PreCondition.assertNotNull(characters, "characters");
-
-        this.characters = characters;
-        this.builder = CharacterList.create();
+        PreCondition.assertNotNull(buffer, "buffer");
+        PreCondition.assertBetween(0, startIndex, buffer.length, "startIndex");
+        PreCondition.assertBetween(0, length, buffer.length - startIndex, "length");
+
+        this.input = input;
+        this.buffer = buffer;
+        this.currentIndex = startIndex;
+        this.tokenStartIndex = startIndex;
+        this.bufferEndIndex = startIndex + length;
+        this.characterCount = length;
+        this.maxTotalLength = java.lang.Long.MAX_VALUE;
+        this.maxStringLength = java.lang.Integer.MAX_VALUE;
     }
 
     /**
@@ -32,7 +90,51 @@ public class JSONTokenizer implements Iterator<JSONToken>
     {
         PreCondition.assertNotNull(text, "text");
 
-        return JSONTokenizer.create(Strings.iterable(text));
+        return JSONTokenizer.create(text.toCharArray());
+    }
+
+    /**
+     * Create a new JSONTokenizer from the provided characters. The characters are scanned in
+     * place, so they should not be modified while the JSONTokenizer is in use.
+     * @param characters The characters to convert to JSONTokens.
+     * @return The new JSONTokenizer.
+     */
+    public static JSONTokenizer create(char[] characters)
+    {
+        PreCondition.assertNotNull(characters, "characters");
+
+        return JSONTokenizer.create(characters, 0, characters.length);
+    }
+
+    /**
+     * Create a new JSONTokenizer from the provided characters. The characters are scanned in
+     * place, so they should not be modified while the JSONTokenizer is in use.
+     * @param characters The characters to convert to JSONTokens.
+     * @param startIndex The index of the first character to convert.
+     * @param length The number of characters to convert.
+     * @return The new JSONTokenizer.
+     */
+    public static JSONTokenizer create(char[] characters, int startIndex, int length)
+    {
+        PreCondition.assertNotNull(characters, "characters");
+        PreCondition.assertBetween(0, startIndex, characters.length, "startIndex");
+        PreCondition.assertBetween(0, length, characters.length - startIndex, "length");
+
+        return new JSONTokenizer(characters, startIndex, length, null);
+    }
+
+    /**
+     * Create a new JSONTokenizer from the provided characters.
+     * @param characters The characters to convert to JSONTokens.
+     * @return The new JSONTokenizer.
+     */
+    public static JSONTokenizer create(CharSequence characters)
+    {
+        PreCondition.assertNotNull(characters, "characters");
+
+        return characters instanceof String
+            ? JSONTokenizer.create((String)characters)
+            : JSONTokenizer.create(JSONTokenizerInput.create(characters));
     }
 
     /**
@@ -56,7 +158,123 @@ public class JSONTokenizer implements Iterator<JSONToken>
     {
         PreCondition.assertNotNull(characters, "characters");
 
-        return new JSONTokenizer(characters);
+        return JSONTokenizer.create(JSONTokenizerInput.create(characters));
+    }
+
+    /**
+     * Create a new JSONTokenizer from the provided UTF-8 encoded bytes.
+     * @param bytes The bytes to convert to JSONTokens.
+     * @return The new JSONTokenizer.
+     */
+    public static JSONTokenizer create(ByteReadStream bytes)
+    {
+        PreCondition.assertNotNull(bytes, "bytes");
+
+        return JSONTokenizer.create(JSONTokenizerInput.create(bytes));
+    }
+
+    /**
+     * Create a new JSONTokenizer that reads its characters from the provided input.
+     * @param input The input to read characters from.
+     * @return The new JSONTokenizer.
+     */
+    public static JSONTokenizer create(JSONTokenizerInput input)
+    {
+        PreCondition.assertNotNull(input, "input");
+
+        return new JSONTokenizer(new char[JSONTokenizer.defaultBufferLength], 0, 0, input);
+    }
+
+    /**
+     * Get whether or not this tokenizer skips whitespace, newlines, and comments instead of
+     * returning them as JSONTokens.
+     * @return Whether or not this tokenizer skips whitespace, newlines, and comments.
+     */
+    public boolean getSkipTrivia()
+    {
+        return this.skipTrivia;
+    }
+
+    /**
+     * Set whether or not this tokenizer skips whitespace, newlines, and comments instead of
+     * returning them as JSONTokens. Skipped characters are still validated, so a malformed comment
+     * still causes a ParseException, but no JSONTokens are created for them.
+     * @param skipTrivia Whether or not this tokenizer skips whitespace, newlines, and comments.
+     * @return This object for method chaining.
+     */
+    public JSONTokenizer setSkipTrivia(boolean skipTrivia)
+    {
+        this.skipTrivia = skipTrivia;
+        return this;
+    }
+
+    /**
+     * Get the JSONNameTable that parsers should use for the property names that they read from
+     * this tokenizer. A new table is created the first time this is called if one hasn't been set.
+     * @return The JSONNameTable for the property names of this tokenizer's tokens.
+     */
+    public JSONNameTable getNameTable()
+    {
+        if (this.names == null)
+        {
+            this.names = JSONNameTable.create();
+        }
+        return this.names;
+    }
+
+    /**
+     * Set the JSONNameTable that parsers should use for the property names that they read from
+     * this tokenizer. Setting the same table on the tokenizers for several documents lets the
+     * documents share their property name Strings.
+     * @param names The JSONNameTable for the property names of this tokenizer's tokens.
+     * @return This object for method chaining.
+     */
+    public JSONTokenizer setNameTable(JSONNameTable names)
+    {
+        PreCondition.assertNotNull(names, "names");
+
+        this.names = names;
+        return this;
+    }
+
+    /**
+     * Get the JSONParseOptions whose limits this tokenizer enforces. A new JSONParseOptions object
+     * that doesn't limit anything is created the first time this is called if one hasn't been set.
+     * @return The JSONParseOptions whose limits this tokenizer enforces.
+     */
+    public JSONParseOptions getParseOptions()
+    {
+        if (this.parseOptions == null)
+        {
+            this.parseOptions = JSONParseOptions.create();
+        }
+        return this.parseOptions;
+    }
+
+    /**
+     * Set the JSONParseOptions whose limits this tokenizer enforces. The limits are copied when
+     * this is called, so later changes to the JSONParseOptions object don't affect this tokenizer.
+     * Each limit is checked as characters are read and tokens are returned, so every parser that
+     * reads from this tokenizer is limited. The contents of a value that is skipped with
+     * skipValue() don't create any tokens, so only the total length limit applies to them.
+     * @param parseOptions The JSONParseOptions whose limits this tokenizer enforces.
+     * @return This object for method chaining.
+     */
+    public JSONTokenizer setParseOptions(JSONParseOptions parseOptions)
+    {
+        PreCondition.assertNotNull(parseOptions, "parseOptions");
+
+        this.parseOptions = parseOptions;
+        this.maxTotalLength = parseOptions.getMaxTotalLength();
+        this.maxStringLength = parseOptions.getMaxStringLength();
+        this.maxDepth = parseOptions.getMaxDepth();
+        this.maxMembers = parseOptions.getMaxMembers();
+        this.limitsStructure = (this.maxDepth != java.lang.Integer.MAX_VALUE || this.maxMembers != java.lang.Integer.MAX_VALUE);
+        if (this.limitsStructure && this.memberCounts == null)
+        {
+            this.memberCounts = new int[java.lang.Math.max(1, java.lang.Math.min(this.maxDepth, 16))];
+        }
+        return this;
     }
 
     @Override
@@ -82,57 +300,41 @@ public class JSONTokenizer implements Iterator<JSONToken>
     @Override
     public boolean next()
     {
-        this.characters.ensureHasStarted();
         this.hasStarted = true;
+        if (this.characterCount > this.maxTotalLength)
+        {
+            throw this.createTotalLengthException();
+        }
+        if (this.skipTrivia)
+        {
+            this.skipTrivia();
+        }
+        this.tokenStartIndex = this.currentIndex;
 
-        if (!this.characters.hasCurrent())
+        if (!this.hasCurrentCharacter())
         {
             this.current = null;
         }
         else
         {
-            switch (this.characters.getCurrent())
+            final char currentCharacter = this.buffer[this.currentIndex];
+            switch (JSONTokenizer.getCharacterClass(currentCharacter))
             {
-                case '{':
-                    this.current = JSONToken.leftCurlyBracket;
-                    this.characters.next();
-                    break;
-
-                case '}':
-                    this.current = JSONToken.rightCurlyBracket;
-                    this.characters.next();
-                    break;
-
-                case '[':
-                    this.current = JSONToken.leftSquareBracket;
-                    this.characters.next();
-                    break;
-
-                case ']':
-                    this.current = JSONToken.rightSquareBracket;
-                    this.characters.next();
-                    break;
-
-                case ':':
-                    this.current = JSONToken.colon;
-                    this.characters.next();
-                    break;
-
-                case ',':
-                    this.current = JSONToken.comma;
-                    this.characters.next();
-                    break;
-
-                case '\n':
-                    this.current = JSONToken.newLine;
-                    this.characters.next();
+                case singleCharacterTokenCharacterClass:
+                    this.current = JSONTokenizer.singleCharacterTokens[currentCharacter];
+                    ++this.currentIndex;
+                    if (this.limitsStructure)
+                    {
+                        this.limitStructure(currentCharacter);
+                    }
                     break;
 
-                case '\r':
-                    if (this.characters.next() && this.characters.getCurrent() == '\n')
+                case carriageReturnCharacterClass:
+                    ++this.currentIndex;
+                    if (this.hasCurrentCharacter() && this.buffer[this.currentIndex] == '\n')
                     {
                         this.current = JSONToken.carriageReturnNewLine;
-                        this.characters.next();
+                        ++this.currentIndex;
                     }
                     else
                     {
@@ -140,43 +342,208 @@ public class JSONTokenizer implements Iterator<JSONToken>
                     }
                     break;
 
-                case '\'':
-                case '\"':
-                    this.current = JSONToken.quotedString(this.readQuotedString());
+                case quoteCharacterClass:
+                    this.current = this.readQuotedString();
                     break;
 
-                case ' ':
-                case '\t':
-                    this.current = JSONToken.whitespace(this.readWhitespace());
+                case whitespaceCharacterClass:
+                    this.current = this.readWhitespace();
                     break;
 
-                case '/':
+                case slashCharacterClass:
                     this.current = this.readCommentToken();
                     break;
 
+                case letterCharacterClass:
+                    this.current = this.readLiteral();
+                    break;
+
+                case numberStartCharacterClass:
+                    this.current = this.readNumber();
+                    break;
+
                 default:
-                    if (JSONTokenizer.isLetter(this.characters.getCurrent()))
+                    throw new ParseException("Unrecognized JSONToken start character: " + Strings.escapeAndQuote(String.valueOf(currentCharacter)));
+            }
+        }
+
+        return this.hasCurrent();
+    }
+
+    /**
+     * Skip the array or object that starts at the current token without creating JSONTokens for
+     * its contents. Only the bracket depth, strings, and comments are tracked, so the skipped
+     * contents are not otherwise validated. Afterwards the current token is the bracket that ends
+     * the skipped value. If the current token doesn't start an array or object, then nothing is
+     * skipped.
+     * @throws ParseException If the input ends before the skipped value does.
+     */
+    public void skipValue()
+    {
+        PreCondition.assertTrue(this.hasCurrent(), "this.hasCurrent()");
+
+        final JSONTokenType startType = this.current.getType();
+        if (startType == JSONTokenType.LeftCurlyBracket || startType == JSONTokenType.LeftSquareBracket)
+        {
+            int depth = 1;
+            while (depth > 0)
+            {
+                if (!this.hasSkipCharacter())
+                {
+                    throw new ParseException(startType == JSONTokenType.LeftCurlyBracket
+                        ? "Missing object right curly bracket ('}')."
+                        : "Missing array right square bracket (']').");
+                }
+
+                // Scan the characters that are already in the buffer without any method calls. The
+                // scan stops early when a string or comment starts so that it can be skipped.
+                final char[] buffer = this.buffer;
+                final int endIndex = this.bufferEndIndex;
+                int index = this.currentIndex;
+                byte characterClass = JSONTokenizer.otherSkipCharacterClass;
+                while (depth > 0 && index < endIndex)
+                {
+                    final char character = buffer[index];
+                    characterClass = character < JSONTokenizer.skipCharacterClasses.length
+                        ? JSONTokenizer.skipCharacterClasses[character]
+                        : JSONTokenizer.otherSkipCharacterClass;
+                    if (characterClass == JSONTokenizer.quoteSkipCharacterClass || characterClass == JSONTokenizer.slashSkipCharacterClass)
+                    {
+                        break;
+                    }
+                    else if (characterClass == JSONTokenizer.openingBracketSkipCharacterClass)
                     {
-                        final String tokenText = this.readLiteral();
-                        this.current = JSONTokenizer.literalTokens.first((JSONToken token) -> token.getText().equals(tokenText));
-                        if (this.current == null)
-                        {
-                            throw new ParseException("Unrecognized JSONToken literal: " + tokenText);
-                        }
+                        ++depth;
                     }
-                    else if (this.characters.getCurrent() == '-' || JSONTokenizer.isDigit(this.characters.getCurrent()))
+                    else if (characterClass == JSONTokenizer.closingBracketSkipCharacterClass)
                     {
-                        final String tokenText = this.readNumber();
-                        this.current = JSONToken.number(tokenText);
+                        --depth;
+                    }
+                    ++index;
+                }
+                this.currentIndex = index;
+
+                if (depth > 0 && index < endIndex)
+                {
+                    if (characterClass == JSONTokenizer.quoteSkipCharacterClass)
+                    {
+                        this.skipQuotedString();
                     }
                     else
                     {
-                        throw new ParseException("Unrecognized JSONToken start character: " + Strings.escapeAndQuote(this.characters.getCurrent()));
+                        this.tokenStartIndex = index;
+                        this.skipComment();
                     }
+                }
+            }
+
+            this.tokenStartIndex = this.currentIndex - 1;
+            this.current = JSONTokenizer.singleCharacterTokens[this.buffer[this.tokenStartIndex]];
+            if (this.limitsStructure && this.depth > 0)
+            {
+                --this.depth;
             }
         }
+    }
 
-        return this.hasCurrent();
+    /**
+     * Update the depth and member count of the current object or array for the provided
+     * structural character, and check them against this tokenizer's limits.
+     * @param character The structural character that was just read.
+     */
+    private void limitStructure(char character)
+    {
+        switch (character)
+        {
+            case '{':
+            case '[':
+                if (this.depth == this.maxDepth)
+                {
+                    throw new ParseException("Expected objects and arrays to be nested no more than " + this.maxDepth + " levels deep.");
+                }
+                if (this.depth == this.memberCounts.length)
+                {
+                    this.memberCounts = java.util.Arrays.copyOf(this.memberCounts, java.lang.Math.min(this.maxDepth, this.depth * 2));
+                }
+                this.memberCounts[this.depth++] = 1;
+                break;
+
+            case '}':
+            case ']':
+                if (this.depth > 0)
+                {
+                    --this.depth;
+                }
+                break;
+
+            case ',':
+                if (this.depth > 0 && ++this.memberCounts[this.depth - 1] > this.maxMembers)
+                {
+                    throw new ParseException("Expected objects and arrays to have no more than " + this.maxMembers + " members.");
+                }
+                break;
+        }
+    }
+
+    private ParseException createTotalLengthException()
+    {
+        return new ParseException("Expected the JSON to have no more than " + this.maxTotalLength + " characters.");
+    }
+
+    /**
+     * Get whether or not there is a character at the current index while skipping a value. None
+     * of the skipped characters need to be kept, so the buffer is refilled from the current index.
+     * @return Whether or not there is a character at the current index.
+     */
+    private boolean hasSkipCharacter()
+    {
+        boolean result = (this.currentIndex < this.bufferEndIndex);
+        if (!result)
+        {
+            this.tokenStartIndex = this.currentIndex;
+            result = this.readMoreCharacters();
+        }
+        return result;
+    }
+
+    /**
+     * Advance past the quoted string that starts at the current index without creating a
+     * JSONToken for it.
+     */
+    private void skipQuotedString()
+    {
+        final char startQuote = this.buffer[this.currentIndex++];
+        boolean escaped = false;
+        boolean foundCloseQuote = false;
+        while (!foundCloseQuote && this.hasSkipCharacter())
+        {
+            final char[] buffer = this.buffer;
+            final int endIndex = this.bufferEndIndex;
+            int index = this.currentIndex;
+            while (index < endIndex)
+            {
+                final char character = buffer[index++];
+                if (escaped)
+                {
+                    escaped = false;
+                }
+                else if (character == '\\')
+                {
+                    escaped = true;
+                }
+                else if (character == startQuote)
+                {
+                    foundCloseQuote = true;
+                    break;
+                }
+            }
+            this.currentIndex = index;
+        }
+
+        if (!foundCloseQuote)
+        {
+            throw new ParseException("Missing quoted-string closing quote: " + startQuote);
+        }
     }
 
     /**
@@ -210,50 +577,244 @@ public class JSONTokenizer implements Iterator<JSONToken>
         return ' ' == character || '\t' == character;
     }
 
-    private String readLiteral()
+    private static int getCharacterClass(char character)
+    {
+        return character < JSONTokenizer.characterClasses.length
+            ? JSONTokenizer.characterClasses[character]
+            : JSONTokenizer.unrecognizedCharacterClass;
+    }
+
+    private static byte[] createCharacterClasses()
+    {
+        final byte[] result = new byte[128];
+        for (final char character : new char[] { '{', '}', '[', ']', ':', ',', '\n' })
+        {
+            result[character] = JSONTokenizer.singleCharacterTokenCharacterClass;
+        }
+        result['\r'] = JSONTokenizer.carriageReturnCharacterClass;
+        result['\''] = JSONTokenizer.quoteCharacterClass;
+        result['\"'] = JSONTokenizer.quoteCharacterClass;
+        result[' '] = JSONTokenizer.whitespaceCharacterClass;
+        result['\t'] = JSONTokenizer.whitespaceCharacterClass;
+        result['/'] = JSONTokenizer.slashCharacterClass;
+        result['-'] = JSONTokenizer.numberStartCharacterClass;
+        for (char character = 0; character < result.length; ++character)
+        {
+            if (JSONTokenizer.isLetter(character))
+            {
+                result[character] = JSONTokenizer.letterCharacterClass;
+            }
+            else if (JSONTokenizer.isDigit(character))
+            {
+                result[character] = JSONTokenizer.numberStartCharacterClass;
+            }
+        }
+        return result;
+    }
+
+    private static byte[] createSkipCharacterClasses()
+    {
+        final byte[] result = new byte[128];
+        result['{'] = JSONTokenizer.openingBracketSkipCharacterClass;
+        result['['] = JSONTokenizer.openingBracketSkipCharacterClass;
+        result['}'] = JSONTokenizer.closingBracketSkipCharacterClass;
+        result[']'] = JSONTokenizer.closingBracketSkipCharacterClass;
+        result['\''] = JSONTokenizer.quoteSkipCharacterClass;
+        result['\"'] = JSONTokenizer.quoteSkipCharacterClass;
+        result['/'] = JSONTokenizer.slashSkipCharacterClass;
+        return result;
+    }
+
+    private static JSONToken[] createSingleCharacterTokens()
+    {
+        final JSONToken[] result = new JSONToken[128];
+        result['{'] = JSONToken.leftCurlyBracket;
+        result['}'] = JSONToken.rightCurlyBracket;
+        result['['] = JSONToken.leftSquareBracket;
+        result[']'] = JSONToken.rightSquareBracket;
+        result[':'] = JSONToken.colon;
+        result[','] = JSONToken.comma;
+        result['\n'] = JSONToken.newLine;
+        return result;
+    }
+
+    /**
+     * Get the index in this tokenizer's buffer of the first character of the current token. When
+     * this tokenizer was created from a character array, this is an index into that array.
+     * @return The index of the first character of the current token.
+     */
+    int getTokenStartIndex()
+    {
+        PreCondition.assertTrue(this.hasCurrent(), "this.hasCurrent()");
+
+        return this.tokenStartIndex;
+    }
+
+    /**
+     * Move this tokenizer back to the start of the token that it was reading when its input threw
+     * an exception, so that the token can be read again once the input has more characters.
+     */
+    void rewindToTokenStart()
+    {
+        this.currentIndex = this.tokenStartIndex;
+        this.current = null;
+    }
+
+    /**
+     * Get whether or not there is a character at the current index, reading more characters from
+     * this tokenizer's input if the buffer has been consumed.
+     * @return Whether or not there is a character at the current index.
+     */
+    private boolean hasCurrentCharacter()
     {
-        PreCondition.assertTrue(this.characters.hasCurrent(), "characters.hasCurrent()");
-        PreCondition.assertTrue(JSONTokenizer.isLetter(this.characters.getCurrent()), "JSONTokenizer.isLetter(this.characters.getCurrent())");
+        return this.currentIndex < this.bufferEndIndex || this.readMoreCharacters();
+    }
 
-        this.builder.add(this.characters.takeCurrent().charValue());
-        while (this.characters.hasCurrent() && JSONTokenizer.isLetter(this.characters.getCurrent()))
+    /**
+     * Read more characters from this tokenizer's input into the buffer. The characters of the
+     * token that is currently being read are preserved. A full buffer is replaced instead of being
+     * overwritten.
+     * @return Whether or not any characters were read.
+     */
+    private boolean readMoreCharacters()
+    {
+        boolean result = false;
+        if (this.input != null)
         {
-            this.builder.add(this.characters.takeCurrent().charValue());
+            if (this.bufferEndIndex == this.buffer.length)
+            {
+                final int tokenLength = this.bufferEndIndex - this.tokenStartIndex;
+                final char[] newBuffer = new char[java.lang.Math.max(JSONTokenizer.defaultBufferLength, tokenLength * 2)];
+                java.lang.System.arraycopy(this.buffer, this.tokenStartIndex, newBuffer, 0, tokenLength);
+                this.buffer = newBuffer;
+                this.currentIndex -= this.tokenStartIndex;
+                this.tokenStartIndex = 0;
+                this.bufferEndIndex = tokenLength;
+            }
+
+            final int charactersRead = this.input.read(this.buffer, this.bufferEndIndex, this.buffer.length - this.bufferEndIndex);
+            if (charactersRead > 0)
+            {
+                this.characterCount += charactersRead;
+                if (this.characterCount > this.maxTotalLength)
+                {
+                    throw this.createTotalLengthException();
+                }
+
+                this.bufferEndIndex += charactersRead;
+                result = true;
+            }
         }
+        return result;
+    }
 
-        final String result = this.builder.toString(true);
-        this.builder.clear();
+    /**
+     * Get the text of the token that is currently being read.
+     * @return The text of the token that is currently being read.
+     */
+    private String getTokenText()
+    {
+        return new String(this.buffer, this.tokenStartIndex, this.currentIndex - this.tokenStartIndex);
+    }
 
-        PostCondition.assertNotNullAndNotEmpty(result, "result");
+    /**
+     * Create a JSONToken that refers to the characters of the token that is currently being read.
+     * @param type The type of the token.
+     * @return The new JSONToken.
+     */
+    private JSONToken createToken(JSONTokenType type)
+    {
+        return new JSONToken(this.buffer, this.tokenStartIndex, this.currentIndex - this.tokenStartIndex, type);
+    }
 
+    /**
+     * Get whether or not the token that is currently being read has the provided text.
+     * @param text The text to compare against.
+     * @return Whether or not the token that is currently being read has the provided text.
+     */
+    private boolean tokenTextEquals(String text)
+    {
+        final int textLength = text.length();
+        boolean result = (this.currentIndex - this.tokenStartIndex == textLength);
+        for (int i = 0; result && i < textLength; ++i)
+        {
+            result = (this.buffer[this.tokenStartIndex + i] == text.charAt(i));
+        }
         return result;
     }
 
-    private String readQuotedString()
+    private JSONToken readLiteral()
     {
-        PreCondition.assertTrue(this.characters.hasCurrent(), "this.characters.hasCurrent()");
-        PreCondition.assertOneOf(this.characters.getCurrent(), Iterable.create('\'', '\"'), "this.characters.getCurrent()");
+        PreCondition.assertTrue(this.currentIndex < this.bufferEndIndex, "this.currentIndex < this.bufferEndIndex");
+        PreCondition.assertTrue(JSONTokenizer.isLetter(this.buffer[this.currentIndex]), "JSONTokenizer.isLetter(this.buffer[this.currentIndex])");
 
-        final char startQuote = this.characters.takeCurrent();
-        this.builder.add(startQuote);
+        do
+        {
+            ++this.currentIndex;
+        }
+        while (this.hasCurrentCharacter() && JSONTokenizer.isLetter(this.buffer[this.currentIndex]));
+
+        JSONToken result;
+        if (this.tokenTextEquals("null"))
+        {
+            result = JSONToken.nullToken;
+        }
+        else if (this.tokenTextEquals("true"))
+        {
+            result = JSONToken.trueToken;
+        }
+        else if (this.tokenTextEquals("false"))
+        {
+            result = JSONToken.falseToken;
+        }
+        else
+        {
+            throw new ParseException("Unrecognized JSONToken literal: " + this.getTokenText());
+        }
+
+        PostCondition.assertNotNull(result, "result");
+
+        return result;
+    }
+
+    private JSONToken readQuotedString()
+    {
+        PreCondition.assertTrue(this.currentIndex < this.bufferEndIndex, "this.currentIndex < this.bufferEndIndex");
+        PreCondition.assertTrue(this.buffer[this.currentIndex] == '\'' || this.buffer[this.currentIndex] == '\"', "this.buffer[this.currentIndex] == '\\'' || this.buffer[this.currentIndex] == '\\\"'");
+
+        // The characters that are already in the buffer are scanned without any method calls. The
+        // string's length is checked before more characters are read, so a string that is too
+        // long never grows the buffer past the limit.
+        final char startQuote = this.buffer[this.currentIndex++];
         boolean escaped = false;
         boolean foundCloseQuote = false;
-        while (this.characters.hasCurrent())
+        while (!foundCloseQuote && this.hasCurrentCharacter())
         {
-            final char currentCharacter = this.characters.takeCurrent();
-            this.builder.add(currentCharacter);
-            if (escaped)
+            final char[] buffer = this.buffer;
+            final int endIndex = this.bufferEndIndex;
+            int index = this.currentIndex;
+            while (index < endIndex)
             {
-                escaped = false;
-            }
-            else if (currentCharacter == '\\')
-            {
-                escaped = true;
+                final char character = buffer[index++];
+                if (escaped)
+                {
+                    escaped = false;
+                }
+                else if (character == '\\')
+                {
+                    escaped = true;
+                }
+                else if (character == startQuote)
+                {
+                    foundCloseQuote = true;
+                    break;
+                }
             }
-            else if (currentCharacter == startQuote)
+            this.currentIndex = index;
+
+            if (this.currentIndex - this.tokenStartIndex - (foundCloseQuote ? 2 : 1) > this.maxStringLength)
             {
-                foundCloseQuote = true;
-                break;
+                throw new ParseException("Expected quoted strings to have no more than " + this.maxStringLength + " characters.");
             }
         }
 
@@ -262,131 +823,188 @@ public class JSONTokenizer implements Iterator<JSONToken>
             throw new ParseException("Missing quoted-string closing quote: " + startQuote);
         }
 
-        final String result = this.builder.toString(true);
-        this.builder.clear();
+        final JSONToken result = this.createToken(JSONTokenType.QuotedString);
 
-        PostCondition.assertNotNullAndNotEmpty(result, "result");
+        PostCondition.assertNotNull(result, "result");
 
         return result;
     }
 
-    private String readNumber()
+    /**
+     * Advance past the digits that start at the current index.
+     * @return Whether or not any digits were found.
+     */
+    private boolean readDigits()
+    {
+        final int startIndex = this.currentIndex;
+        while (this.hasCurrentCharacter() && JSONTokenizer.isDigit(this.buffer[this.currentIndex]))
+        {
+            ++this.currentIndex;
+        }
+        return startIndex != this.currentIndex;
+    }
+
+    /**
+     * Get whether or not the current character is the provided character.
+     * @param character The character to look for.
+     * @return Whether or not the current character is the provided character.
+     */
+    private boolean isCurrentCharacter(char character)
     {
-        PreCondition.assertTrue(this.characters.hasCurrent(), "this.characters.hasCurrent()");
-        PreCondition.assertOneOf(this.characters.getCurrent(), Iterable.create('-', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9'), "this.characters.getCurrent()");
+        return this.hasCurrentCharacter() && this.buffer[this.currentIndex] == character;
+    }
 
-        if (this.characters.getCurrent() == '-')
-        {
-            this.builder.add(this.characters.takeCurrent().charValue());
+    private JSONToken readNumber()
+    {
+        PreCondition.assertTrue(this.currentIndex < this.bufferEndIndex, "this.currentIndex < this.bufferEndIndex");
+        PreCondition.assertTrue(this.buffer[this.currentIndex] == '-' || JSONTokenizer.isDigit(this.buffer[this.currentIndex]), "this.buffer[this.currentIndex] == '-' || JSONTokenizer.isDigit(this.buffer[this.currentIndex])");
 
-            if (!this.characters.hasCurrent() || !JSONTokenizer.isDigit(this.characters.getCurrent()))
+        if (this.buffer[this.currentIndex] == '-')
+        {
+            ++this.currentIndex;
+            if (!this.readDigits())
             {
                 throw new ParseException("Missing digits after number's negative sign: \"-\"");
             }
         }
-
-        while (this.characters.hasCurrent() && JSONTokenizer.isDigit(this.characters.getCurrent()))
+        else
         {
-            this.builder.add(this.characters.takeCurrent().charValue());
+            this.readDigits();
         }
 
-        if (this.characters.hasCurrent() && this.characters.getCurrent() == '.')
+        if (this.isCurrentCharacter('.'))
         {
-            this.builder.add(this.characters.takeCurrent().charValue());
-            if (!this.characters.hasCurrent() || !JSONTokenizer.isDigit(this.characters.getCurrent()))
-            {
-                throw new ParseException("Missing digits after number's decimal point: " + Strings.escapeAndQuote(this.builder.toString(true)));
-            }
-
-            do
+            ++this.currentIndex;
+            if (!this.readDigits())
             {
-                this.builder.add(this.characters.takeCurrent().charValue());
+                throw new ParseException("Missing digits after number's decimal point: " + Strings.escapeAndQuote(this.getTokenText()));
             }
-            while (this.characters.hasCurrent() && JSONTokenizer.isDigit(this.characters.getCurrent()));
         }
 
-        if (this.characters.hasCurrent() && (this.characters.getCurrent().equals('e') || this.characters.getCurrent().equals('E')))
+        if (this.isCurrentCharacter('e') || this.isCurrentCharacter('E'))
         {
-            this.builder.add(this.characters.takeCurrent().charValue());
+            ++this.currentIndex;
 
-            if (!this.characters.hasCurrent() || !(this.characters.getCurrent().equals('-') || this.characters.getCurrent().equals('+') || JSONTokenizer.isDigit(this.characters.getCurrent())))
+            if (this.isCurrentCharacter('-') || this.isCurrentCharacter('+'))
             {
-                throw new ParseException("Missing digits after number's exponent character: " + Strings.escapeAndQuote(this.builder.toString(true)));
-            }
-            else
-            {
-                this.builder.add(this.characters.takeCurrent().charValue());
-                if ((this.builder.endsWith('-') || this.builder.endsWith('+')) &&
-                    (!this.characters.hasCurrent() || !JSONTokenizer.isDigit(this.characters.getCurrent())))
-                {
-                    throw new ParseException("Missing digits after number's exponent sign character: " + Strings.escapeAndQuote(this.builder.toString(true)));
-                }
-
-                while (this.characters.hasCurrent() && JSONTokenizer.isDigit(this.characters.getCurrent()))
+                ++this.currentIndex;
+                if (!this.readDigits())
                 {
-                    this.builder.add(this.characters.takeCurrent().charValue());
+                    throw new ParseException("Missing digits after number's exponent sign character: " + Strings.escapeAndQuote(this.getTokenText()));
                 }
             }
+            else if (!this.readDigits())
+            {
+                throw new ParseException("Missing digits after number's exponent character: " + Strings.escapeAndQuote(this.getTokenText()));
+            }
         }
 
-        final String result = builder.toString(true);
-        builder.clear();
+        final JSONToken result = this.createToken(JSONTokenType.Number);
 
-        PostCondition.assertNotNullAndNotEmpty(result, "result");
+        PostCondition.assertNotNull(result, "result");
 
         return result;
     }
 
-    private String readWhitespace()
+    private JSONToken readWhitespace()
     {
-        PreCondition.assertTrue(this.characters.hasCurrent(), "this.characters.hasCurrent()");
-        PreCondition.assertTrue(JSONTokenizer.isWhitespace(this.characters.getCurrent()), "JSONTokenizer.isWhitespace(this.characters.getCurrent())");
+        PreCondition.assertTrue(this.currentIndex < this.bufferEndIndex, "this.currentIndex < this.bufferEndIndex");
+        PreCondition.assertTrue(JSONTokenizer.isWhitespace(this.buffer[this.currentIndex]), "JSONTokenizer.isWhitespace(this.buffer[this.currentIndex])");
 
         do
         {
-            builder.add(this.characters.takeCurrent().charValue());
+            ++this.currentIndex;
         }
-        while (this.characters.hasCurrent() && JSONTokenizer.isWhitespace(this.characters.getCurrent()));
+        while (this.hasCurrentCharacter() && JSONTokenizer.isWhitespace(this.buffer[this.currentIndex]));
 
-        final String result = builder.toString(true);
-        builder.clear();
+        final JSONToken result = this.createToken(JSONTokenType.Whitespace);
 
-        PostCondition.assertNotNullAndNotEmpty(result, "result");
+        PostCondition.assertNotNull(result, "result");
 
         return result;
     }
 
+    /**
+     * Advance past any whitespace, newlines, and comments that start at the current index without
+     * creating JSONTokens for them.
+     */
+    private void skipTrivia()
+    {
+        boolean done = false;
+        while (!done)
+        {
+            this.tokenStartIndex = this.currentIndex;
+            if (!this.hasCurrentCharacter())
+            {
+                done = true;
+            }
+            else
+            {
+                switch (this.buffer[this.currentIndex])
+                {
+                    case ' ':
+                    case '\t':
+                    case '\r':
+                    case '\n':
+                        ++this.currentIndex;
+                        break;
+
+                    case '/':
+                        this.skipComment();
+                        break;
+
+                    default:
+                        done = true;
+                        break;
+                }
+            }
+        }
+    }
+
     private JSONToken readCommentToken()
     {
-        PreCondition.assertTrue(this.characters.hasCurrent(), "this.characters.hasCurrent()");
-        PreCondition.assertEqual('/', this.characters.getCurrent(), "this.characters.getCurrent()");
+        final JSONToken result = this.createToken(this.skipComment());
+
+        PostCondition.assertNotNull(result, "result");
 
-        if (!this.characters.next())
+        return result;
+    }
+
+    /**
+     * Advance past the comment that starts at the current index.
+     * @return The type of the comment.
+     */
+    private JSONTokenType skipComment()
+    {
+        PreCondition.assertTrue(this.currentIndex < this.bufferEndIndex, "this.currentIndex < this.bufferEndIndex");
+        PreCondition.assertEqual('/', this.buffer[this.currentIndex], "this.buffer[this.currentIndex]");
+
+        ++this.currentIndex;
+        if (!this.hasCurrentCharacter())
         {
             throw new ParseException("Missing comment start sequence second character.");
         }
 
         JSONTokenType resultType;
-        this.builder.add('/');
-        if (this.characters.getCurrent() == '/')
+        final char secondCharacter = this.buffer[this.currentIndex];
+        if (secondCharacter == '/')
         {
             resultType = JSONTokenType.LineComment;
-            this.builder.add(this.characters.takeCurrent().charValue());
-            while (this.characters.hasCurrent() && this.characters.getCurrent() != '\r' && this.characters.getCurrent() != '\n')
+            ++this.currentIndex;
+            while (this.hasCurrentCharacter() && this.buffer[this.currentIndex] != '\r' && this.buffer[this.currentIndex] != '\n')
             {
-                this.builder.add(this.characters.takeCurrent().charValue());
+                ++this.currentIndex;
             }
         }
-        else if (this.characters.getCurrent() == '*')
+        else if (secondCharacter == '*')
         {
             resultType = JSONTokenType.BlockComment;
-            this.builder.add(this.characters.takeCurrent().charValue());
+            ++this.currentIndex;
             boolean endSequenceStarted = false;
             boolean ended = false;
-            while (this.characters.hasCurrent())
+            while (this.hasCurrentCharacter())
             {
-                final char character = this.characters.takeCurrent();
-                this.builder.add(character);
+                final char character = this.buffer[this.currentIndex++];
                 if (endSequenceStarted && character == '/')
                 {
                     ended = true;
@@ -404,16 +1022,9 @@ public class JSONTokenizer implements Iterator<JSONToken>
         }
         else
         {
-            throw new ParseException("Unrecognized comment start sequence second character: " + Strings.escapeAndQuote(this.characters.getCurrent()));
+            throw new ParseException("Unrecognized comment start sequence second character: " + Strings.escapeAndQuote(String.valueOf(secondCharacter)));
         }
 
-        final String resultText = this.builder.toString(true);
-        this.builder.clear();
-
-        final JSONToken result = new JSONToken(resultText, resultType);
-
-        PostCondition.assertNotNull(result, "result");
-
-        return result;
+        return resultType;
     }
 }
@@ -0,0 +1,83 @@
+package qub;
+
+/**
+ * A source of characters that a JSONTokenizer reads from in blocks.
+ */
+@FunctionalInterface
+public interface JSONTokenizerInput
+{
+    /**
+     * Read characters from this input into the provided buffer.
+     * @param buffer The buffer to read characters into.
+     * @param startIndex The index in the buffer to start writing characters at.
+     * @param length The maximum number of characters to read.
+     * @return The number of characters that were read, or -1 if the end of this input has been
+     * reached.
+     */
+    int read(char[] buffer, int startIndex, int length);
+
+    /**
+     * Create a new JSONTokenizerInput that reads from the provided characters. Characters are only
+     * taken from the provided Iterator one at a time so that a JSONTokenizer never reads further
+     * ahead in the Iterator than it needs to.
+     * @param characters The characters to read.
+     * @return The new JSONTokenizerInput.
+     */
+    static JSONTokenizerInput create(Iterator<Character> characters)
+    {
+        PreCondition.assertNotNull(characters, "characters");
+
+        return (char[] buffer, int startIndex, int length) ->
+        {
+            characters.ensureHasStarted();
+
+            int result = -1;
+            if (characters.hasCurrent() && length > 0)
+            {
+                buffer[startIndex] = characters.takeCurrent();
+                result = 1;
+            }
+            return result;
+        };
+    }
+
+    /**
+     * Create a new JSONTokenizerInput that reads from the provided characters.
+     * @param characters The characters to read.
+     * @return The new JSONTokenizerInput.
+     */
+    static JSONTokenizerInput create(CharSequence characters)
+    {
+        PreCondition.assertNotNull(characters, "characters");
+
+        final int characterCount = characters.length();
+        final int[] characterIndex = new int[] { 0 };
+        return (char[] buffer, int startIndex, int length) ->
+        {
+            int result = -1;
+            if (characterIndex[0] < characterCount)
+            {
+                result = java.lang.Math.min(length, characterCount - characterIndex[0]);
+                for (int i = 0; i < result; ++i)
+                {
+                    buffer[startIndex + i] = characters.charAt(characterIndex[0] + i);
+                }
+                characterIndex[0] += result;
+            }
+            return result;
+        };
+    }
+
+    /**
+     * Create a new JSONTokenizerInput that decodes the UTF-8 encoded bytes from the provided
+     * ByteReadStream.
+     * @param bytes The bytes to read.
+     * @return The new JSONTokenizerInput.
+     */
+    static JSONTokenizerInput create(ByteReadStream bytes)
+    {
+        PreCondition.assertNotNull(bytes, "bytes");
+
+        return JSONUTF8TokenizerInput.create(bytes);
+    }
+}
@@ -0,0 +1,293 @@
+package qub;
+
+/**
+ * A parser that builds JSONSegments from JSONTokens that are added to it one at a time. The
+ * arrays and objects that are still being parsed are kept on an explicit stack instead of the
+ * call stack, so deeply nested values can't overflow the call stack and no Result is created for
+ * each value. The tokens are checked by a JSONGrammar, so the ParseException messages are the
+ * same as JSON.parse(), JSON.parseArray(), and JSON.parseObject().
+ */
+public class JSONTreeParser
+{
+    private final JSONGrammar grammar;
+    private final List<Frame> frames;
+    private final JSONNameTable names;
+    private JSONSegment completedValue;
+    private JSONTokenizer lazyTokenizer;
+    private char[] lazyCharacters;
+
+    private JSONTreeParser(JSONNameTable names)
+    {
+        PreCondition.assertNotNull(names, "names");
+
+        this.grammar = JSONGrammar.create();
+        this.frames = List.create();
+        this.names = names;
+    }
+
+    /**
+     * Create a new JSONTreeParser.
+     * @return The new JSONTreeParser.
+     */
+    public static JSONTreeParser create()
+    {
+        return JSONTreeParser.create(JSONNameTable.create());
+    }
+
+    /**
+     * Create a new JSONTreeParser that looks property names up in the provided table.
+     * @param names The table to look property names up in.
+     * @return The new JSONTreeParser.
+     */
+    public static JSONTreeParser create(JSONNameTable names)
+    {
+        return new JSONTreeParser(names);
+    }
+
+    /**
+     * Parse the JSONSegment that starts at the provided tokenizer's current token. When this
+     * returns, the tokenizer's current token is the first token after the parsed value.
+     * @param tokenizer The tokenizer whose current token starts the value to parse.
+     * @return The parsed JSONSegment.
+     * @throws ParseException If the tokens don't form a JSON value.
+     */
+    public static JSONSegment parse(JSONTokenizer tokenizer)
+    {
+        PreCondition.assertNotNull(tokenizer, "tokenizer");
+        PreCondition.assertTrue(tokenizer.hasCurrent(), "tokenizer.hasCurrent()");
+
+        return JSONTreeParser.parse(tokenizer, JSONTreeParser.create(tokenizer.getNameTable()));
+    }
+
+    /**
+     * Parse the JSONSegment that starts at the provided tokenizer's current token with the
+     * provided parser. The parser can be used again for the next value once this returns.
+     * @param tokenizer The tokenizer whose current token starts the value to parse.
+     * @param parser The parser that builds the value.
+     * @return The parsed JSONSegment.
+     * @throws ParseException If the tokens don't form a JSON value.
+     */
+    static JSONSegment parse(JSONTokenizer tokenizer, JSONTreeParser parser)
+    {
+        JSONSegment result = null;
+        while (result == null)
+        {
+            if (!tokenizer.hasCurrent())
+            {
+                throw new ParseException(parser.getMissingMessage());
+            }
+            result = parser.add(tokenizer.getCurrent());
+            JSON.next(tokenizer);
+        }
+
+        PostCondition.assertNotNull(result, "result");
+
+        return result;
+    }
+
+    /**
+     * Parse the array or object that starts at the provided start index. The arrays and objects
+     * that it contains aren't parsed. Instead they are created as lazy JSONArrays and JSONObjects
+     * that parse their own contents the first time that they are accessed.
+     * @param characters The characters that contain the array or object.
+     * @param startIndex The index of the array's or object's opening bracket.
+     * @param length The number of characters from the opening bracket through the closing
+     * bracket.
+     * @param names The table to look property names up in.
+     * @return The parsed JSONArray or JSONObject.
+     * @throws ParseException If the array's or object's own tokens don't form a JSON value.
+     */
+    static JSONSegment parseLazy(char[] characters, int startIndex, int length, JSONNameTable names)
+    {
+        PreCondition.assertNotNull(characters, "characters");
+        PreCondition.assertNotNull(names, "names");
+
+        final JSONTokenizer tokenizer = JSONTokenizer.create(characters, startIndex, length)
+            .setSkipTrivia(true)
+            .setNameTable(names);
+        JSON.next(tokenizer);
+
+        final JSONTreeParser parser = JSONTreeParser.create(names);
+        parser.lazyTokenizer = tokenizer;
+        parser.lazyCharacters = characters;
+        final JSONSegment result = JSONTreeParser.parse(tokenizer, parser);
+
+        PostCondition.assertNotNull(result, "result");
+
+        return result;
+    }
+
+    /**
+     * Create a lazy JSONArray or JSONObject for the nested array or object that starts at the
+     * provided tokenizer's current token. The nested value's contents are skipped without being
+     * tokenized, and the tokenizer's current token becomes the nested value's closing bracket.
+     * @param tokenizer The tokenizer whose current token is the nested value's opening bracket.
+     * @param characters The characters that the tokenizer was created from.
+     * @param names The table that the lazy value will look property names up in.
+     * @return The lazy JSONArray or JSONObject.
+     */
+    private static JSONSegment createLazyValue(JSONTokenizer tokenizer, char[] characters, JSONNameTable names)
+    {
+        final boolean isObject = (tokenizer.getCurrent().getType() == JSONTokenType.LeftCurlyBracket);
+        final int startIndex = tokenizer.getTokenStartIndex();
+        tokenizer.skipValue();
+        final int length = tokenizer.getTokenStartIndex() + 1 - startIndex;
+        return isObject
+            ? JSONObject.createLazy(characters, startIndex, length, names)
+            : JSONArray.createLazy(characters, startIndex, length, names);
+    }
+
+    /**
+     * Get whether or not this parser is in the middle of parsing an array or object.
+     * @return Whether or not this parser is in the middle of parsing an array or object.
+     */
+    public boolean isParsingValue()
+    {
+        return this.frames.any();
+    }
+
+    /**
+     * Add the provided token to the value that is being parsed.
+     * @param token The next token of the value.
+     * @return The top-level JSONSegment that the provided token completes, or null if the
+     * top-level value isn't complete yet.
+     * @throws ParseException If the provided token can't appear at this point in a JSON value.
+     */
+    public JSONSegment add(JSONToken token)
+    {
+        PreCondition.assertNotNull(token, "token");
+
+        final JSONReaderEvent event = this.grammar.add(token);
+        if (event != null)
+        {
+            switch (event)
+            {
+                case StartObject:
+                case StartArray:
+                    if (this.lazyTokenizer != null && this.frames.any())
+                    {
+                        this.grammar.endValue();
+                        this.completeValue(JSONTreeParser.createLazyValue(this.lazyTokenizer, this.lazyCharacters, this.names));
+                    }
+                    else
+                    {
+                        this.frames.add(event == JSONReaderEvent.StartObject ? Frame.object() : Frame.array());
+                    }
+                    break;
+
+                case EndObject:
+                case EndArray:
+                    this.completeFrame();
+                    break;
+
+                case PropertyName:
+                    this.getTopFrame().propertyName = token.getUnquotedText(this.names);
+                    break;
+
+                case BooleanValue:
+                    this.completeValue(JSONBoolean.get(JSONToken.falseToken != token));
+                    break;
+
+                case NullValue:
+                    this.completeValue(JSONNull.segment);
+                    break;
+
+                case NumberValue:
+                    this.completeValue(token.getNumberSegment());
+                    break;
+
+                default:
+                    this.completeValue(token.getStringSegment());
+                    break;
+            }
+        }
+
+        final JSONSegment result = this.completedValue;
+        this.completedValue = null;
+        return result;
+    }
+
+    /**
+     * Get the message of the ParseException for when the tokens end while an array or object is
+     * still being parsed.
+     * @return The message for when the tokens end before the top-level value is complete.
+     */
+    public String getMissingMessage()
+    {
+        PreCondition.assertTrue(this.isParsingValue(), "this.isParsingValue()");
+
+        return this.grammar.getMissingMessage();
+    }
+
+    /**
+     * Add the provided completed value to the array or object on the top of the stack, or make it
+     * the completed top-level value if the stack is empty.
+     * @param value The completed value.
+     */
+    private void completeValue(JSONSegment value)
+    {
+        if (!this.frames.any())
+        {
+            this.completedValue = value;
+        }
+        else
+        {
+            final Frame frame = this.getTopFrame();
+            if (frame.elements != null)
+            {
+                frame.elements.add(value);
+            }
+            else
+            {
+                frame.properties.set(frame.propertyName, value);
+                frame.propertyName = null;
+            }
+        }
+    }
+
+    /**
+     * Get the array or object on the top of the stack.
+     * @return The array or object on the top of the stack.
+     */
+    private Frame getTopFrame()
+    {
+        return this.frames.get(this.frames.getCount() - 1);
+    }
+
+    /**
+     * Pop the array or object on the top of the stack and complete it.
+     */
+    private void completeFrame()
+    {
+        final Frame frame = this.frames.removeAt(this.frames.getCount() - 1);
+        this.completeValue(frame.elements != null
+            ? JSONArray.create(frame.elements)
+            : JSONObject.wrap(frame.properties));
+    }
+
+    /**
+     * An array or object that is still being parsed.
+     */
+    private static class Frame
+    {
+        private final List<JSONSegment> elements;
+        private final MutableMap<String,JSONSegment> properties;
+        private String propertyName;
+
+        private Frame(List<JSONSegment> elements, MutableMap<String,JSONSegment> properties)
+        {
+            this.elements = elements;
+            this.properties = properties;
+        }
+
+        static Frame array()
+        {
+            return new Frame(List.create(), null);
+        }
+
+        static Frame object()
+        {
+            return new Frame(null, Map.create());
+        }
+    }
+}
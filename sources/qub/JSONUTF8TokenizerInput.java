@@ -0,0 +1,258 @@
+package qub;
+
+/**
+ * A JSONTokenizerInput that decodes UTF-8 encoded bytes from a JSONByteInput. Bytes are read from
+ * the input in blocks and decoded straight into the JSONTokenizer's buffer. ASCII bytes, which
+ * include every JSON structural character, are copied without any decoding work. Only the
+ * multiple-byte sequences that can appear inside of quoted strings go through the full decoder.
+ */
+public class JSONUTF8TokenizerInput implements JSONTokenizerInput
+{
+    private static final int defaultBufferLength = 8192;
+    private static final char replacementCharacter = '\uFFFD';
+
+    private final JSONByteInput byteInput;
+    private final byte[] bytes;
+    private int byteIndex;
+    private int byteEndIndex;
+    private boolean endOfStream;
+    private char pendingLowSurrogate;
+
+    private JSONUTF8TokenizerInput(JSONByteInput byteInput, int bufferLength)
+    {
+        PreCondition.assertNotNull(byteInput, "byteInput");
+        PreCondition.assertGreaterThanOrEqualTo(bufferLength, 4, "bufferLength");
+
+        this.byteInput = byteInput;
+        this.bytes = new byte[bufferLength];
+    }
+
+    /**
+     * Create a new JSONUTF8TokenizerInput that decodes the bytes from the provided ByteReadStream.
+     * @param byteReadStream The stream to read UTF-8 encoded bytes from.
+     * @return The new JSONUTF8TokenizerInput.
+     */
+    public static JSONUTF8TokenizerInput create(ByteReadStream byteReadStream)
+    {
+        PreCondition.assertNotNull(byteReadStream, "byteReadStream");
+
+        return JSONUTF8TokenizerInput.create(JSONByteInput.create(byteReadStream));
+    }
+
+    /**
+     * Create a new JSONUTF8TokenizerInput that decodes the bytes from the provided JSONByteInput.
+     * @param byteInput The input to read UTF-8 encoded bytes from.
+     * @return The new JSONUTF8TokenizerInput.
+     */
+    public static JSONUTF8TokenizerInput create(JSONByteInput byteInput)
+    {
+        return JSONUTF8TokenizerInput.create(byteInput, JSONUTF8TokenizerInput.defaultBufferLength);
+    }
+
+    /**
+     * Create a new JSONUTF8TokenizerInput that decodes the bytes from the provided JSONByteInput.
+     * @param byteInput The input to read UTF-8 encoded bytes from.
+     * @param bufferLength The number of bytes to read from the input at a time.
+     * @return The new JSONUTF8TokenizerInput.
+     */
+    static JSONUTF8TokenizerInput create(JSONByteInput byteInput, int bufferLength)
+    {
+        return new JSONUTF8TokenizerInput(byteInput, bufferLength);
+    }
+
+    @Override
+    public int read(char[] buffer, int startIndex, int length)
+    {
+        PreCondition.assertNotNull(buffer, "buffer");
+        PreCondition.assertBetween(0, startIndex, buffer.length - 1, "startIndex");
+        PreCondition.assertBetween(1, length, buffer.length - startIndex, "length");
+
+        int result = 0;
+        if (this.pendingLowSurrogate != 0)
+        {
+            buffer[startIndex] = this.pendingLowSurrogate;
+            this.pendingLowSurrogate = 0;
+            ++result;
+        }
+
+        while (result < length)
+        {
+            if (this.byteIndex == this.byteEndIndex && (result > 0 || !this.readMoreBytes()))
+            {
+                break;
+            }
+
+            final byte firstByte = this.bytes[this.byteIndex];
+            if (firstByte >= 0)
+            {
+                final int asciiEndIndex = this.byteIndex + java.lang.Math.min(length - result, this.byteEndIndex - this.byteIndex);
+                int asciiIndex = this.byteIndex;
+                while (asciiIndex < asciiEndIndex && this.bytes[asciiIndex] >= 0)
+                {
+                    buffer[startIndex + result] = (char)this.bytes[asciiIndex];
+                    ++result;
+                    ++asciiIndex;
+                }
+                this.byteIndex = asciiIndex;
+            }
+            else
+            {
+                final int sequenceLength = JSONUTF8TokenizerInput.getSequenceLength(firstByte);
+                if (this.byteEndIndex - this.byteIndex < sequenceLength)
+                {
+                    if (result > 0)
+                    {
+                        break;
+                    }
+                    else if (!this.readMoreBytes())
+                    {
+                        // The stream ended in the middle of a multiple-byte sequence.
+                        buffer[startIndex + result] = JSONUTF8TokenizerInput.replacementCharacter;
+                        ++result;
+                        this.byteIndex = this.byteEndIndex;
+                    }
+                }
+                else
+                {
+                    final int codePoint = this.decodeSequence(sequenceLength);
+                    if (codePoint < 0x10000)
+                    {
+                        buffer[startIndex + result] = (char)codePoint;
+                        ++result;
+                    }
+                    else
+                    {
+                        buffer[startIndex + result] = java.lang.Character.highSurrogate(codePoint);
+                        ++result;
+                        final char lowSurrogate = java.lang.Character.lowSurrogate(codePoint);
+                        if (result < length)
+                        {
+                            buffer[startIndex + result] = lowSurrogate;
+                            ++result;
+                        }
+                        else
+                        {
+                            this.pendingLowSurrogate = lowSurrogate;
+                        }
+                    }
+                }
+            }
+        }
+
+        return result == 0 ? -1 : result;
+    }
+
+    /**
+     * Get the number of bytes in the UTF-8 sequence that starts with the provided non-ASCII byte.
+     * Bytes that can't start a sequence count as a sequence of one byte.
+     * @param firstByte The first byte of the sequence.
+     * @return The number of bytes in the sequence.
+     */
+    private static int getSequenceLength(byte firstByte)
+    {
+        int result;
+        if ((firstByte & 0xE0) == 0xC0)
+        {
+            result = 2;
+        }
+        else if ((firstByte & 0xF0) == 0xE0)
+        {
+            result = 3;
+        }
+        else if ((firstByte & 0xF8) == 0xF0)
+        {
+            result = 4;
+        }
+        else
+        {
+            result = 1;
+        }
+        return result;
+    }
+
+    /**
+     * Decode the UTF-8 sequence of the provided length that starts at the current byte index. An
+     * invalid sequence is decoded as the replacement character and only its first byte is
+     * consumed.
+     * @param sequenceLength The number of bytes in the sequence.
+     * @return The code point of the sequence.
+     */
+    private int decodeSequence(int sequenceLength)
+    {
+        int result;
+        switch (sequenceLength)
+        {
+            case 2:
+                result = this.bytes[this.byteIndex] & 0x1F;
+                break;
+
+            case 3:
+                result = this.bytes[this.byteIndex] & 0x0F;
+                break;
+
+            case 4:
+                result = this.bytes[this.byteIndex] & 0x07;
+                break;
+
+            default:
+                result = -1;
+                break;
+        }
+
+        for (int i = 1; result >= 0 && i < sequenceLength; ++i)
+        {
+            final byte continuationByte = this.bytes[this.byteIndex + i];
+            result = (continuationByte & 0xC0) == 0x80
+                ? (result << 6) | (continuationByte & 0x3F)
+                : -1;
+        }
+
+        if (result < JSONUTF8TokenizerInput.getMinimumCodePoint(sequenceLength) ||
+            result > java.lang.Character.MAX_CODE_POINT ||
+            (java.lang.Character.MIN_SURROGATE <= result && result <= java.lang.Character.MAX_SURROGATE))
+        {
+            result = JSONUTF8TokenizerInput.replacementCharacter;
+            ++this.byteIndex;
+        }
+        else
+        {
+            this.byteIndex += sequenceLength;
+        }
+
+        return result;
+    }
+
+    private static int getMinimumCodePoint(int sequenceLength)
+    {
+        return sequenceLength == 2 ? 0x80 : sequenceLength == 3 ? 0x800 : 0x10000;
+    }
+
+    /**
+     * Read more bytes from the byte input. Any bytes that haven't been decoded yet are moved to the
+     * start of the byte buffer first.
+     * @return Whether or not any bytes were read.
+     */
+    private boolean readMoreBytes()
+    {
+        boolean result = false;
+        if (!this.endOfStream)
+        {
+            final int remainingByteCount = this.byteEndIndex - this.byteIndex;
+            java.lang.System.arraycopy(this.bytes, this.byteIndex, this.bytes, 0, remainingByteCount);
+            this.byteIndex = 0;
+            this.byteEndIndex = remainingByteCount;
+
+            final int bytesRead = this.byteInput.read(this.bytes, this.byteEndIndex, this.bytes.length - this.byteEndIndex);
+            if (bytesRead < 0)
+            {
+                this.endOfStream = true;
+            }
+            else
+            {
+                this.byteEndIndex += bytesRead;
+                result = (bytesRead > 0);
+            }
+        }
+        return result;
+    }
+}
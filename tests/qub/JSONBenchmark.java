@@ -0,0 +1,72 @@
+package qub;
+
+/**
+ * A benchmark that compares the different ways of parsing a large JSON document. This isn't part
+ * of the test suite. Run it directly with the tests on the classpath.
+ */
+public interface JSONBenchmark
+{
+    static void main(String[] args)
+    {
+        final int elementCount = args.length == 0 ? 100000 : Integer.parseInt(args[0]);
+        final int iterations = args.length <= 1 ? 20 : Integer.parseInt(args[1]);
+
+        final String text = JSONBenchmark.createDocument(elementCount);
+        java.lang.System.out.println("Document length: " + text.length() + " characters");
+
+        JSONBenchmark.run("JSON.parse(String)", iterations, () -> JSON.parse(text).await());
+        JSONBenchmark.run("JSON.parseIndexed(String)", iterations, () -> JSON.parseIndexed(text).await());
+    }
+
+    /**
+     * Create a pretty-printed JSON document that contains an array of the provided number of
+     * objects.
+     * @param elementCount The number of objects in the document's array.
+     * @return The JSON document.
+     */
+    static String createDocument(int elementCount)
+    {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("[\n");
+        for (int i = 0; i < elementCount; ++i)
+        {
+            if (i > 0)
+            {
+                builder.append(",\n");
+            }
+            builder.append("  {\n")
+                .append("    \"id\": ").append(i).append(",\n")
+                .append("    \"name\": \"element number ").append(i).append(" with a longer description\",\n")
+                .append("    \"price\": ").append(i * 0.25).append(",\n")
+                .append("    \"tags\": [\"alpha\", \"beta\", \"gamma \\\"quoted\\\"\"],\n")
+                .append("    \"active\": ").append(i % 2 == 0).append(",\n")
+                .append("    \"parent\": null\n")
+                .append("  }");
+        }
+        builder.append("\n]\n");
+        return builder.toString();
+    }
+
+    /**
+     * Run the provided action the provided number of times after warming it up, and then write the
+     * average duration of each run.
+     * @param name The name of the action.
+     * @param iterations The number of times to run the action.
+     * @param action The action to run.
+     */
+    static void run(String name, int iterations, Action0 action)
+    {
+        for (int i = 0; i < iterations; ++i)
+        {
+            action.run();
+        }
+
+        final long startNanoseconds = java.lang.System.nanoTime();
+        for (int i = 0; i < iterations; ++i)
+        {
+            action.run();
+        }
+        final long averageNanoseconds = (java.lang.System.nanoTime() - startNanoseconds) / iterations;
+        java.lang.System.out.println(name + ": " + (averageNanoseconds / 1000000.0) + " ms");
+    }
+}
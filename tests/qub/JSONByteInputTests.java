@@ -0,0 +1,116 @@
+package qub;
+
+public interface JSONByteInputTests
+{
+    static void test(TestRunner runner)
+    {
+        PreCondition.assertNotNull(runner, "runner");
+
+        runner.testGroup(JSONByteInput.class, () ->
+        {
+            runner.testGroup("create(ByteReadStream)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONByteInput.create((ByteReadStream)null),
+                        new PreConditionFailure("byteReadStream cannot be null."));
+                });
+
+                runner.test("with empty", (Test test) ->
+                {
+                    final JSONByteInput input = JSONByteInput.create(InMemoryByteStream.create(new byte[0]).endOfStream());
+                    final byte[] buffer = new byte[3];
+                    test.assertEqual(-1, input.read(buffer, 0, 3));
+                });
+
+                runner.test("with more bytes than the buffer", (Test test) ->
+                {
+                    final JSONByteInput input = JSONByteInput.create(InMemoryByteStream.create(new byte[] { 1, 2, 3, 4, 5 }).endOfStream());
+                    final byte[] buffer = new byte[3];
+                    test.assertEqual(3, input.read(buffer, 0, 3));
+                    test.assertEqual(new byte[] { 1, 2, 3 }, buffer);
+                    test.assertEqual(2, input.read(buffer, 1, 2));
+                    test.assertEqual(new byte[] { 1, 4, 5 }, buffer);
+                    test.assertEqual(-1, input.read(buffer, 0, 3));
+                });
+            });
+
+            runner.testGroup("create(byte[])", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONByteInput.create((byte[])null),
+                        new PreConditionFailure("bytes cannot be null."));
+                });
+
+                runner.test("with empty", (Test test) ->
+                {
+                    final JSONByteInput input = JSONByteInput.create(new byte[0]);
+                    final byte[] buffer = new byte[3];
+                    test.assertEqual(-1, input.read(buffer, 0, 3));
+                });
+
+                runner.test("with more bytes than the buffer", (Test test) ->
+                {
+                    final JSONByteInput input = JSONByteInput.create(new byte[] { 1, 2, 3, 4, 5 });
+                    final byte[] buffer = new byte[3];
+                    test.assertEqual(3, input.read(buffer, 0, 3));
+                    test.assertEqual(new byte[] { 1, 2, 3 }, buffer);
+                    test.assertEqual(2, input.read(buffer, 1, 2));
+                    test.assertEqual(new byte[] { 1, 4, 5 }, buffer);
+                    test.assertEqual(-1, input.read(buffer, 0, 3));
+                });
+            });
+
+            runner.testGroup("create(String)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONByteInput.create((String)null),
+                        new PreConditionFailure("text cannot be null."));
+                });
+
+                runner.test("with empty", (Test test) ->
+                {
+                    final JSONByteInput input = JSONByteInput.create("");
+                    final byte[] buffer = new byte[3];
+                    test.assertEqual(-1, input.read(buffer, 0, 3));
+                });
+
+                runner.test("with more bytes than the buffer", (Test test) ->
+                {
+                    final JSONByteInput input = JSONByteInput.create("abcde");
+                    final byte[] buffer = new byte[3];
+                    test.assertEqual(3, input.read(buffer, 0, 3));
+                    test.assertEqual(new byte[] { 'a', 'b', 'c' }, buffer);
+                    test.assertEqual(2, input.read(buffer, 1, 2));
+                    test.assertEqual(new byte[] { 'a', 'd', 'e' }, buffer);
+                    test.assertEqual(-1, input.read(buffer, 0, 3));
+                });
+
+                final Action2<String,Integer> readAllTest = (String text, Integer bufferLength) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text) + " and a " + bufferLength + " byte buffer", (Test test) ->
+                    {
+                        final JSONByteInput input = JSONByteInput.create(text);
+                        final java.io.ByteArrayOutputStream bytes = new java.io.ByteArrayOutputStream();
+                        final byte[] buffer = new byte[bufferLength];
+                        int bytesRead;
+                        while ((bytesRead = input.read(buffer, 0, bufferLength)) != -1)
+                        {
+                            test.assertTrue(bytesRead > 0);
+                            bytes.write(buffer, 0, bytesRead);
+                        }
+                        test.assertEqual(text.getBytes(java.nio.charset.StandardCharsets.UTF_8), bytes.toByteArray());
+                    });
+                };
+
+                readAllTest.run("[1, \"caf\u00E9\"]", 1);
+                readAllTest.run("\u20AC\u20AC", 2);
+                readAllTest.run("a\uD83D\uDE00b", 3);
+                readAllTest.run("a\uD83D\uDE00b", 1024);
+                readAllTest.run("\uD83Da", 1);
+            });
+        });
+    }
+}
@@ -0,0 +1,255 @@
+package qub;
+
+public interface JSONCodecGeneratorTests
+{
+    static void test(TestRunner runner)
+    {
+        PreCondition.assertNotNull(runner, "runner");
+
+        runner.testGroup(JSONCodecGenerator.class, () ->
+        {
+            final Function0<String> getCompileClasspath = () ->
+            {
+                // The test runner's class path doesn't always contain the library (for example
+                // when the tests run from a custom class loader), so the folders or jars that the
+                // library's classes were loaded from come first.
+                final List<String> classpath = List.create();
+                for (final java.lang.Class<?> type : new java.lang.Class<?>[] { JSONCodecGenerator.class, Result.class })
+                {
+                    final java.security.CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+                    if (codeSource != null && codeSource.getLocation() != null)
+                    {
+                        try
+                        {
+                            classpath.add(java.nio.file.Paths.get(codeSource.getLocation().toURI()).toString());
+                        }
+                        catch (java.net.URISyntaxException e)
+                        {
+                            throw new java.lang.IllegalStateException(e);
+                        }
+                    }
+                }
+                classpath.add(java.lang.System.getProperty("java.class.path"));
+                return java.lang.String.join(java.io.File.pathSeparator, classpath);
+            };
+
+            final Function2<String,JSONObject,JSONCodec<Object>> compileCodec = (String className, JSONObject schema) ->
+            {
+                final String packageName = "generated";
+                final String source = JSONCodecGenerator.generate(packageName, className, schema).await();
+                try
+                {
+                    final java.nio.file.Path folder = java.nio.file.Files.createTempDirectory("qub-json-codec");
+                    final java.nio.file.Path sourceFile = folder.resolve(className + ".java");
+                    java.nio.file.Files.write(sourceFile, source.getBytes(java.nio.charset.StandardCharsets.UTF_8));
+
+                    final javax.tools.JavaCompiler compiler = javax.tools.ToolProvider.getSystemJavaCompiler();
+                    if (compiler == null)
+                    {
+                        throw new java.lang.IllegalStateException("No system Java compiler is available to compile the generated codecs. Run the tests with a JDK instead of a JRE.");
+                    }
+                    final java.io.ByteArrayOutputStream errors = new java.io.ByteArrayOutputStream();
+                    final int exitCode = compiler.run(null, errors, errors,
+                        "-encoding", "UTF-8",
+                        "-classpath", getCompileClasspath.run(),
+                        "-d", folder.toString(),
+                        sourceFile.toString());
+                    try (final java.util.stream.Stream<java.nio.file.Path> files = java.nio.file.Files.walk(folder))
+                    {
+                        files.forEach((java.nio.file.Path file) -> file.toFile().deleteOnExit());
+                    }
+                    if (exitCode != 0)
+                    {
+                        throw new java.lang.IllegalStateException("The generated source didn't compile:\n" + errors.toString("UTF-8") + "\n" + source);
+                    }
+
+                    final java.net.URLClassLoader classLoader = new java.net.URLClassLoader(new java.net.URL[] { folder.toUri().toURL() }, JSONCodecGeneratorTests.class.getClassLoader());
+                    @SuppressWarnings("unchecked")
+                    final JSONCodec<Object> result = (JSONCodec<Object>)classLoader.loadClass(packageName + "." + className).getField("codec").get(null);
+                    return result;
+                }
+                catch (java.io.IOException e)
+                {
+                    throw new java.io.UncheckedIOException(e);
+                }
+                catch (java.lang.ReflectiveOperationException e)
+                {
+                    throw new java.lang.IllegalStateException(e);
+                }
+            };
+
+            final Function2<Object,String,Object> getField = (Object value, String fieldName) ->
+            {
+                try
+                {
+                    return value.getClass().getField(fieldName).get(value);
+                }
+                catch (java.lang.ReflectiveOperationException e)
+                {
+                    throw new java.lang.IllegalStateException(e);
+                }
+            };
+
+            runner.testGroup("generate(String,String,JSONObject)", () ->
+            {
+                runner.test("with null packageName", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONCodecGenerator.generate(null, "A", JSONObject.create()),
+                        new PreConditionFailure("packageName cannot be null."));
+                });
+
+                runner.test("with invalid packageName", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONCodecGenerator.generate("a..b", "A", JSONObject.create()),
+                        new PreConditionFailure("packageName.isEmpty() || javax.lang.model.SourceVersion.isName(packageName) cannot be false."));
+                });
+
+                runner.test("with null className", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONCodecGenerator.generate("a", null, JSONObject.create()),
+                        new PreConditionFailure("className cannot be null."));
+                });
+
+                runner.test("with empty className", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONCodecGenerator.generate("a", "", JSONObject.create()),
+                        new PreConditionFailure("className cannot be empty."));
+                });
+
+                runner.test("with keyword className", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONCodecGenerator.generate("a", "class", JSONObject.create()),
+                        new PreConditionFailure("JSONCodecGenerator.isIdentifier(className) cannot be false."));
+                });
+
+                runner.test("with null schema", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONCodecGenerator.generate("a", "A", null),
+                        new PreConditionFailure("schema cannot be null."));
+                });
+
+                final Action2<String,Throwable> generateErrorTest = (String schemaText, Throwable expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(schemaText), (Test test) ->
+                    {
+                        final JSONObject schema = JSON.parseObject(schemaText).await();
+                        test.assertThrows(() -> JSONCodecGenerator.generate("a", "A", schema).await(), expected);
+                    });
+                };
+
+                generateErrorTest.run("{\"properties\": {\"my-name\": {}}}", new ParseException("Expected the property name \"my-name\" to be a Java identifier other than \"codec\"."));
+                generateErrorTest.run("{\"properties\": {\"codec\": {}}}", new ParseException("Expected the property name \"codec\" to be a Java identifier other than \"codec\"."));
+                generateErrorTest.run("{\"properties\": {\"a\": 5}}", new WrongTypeException("Expected the property named \"a\" to be a JSONObject, but was a JSONNumber instead."));
+                generateErrorTest.run("{\"properties\": {\"a\": {\"$ref\": \"#/definitions/b\"}}}", new ParseException("Expected the $ref \"#/definitions/b\" to be \"#\"."));
+                generateErrorTest.run("{\"properties\": {\"a\": {\"type\": \"object\", \"title\": \"A\"}}}", new ParseException("Expected the object class name \"A\" to be unique."));
+                generateErrorTest.run("{\"properties\": {\"codec2\": {\"type\": \"object\", \"title\": \"Codec\"}}}", new ParseException("Expected the object class name \"Codec\" to be unique."));
+                generateErrorTest.run("{\"properties\": {\"a\": {\"type\": \"object\"}, \"b\": {\"type\": \"object\", \"title\": \"A\"}}}", new ParseException("Expected the object class name \"A\" to be unique."));
+                generateErrorTest.run("{\"properties\": {\"a\": {\"type\": \"object\", \"title\": \"a b\"}}}", new ParseException("Expected the object class name \"a b\" to be a Java identifier."));
+
+                runner.test("with empty schema", (Test test) ->
+                {
+                    final JSONCodec<Object> codec = compileCodec.run("Empty", JSONObject.create());
+                    test.assertEqual("{}", codec.toString(codec.parse("{}").await()));
+                    test.assertEqual("{}", codec.toString(codec.parse("{\"a\": [1, {\"b\": null}], \"c\": \"d\"}").await()));
+                    test.assertNull(codec.parse("null").await());
+                    test.assertThrows(() -> codec.parse("[]").await(),
+                        new WrongTypeException("Expected value to be a JSONObject or JSONNull, but was a JSONArray instead."));
+                });
+
+                final JSONObject itemSchema = JSON.parseObject(
+                    "{" +
+                    "\"type\": \"object\"," +
+                    "\"required\": [\"id\", \"on\"]," +
+                    "\"properties\": {" +
+                        "\"id\": {\"type\": \"integer\"}," +
+                        "\"rank\": {\"type\": \"integer\"}," +
+                        "\"on\": {\"type\": \"boolean\"}," +
+                        "\"name\": {\"type\": \"string\"}," +
+                        "\"tags\": {\"type\": \"array\", \"items\": {\"type\": \"string\"}}," +
+                        "\"owner\": {\"type\": \"object\", \"properties\": {\"x\": {\"type\": \"number\"}}}," +
+                        "\"parent\": {\"$ref\": \"#\"}," +
+                        "\"extra\": {}" +
+                    "}" +
+                    "}").await();
+
+                runner.test("with properties round trip", (Test test) ->
+                {
+                    final JSONCodec<Object> codec = compileCodec.run("Item", itemSchema);
+                    final Action1<String> roundTripTest = (String text) ->
+                    {
+                        test.assertEqual(text, codec.toString(codec.parse(text).await()));
+                    };
+
+                    roundTripTest.run("{\"id\":1,\"rank\":null,\"on\":false,\"name\":null,\"tags\":null,\"owner\":null,\"parent\":null,\"extra\":null}");
+                    roundTripTest.run("{\"id\":-9223372036854775808,\"rank\":9223372036854775807,\"on\":true,\"name\":\"abc\",\"tags\":[],\"owner\":{\"x\":null},\"parent\":null,\"extra\":[]}");
+                    roundTripTest.run("{\"id\":2,\"rank\":3,\"on\":true,\"name\":\"a\\\"b\\\\c\\nd\\u0001 caf\u00E9\",\"tags\":[\"x\",null,\"\\\"\"],\"owner\":{\"x\":1.5}," +
+                        "\"parent\":{\"id\":3,\"rank\":null,\"on\":false,\"name\":\"\",\"tags\":null,\"owner\":null,\"parent\":null,\"extra\":null},\"extra\":{\"k\":[1,{}]}}");
+                });
+
+                runner.test("with properties decode", (Test test) ->
+                {
+                    final JSONCodec<Object> codec = compileCodec.run("Item", itemSchema);
+                    final Object item = codec.parse("{\"unknown\": [1, {\"id\": 5}], \"name\": \"\\u0041\\t'\\/\", \"id\": 1e3, \"on\": true, \"rank\": 9007199254740993, \"id\": 7}").await();
+                    test.assertEqual(7L, getField.run(item, "id"));
+                    test.assertEqual(9007199254740993L, getField.run(item, "rank"));
+                    test.assertEqual(true, getField.run(item, "on"));
+                    test.assertEqual("A\t'/", getField.run(item, "name"));
+                    test.assertNull(getField.run(item, "owner"));
+
+                    final Action2<String,Throwable> decodeErrorTest = (String text, Throwable expected) ->
+                    {
+                        test.assertThrows(() -> codec.parse(text).await(), expected);
+                    };
+
+                    decodeErrorTest.run("{}", new ParseException("Expected value to contain the property named \"id\"."));
+                    decodeErrorTest.run("{\"id\": 1, \"rank\": 2}", new ParseException("Expected value to contain the property named \"on\"."));
+                    decodeErrorTest.run("{\"id\": 1, \"on\": true, \"parent\": {\"on\": false}}", new ParseException("Expected the property named \"parent\" to contain the property named \"id\"."));
+                    decodeErrorTest.run("{\"id\": 9223372036854775808, \"on\": true}", new WrongTypeException("Expected the property named \"id\" to be a whole number between -9223372036854775808 and 9223372036854775807, but was 9223372036854775808 instead."));
+                    decodeErrorTest.run("{\"id\": 1.5, \"on\": true}", new WrongTypeException("Expected the property named \"id\" to be a whole number between -9223372036854775808 and 9223372036854775807, but was 1.5 instead."));
+                    decodeErrorTest.run("{\"id\": null, \"on\": true}", new WrongTypeException("Expected the property named \"id\" to be a JSONNumber, but was a JSONNull instead."));
+                    decodeErrorTest.run("{\"id\": 1, \"on\": true, \"name\": 5}", new WrongTypeException("Expected the property named \"name\" to be a JSONString or JSONNull, but was a JSONNumber instead."));
+                    decodeErrorTest.run("{\"id\": 1, \"on\": true, \"tags\": [1]}", new WrongTypeException("Expected an element of the property named \"tags\" to be a JSONString or JSONNull, but was a JSONNumber instead."));
+                    decodeErrorTest.run("{\"id\": 1, \"on\": true,}", new ParseException("Expected quoted-string object property name."));
+                    decodeErrorTest.run("{\"id\" 1}", new ParseException("Expected object property name and value separator (':')."));
+                    decodeErrorTest.run("{\"id\": 1", new ParseException("Missing object right curly bracket ('}')."));
+                });
+
+                runner.test("with more than 64 required properties", (Test test) ->
+                {
+                    final JSONObject properties = JSONObject.create();
+                    final JSONArray required = JSONArray.create();
+                    final StringBuilder text = new StringBuilder("{");
+                    for (int i = 0; i < 70; ++i)
+                    {
+                        properties.set("p" + i, JSON.parseObject("{\"type\": \"integer\"}").await());
+                        required.add(JSONString.get("p" + i));
+                        text.append(i == 0 ? "" : ",").append("\"p").append(i).append("\":").append(i);
+                    }
+                    text.append("}");
+                    final JSONObject schema = JSONObject.create()
+                        .set("required", required)
+                        .set("properties", properties);
+
+                    final JSONCodec<Object> codec = compileCodec.run("Wide", schema);
+                    test.assertEqual(text.toString(), codec.toString(codec.parse(text.toString()).await()));
+                    test.assertThrows(() -> codec.parse(text.toString().replace("\"p66\":66,", "")).await(),
+                        new ParseException("Expected value to contain the property named \"p66\"."));
+                });
+
+                runner.test("with non-ASCII property name", (Test test) ->
+                {
+                    final JSONObject schema = JSON.parseObject("{\"properties\": {\"caf\u00E9\": {\"type\": \"string\"}}}").await();
+                    final String source = JSONCodecGenerator.generate("", "A", schema).await();
+                    for (int i = 0; i < source.length(); ++i)
+                    {
+                        test.assertTrue(source.charAt(i) <= '~');
+                    }
+
+                    final JSONCodec<Object> codec = compileCodec.run("A", schema);
+                    test.assertEqual("{\"caf\u00E9\":\"\u00E9\"}", codec.toString(codec.parse("{\"caf\u00E9\": \"\\u00E9\"}").await()));
+                    test.assertEqual("{\"caf\u00E9\":null}", codec.toString(codec.parse("{\"cafe\": \"e\"}").await()));
+                });
+            });
+        });
+    }
+}
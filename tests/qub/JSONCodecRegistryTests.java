@@ -0,0 +1,233 @@
+package qub;
+
+public interface JSONCodecRegistryTests
+{
+    class Point
+    {
+        int x;
+        int y;
+    }
+
+    class NoParameterlessConstructor
+    {
+        int value;
+
+        NoParameterlessConstructor(int value)
+        {
+            this.value = value;
+        }
+    }
+
+    class HasUnsupportedField
+    {
+        NoParameterlessConstructor field;
+    }
+
+    class HasUnsupportedListField
+    {
+        List<java.lang.Iterable<String>> field;
+    }
+
+    static void test(TestRunner runner)
+    {
+        PreCondition.assertNotNull(runner, "runner");
+
+        runner.testGroup(JSONCodecRegistry.class, () ->
+        {
+            runner.testGroup("set(Class<T>,JSONCodec<T>)", () ->
+            {
+                runner.test("with null type", (Test test) ->
+                {
+                    final JSONCodecRegistry registry = JSONCodecRegistry.create();
+                    test.assertThrows(() -> registry.set(null, registry.get(String.class).await()),
+                        new PreConditionFailure("type cannot be null."));
+                });
+
+                runner.test("with null codec", (Test test) ->
+                {
+                    final JSONCodecRegistry registry = JSONCodecRegistry.create();
+                    test.assertThrows(() -> registry.set(String.class, null),
+                        new PreConditionFailure("codec cannot be null."));
+                });
+
+                runner.test("with built-in type", (Test test) ->
+                {
+                    final JSONCodecRegistry registry = JSONCodecRegistry.create();
+                    final JSONCodec<Integer> integerCodec = registry.get(int.class).await();
+                    test.assertSame(registry, registry.set(Integer.class, integerCodec));
+                    test.assertSame(integerCodec, registry.get(Integer.class).await());
+                    test.assertThrows(() -> registry.get(Integer.class).await().parse("null").await(),
+                        new WrongTypeException("Expected value to be a JSONNumber, but was a JSONNull instead."));
+                });
+            });
+
+            runner.testGroup("get(Class<T>)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONCodecRegistry.create().get(null),
+                        new PreConditionFailure("type cannot be null."));
+                });
+
+                runner.test("with same type twice", (Test test) ->
+                {
+                    final JSONCodecRegistry registry = JSONCodecRegistry.create();
+                    final JSONCodec<Point> codec = registry.get(Point.class).await();
+                    test.assertSame(codec, registry.get(Point.class).await());
+                });
+
+                final Action2<java.lang.Class<?>,Throwable> getErrorTest = (java.lang.Class<?> type, Throwable expected) ->
+                {
+                    runner.test("with " + type.getName(), (Test test) ->
+                    {
+                        test.assertThrows(() -> JSONCodecRegistry.create().get(type).await(), expected);
+                    });
+                };
+
+                getErrorTest.run(float.class, new NotFoundException("No JSONCodec exists for the type float."));
+                getErrorTest.run(int[].class, new NotFoundException("No JSONCodec exists for the type [I."));
+                getErrorTest.run(Runnable.class, new NotFoundException("No JSONCodec exists for the type java.lang.Runnable."));
+                getErrorTest.run(JSONTokenType.class, new NotFoundException("No JSONCodec exists for the type qub.JSONTokenType."));
+                getErrorTest.run(NoParameterlessConstructor.class, new NotFoundException("No JSONCodec exists for the type qub.JSONCodecRegistryTests$NoParameterlessConstructor, and it can't be created because the type doesn't have a parameterless constructor."));
+                getErrorTest.run(HasUnsupportedField.class, new NotFoundException("No JSONCodec exists for the type qub.JSONCodecRegistryTests$NoParameterlessConstructor, and it can't be created because the type doesn't have a parameterless constructor."));
+                getErrorTest.run(HasUnsupportedListField.class, new NotFoundException("No JSONCodec exists for the type java.lang.Iterable<java.lang.String>."));
+
+                runner.test("with type whose field type gets a codec after an error", (Test test) ->
+                {
+                    final JSONCodecRegistry registry = JSONCodecRegistry.create();
+                    test.assertThrows(() -> registry.get(HasUnsupportedField.class).await(),
+                        new NotFoundException("No JSONCodec exists for the type qub.JSONCodecRegistryTests$NoParameterlessConstructor, and it can't be created because the type doesn't have a parameterless constructor."));
+
+                    final JSONCodec<Integer> integerCodec = registry.get(int.class).await();
+                    registry.set(NoParameterlessConstructor.class, new JSONCodec<NoParameterlessConstructor>()
+                    {
+                        @Override
+                        public NoParameterlessConstructor decode(JSONTokenizer tokenizer, String valueName)
+                        {
+                            return new NoParameterlessConstructor(integerCodec.decode(tokenizer, valueName));
+                        }
+
+                        @Override
+                        public int encode(NoParameterlessConstructor value, IndentedCharacterWriteStream stream, JSONFormat format)
+                        {
+                            return integerCodec.encode(value.value, stream, format);
+                        }
+                    });
+
+                    final JSONCodec<HasUnsupportedField> codec = registry.get(HasUnsupportedField.class).await();
+                    final HasUnsupportedField value = codec.parse("{\"field\": 7}").await();
+                    test.assertEqual(7, value.field.value);
+                    test.assertEqual("{\"field\":7}", codec.toString(value));
+                });
+            });
+
+            runner.testGroup("built-in codecs", () ->
+            {
+                final JSONCodecRegistry registry = JSONCodecRegistry.create();
+
+                final Action3<java.lang.Class<?>,String,Object> parseTest = (java.lang.Class<?> type, String text, Object expected) ->
+                {
+                    runner.test("parse " + Strings.escapeAndQuote(text) + " as " + type.getSimpleName(), (Test test) ->
+                    {
+                        test.assertEqual(expected, registry.get(type).await().parse(text).await());
+                    });
+                };
+
+                parseTest.run(String.class, "\"abc\"", "abc");
+                parseTest.run(String.class, "null", null);
+                parseTest.run(String.class, "\"a\\\"b\"", "a\"b");
+                parseTest.run(String.class, "\"a\\\\b\"", "a\\b");
+                parseTest.run(String.class, "\"a\\nb\"", "a\nb");
+                parseTest.run(String.class, "\"caf\\u00e9\"", "caf\u00E9");
+                parseTest.run(String.class, "'a\\'b'", "a'b");
+                parseTest.run(java.lang.Boolean.class, "true", true);
+                parseTest.run(java.lang.Boolean.class, "null", null);
+                parseTest.run(boolean.class, "false", false);
+                parseTest.run(Integer.class, "-12", -12);
+                parseTest.run(Integer.class, "1e3", 1000);
+                parseTest.run(Integer.class, "2.0", 2);
+                parseTest.run(Integer.class, "null", null);
+                parseTest.run(int.class, "2147483647", 2147483647);
+                parseTest.run(java.lang.Long.class, "9007199254740993", 9007199254740993L);
+                parseTest.run(long.class, "-1", -1L);
+                parseTest.run(long.class, "9223372036854775807", java.lang.Long.MAX_VALUE);
+                parseTest.run(long.class, "-9223372036854775808", java.lang.Long.MIN_VALUE);
+                parseTest.run(long.class, "-9.223372036854775808e18", java.lang.Long.MIN_VALUE);
+                parseTest.run(Double.class, "1.5", 1.5);
+                parseTest.run(Double.class, "null", null);
+                parseTest.run(double.class, "-2e-1", -0.2);
+                parseTest.run(JSONSegment.class, "null", JSONNull.segment);
+                parseTest.run(JSONSegment.class, "[1]", JSON.parseArray("[1]").await());
+                parseTest.run(JSONObject.class, "{\"a\":1}", JSON.parseObject("{\"a\":1}").await());
+                parseTest.run(JSONObject.class, "null", null);
+                parseTest.run(JSONNumber.class, "7", JSONNumber.get(7));
+
+                final Action3<java.lang.Class<?>,String,Throwable> parseErrorTest = (java.lang.Class<?> type, String text, Throwable expected) ->
+                {
+                    runner.test("parse " + Strings.escapeAndQuote(text) + " as " + type.getSimpleName(), (Test test) ->
+                    {
+                        test.assertThrows(() -> registry.get(type).await().parse(text).await(), expected);
+                    });
+                };
+
+                parseErrorTest.run(String.class, "1", new WrongTypeException("Expected value to be a JSONString or JSONNull, but was a JSONNumber instead."));
+                parseErrorTest.run(boolean.class, "null", new WrongTypeException("Expected value to be a JSONBoolean, but was a JSONNull instead."));
+                parseErrorTest.run(int.class, "null", new WrongTypeException("Expected value to be a JSONNumber, but was a JSONNull instead."));
+                parseErrorTest.run(int.class, "1.5", new WrongTypeException("Expected value to be a whole number between -2147483648 and 2147483647, but was 1.5 instead."));
+                parseErrorTest.run(int.class, "2147483648", new WrongTypeException("Expected value to be a whole number between -2147483648 and 2147483647, but was 2147483648 instead."));
+                parseErrorTest.run(long.class, "9223372036854775808", new WrongTypeException("Expected value to be a whole number between -9223372036854775808 and 9223372036854775807, but was 9223372036854775808 instead."));
+                parseErrorTest.run(long.class, "9223372036854776000", new WrongTypeException("Expected value to be a whole number between -9223372036854775808 and 9223372036854775807, but was 9223372036854776000 instead."));
+                parseErrorTest.run(java.lang.Long.class, "-9223372036854775809", new WrongTypeException("Expected value to be a whole number between -9223372036854775808 and 9223372036854775807, but was -9223372036854775809 instead."));
+                parseErrorTest.run(long.class, "9.223372036854775807e18", new WrongTypeException("Expected value to be a whole number between -9223372036854775808 and 9223372036854775807, but was 9.223372036854775807e18 instead."));
+                parseErrorTest.run(Double.class, "{}", new WrongTypeException("Expected value to be a JSONNumber or JSONNull, but was a JSONObject instead."));
+                parseErrorTest.run(Double.class, "[1", new ParseException("Missing array right square bracket (']')."));
+                parseErrorTest.run(JSONArray.class, "{}", new WrongTypeException("Expected value to be a JSONArray or JSONNull, but was a JSONObject instead."));
+
+                final Action3<java.lang.Class<?>,Object,String> toStringTest = (java.lang.Class<?> type, Object value, String expected) ->
+                {
+                    runner.test("toString " + value + " as " + type.getSimpleName(), (Test test) ->
+                    {
+                        @SuppressWarnings("unchecked")
+                        final JSONCodec<Object> codec = (JSONCodec<Object>)registry.get(type).await();
+                        test.assertEqual(expected, codec.toString(value));
+                    });
+                };
+
+                toStringTest.run(String.class, "abc", "\"abc\"");
+                toStringTest.run(String.class, null, "null");
+                toStringTest.run(String.class, "a\"b", "\"a\\\"b\"");
+                toStringTest.run(String.class, "a\\b", "\"a\\\\b\"");
+                toStringTest.run(String.class, "a'b", "\"a'b\"");
+                toStringTest.run(String.class, "caf\u00E9", "\"caf\u00E9\"");
+                toStringTest.run(java.lang.Boolean.class, true, "true");
+                toStringTest.run(Integer.class, -12, "-12");
+                toStringTest.run(java.lang.Long.class, 9007199254740993L, "9007199254740993");
+                toStringTest.run(Double.class, 1.5, "1.5");
+                toStringTest.run(Double.class, null, "null");
+                toStringTest.run(JSONSegment.class, JSON.parseObject("{\"a\": [true]}").await(), "{\"a\":[true]}");
+                toStringTest.run(JSONObject.class, null, "null");
+
+                final Action1<String> stringRoundTripTest = (String value) ->
+                {
+                    runner.test("round trip " + Strings.escapeAndQuote(value) + " as String", (Test test) ->
+                    {
+                        final JSONCodec<String> codec = registry.get(String.class).await();
+                        final String text = codec.toString(value);
+                        test.assertFalse(text.contains("\n"));
+                        test.assertEqual(value, codec.parse(text).await());
+                        test.assertEqual(value, ((JSONString)JSON.parse(text).await()).getUnescapedValue());
+                    });
+                };
+
+                stringRoundTripTest.run("");
+                stringRoundTripTest.run("abc");
+                stringRoundTripTest.run("\"");
+                stringRoundTripTest.run("a\\b\\");
+                stringRoundTripTest.run("line 1\nline 2\r\n");
+                stringRoundTripTest.run("\t\b\f");
+                stringRoundTripTest.run("\u0000\u001F\u007F");
+                stringRoundTripTest.run("caf\u00E9 \uD83D\uDE00");
+            });
+        });
+    }
+}
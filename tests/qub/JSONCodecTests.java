@@ -0,0 +1,182 @@
+package qub;
+
+public interface JSONCodecTests
+{
+    static void test(TestRunner runner)
+    {
+        PreCondition.assertNotNull(runner, "runner");
+
+        runner.testGroup(JSONCodec.class, () ->
+        {
+            final JSONCodecRegistry registry = JSONCodecRegistry.create();
+            final JSONCodec<Integer> integerCodec = registry.get(Integer.class).await();
+
+            runner.testGroup("parse(String)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> integerCodec.parse((String)null),
+                        new PreConditionFailure("text cannot be null."));
+                });
+
+                runner.test("with empty", (Test test) ->
+                {
+                    test.assertThrows(() -> integerCodec.parse("").await(),
+                        new ParseException("No JSON tokens found."));
+                });
+
+                runner.test("with only trivia", (Test test) ->
+                {
+                    test.assertThrows(() -> integerCodec.parse(" // comment").await(),
+                        new ParseException("No JSON tokens found."));
+                });
+
+                runner.test("with value", (Test test) ->
+                {
+                    test.assertEqual(12, integerCodec.parse(" /* c */ 12 ").await());
+                });
+
+                runner.test("with null value", (Test test) ->
+                {
+                    test.assertNull(integerCodec.parse("null").await());
+                });
+
+                runner.test("with wrong type", (Test test) ->
+                {
+                    test.assertThrows(() -> integerCodec.parse("[1]").await(),
+                        new WrongTypeException("Expected value to be a JSONNumber or JSONNull, but was a JSONArray instead."));
+                });
+            });
+
+            runner.testGroup("parse(ByteReadStream)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> integerCodec.parse((ByteReadStream)null),
+                        new PreConditionFailure("bytes cannot be null."));
+                });
+
+                runner.test("with value", (Test test) ->
+                {
+                    final InMemoryByteStream bytes = InMemoryByteStream.create("\"caf\u00E9\"".getBytes(java.nio.charset.StandardCharsets.UTF_8)).endOfStream();
+                    test.assertEqual("caf\u00E9", registry.get(String.class).await().parse(bytes).await());
+                });
+            });
+
+            runner.testGroup("parse(JSONTokenizer)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> integerCodec.parse((JSONTokenizer)null),
+                        new PreConditionFailure("tokenizer cannot be null."));
+                });
+
+                runner.test("with started tokenizer", (Test test) ->
+                {
+                    final JSONTokenizer tokenizer = JSON.createTokenizer("1 2");
+                    test.assertEqual(1, integerCodec.parse(tokenizer).await());
+                    test.assertEqual(2, integerCodec.parse(tokenizer).await());
+                    test.assertFalse(tokenizer.hasCurrent());
+                });
+            });
+
+            runner.testGroup("toString(T)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertEqual("null", integerCodec.toString(null));
+                });
+
+                runner.test("with value", (Test test) ->
+                {
+                    test.assertEqual("-5", integerCodec.toString(-5));
+                });
+            });
+
+            runner.testGroup("toString(T,JSONFormat)", () ->
+            {
+                final JSONCodec<List<Integer>> listCodec = JSONCodec.list(integerCodec);
+
+                runner.test("with null format", (Test test) ->
+                {
+                    test.assertThrows(() -> listCodec.toString(List.create(1), (JSONFormat)null),
+                        new PreConditionFailure("format cannot be null."));
+                });
+
+                runner.test("with pretty format", (Test test) ->
+                {
+                    test.assertEqual("[\n  1,\n  2\n]", listCodec.toString(List.create(1, 2), JSONFormat.pretty));
+                });
+            });
+
+            runner.testGroup("toString(T,CharacterWriteStream)", () ->
+            {
+                runner.test("with null stream", (Test test) ->
+                {
+                    test.assertThrows(() -> integerCodec.toString(1, (CharacterWriteStream)null),
+                        new PreConditionFailure("stream cannot be null."));
+                });
+
+                runner.test("with value", (Test test) ->
+                {
+                    final InMemoryCharacterToByteStream stream = InMemoryCharacterToByteStream.create();
+                    test.assertEqual(3, integerCodec.toString(100, stream).await());
+                    test.assertEqual("100", stream.getText().await());
+                });
+            });
+
+            runner.testGroup("list(JSONCodec<T>)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONCodec.list(null),
+                        new PreConditionFailure("elementCodec cannot be null."));
+                });
+
+                final JSONCodec<List<Integer>> listCodec = JSONCodec.list(integerCodec);
+
+                final Action2<String,List<Integer>> parseTest = (String text, List<Integer> expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        test.assertEqual(expected, listCodec.parse(text).await());
+                    });
+                };
+
+                parseTest.run("null", null);
+                parseTest.run("[]", List.create());
+                parseTest.run("[1]", List.create(1));
+                parseTest.run("[1, null, 3]", List.create(1, null, 3));
+
+                final Action2<String,Throwable> parseErrorTest = (String text, Throwable expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        test.assertThrows(() -> listCodec.parse(text).await(), expected);
+                    });
+                };
+
+                parseErrorTest.run("[", new ParseException("Missing array right square bracket (']')."));
+                parseErrorTest.run("[1,", new ParseException("Missing array element."));
+                parseErrorTest.run("[1,]", new ParseException("Expected array element."));
+                parseErrorTest.run("[,]", new ParseException("Expected array element."));
+                parseErrorTest.run("[1 2]", new ParseException("Expected array element separator (',') or right square bracket (']')."));
+                parseErrorTest.run("[1}", new ParseException("Unexpected array element token: \"}\""));
+                parseErrorTest.run("{}", new WrongTypeException("Expected value to be a JSONArray or JSONNull, but was a JSONObject instead."));
+                parseErrorTest.run("[1, \"2\"]", new WrongTypeException("Expected an element of value to be a JSONNumber or JSONNull, but was a JSONString instead."));
+
+                final Action2<List<List<Integer>>,String> toStringTest = (List<List<Integer>> value, String expected) ->
+                {
+                    runner.test("with " + value, (Test test) ->
+                    {
+                        test.assertEqual(expected, JSONCodec.list(listCodec).toString(value));
+                    });
+                };
+
+                toStringTest.run(null, "null");
+                toStringTest.run(List.create(), "[]");
+                toStringTest.run(List.create(List.create(1, 2), null, List.create()), "[[1,2],null,[]]");
+            });
+        });
+    }
+}
@@ -0,0 +1,121 @@
+package qub;
+
+public interface JSONDocumentIteratorTests
+{
+    static void test(TestRunner runner)
+    {
+        PreCondition.assertNotNull(runner, "runner");
+
+        runner.testGroup(JSONDocumentIterator.class, () ->
+        {
+            runner.testGroup("create(String)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONDocumentIterator.create((String)null),
+                        new PreConditionFailure("text cannot be null."));
+                });
+
+                runner.test("with non-null", (Test test) ->
+                {
+                    final JSONDocumentIterator iterator = JSONDocumentIterator.create("1");
+                    test.assertFalse(iterator.hasStarted());
+                    test.assertFalse(iterator.hasCurrent());
+                });
+            });
+
+            runner.testGroup("create(ByteReadStream)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONDocumentIterator.create((ByteReadStream)null),
+                        new PreConditionFailure("bytes cannot be null."));
+                });
+
+                runner.test("with non-null", (Test test) ->
+                {
+                    final InMemoryByteStream bytes = InMemoryByteStream.create("{\"a\": \"caf\u00E9\"}\n{\"a\": 2}".getBytes(java.nio.charset.StandardCharsets.UTF_8)).endOfStream();
+                    final JSONDocumentIterator iterator = JSONDocumentIterator.create(bytes);
+                    test.assertEqual(
+                        Iterable.create(JSON.parse("{\"a\": \"caf\u00E9\"}").await(), JSON.parse("{\"a\": 2}").await()),
+                        iterator.toList());
+                });
+            });
+
+            runner.testGroup("create(JSONTokenizer)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONDocumentIterator.create((JSONTokenizer)null),
+                        new PreConditionFailure("tokenizer cannot be null."));
+                });
+
+                runner.test("with started tokenizer", (Test test) ->
+                {
+                    final JSONTokenizer tokenizer = JSONTokenizer.create("1 2 3");
+                    tokenizer.next();
+                    tokenizer.next();
+                    tokenizer.next();
+                    final JSONDocumentIterator iterator = JSONDocumentIterator.create(tokenizer);
+                    test.assertEqual(Iterable.create(JSONNumber.get(2), JSONNumber.get(3)), iterator.toList());
+                });
+            });
+
+            runner.testGroup("next()", () ->
+            {
+                final Action2<String,Iterable<String>> nextTest = (String text, Iterable<String> expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        final JSONDocumentIterator iterator = JSONDocumentIterator.create(text);
+                        final List<String> values = List.create();
+                        while (iterator.next())
+                        {
+                            test.assertTrue(iterator.hasStarted());
+                            values.add(iterator.getCurrent().toString());
+                        }
+                        test.assertEqual(expected, values);
+                        test.assertTrue(iterator.hasStarted());
+                        test.assertFalse(iterator.hasCurrent());
+                        test.assertFalse(iterator.next());
+                    });
+                };
+
+                nextTest.run("", Iterable.create());
+                nextTest.run(" \n // a", Iterable.create());
+                nextTest.run("1", Iterable.create("1"));
+                nextTest.run("{\"a\":1}{\"a\":2}", Iterable.create("{\"a\":1}", "{\"a\":2}"));
+                nextTest.run("[1][2, 3]", Iterable.create("[1]", "[2,3]"));
+                nextTest.run("1 \"b\" true null", Iterable.create("1", "\"b\"", "true", "null"));
+                nextTest.run("{\"a\": [1, {\"b\": 2}]}\n/* c */\n{\"a\": []}\r\n", Iterable.create("{\"a\":[1,{\"b\":2}]}", "{\"a\":[]}"));
+
+                runner.test("with invalid value", (Test test) ->
+                {
+                    final JSONDocumentIterator iterator = JSONDocumentIterator.create("{\"a\": 1} {\"a\" 2} {\"a\": 3}");
+                    test.assertTrue(iterator.next());
+                    test.assertEqual(JSON.parse("{\"a\": 1}").await(), iterator.getCurrent());
+                    test.assertThrows(() -> iterator.next(),
+                        new ParseException("Expected object property name and value separator (':')."));
+                    test.assertFalse(iterator.hasCurrent());
+                    test.assertFalse(iterator.next());
+                });
+
+                runner.test("with unexpected token", (Test test) ->
+                {
+                    final JSONDocumentIterator iterator = JSONDocumentIterator.create("1, 2");
+                    test.assertTrue(iterator.next());
+                    test.assertThrows(() -> iterator.next(),
+                        new ParseException("Unexpected JSON token: ,"));
+                });
+
+                runner.test("with missing closing bracket", (Test test) ->
+                {
+                    final JSONDocumentIterator iterator = JSONDocumentIterator.create("[1] [2");
+                    test.assertTrue(iterator.next());
+                    test.assertThrows(() -> iterator.next(),
+                        new ParseException("Missing array right square bracket (']')."));
+                });
+            });
+        });
+    }
+}
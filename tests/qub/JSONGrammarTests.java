@@ -0,0 +1,129 @@
+package qub;
+
+public interface JSONGrammarTests
+{
+    static void test(TestRunner runner)
+    {
+        PreCondition.assertNotNull(runner, "runner");
+
+        runner.testGroup(JSONGrammar.class, () ->
+        {
+            runner.testGroup("add(JSONToken)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONGrammar.create().add(null),
+                        new PreConditionFailure("token cannot be null."));
+                });
+
+                runner.test("with a top-level scalar", (Test test) ->
+                {
+                    final JSONGrammar grammar = JSONGrammar.create();
+                    test.assertEqual(JSONReaderEvent.NumberValue, grammar.add(JSONToken.number("12")));
+                    test.assertEqual(0, grammar.getDepth());
+                    test.assertEqual(JSONReaderEvent.StringValue, grammar.add(JSONToken.quotedString("\"a\"")));
+                    test.assertEqual(0, grammar.getDepth());
+                });
+
+                runner.test("with an object", (Test test) ->
+                {
+                    final JSONGrammar grammar = JSONGrammar.create();
+                    test.assertEqual(JSONReaderEvent.StartObject, grammar.add(JSONToken.leftCurlyBracket));
+                    test.assertEqual(1, grammar.getDepth());
+                    test.assertEqual(JSONReaderEvent.PropertyName, grammar.add(JSONToken.quotedString("\"a\"")));
+                    test.assertNull(grammar.add(JSONToken.colon));
+                    test.assertEqual(JSONReaderEvent.StartArray, grammar.add(JSONToken.leftSquareBracket));
+                    test.assertEqual(2, grammar.getDepth());
+                    test.assertEqual(JSONReaderEvent.BooleanValue, grammar.add(JSONToken.trueToken));
+                    test.assertNull(grammar.add(JSONToken.comma));
+                    test.assertEqual(JSONReaderEvent.NullValue, grammar.add(JSONToken.nullToken));
+                    test.assertEqual(JSONReaderEvent.EndArray, grammar.add(JSONToken.rightSquareBracket));
+                    test.assertEqual(1, grammar.getDepth());
+                    test.assertEqual(JSONReaderEvent.EndObject, grammar.add(JSONToken.rightCurlyBracket));
+                    test.assertEqual(0, grammar.getDepth());
+                });
+
+                final Action2<Iterable<JSONToken>,Throwable> addErrorTest = (Iterable<JSONToken> tokens, Throwable expected) ->
+                {
+                    runner.test("with " + tokens, (Test test) ->
+                    {
+                        final JSONGrammar grammar = JSONGrammar.create();
+                        test.assertThrows(() ->
+                        {
+                            for (final JSONToken token : tokens)
+                            {
+                                grammar.add(token);
+                            }
+                        },
+                        expected);
+                    });
+                };
+
+                addErrorTest.run(Iterable.create(JSONToken.colon), new ParseException("Unexpected JSON token: :"));
+                addErrorTest.run(Iterable.create(JSONToken.leftSquareBracket, JSONToken.comma), new ParseException("Expected array element."));
+                addErrorTest.run(Iterable.create(JSONToken.leftSquareBracket, JSONToken.nullToken, JSONToken.comma, JSONToken.rightSquareBracket), new ParseException("Expected array element."));
+                addErrorTest.run(Iterable.create(JSONToken.leftSquareBracket, JSONToken.nullToken, JSONToken.nullToken), new ParseException("Expected array element separator (',') or right square bracket (']')."));
+                addErrorTest.run(Iterable.create(JSONToken.leftSquareBracket, JSONToken.colon), new ParseException("Unexpected array element token: \":\""));
+                addErrorTest.run(Iterable.create(JSONToken.leftCurlyBracket, JSONToken.comma), new ParseException("Expected quoted-string object property name or right curly bracket ('}')."));
+                addErrorTest.run(Iterable.create(JSONToken.leftCurlyBracket, JSONToken.quotedString("''")), new ParseException("Expected object property name to be not empty."));
+                addErrorTest.run(Iterable.create(JSONToken.leftCurlyBracket, JSONToken.quotedString("'a'"), JSONToken.comma), new ParseException("Expected object property name and value separator (':')."));
+                addErrorTest.run(Iterable.create(JSONToken.leftCurlyBracket, JSONToken.quotedString("'a'"), JSONToken.colon, JSONToken.comma), new ParseException("Expected object property value."));
+                addErrorTest.run(Iterable.create(JSONToken.leftCurlyBracket, JSONToken.quotedString("'a'"), JSONToken.colon, JSONToken.colon), new ParseException("Unexpected object property value token: \":\""));
+                addErrorTest.run(Iterable.create(JSONToken.leftCurlyBracket, JSONToken.quotedString("'a'"), JSONToken.colon, JSONToken.nullToken, JSONToken.nullToken), new ParseException("Expected object property separator (',') or right curly bracket ('}')."));
+                addErrorTest.run(Iterable.create(JSONToken.leftCurlyBracket, JSONToken.quotedString("'a'"), JSONToken.colon, JSONToken.nullToken, JSONToken.comma, JSONToken.rightCurlyBracket), new ParseException("Expected quoted-string object property name."));
+            });
+
+            runner.testGroup("endValue()", () ->
+            {
+                runner.test("with no open values", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONGrammar.create().endValue(),
+                        new PreConditionFailure("this.getDepth() (0) must be greater than 0."));
+                });
+
+                runner.test("with an open array", (Test test) ->
+                {
+                    final JSONGrammar grammar = JSONGrammar.create();
+                    grammar.add(JSONToken.leftCurlyBracket);
+                    grammar.add(JSONToken.quotedString("\"a\""));
+                    grammar.add(JSONToken.colon);
+                    grammar.add(JSONToken.leftSquareBracket);
+                    grammar.endValue();
+                    test.assertEqual(1, grammar.getDepth());
+                    test.assertEqual(JSONReaderEvent.EndObject, grammar.add(JSONToken.rightCurlyBracket));
+                });
+            });
+
+            runner.testGroup("getMissingMessage()", () ->
+            {
+                runner.test("with no open values", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONGrammar.create().getMissingMessage(),
+                        new PreConditionFailure("this.getDepth() (0) must be greater than 0."));
+                });
+
+                final Action2<Iterable<JSONToken>,String> getMissingMessageTest = (Iterable<JSONToken> tokens, String expected) ->
+                {
+                    runner.test("with " + tokens, (Test test) ->
+                    {
+                        final JSONGrammar grammar = JSONGrammar.create();
+                        for (final JSONToken token : tokens)
+                        {
+                            grammar.add(token);
+                        }
+                        test.assertEqual(expected, grammar.getMissingMessage());
+                    });
+                };
+
+                getMissingMessageTest.run(Iterable.create(JSONToken.leftSquareBracket), "Missing array right square bracket (']').");
+                getMissingMessageTest.run(Iterable.create(JSONToken.leftSquareBracket, JSONToken.nullToken), "Missing array right square bracket (']').");
+                getMissingMessageTest.run(Iterable.create(JSONToken.leftSquareBracket, JSONToken.nullToken, JSONToken.comma), "Missing array element.");
+                getMissingMessageTest.run(Iterable.create(JSONToken.leftCurlyBracket), "Missing object right curly bracket ('}').");
+                getMissingMessageTest.run(Iterable.create(JSONToken.leftCurlyBracket, JSONToken.quotedString("'a'")), "Missing object property name and value separator (':').");
+                getMissingMessageTest.run(Iterable.create(JSONToken.leftCurlyBracket, JSONToken.quotedString("'a'"), JSONToken.colon), "Missing object property value.");
+                getMissingMessageTest.run(Iterable.create(JSONToken.leftCurlyBracket, JSONToken.quotedString("'a'"), JSONToken.colon, JSONToken.nullToken), "Missing object right curly bracket ('}').");
+                getMissingMessageTest.run(Iterable.create(JSONToken.leftCurlyBracket, JSONToken.quotedString("'a'"), JSONToken.colon, JSONToken.nullToken, JSONToken.comma), "Missing object property.");
+            });
+        });
+    }
+}
@@ -0,0 +1,45 @@
+package qub;
+
+public interface JSONHandlerTests
+{
+    static void test(TestRunner runner)
+    {
+        PreCondition.assertNotNull(runner, "runner");
+
+        runner.testGroup(JSONHandler.class, () ->
+        {
+            runner.test("with default callbacks", (Test test) ->
+            {
+                final JSONHandler handler = new JSONHandler()
+                {
+                };
+                test.assertTrue(handler.onObjectStart());
+                test.assertTrue(handler.onObjectEnd());
+                test.assertTrue(handler.onArrayStart());
+                test.assertTrue(handler.onArrayEnd());
+                test.assertTrue(handler.onPropertyName("a"));
+                test.assertTrue(handler.onString("a"));
+                test.assertTrue(handler.onNumber(1.5));
+                test.assertTrue(handler.onLong(1));
+                test.assertTrue(handler.onBoolean(true));
+                test.assertTrue(handler.onNull());
+            });
+
+            runner.test("onLong(long) passes the value to onNumber(double)", (Test test) ->
+            {
+                final List<Double> numbers = List.create();
+                final JSONHandler handler = new JSONHandler()
+                {
+                    @Override
+                    public boolean onNumber(double value)
+                    {
+                        numbers.add(value);
+                        return false;
+                    }
+                };
+                test.assertFalse(handler.onLong(12));
+                test.assertEqual(Iterable.create(12.0), numbers);
+            });
+        });
+    }
+}
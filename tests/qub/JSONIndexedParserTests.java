@@ -0,0 +1,109 @@
+package qub;
+
+public interface JSONIndexedParserTests
+{
+    static void test(TestRunner runner)
+    {
+        PreCondition.assertNotNull(runner, "runner");
+
+        runner.testGroup(JSONIndexedParser.class, () ->
+        {
+            runner.testGroup("parse(JSONStructuralIndex)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONIndexedParser.parse(null),
+                        new PreConditionFailure("index cannot be null."));
+                });
+
+                final Action2<String,JSONSegment> parseTest = (String text, JSONSegment expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        test.assertEqual(expected, JSONIndexedParser.parse(JSONStructuralIndex.create(text)).await());
+                    });
+                };
+
+                parseTest.run("null", JSONNull.segment);
+                parseTest.run("false", JSONBoolean.falseSegment);
+                parseTest.run("0", JSONNumber.get("0"));
+                parseTest.run("\"a\"", JSONString.get("a"));
+                parseTest.run("[[], {}]", JSONArray.create(JSONArray.create(), JSONObject.create()));
+                parseTest.run(
+                    "{\"a\": {\"b\": [1.5, 'c']}}",
+                    JSONObject.create(
+                        JSONProperty.create("a", JSONObject.create(
+                            JSONProperty.create("b", JSONArray.create(JSONNumber.get("1.5"), JSONString.get("c", '\'')))))));
+
+                final Action2<String,Throwable> parseErrorTest = (String text, Throwable expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        test.assertThrows(() -> JSONIndexedParser.parse(JSONStructuralIndex.create(text)).await(), expected);
+                    });
+                };
+
+                parseErrorTest.run("", new ParseException("Unexpected end of the document."));
+                parseErrorTest.run("[", new ParseException("Missing array right square bracket (']')."));
+                parseErrorTest.run("]", new ParseException("Unexpected JSON token: ]"));
+                parseErrorTest.run("[1] 2", new ParseException("Expected the end of the document at offset 4."));
+                parseErrorTest.run("[1 2]", new ParseException("Expected array element separator (',') or right square bracket (']')."));
+                parseErrorTest.run("[1, 2 3]", new ParseException("Expected array element separator (',') or right square bracket (']')."));
+                parseErrorTest.run("{1: 2}", new ParseException("Expected quoted-string object property name or right curly bracket ('}')."));
+                parseErrorTest.run("{\"a\" 2}", new ParseException("Expected object property name and value separator (':')."));
+                parseErrorTest.run("{\"a\": 2 \"b\"}", new ParseException("Expected object property separator (',') or right curly bracket ('}')."));
+                parseErrorTest.run("{'': 2}", new ParseException("Expected object property name to be not empty."));
+                parseErrorTest.run("1.", new ParseException("Unrecognized number or literal at offset 0."));
+                parseErrorTest.run("1e+", new ParseException("Unrecognized number or literal at offset 0."));
+                parseErrorTest.run("nul", new ParseException("Unrecognized number or literal at offset 0."));
+                parseErrorTest.run("[1,]", new ParseException("Expected array element."));
+                parseErrorTest.run("[1}", new ParseException("Unexpected array element token: \"}\""));
+                parseErrorTest.run("{\"a\": 1,}", new ParseException("Expected quoted-string object property name."));
+                parseErrorTest.run("{\"a\": [1]]", new ParseException("Expected object property separator (',') or right curly bracket ('}')."));
+                parseErrorTest.run("[{\"a\": 1}", new ParseException("Missing array right square bracket (']')."));
+
+                final Function2<String,String,String> repeat = (String start, String end) ->
+                {
+                    final int depth = 100000;
+                    final StringBuilder text = new StringBuilder();
+                    for (int i = 0; i < depth; ++i)
+                    {
+                        text.append(start);
+                    }
+                    text.append("1");
+                    for (int i = 0; i < depth; ++i)
+                    {
+                        text.append(end);
+                    }
+                    return text.toString();
+                };
+
+                runner.test("with deeply nested arrays", (Test test) ->
+                {
+                    JSONSegment segment = JSONIndexedParser.parse(JSONStructuralIndex.create(repeat.run("[", "]"))).await();
+                    for (int i = 0; i < 100000; ++i)
+                    {
+                        segment = ((JSONArray)segment).get(0);
+                    }
+                    test.assertEqual(JSONNumber.get(1), segment);
+                });
+
+                runner.test("with deeply nested objects and arrays", (Test test) ->
+                {
+                    JSONSegment segment = JSONIndexedParser.parse(JSONStructuralIndex.create(repeat.run("{\"a\":[", "]}"))).await();
+                    for (int i = 0; i < 100000; ++i)
+                    {
+                        segment = ((JSONArray)((JSONObject)segment).get("a").await()).get(0);
+                    }
+                    test.assertEqual(JSONNumber.get(1), segment);
+                });
+
+                runner.test("with deeply nested unclosed arrays", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONIndexedParser.parse(JSONStructuralIndex.create(repeat.run("[", ""))).await(),
+                        new ParseException("Missing array right square bracket (']')."));
+                });
+            });
+        });
+    }
+}
@@ -0,0 +1,195 @@
+package qub;
+
+public interface JSONLinesReaderTests
+{
+    static JSONLinesReader createReader(String text)
+    {
+        return JSONLinesReader.create(InMemoryByteStream.create(text.getBytes(java.nio.charset.StandardCharsets.UTF_8)).endOfStream());
+    }
+
+    static List<String> readAll(JSONLinesReader reader)
+    {
+        final List<String> result = List.create();
+        while (reader.next())
+        {
+            result.add(reader.getLineNumber() + ": " + reader.getCurrent());
+        }
+        return result;
+    }
+
+    static void test(TestRunner runner)
+    {
+        PreCondition.assertNotNull(runner, "runner");
+
+        runner.testGroup(JSONLinesReader.class, () ->
+        {
+            runner.testGroup("create(ByteReadStream)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONLinesReader.create((ByteReadStream)null),
+                        new PreConditionFailure("bytes cannot be null."));
+                });
+
+                runner.test("with non-null", (Test test) ->
+                {
+                    final JSONLinesReader reader = JSONLinesReaderTests.createReader("");
+                    test.assertFalse(reader.hasStarted());
+                    test.assertFalse(reader.hasCurrent());
+                    test.assertTrue(reader.isOrdered());
+                    test.assertEqual(java.lang.Runtime.getRuntime().availableProcessors(), reader.getThreadCount());
+                    test.assertFalse(reader.isDisposed());
+                });
+            });
+
+            runner.testGroup("create(JSONByteInput)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONLinesReader.create((JSONByteInput)null),
+                        new PreConditionFailure("input cannot be null."));
+                });
+            });
+
+            runner.testGroup("create(File)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONLinesReader.create((File)null),
+                        new PreConditionFailure("file cannot be null."));
+                });
+            });
+
+            runner.testGroup("setThreadCount(int)", () ->
+            {
+                runner.test("with 0", (Test test) ->
+                {
+                    final JSONLinesReader reader = JSONLinesReaderTests.createReader("");
+                    test.assertThrows(() -> reader.setThreadCount(0),
+                        new PreConditionFailure("threadCount (0) must be greater than or equal to 1."));
+                });
+
+                runner.test("with 3", (Test test) ->
+                {
+                    final JSONLinesReader reader = JSONLinesReaderTests.createReader("");
+                    test.assertSame(reader, reader.setThreadCount(3));
+                    test.assertEqual(3, reader.getThreadCount());
+                });
+
+                runner.test("after reading has started", (Test test) ->
+                {
+                    final JSONLinesReader reader = JSONLinesReaderTests.createReader("1\n");
+                    test.assertTrue(reader.next());
+                    test.assertThrows(() -> reader.setThreadCount(2),
+                        new PreConditionFailure("this.hasStarted() cannot be true."));
+                });
+            });
+
+            runner.testGroup("setOrdered(boolean)", () ->
+            {
+                runner.test("with false", (Test test) ->
+                {
+                    final JSONLinesReader reader = JSONLinesReaderTests.createReader("");
+                    test.assertSame(reader, reader.setOrdered(false));
+                    test.assertFalse(reader.isOrdered());
+                });
+
+                runner.test("after reading has started", (Test test) ->
+                {
+                    final JSONLinesReader reader = JSONLinesReaderTests.createReader("1\n");
+                    test.assertTrue(reader.next());
+                    test.assertThrows(() -> reader.setOrdered(false),
+                        new PreConditionFailure("this.hasStarted() cannot be true."));
+                });
+            });
+
+            runner.testGroup("next()", () ->
+            {
+                final Action3<String,Integer,Iterable<String>> nextTest = (String text, Integer blockLength, Iterable<String> expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text) + " and blockLength " + blockLength, (Test test) ->
+                    {
+                        final JSONLinesReader reader = JSONLinesReaderTests.createReader(text)
+                            .setBlockLength(blockLength)
+                            .setThreadCount(2);
+                        test.assertEqual(expected, JSONLinesReaderTests.readAll(reader));
+                        test.assertTrue(reader.hasStarted());
+                        test.assertFalse(reader.hasCurrent());
+                        test.assertFalse(reader.next());
+                    });
+                };
+
+                nextTest.run("", 1024, Iterable.create());
+                nextTest.run("\n\n  \r\n", 1024, Iterable.create());
+                nextTest.run("1", 1024, Iterable.create("1: 1"));
+                nextTest.run("1\n", 1024, Iterable.create("1: 1"));
+                nextTest.run("{\"a\": 1}\n[true, null]\r\n\"x\"", 1024, Iterable.create("1: {\"a\":1}", "2: [true,null]", "3: \"x\""));
+                nextTest.run("1\n\n3\n  \n5\n", 1024, Iterable.create("1: 1", "3: 3", "5: 5"));
+                nextTest.run("1\n2\n3\n4\n5\n6\n7\n8\n9\n10\n", 4, Iterable.create("1: 1", "2: 2", "3: 3", "4: 4", "5: 5", "6: 6", "7: 7", "8: 8", "9: 9", "10: 10"));
+                nextTest.run("1\n[\"abcdefghij\"]\n3", 2, Iterable.create("1: 1", "2: [\"abcdefghij\"]", "3: 3"));
+                nextTest.run("\"caf\u00E9\"\n\"\u20AC\"\n", 3, Iterable.create("1: \"caf\u00E9\"", "2: \"\u20AC\""));
+
+                runner.test("with invalid line", (Test test) ->
+                {
+                    final JSONLinesReader reader = JSONLinesReaderTests.createReader("1\n[2\n3\n")
+                        .setBlockLength(1024);
+                    test.assertTrue(reader.next());
+                    test.assertEqual(JSONNumber.get(1), reader.getCurrent());
+                    test.assertThrows(() -> reader.next(),
+                        new ParseException("Line 2: Missing array right square bracket (']')."));
+                    test.assertFalse(reader.hasCurrent());
+                    test.assertTrue(reader.next());
+                    test.assertEqual(JSONNumber.get(3), reader.getCurrent());
+                    test.assertEqual(3L, reader.getLineNumber());
+                    test.assertFalse(reader.next());
+                });
+
+                runner.test("when unordered", (Test test) ->
+                {
+                    final StringBuilder text = new StringBuilder();
+                    for (int i = 1; i <= 1000; ++i)
+                    {
+                        text.append(i).append('\n');
+                    }
+                    final JSONLinesReader reader = JSONLinesReaderTests.createReader(text.toString())
+                        .setBlockLength(64)
+                        .setThreadCount(4)
+                        .setOrdered(false);
+                    final boolean[] seen = new boolean[1001];
+                    int count = 0;
+                    while (reader.next())
+                    {
+                        final int value = (int)((JSONNumber)reader.getCurrent()).getValue();
+                        test.assertEqual(value, (int)reader.getLineNumber());
+                        test.assertFalse(seen[value]);
+                        seen[value] = true;
+                        ++count;
+                    }
+                    test.assertEqual(1000, count);
+                });
+
+                runner.test("when disposed", (Test test) ->
+                {
+                    final JSONLinesReader reader = JSONLinesReaderTests.createReader("1\n");
+                    test.assertTrue(reader.dispose().await());
+                    test.assertThrows(() -> reader.next(),
+                        new PreConditionFailure("this.isDisposed() cannot be true."));
+                });
+            });
+
+            runner.testGroup("dispose()", () ->
+            {
+                runner.test("while reading", (Test test) ->
+                {
+                    final JSONLinesReader reader = JSONLinesReaderTests.createReader("1\n2\n3\n")
+                        .setBlockLength(2);
+                    test.assertTrue(reader.next());
+                    test.assertTrue(reader.dispose().await());
+                    test.assertTrue(reader.isDisposed());
+                    test.assertFalse(reader.hasCurrent());
+                    test.assertFalse(reader.dispose().await());
+                });
+            });
+        });
+    }
+}
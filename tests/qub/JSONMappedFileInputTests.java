@@ -0,0 +1,90 @@
+package qub;
+
+public interface JSONMappedFileInputTests
+{
+    static void test(TestRunner runner)
+    {
+        PreCondition.assertNotNull(runner, "runner");
+
+        runner.testGroup(JSONMappedFileInput.class, () ->
+        {
+            final Function1<byte[],java.nio.file.Path> createTempFile = (byte[] bytes) ->
+            {
+                try
+                {
+                    final java.nio.file.Path result = java.nio.file.Files.createTempFile("qub-json", ".json");
+                    result.toFile().deleteOnExit();
+                    java.nio.file.Files.write(result, bytes);
+                    return result;
+                }
+                catch (java.io.IOException e)
+                {
+                    throw new java.io.UncheckedIOException(e);
+                }
+            };
+
+            runner.testGroup("create(java.nio.file.Path)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONMappedFileInput.create((java.nio.file.Path)null),
+                        new PreConditionFailure("path cannot be null."));
+                });
+            });
+
+            runner.testGroup("read(byte[],int,int)", () ->
+            {
+                final Action2<String,Long> readTest = (String text, Long segmentLength) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text) + " and a segment length of " + segmentLength, (Test test) ->
+                    {
+                        final byte[] bytes = text.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+                        try (final JSONMappedFileInput input = JSONMappedFileInput.create(createTempFile.run(bytes), segmentLength))
+                        {
+                            final java.io.ByteArrayOutputStream readBytes = new java.io.ByteArrayOutputStream();
+                            final byte[] buffer = new byte[2];
+                            int bytesRead = input.read(buffer, 0, buffer.length);
+                            while (bytesRead != -1)
+                            {
+                                test.assertTrue(1 <= bytesRead && bytesRead <= buffer.length);
+                                readBytes.write(buffer, 0, bytesRead);
+                                bytesRead = input.read(buffer, 0, buffer.length);
+                            }
+                            test.assertEqual(bytes, readBytes.toByteArray());
+                            test.assertEqual(-1, input.read(buffer, 0, buffer.length));
+                        }
+                    });
+                };
+
+                readTest.run("", 3L);
+                readTest.run("[1,2,3]", 1L);
+                readTest.run("[1,2,3]", 3L);
+                readTest.run("[1,2,3]", 100L);
+                readTest.run("{\"caf\u00E9\":\"\uD83D\uDE00\"}", 3L);
+
+                runner.test("when disposed", (Test test) ->
+                {
+                    final JSONMappedFileInput input = JSONMappedFileInput.create(createTempFile.run(new byte[] { '1' }));
+                    test.assertTrue(input.dispose().await());
+                    test.assertTrue(input.isDisposed());
+                    test.assertFalse(input.dispose().await());
+                    test.assertThrows(() -> input.read(new byte[1], 0, 1),
+                        new PreConditionFailure("this.isDisposed() cannot be true."));
+                });
+            });
+
+            runner.testGroup("decoded by a JSONTokenizer", () ->
+            {
+                runner.test("with segments that split multiple-byte characters", (Test test) ->
+                {
+                    final String text = "{\"caf\u00E9\":[\"\uD83D\uDE00\",1.5,null]}";
+                    try (final JSONMappedFileInput input = JSONMappedFileInput.create(createTempFile.run(text.getBytes(java.nio.charset.StandardCharsets.UTF_8)), 2L))
+                    {
+                        final JSONSegment segment = JSON.parse(JSON.startTokenizer(JSONTokenizer.create(JSONUTF8TokenizerInput.create(input, 4)))).await();
+                        test.assertEqual(text, segment.toString());
+                    }
+                });
+            });
+        });
+    }
+}
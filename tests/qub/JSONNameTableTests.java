@@ -0,0 +1,110 @@
+package qub;
+
+public interface JSONNameTableTests
+{
+    static void test(TestRunner runner)
+    {
+        PreCondition.assertNotNull(runner, "runner");
+
+        runner.testGroup(JSONNameTable.class, () ->
+        {
+            runner.testGroup("create()", () ->
+            {
+                runner.test("with no arguments", (Test test) ->
+                {
+                    final JSONNameTable names = JSONNameTable.create();
+                    test.assertEqual(0, names.getCount());
+                    test.assertEqual(4096, names.getMaximumCount());
+                });
+            });
+
+            runner.testGroup("create(int)", () ->
+            {
+                runner.test("with -1", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONNameTable.create(-1),
+                        new PreConditionFailure("maximumCount (-1) must be greater than or equal to 0."));
+                });
+
+                runner.test("with 0", (Test test) ->
+                {
+                    final JSONNameTable names = JSONNameTable.create(0);
+                    test.assertEqual("a", names.get("a"));
+                    test.assertEqual(0, names.getCount());
+                });
+            });
+
+            runner.testGroup("get(char[],int,int)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONNameTable.create().get(null, 0, 0),
+                        new PreConditionFailure("characters cannot be null."));
+                });
+
+                runner.test("with empty", (Test test) ->
+                {
+                    final JSONNameTable names = JSONNameTable.create();
+                    test.assertEqual("", names.get(new char[0], 0, 0));
+                    test.assertEqual(1, names.getCount());
+                });
+
+                runner.test("with the same characters twice", (Test test) ->
+                {
+                    final JSONNameTable names = JSONNameTable.create();
+                    final String first = names.get("\"name\"".toCharArray(), 1, 4);
+                    test.assertEqual("name", first);
+                    test.assertSame(first, names.get("{name:".toCharArray(), 1, 4));
+                    test.assertEqual(1, names.getCount());
+                });
+
+                runner.test("with different characters", (Test test) ->
+                {
+                    final JSONNameTable names = JSONNameTable.create();
+                    test.assertEqual("ab", names.get("ab"));
+                    test.assertEqual("ba", names.get("ba"));
+                    test.assertEqual("a", names.get("a"));
+                    test.assertEqual(3, names.getCount());
+                });
+
+                runner.test("with names that have the same hash", (Test test) ->
+                {
+                    final JSONNameTable names = JSONNameTable.create();
+                    final String aa = names.get("Aa");
+                    final String bb = names.get("BB");
+                    test.assertEqual("Aa".hashCode(), "BB".hashCode());
+                    test.assertEqual("Aa", aa);
+                    test.assertEqual("BB", bb);
+                    test.assertSame(aa, names.get("Aa"));
+                    test.assertSame(bb, names.get("BB"));
+                });
+
+                runner.test("with more names than the initial capacity", (Test test) ->
+                {
+                    final JSONNameTable names = JSONNameTable.create();
+                    final List<String> first = List.create();
+                    for (int i = 0; i < 1000; ++i)
+                    {
+                        first.add(names.get("name" + i));
+                    }
+                    test.assertEqual(1000, names.getCount());
+                    for (int i = 0; i < 1000; ++i)
+                    {
+                        test.assertSame(first.get(i), names.get("name" + i));
+                    }
+                });
+
+                runner.test("when full", (Test test) ->
+                {
+                    final JSONNameTable names = JSONNameTable.create(1);
+                    final String a = names.get("a");
+                    final String b = names.get("b");
+                    test.assertEqual("b", b);
+                    test.assertEqual(1, names.getCount());
+                    test.assertSame(a, names.get("a"));
+                    test.assertFalse(b == names.get("b"));
+                });
+            });
+        });
+    }
+}
@@ -39,6 +39,111 @@ public interface JSONNumberTests
                 getTest.run("10e1", 100.0);
                 getTest.run("10E2", 1000.0);
                 getTest.run("10e-2", 0.1);
+                getTest.run("-0", -0.0);
+                getTest.run("0.001", 0.001);
+                getTest.run("1.5E+3", 1500.0);
+                getTest.run("1234567890123", 1234567890123.0);
+                getTest.run("9007199254740993", 9007199254740992.0);
+                getTest.run("123456789012345678901234567890", 1.2345678901234568E29);
+                getTest.run("0.1e-400", 0.0);
+                getTest.run("1e400", java.lang.Double.POSITIVE_INFINITY);
+
+                runner.test("with \"abc\"", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONNumber.get("abc"), new NumberFormatException("For input string: \"abc\""));
+                });
+            });
+
+            runner.testGroup("get(char[],int,int)", () ->
+            {
+                final Action4<char[],Integer,Integer,Throwable> getErrorTest = (char[] characters, Integer startIndex, Integer length, Throwable expected) ->
+                {
+                    runner.test("with " + English.andList(characters == null ? null : Strings.escapeAndQuote(new String(characters)), startIndex, length), (Test test) ->
+                    {
+                        test.assertThrows(() -> JSONNumber.get(characters, startIndex, length), expected);
+                    });
+                };
+
+                getErrorTest.run(null, 0, 1, new PreConditionFailure("characters cannot be null."));
+                getErrorTest.run("1".toCharArray(), -1, 1, new PreConditionFailure("startIndex (-1) must be between 0 and 0."));
+                getErrorTest.run("1".toCharArray(), 0, 0, new PreConditionFailure("length (0) must be between 1 and 1."));
+                getErrorTest.run("1".toCharArray(), 0, 2, new PreConditionFailure("length (2) must be between 1 and 1."));
+
+                final Action3<String,Integer,Integer> getTest = (String text, Integer startIndex, Integer length) ->
+                {
+                    runner.test("with " + English.andList(Strings.escapeAndQuote(text), startIndex, length), (Test test) ->
+                    {
+                        final String numberText = text.substring(startIndex, startIndex + length);
+                        final JSONNumber number = JSONNumber.get(text.toCharArray(), startIndex, length);
+                        test.assertEqual(numberText, number.toString());
+                        test.assertEqual(java.lang.Double.parseDouble(numberText), number.getValue());
+                        test.assertEqual(JSONNumber.get(numberText), number);
+                    });
+                };
+
+                getTest.run("0", 0, 1);
+                getTest.run("[12,", 1, 2);
+                getTest.run("-79]", 0, 3);
+                getTest.run("3.14159", 0, 7);
+                getTest.run("-2.5e-3", 0, 7);
+                getTest.run("1E22", 0, 4);
+                getTest.run("1E23", 0, 4);
+                getTest.run("1.7976931348623157e308", 0, 22);
+                getTest.run("4.9e-324", 0, 8);
+                getTest.run("2.2250738585072011e-308", 0, 23);
+                getTest.run("9007199254740993.0", 0, 18);
+                getTest.run("123456789012345678", 0, 18);
+                getTest.run("1234567890123456789", 0, 19);
+                getTest.run("-9223372036854775808", 0, 20);
+                getTest.run("0.30000000000000004", 0, 19);
+                getTest.run("0.000000000000000000000000001", 0, 29);
+            });
+
+            runner.testGroup("isLong()", () ->
+            {
+                final Action2<JSONNumber,Boolean> isLongTest = (JSONNumber number, Boolean expected) ->
+                {
+                    runner.test("with " + number, (Test test) ->
+                    {
+                        test.assertEqual(expected, number.isLong());
+                    });
+                };
+
+                isLongTest.run(JSONNumber.get(5L), true);
+                isLongTest.run(JSONNumber.get(5.0), false);
+                isLongTest.run(JSONNumber.get("-9223372036854775808"), true);
+                isLongTest.run(JSONNumber.get("-9223372036854775809"), false);
+                isLongTest.run(JSONNumber.get("[12]".toCharArray(), 1, 2), true);
+                isLongTest.run(JSONNumber.get("1E5"), false);
+            });
+
+            runner.testGroup("getLongValue()", () ->
+            {
+                final Action2<JSONNumber,Long> getLongValueTest = (JSONNumber number, Long expected) ->
+                {
+                    runner.test("with " + number, (Test test) ->
+                    {
+                        test.assertEqual(expected, number.getLongValue());
+                    });
+                };
+
+                getLongValueTest.run(JSONNumber.get(0), 0L);
+                getLongValueTest.run(JSONNumber.get("-17"), -17L);
+                getLongValueTest.run(JSONNumber.get("9007199254740993"), 9007199254740993L);
+                getLongValueTest.run(JSONNumber.get("[9223372036854775807]".toCharArray(), 1, 19), java.lang.Long.MAX_VALUE);
+                getLongValueTest.run(JSONNumber.get("-9223372036854775808"), java.lang.Long.MIN_VALUE);
+
+                final Action2<JSONNumber,Throwable> getLongValueErrorTest = (JSONNumber number, Throwable expected) ->
+                {
+                    runner.test("with " + number, (Test test) ->
+                    {
+                        test.assertThrows(() -> number.getLongValue(), expected);
+                    });
+                };
+
+                getLongValueErrorTest.run(JSONNumber.get("1.0"), new NumberFormatException("For input string: \"1.0\""));
+                getLongValueErrorTest.run(JSONNumber.get("1e3"), new NumberFormatException("For input string: \"1e3\""));
+                getLongValueErrorTest.run(JSONNumber.get("9223372036854775808"), new NumberFormatException("For input string: \"9223372036854775808\""));
             });
 
             runner.testGroup("equals(Object)", () ->
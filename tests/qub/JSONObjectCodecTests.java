@@ -0,0 +1,176 @@
+package qub;
+
+public interface JSONObjectCodecTests
+{
+    class Person
+    {
+        String name;
+        int age;
+        long id;
+        double score;
+        boolean active;
+        Integer rank;
+        List<String> tags;
+        Person friend;
+        transient int cached;
+        static int count;
+        final int version = 1;
+    }
+
+    class Employee extends Person
+    {
+        private String team;
+        private String name;
+    }
+
+    class Node
+    {
+        int value;
+        List<Node> children;
+    }
+
+    static JSONCodec<Person> createPersonCodec()
+    {
+        return JSONCodecRegistry.create().get(Person.class).await();
+    }
+
+    static void test(TestRunner runner)
+    {
+        PreCondition.assertNotNull(runner, "runner");
+
+        runner.testGroup(JSONObjectCodec.class, () ->
+        {
+            runner.testGroup("decode(JSONTokenizer,String)", () ->
+            {
+                runner.test("with all properties", (Test test) ->
+                {
+                    final Person person = JSONObjectCodecTests.createPersonCodec().parse("{\"name\": \"a\", \"age\": 30, \"id\": 9007199254740993, \"score\": 1.5, \"active\": true, \"rank\": 2, \"tags\": [\"x\", \"y\"], \"friend\": {\"name\": \"b\"}}").await();
+                    test.assertEqual("a", person.name);
+                    test.assertEqual(30, person.age);
+                    test.assertEqual(9007199254740993L, person.id);
+                    test.assertEqual(1.5, person.score);
+                    test.assertTrue(person.active);
+                    test.assertEqual(2, person.rank);
+                    test.assertEqual(List.create("x", "y"), person.tags);
+                    test.assertEqual("b", person.friend.name);
+                    test.assertEqual(0, person.friend.age);
+                    test.assertNull(person.friend.friend);
+                });
+
+                runner.test("with unknown, null, and missing properties", (Test test) ->
+                {
+                    final Person person = JSONObjectCodecTests.createPersonCodec().parse("{\"other\": {\"name\": [1, {}]}, \"cached\": 5, \"version\": 2, \"count\": 3, \"name\": null, \"tags\": null}").await();
+                    test.assertNull(person.name);
+                    test.assertNull(person.tags);
+                    test.assertNull(person.rank);
+                    test.assertEqual(0, person.cached);
+                    test.assertEqual(1, person.version);
+                    test.assertEqual(0, Person.count);
+                });
+
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertNull(JSONObjectCodecTests.createPersonCodec().parse("null").await());
+                });
+
+                runner.test("with subclass", (Test test) ->
+                {
+                    final JSONCodec<Employee> codec = JSONCodecRegistry.create().get(Employee.class).await();
+                    final Employee employee = codec.parse("{\"team\": \"t\", \"name\": \"a\", \"age\": 3}").await();
+                    test.assertEqual("t", employee.team);
+                    test.assertEqual("a", employee.name);
+                    test.assertNull(((Person)employee).name);
+                    test.assertEqual(3, employee.age);
+                });
+
+                runner.test("with recursive type", (Test test) ->
+                {
+                    final JSONCodec<Node> codec = JSONCodecRegistry.create().get(Node.class).await();
+                    final Node node = codec.parse("{\"value\": 1, \"children\": [{\"value\": 2}, {\"value\": 3, \"children\": []}]}").await();
+                    test.assertEqual(1, node.value);
+                    test.assertEqual(2, node.children.getCount());
+                    test.assertEqual(2, node.children.get(0).value);
+                    test.assertNull(node.children.get(0).children);
+                    test.assertEqual(3, node.children.get(1).value);
+                    test.assertEqual(0, node.children.get(1).children.getCount());
+                });
+
+                final Action2<String,Throwable> decodeErrorTest = (String text, Throwable expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        test.assertThrows(() -> JSONObjectCodecTests.createPersonCodec().parse(text).await(), expected);
+                    });
+                };
+
+                decodeErrorTest.run("[]", new WrongTypeException("Expected value to be a JSONObject or JSONNull, but was a JSONArray instead."));
+                decodeErrorTest.run("{", new ParseException("Missing object right curly bracket ('}')."));
+                decodeErrorTest.run("{\"age\": 1,}", new ParseException("Expected quoted-string object property name."));
+                decodeErrorTest.run("{\"age\" 1}", new ParseException("Expected object property name and value separator (':')."));
+                decodeErrorTest.run("{\"age\": null}", new WrongTypeException("Expected the property named \"age\" to be a JSONNumber, but was a JSONNull instead."));
+                decodeErrorTest.run("{\"age\": 1.5}", new WrongTypeException("Expected the property named \"age\" to be a whole number between -2147483648 and 2147483647, but was 1.5 instead."));
+                decodeErrorTest.run("{\"score\": \"1\"}", new WrongTypeException("Expected the property named \"score\" to be a JSONNumber, but was a JSONString instead."));
+                decodeErrorTest.run("{\"active\": 1}", new WrongTypeException("Expected the property named \"active\" to be a JSONBoolean, but was a JSONNumber instead."));
+                decodeErrorTest.run("{\"name\": false}", new WrongTypeException("Expected the property named \"name\" to be a JSONString or JSONNull, but was a JSONBoolean instead."));
+                decodeErrorTest.run("{\"tags\": [\"a\", 1]}", new WrongTypeException("Expected an element of the property named \"tags\" to be a JSONString or JSONNull, but was a JSONNumber instead."));
+                decodeErrorTest.run("{\"friend\": {\"id\": [1}}", new ParseException("Unexpected array element token: \"}\""));
+                decodeErrorTest.run("{\"friend\": {\"id\": true}}", new WrongTypeException("Expected the property named \"id\" to be a JSONNumber, but was a JSONBoolean instead."));
+            });
+
+            runner.testGroup("encode(T,IndentedCharacterWriteStream,JSONFormat)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertEqual("null", JSONObjectCodecTests.createPersonCodec().toString(null));
+                });
+
+                runner.test("with default values", (Test test) ->
+                {
+                    test.assertEqual(
+                        "{\"name\":null,\"age\":0,\"id\":0,\"score\":0.0,\"active\":false,\"rank\":null,\"tags\":null,\"friend\":null}",
+                        JSONObjectCodecTests.createPersonCodec().toString(new Person()));
+                });
+
+                runner.test("with values", (Test test) ->
+                {
+                    final Person friend = new Person();
+                    friend.name = "b";
+                    final Person person = new Person();
+                    person.name = "a";
+                    person.age = -3;
+                    person.id = 9007199254740993L;
+                    person.score = 1.5;
+                    person.active = true;
+                    person.rank = 7;
+                    person.tags = List.create("x");
+                    person.friend = friend;
+                    person.cached = 5;
+                    test.assertEqual(
+                        "{\"name\":\"a\",\"age\":-3,\"id\":9007199254740993,\"score\":1.5,\"active\":true,\"rank\":7,\"tags\":[\"x\"],\"friend\":{\"name\":\"b\",\"age\":0,\"id\":0,\"score\":0.0,\"active\":false,\"rank\":null,\"tags\":null,\"friend\":null}}",
+                        JSONObjectCodecTests.createPersonCodec().toString(person));
+                });
+
+                runner.test("with pretty format", (Test test) ->
+                {
+                    final JSONCodec<Node> codec = JSONCodecRegistry.create().get(Node.class).await();
+                    final Node child = new Node();
+                    child.value = 2;
+                    final Node node = new Node();
+                    node.value = 1;
+                    node.children = List.create(child);
+                    test.assertEqual(
+                        "{\n  \"value\": 1,\n  \"children\": [\n    {\n      \"value\": 2,\n      \"children\": null\n    }\n  ]\n}",
+                        codec.toString(node, JSONFormat.pretty));
+                });
+
+                runner.test("round trip", (Test test) ->
+                {
+                    final JSONCodec<Person> codec = JSONObjectCodecTests.createPersonCodec();
+                    final String text = "{\"name\":\"a\",\"age\":1,\"id\":2,\"score\":3.25,\"active\":true,\"rank\":null,\"tags\":[],\"friend\":null}";
+                    test.assertEqual(text, codec.toString(codec.parse(text).await()));
+                    test.assertEqual(JSON.parseObject(text).await(), JSON.parseObject(codec.toString(codec.parse(text).await())).await());
+                });
+            });
+        });
+    }
+}
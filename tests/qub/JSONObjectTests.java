@@ -159,6 +159,33 @@ public interface JSONObjectTests
                 });
             });
 
+            runner.testGroup("wrap(MutableMap<String,JSONSegment>)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONObject.wrap(null),
+                        new PreConditionFailure("properties cannot be null."));
+                });
+
+                runner.test("with properties", (Test test) ->
+                {
+                    final MutableMap<String,JSONSegment> properties = Map.create();
+                    properties.set("a", JSONNumber.get(1));
+                    properties.set("b", JSONString.get("c"));
+                    final JSONObject object = JSONObject.wrap(properties);
+                    test.assertEqual(JSONObject.create(JSONProperty.create("a", 1), JSONProperty.create("b", "c")), object);
+                    test.assertEqual("{\"a\":1,\"b\":\"c\"}", object.toString());
+
+                    object.setNumber("d", 2);
+                    test.assertEqual(JSONNumber.get(2), properties.get("d").await());
+                });
+
+                runner.test("with duplicate property names from parsing", (Test test) ->
+                {
+                    test.assertEqual("{\"a\":3,\"b\":2}", JSON.parseObject("{\"a\": 1, \"b\": 2, \"a\": 3}").await().toString());
+                });
+            });
+
             runner.testGroup("getProperty(String)", () ->
             {
                 final Action3<JSONObject,String,Throwable> getPropertyErrorTest = (JSONObject object, String propertyName, Throwable expectedError) ->
@@ -0,0 +1,119 @@
+package qub;
+
+public interface JSONParallelArrayParserTests
+{
+    static JSONByteInput createInput(String text)
+    {
+        return JSONByteInput.create(text.getBytes(java.nio.charset.StandardCharsets.UTF_8));
+    }
+
+    static void test(TestRunner runner)
+    {
+        PreCondition.assertNotNull(runner, "runner");
+
+        runner.testGroup(JSONParallelArrayParser.class, () ->
+        {
+            runner.testGroup("parse(JSONByteInput,int)", () ->
+            {
+                runner.test("with null input", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONParallelArrayParser.parse(null, 1),
+                        new PreConditionFailure("input cannot be null."));
+                });
+
+                runner.test("with 0 parallelism", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONParallelArrayParser.parse(JSONParallelArrayParserTests.createInput("[]"), 0),
+                        new PreConditionFailure("parallelism (0) must be greater than or equal to 1."));
+                });
+
+                runner.test("with array", (Test test) ->
+                {
+                    test.assertEqual(
+                        JSON.parseArray("[1, \"a\", {\"b\": [true]}]").await(),
+                        JSONParallelArrayParser.parse(JSONParallelArrayParserTests.createInput("[1, \"a\", {\"b\": [true]}]"), 2));
+                });
+            });
+
+            runner.testGroup("parse(JSONByteInput,int,int)", () ->
+            {
+                final Action3<String,Integer,Integer> parseTest = (String text, Integer parallelism, Integer chunkLength) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text) + ", " + parallelism + ", and " + chunkLength, (Test test) ->
+                    {
+                        final JSONArray expected = JSON.parseArray(text).await();
+                        final JSONArray actual = JSONParallelArrayParser.parse(JSONParallelArrayParserTests.createInput(text), parallelism, chunkLength);
+                        test.assertEqual(expected, actual);
+                    });
+                };
+
+                parseTest.run("[]", 1, 1);
+                parseTest.run(" [ ] ", 2, 1);
+                parseTest.run("[1]", 2, 1);
+                parseTest.run("[1, 2, 3, 4, 5]", 1, 1);
+                parseTest.run("[1, 2, 3, 4, 5]", 3, 1);
+                parseTest.run("[1, 2, 3, 4, 5]", 3, 4);
+                parseTest.run("[1, 2, 3, 4, 5]", 3, 1000);
+                parseTest.run("[[1, 2], {\"a\": [3, 4], \"b\": {\"c\": 5}}, [], {}]", 2, 1);
+                parseTest.run("[\"a,b\", \"c]d\", \"e\\\"],\", \"f\\\\\", 6]", 2, 1);
+                parseTest.run("// leading\n/* block */ [1, /* a, b */ 2, // c, ]\n 3]", 2, 1);
+                parseTest.run("[\"caf\u00E9\", \"\u20AC\", \"\\u00E9\"]", 2, 1);
+                parseTest.run("[1, 2] 3", 2, 1);
+                parseTest.run("['a]b', 2]", 2, 1);
+                parseTest.run("['\"', 1]", 2, 1);
+                parseTest.run("[\"'\", 1, 'x,\\'y']", 2, 1);
+                parseTest.run("[{'a': ['b', 'c]'], \"d\": '{'}, 'e\\\\', 5]", 2, 1);
+
+                runner.test("with many elements", (Test test) ->
+                {
+                    final StringBuilder text = new StringBuilder("[");
+                    for (int i = 0; i < 5000; ++i)
+                    {
+                        if (i > 0)
+                        {
+                            text.append(',');
+                        }
+                        text.append("{\"id\":").append(i).append(",\"tags\":[\"x\",\"y\"]}");
+                    }
+                    text.append(']');
+
+                    final JSONArray expected = JSON.parseArray(text.toString()).await();
+                    final JSONArray actual = JSONParallelArrayParser.parse(JSONParallelArrayParserTests.createInput(text.toString()), 4, 100);
+                    test.assertEqual(5000, actual.getCount());
+                    test.assertEqual(expected, actual);
+                });
+
+                final Action3<String,Integer,Throwable> parseErrorTest = (String text, Integer chunkLength, Throwable expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text) + " and " + chunkLength, (Test test) ->
+                    {
+                        test.assertThrows(() -> JSONParallelArrayParser.parse(JSONParallelArrayParserTests.createInput(text), 2, chunkLength), expected);
+                    });
+                };
+
+                parseErrorTest.run("", 1, new ParseException("Missing array left square bracket ('[')."));
+                parseErrorTest.run("  ", 1, new ParseException("Missing array left square bracket ('[')."));
+                parseErrorTest.run("/* a", 1, new ParseException("Missing block comment end sequence (\"*/\")."));
+                parseErrorTest.run("{}", 1, new ParseException("Expected array left square bracket ('[')."));
+                parseErrorTest.run("[", 1, new ParseException("Missing array right square bracket (']')."));
+                parseErrorTest.run("[1, 2", 1, new ParseException("Missing array right square bracket (']')."));
+                parseErrorTest.run("[1, 2,", 1, new ParseException("Missing array element."));
+                parseErrorTest.run("[1, 2,]", 1, new ParseException("Expected array element."));
+                parseErrorTest.run("[1,, 2]", 1, new ParseException("Expected array element."));
+                parseErrorTest.run("[, 2]", 1000, new ParseException("Expected array element."));
+                parseErrorTest.run("[ /* a */ , 2]", 1, new ParseException("Expected array element."));
+                parseErrorTest.run("[1 2]", 1, new ParseException("Expected array element separator (',') or right square bracket (']')."));
+                parseErrorTest.run("[1, 2}", 1, new ParseException("Unexpected array element token: \"}\""));
+                parseErrorTest.run("[1, {\"a\": 2]", 1, new ParseException("Expected object property separator (',') or right curly bracket ('}')."));
+                parseErrorTest.run("[1, {\"a\" 2}, 3]", 1, new ParseException("Expected object property name and value separator (':')."));
+                parseErrorTest.run("['a\", 1]", 1, new ParseException("Missing quoted-string closing quote: '"));
+
+                runner.test("with errors in two chunks", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONParallelArrayParser.parse(JSONParallelArrayParserTests.createInput("[1 2, 3 4]"), 2, 1),
+                        new ParseException("Expected array element separator (',') or right square bracket (']')."));
+                });
+            });
+        });
+    }
+}
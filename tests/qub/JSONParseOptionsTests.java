@@ -0,0 +1,107 @@
+package qub;
+
+public interface JSONParseOptionsTests
+{
+    static void test(TestRunner runner)
+    {
+        runner.testGroup(JSONParseOptions.class, () ->
+        {
+            runner.test("create()", (Test test) ->
+            {
+                final JSONParseOptions options = JSONParseOptions.create();
+                test.assertNotNull(options);
+                test.assertEqual(java.lang.Integer.MAX_VALUE, options.getMaxDepth());
+                test.assertEqual(java.lang.Integer.MAX_VALUE, options.getMaxMembers());
+                test.assertEqual(java.lang.Integer.MAX_VALUE, options.getMaxStringLength());
+                test.assertEqual(java.lang.Long.MAX_VALUE, options.getMaxTotalLength());
+            });
+
+            runner.testGroup("setMaxDepth(int)", () ->
+            {
+                runner.test("with -1", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONParseOptions.create().setMaxDepth(-1),
+                        new PreConditionFailure("maxDepth (-1) must be greater than or equal to 0."));
+                });
+
+                runner.test("with 0", (Test test) ->
+                {
+                    final JSONParseOptions options = JSONParseOptions.create();
+                    test.assertSame(options, options.setMaxDepth(0));
+                    test.assertEqual(0, options.getMaxDepth());
+                });
+            });
+
+            runner.testGroup("setMaxMembers(int)", () ->
+            {
+                runner.test("with 0", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONParseOptions.create().setMaxMembers(0),
+                        new PreConditionFailure("maxMembers (0) must be greater than or equal to 1."));
+                });
+
+                runner.test("with 1", (Test test) ->
+                {
+                    final JSONParseOptions options = JSONParseOptions.create();
+                    test.assertSame(options, options.setMaxMembers(1));
+                    test.assertEqual(1, options.getMaxMembers());
+                });
+            });
+
+            runner.testGroup("setMaxStringLength(int)", () ->
+            {
+                runner.test("with -1", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONParseOptions.create().setMaxStringLength(-1),
+                        new PreConditionFailure("maxStringLength (-1) must be greater than or equal to 0."));
+                });
+
+                runner.test("with 0", (Test test) ->
+                {
+                    final JSONParseOptions options = JSONParseOptions.create();
+                    test.assertSame(options, options.setMaxStringLength(0));
+                    test.assertEqual(0, options.getMaxStringLength());
+                });
+            });
+
+            runner.testGroup("setMaxTotalLength(long)", () ->
+            {
+                runner.test("with -1", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONParseOptions.create().setMaxTotalLength(-1),
+                        new PreConditionFailure("maxTotalLength (-1) must be greater than or equal to 0."));
+                });
+
+                runner.test("with 5000000000", (Test test) ->
+                {
+                    final JSONParseOptions options = JSONParseOptions.create();
+                    test.assertSame(options, options.setMaxTotalLength(5000000000L));
+                    test.assertEqual(5000000000L, options.getMaxTotalLength());
+                });
+            });
+
+            runner.testGroup("equals(Object)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertFalse(JSONParseOptions.create().equals((Object)null));
+                });
+
+                runner.test("with same limits", (Test test) ->
+                {
+                    test.assertEqual(
+                        JSONParseOptions.create().setMaxDepth(1).setMaxMembers(2).setMaxStringLength(3).setMaxTotalLength(4),
+                        JSONParseOptions.create().setMaxDepth(1).setMaxMembers(2).setMaxStringLength(3).setMaxTotalLength(4));
+                });
+
+                runner.test("with different limits", (Test test) ->
+                {
+                    test.assertNotEqual(JSONParseOptions.create(), JSONParseOptions.create().setMaxDepth(1));
+                    test.assertNotEqual(JSONParseOptions.create(), JSONParseOptions.create().setMaxMembers(1));
+                    test.assertNotEqual(JSONParseOptions.create(), JSONParseOptions.create().setMaxStringLength(1));
+                    test.assertNotEqual(JSONParseOptions.create(), JSONParseOptions.create().setMaxTotalLength(1));
+                });
+            });
+        });
+    }
+}
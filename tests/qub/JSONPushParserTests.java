@@ -0,0 +1,130 @@
+package qub;
+
+public interface JSONPushParserTests
+{
+    static void test(TestRunner runner)
+    {
+        PreCondition.assertNotNull(runner, "runner");
+
+        runner.testGroup(JSONPushParser.class, () ->
+        {
+            runner.testGroup("next()", () ->
+            {
+                runner.test("with no input", (Test test) ->
+                {
+                    final JSONPushParser parser = JSONPushParser.create();
+                    test.assertFalse(parser.next());
+                    test.assertTrue(parser.needsInput());
+                    test.assertFalse(parser.hasCurrent());
+
+                    parser.endOfInput();
+                    test.assertFalse(parser.next());
+                    test.assertFalse(parser.needsInput());
+                });
+
+                runner.test("with a value split across chunks", (Test test) ->
+                {
+                    final JSONPushParser parser = JSONPushParser.create();
+                    parser.feed("{\"a\": [1, \"b");
+                    test.assertFalse(parser.next());
+                    test.assertTrue(parser.needsInput());
+
+                    parser.feed("c\"]}");
+                    test.assertTrue(parser.next());
+                    test.assertEqual(
+                        JSONObject.create(JSONProperty.create("a", JSONArray.create(JSONNumber.get(1), JSONString.get("bc")))),
+                        parser.getCurrent());
+                    test.assertFalse(parser.next());
+                    test.assertTrue(parser.needsInput());
+                });
+
+                runner.test("with multiple top-level values", (Test test) ->
+                {
+                    final JSONPushParser parser = JSONPushParser.create();
+                    parser.feed("{}\n[]\n\"a\" 2");
+                    test.assertTrue(parser.next());
+                    test.assertEqual(JSONObject.create(), parser.getCurrent());
+                    test.assertTrue(parser.next());
+                    test.assertEqual(JSONArray.create(), parser.getCurrent());
+                    test.assertTrue(parser.next());
+                    test.assertEqual(JSONString.get("a"), parser.getCurrent());
+                    test.assertFalse(parser.next());
+                    test.assertTrue(parser.needsInput());
+
+                    parser.endOfInput();
+                    test.assertTrue(parser.next());
+                    test.assertEqual(JSONNumber.get(2), parser.getCurrent());
+                    test.assertFalse(parser.next());
+                });
+
+                runner.test("with UTF-8 bytes split inside of a character", (Test test) ->
+                {
+                    final byte[] bytes = "[\"\u20AC\"]".getBytes(java.nio.charset.StandardCharsets.UTF_8);
+                    final JSONPushParser parser = JSONPushParser.createUTF8();
+                    parser.feed(bytes, 0, 3);
+                    test.assertFalse(parser.next());
+                    parser.feed(bytes, 3, bytes.length - 3);
+                    test.assertTrue(parser.next());
+                    test.assertEqual(JSONArray.create(JSONString.get("\u20AC")), parser.getCurrent());
+                });
+
+                final Action1<String> matchesParseTest = (String text) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text) + " split at every index", (Test test) ->
+                    {
+                        final JSONSegment expected = JSON.parse(text).await();
+                        for (int splitIndex = 0; splitIndex <= text.length(); ++splitIndex)
+                        {
+                            final JSONPushParser parser = JSONPushParser.create();
+                            parser.feed(text.substring(0, splitIndex));
+                            boolean found = parser.next();
+                            if (!found)
+                            {
+                                parser.feed(text.substring(splitIndex)).endOfInput();
+                                found = parser.next();
+                            }
+                            test.assertTrue(found);
+                            test.assertEqual(expected, parser.getCurrent());
+                        }
+                    });
+                };
+
+                matchesParseTest.run("null");
+                matchesParseTest.run("-12.5e3");
+                matchesParseTest.run("'a'");
+                matchesParseTest.run("[1, [2, []], {\"a\": {\"b\": false}}]");
+                matchesParseTest.run("{ \"a\" : 1 , /* c */ \"b\" : [ true , null ] }\r\n");
+
+                final Action2<String,Throwable> errorTest = (String text, Throwable expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        final JSONPushParser parser = JSONPushParser.create().feed(text).endOfInput();
+                        test.assertThrows(() -> parser.next(), expected);
+                    });
+                };
+
+                errorTest.run(",", new ParseException("Unexpected JSON token: ,"));
+                errorTest.run("[", new ParseException("Missing array right square bracket (']')."));
+                errorTest.run("[1,", new ParseException("Missing array element."));
+                errorTest.run("[1,]", new ParseException("Expected array element."));
+                errorTest.run("[,", new ParseException("Expected array element."));
+                errorTest.run("[1 2]", new ParseException("Expected array element separator (',') or right square bracket (']')."));
+                errorTest.run("[:]", new ParseException("Unexpected array element token: \":\""));
+                errorTest.run("{", new ParseException("Missing object right curly bracket ('}')."));
+                errorTest.run("{,", new ParseException("Expected quoted-string object property name or right curly bracket ('}')."));
+                errorTest.run("{1", new ParseException("Expected quoted-string object property name or right curly bracket ('}')."));
+                errorTest.run("{\"\"", new ParseException("Expected object property name to be not empty."));
+                errorTest.run("{\"a\"", new ParseException("Missing object property name and value separator (':')."));
+                errorTest.run("{\"a\" 1", new ParseException("Expected object property name and value separator (':')."));
+                errorTest.run("{\"a\":", new ParseException("Missing object property value."));
+                errorTest.run("{\"a\":,", new ParseException("Expected object property value."));
+                errorTest.run("{\"a\":}", new ParseException("Unexpected object property value token: \"}\""));
+                errorTest.run("{\"a\":1", new ParseException("Missing object right curly bracket ('}')."));
+                errorTest.run("{\"a\":1,", new ParseException("Missing object property."));
+                errorTest.run("{\"a\":1,}", new ParseException("Expected quoted-string object property name."));
+                errorTest.run("{\"a\":1 \"b\"", new ParseException("Expected object property separator (',') or right curly bracket ('}')."));
+            });
+        });
+    }
+}
@@ -0,0 +1,182 @@
+package qub;
+
+public interface JSONPushTokenizerTests
+{
+    static void test(TestRunner runner)
+    {
+        PreCondition.assertNotNull(runner, "runner");
+
+        runner.testGroup(JSONPushTokenizer.class, () ->
+        {
+            runner.testGroup("create()", () ->
+            {
+                runner.test("with no input", (Test test) ->
+                {
+                    final JSONPushTokenizer tokenizer = JSONPushTokenizer.create();
+                    test.assertFalse(tokenizer.isUTF8());
+                    test.assertFalse(tokenizer.isEndOfInput());
+                    test.assertFalse(tokenizer.hasCurrent());
+                    test.assertFalse(tokenizer.next());
+                    test.assertTrue(tokenizer.needsInput());
+                });
+            });
+
+            runner.testGroup("createUTF8()", () ->
+            {
+                runner.test("with no input", (Test test) ->
+                {
+                    final JSONPushTokenizer tokenizer = JSONPushTokenizer.createUTF8();
+                    test.assertTrue(tokenizer.isUTF8());
+                    test.assertFalse(tokenizer.next());
+                    test.assertTrue(tokenizer.needsInput());
+                });
+            });
+
+            runner.testGroup("feed(char[],int,int)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONPushTokenizer.create().feed((char[])null, 0, 0),
+                        new PreConditionFailure("chunk cannot be null."));
+                });
+
+                runner.test("with UTF-8 tokenizer", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONPushTokenizer.createUTF8().feed(new char[1], 0, 1),
+                        new PreConditionFailure("this.isUTF8() cannot be true."));
+                });
+
+                runner.test("after end of input", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONPushTokenizer.create().endOfInput().feed(new char[1], 0, 1),
+                        new PreConditionFailure("this.isEndOfInput() cannot be true."));
+                });
+            });
+
+            runner.testGroup("feed(byte[],int,int)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONPushTokenizer.createUTF8().feed((byte[])null, 0, 0),
+                        new PreConditionFailure("chunk cannot be null."));
+                });
+
+                runner.test("with character tokenizer", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONPushTokenizer.create().feed(new byte[1], 0, 1),
+                        new PreConditionFailure("this.isUTF8() cannot be false."));
+                });
+            });
+
+            runner.testGroup("next()", () ->
+            {
+                runner.test("with a number split across chunks", (Test test) ->
+                {
+                    final JSONPushTokenizer tokenizer = JSONPushTokenizer.create();
+                    tokenizer.feed("[12");
+                    test.assertTrue(tokenizer.next());
+                    test.assertEqual(JSONToken.leftSquareBracket, tokenizer.getCurrent());
+                    test.assertFalse(tokenizer.next());
+                    test.assertTrue(tokenizer.needsInput());
+                    test.assertFalse(tokenizer.hasCurrent());
+
+                    tokenizer.feed("34]");
+                    test.assertTrue(tokenizer.next());
+                    test.assertFalse(tokenizer.needsInput());
+                    test.assertEqual(JSONToken.number("1234"), tokenizer.getCurrent());
+                    test.assertTrue(tokenizer.next());
+                    test.assertEqual(JSONToken.rightSquareBracket, tokenizer.getCurrent());
+                    test.assertFalse(tokenizer.next());
+                    test.assertTrue(tokenizer.needsInput());
+
+                    tokenizer.endOfInput();
+                    test.assertFalse(tokenizer.next());
+                    test.assertFalse(tokenizer.needsInput());
+                });
+
+                runner.test("with a number at the end of the input", (Test test) ->
+                {
+                    final JSONPushTokenizer tokenizer = JSONPushTokenizer.create();
+                    tokenizer.feed("12");
+                    test.assertFalse(tokenizer.next());
+                    tokenizer.endOfInput();
+                    test.assertTrue(tokenizer.next());
+                    test.assertEqual(JSONToken.number("12"), tokenizer.getCurrent());
+                    test.assertFalse(tokenizer.next());
+                });
+
+                runner.test("with an unterminated quoted string at the end of the input", (Test test) ->
+                {
+                    final JSONPushTokenizer tokenizer = JSONPushTokenizer.create();
+                    tokenizer.feed("\"abc");
+                    test.assertFalse(tokenizer.next());
+                    tokenizer.endOfInput();
+                    test.assertThrows(() -> tokenizer.next(),
+                        new ParseException("Missing quoted-string closing quote: \""));
+                });
+
+                runner.test("with trivia", (Test test) ->
+                {
+                    final JSONPushTokenizer tokenizer = JSONPushTokenizer.create();
+                    tokenizer.feed(" // a\r");
+                    test.assertTrue(tokenizer.next());
+                    test.assertEqual(JSONToken.whitespace(" "), tokenizer.getCurrent());
+                    test.assertTrue(tokenizer.next());
+                    test.assertEqual(JSONToken.lineComment("// a"), tokenizer.getCurrent());
+                    test.assertFalse(tokenizer.next());
+                    tokenizer.feed("\n");
+                    test.assertTrue(tokenizer.next());
+                    test.assertEqual(JSONToken.carriageReturnNewLine, tokenizer.getCurrent());
+                });
+
+                final Action2<String,Boolean> splitTest = (String text, Boolean utf8) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text) + " split at every index" + (utf8 ? " as UTF-8" : ""), (Test test) ->
+                    {
+                        final List<JSONToken> expected = JSONTokenizer.create(text).toList();
+                        final byte[] bytes = text.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+                        final int length = utf8 ? bytes.length : text.length();
+                        for (int splitIndex = 0; splitIndex <= length; ++splitIndex)
+                        {
+                            final JSONPushTokenizer tokenizer = utf8 ? JSONPushTokenizer.createUTF8() : JSONPushTokenizer.create();
+                            final List<JSONToken> actual = List.create();
+                            if (utf8)
+                            {
+                                tokenizer.feed(bytes, 0, splitIndex);
+                            }
+                            else
+                            {
+                                tokenizer.feed(text.toCharArray(), 0, splitIndex);
+                            }
+                            while (tokenizer.next())
+                            {
+                                actual.add(tokenizer.getCurrent());
+                            }
+                            test.assertTrue(tokenizer.needsInput());
+
+                            if (utf8)
+                            {
+                                tokenizer.feed(bytes, splitIndex, length - splitIndex);
+                            }
+                            else
+                            {
+                                tokenizer.feed(text.toCharArray(), splitIndex, length - splitIndex);
+                            }
+                            tokenizer.endOfInput();
+                            while (tokenizer.next())
+                            {
+                                actual.add(tokenizer.getCurrent());
+                            }
+                            test.assertFalse(tokenizer.needsInput());
+                            test.assertEqual(expected, actual);
+                        }
+                    });
+                };
+
+                final String text = "{ \"caf\u00E9\": [-1.5e+3, true, null, '\uD83D\uDE00'] } // end";
+                splitTest.run(text, false);
+                splitTest.run(text, true);
+            });
+        });
+    }
+}
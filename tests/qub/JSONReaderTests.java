@@ -0,0 +1,484 @@
+package qub;
+
+public interface JSONReaderTests
+{
+    static void test(TestRunner runner)
+    {
+        PreCondition.assertNotNull(runner, "runner");
+
+        runner.testGroup(JSONReader.class, () ->
+        {
+            runner.testGroup("create(String)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONReader.create((String)null),
+                        new PreConditionFailure("text cannot be null."));
+                });
+
+                runner.test("with empty", (Test test) ->
+                {
+                    final JSONReader reader = JSONReader.create("");
+                    test.assertFalse(reader.hasCurrent());
+                    test.assertEqual(0, reader.getDepth());
+                    test.assertFalse(reader.next());
+                    test.assertFalse(reader.hasCurrent());
+                });
+            });
+
+            runner.testGroup("create(JSONTokenizer)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONReader.create((JSONTokenizer)null),
+                        new PreConditionFailure("tokenizer cannot be null."));
+                });
+
+                runner.test("with started tokenizer", (Test test) ->
+                {
+                    final JSONTokenizer tokenizer = JSONTokenizer.create("[]");
+                    tokenizer.next();
+                    test.assertThrows(() -> JSONReader.create(tokenizer),
+                        new PreConditionFailure("tokenizer.hasStarted() cannot be true."));
+                });
+            });
+
+            runner.testGroup("next()", () ->
+            {
+                final Action2<String,Iterable<JSONReaderEvent>> nextTest = (String text, Iterable<JSONReaderEvent> expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        final JSONReader reader = JSONReader.create(text);
+                        final List<JSONReaderEvent> events = List.create();
+                        while (reader.next())
+                        {
+                            events.add(reader.getCurrent());
+                        }
+                        test.assertEqual(expected, events);
+                        test.assertEqual(0, reader.getDepth());
+                    });
+                };
+
+                nextTest.run("null", Iterable.create(JSONReaderEvent.NullValue));
+                nextTest.run(" // comment\n true ", Iterable.create(JSONReaderEvent.BooleanValue));
+                nextTest.run("[]", Iterable.create(JSONReaderEvent.StartArray, JSONReaderEvent.EndArray));
+                nextTest.run("{}", Iterable.create(JSONReaderEvent.StartObject, JSONReaderEvent.EndObject));
+                nextTest.run("[1, 'a', false, null]", Iterable.create(
+                    JSONReaderEvent.StartArray,
+                    JSONReaderEvent.NumberValue,
+                    JSONReaderEvent.StringValue,
+                    JSONReaderEvent.BooleanValue,
+                    JSONReaderEvent.NullValue,
+                    JSONReaderEvent.EndArray));
+                nextTest.run("{\"a\": {\"b\": []}, \"c\": 1}", Iterable.create(
+                    JSONReaderEvent.StartObject,
+                    JSONReaderEvent.PropertyName,
+                    JSONReaderEvent.StartObject,
+                    JSONReaderEvent.PropertyName,
+                    JSONReaderEvent.StartArray,
+                    JSONReaderEvent.EndArray,
+                    JSONReaderEvent.EndObject,
+                    JSONReaderEvent.PropertyName,
+                    JSONReaderEvent.NumberValue,
+                    JSONReaderEvent.EndObject));
+                nextTest.run("{}\n[]\n3", Iterable.create(
+                    JSONReaderEvent.StartObject,
+                    JSONReaderEvent.EndObject,
+                    JSONReaderEvent.StartArray,
+                    JSONReaderEvent.EndArray,
+                    JSONReaderEvent.NumberValue));
+
+                final Action2<String,Throwable> nextErrorTest = (String text, Throwable expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        final JSONReader reader = JSONReader.create(text);
+                        test.assertThrows(() ->
+                        {
+                            while (reader.next())
+                            {
+                            }
+                        },
+                        expected);
+                    });
+                };
+
+                nextErrorTest.run(":", new ParseException("Unexpected JSON token: :"));
+                nextErrorTest.run("[", new ParseException("Missing array right square bracket (']')."));
+                nextErrorTest.run("[1,", new ParseException("Missing array element."));
+                nextErrorTest.run("[,", new ParseException("Expected array element."));
+                nextErrorTest.run("[1,]", new ParseException("Expected array element."));
+                nextErrorTest.run("[1 2]", new ParseException("Expected array element separator (',') or right square bracket (']')."));
+                nextErrorTest.run("[:]", new ParseException("Unexpected array element token: \":\""));
+                nextErrorTest.run("{", new ParseException("Missing object right curly bracket ('}')."));
+                nextErrorTest.run("{,", new ParseException("Expected quoted-string object property name or right curly bracket ('}')."));
+                nextErrorTest.run("{1", new ParseException("Expected quoted-string object property name or right curly bracket ('}')."));
+                nextErrorTest.run("{\"\"", new ParseException("Expected object property name to be not empty."));
+                nextErrorTest.run("{\"a\"", new ParseException("Missing object property name and value separator (':')."));
+                nextErrorTest.run("{\"a\" 1", new ParseException("Expected object property name and value separator (':')."));
+                nextErrorTest.run("{\"a\":", new ParseException("Missing object property value."));
+                nextErrorTest.run("{\"a\":,", new ParseException("Expected object property value."));
+                nextErrorTest.run("{\"a\":]", new ParseException("Unexpected object property value token: \"]\""));
+                nextErrorTest.run("{\"a\":1", new ParseException("Missing object right curly bracket ('}')."));
+                nextErrorTest.run("{\"a\":1 \"b\"", new ParseException("Expected object property separator (',') or right curly bracket ('}')."));
+                nextErrorTest.run("{\"a\":1,", new ParseException("Missing object property."));
+                nextErrorTest.run("{\"a\":1,}", new ParseException("Expected quoted-string object property name."));
+                nextErrorTest.run("{\"a\":1,,", new ParseException("Expected quoted-string object property name."));
+            });
+
+            runner.testGroup("getDepth()", () ->
+            {
+                runner.test("with nested values", (Test test) ->
+                {
+                    final JSONReader reader = JSONReader.create("[{\"a\": []}]");
+                    final List<Integer> depths = List.create();
+                    while (reader.next())
+                    {
+                        depths.add(reader.getDepth());
+                    }
+                    test.assertEqual(Iterable.create(1, 2, 2, 3, 2, 1, 0), depths);
+                });
+            });
+
+            runner.testGroup("getPropertyName()", () ->
+            {
+                runner.test("with no current event", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONReader.create("{}").getPropertyName(),
+                        new PreConditionFailure("this.getCurrent() (null) must be PropertyName."));
+                });
+
+                runner.test("with PropertyName event", (Test test) ->
+                {
+                    final JSONReader reader = JSONReader.create("{'abc': 1}");
+                    reader.next();
+                    reader.next();
+                    test.assertEqual("abc", reader.getPropertyName());
+                });
+            });
+
+            runner.testGroup("getString()", () ->
+            {
+                runner.test("with NumberValue event", (Test test) ->
+                {
+                    final JSONReader reader = JSONReader.create("1");
+                    reader.next();
+                    test.assertThrows(() -> reader.getString(),
+                        new PreConditionFailure("this.getCurrent() (NumberValue) must be StringValue."));
+                });
+
+                runner.test("with StringValue event", (Test test) ->
+                {
+                    final JSONReader reader = JSONReader.create("\"a\\\"b\"");
+                    reader.next();
+                    test.assertEqual("a\\\"b", reader.getString());
+                });
+            });
+
+            runner.testGroup("getNumber()", () ->
+            {
+                runner.test("with NumberValue event", (Test test) ->
+                {
+                    final JSONReader reader = JSONReader.create("-1.5e2");
+                    reader.next();
+                    test.assertEqual(-150.0, reader.getNumber());
+                });
+            });
+
+            runner.testGroup("getLong()", () ->
+            {
+                runner.test("with integer", (Test test) ->
+                {
+                    final JSONReader reader = JSONReader.create("[9007199254740993, -12]");
+                    reader.next();
+                    reader.next();
+                    test.assertEqual(9007199254740993L, reader.getLong());
+                    reader.next();
+                    test.assertEqual(-12L, reader.getLong());
+                });
+
+                runner.test("with decimal", (Test test) ->
+                {
+                    final JSONReader reader = JSONReader.create("1.5");
+                    reader.next();
+                    test.assertThrows(() -> reader.getLong(),
+                        new NumberFormatException("For input string: \"1.5\""));
+                });
+
+                runner.test("with integer that doesn't fit in a long", (Test test) ->
+                {
+                    final JSONReader reader = JSONReader.create("9223372036854775808");
+                    reader.next();
+                    test.assertThrows(() -> reader.getLong(),
+                        new NumberFormatException("For input string: \"9223372036854775808\""));
+                    test.assertEqual(9.223372036854775808e18, reader.getNumber());
+                });
+            });
+
+            runner.testGroup("isLong()", () ->
+            {
+                final Action2<String,Boolean> isLongTest = (String text, Boolean expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        final JSONReader reader = JSONReader.create(text);
+                        reader.next();
+                        test.assertEqual(expected, reader.isLong());
+                    });
+                };
+
+                isLongTest.run("0", true);
+                isLongTest.run("-12", true);
+                isLongTest.run("9223372036854775807", true);
+                isLongTest.run("9223372036854775808", false);
+                isLongTest.run("1.0", false);
+                isLongTest.run("1e2", false);
+            });
+
+            runner.testGroup("read(JSONHandler)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONReader.create("[]").read(null),
+                        new PreConditionFailure("handler cannot be null."));
+                });
+
+                runner.test("with no content", (Test test) ->
+                {
+                    test.assertTrue(JSONReader.create("").read(new JSONHandler()
+                    {
+                    }));
+                });
+
+                runner.test("starting at the current event", (Test test) ->
+                {
+                    final JSONReader reader = JSONReader.create("[1, 2, 3]");
+                    reader.next();
+                    reader.next();
+                    final List<Long> values = List.create();
+                    test.assertTrue(reader.read(new JSONHandler()
+                    {
+                        @Override
+                        public boolean onLong(long value)
+                        {
+                            values.add(value);
+                            return true;
+                        }
+                    }));
+                    test.assertEqual(Iterable.create(1L, 2L, 3L), values);
+                    test.assertFalse(reader.hasCurrent());
+                });
+
+                runner.test("with numbers", (Test test) ->
+                {
+                    final List<String> values = List.create();
+                    test.assertTrue(JSONReader.create("[1, -2.5, 1e3, 9223372036854775807, 9223372036854775808, 'a\\nb']").read(new JSONHandler()
+                    {
+                        @Override
+                        public boolean onLong(long value)
+                        {
+                            values.add("long " + value);
+                            return true;
+                        }
+
+                        @Override
+                        public boolean onNumber(double value)
+                        {
+                            values.add("number " + value);
+                            return true;
+                        }
+
+                        @Override
+                        public boolean onString(String value)
+                        {
+                            values.add("string " + value);
+                            return true;
+                        }
+                    }));
+                    test.assertEqual(
+                        Iterable.create("long 1", "number -2.5", "number 1000.0", "long 9223372036854775807", "number 9.223372036854776E18", "string a\\nb"),
+                        values);
+                });
+
+                runner.test("when the handler stops the read", (Test test) ->
+                {
+                    final JSONReader reader = JSONReader.create("[1, 2, 3]");
+                    test.assertFalse(reader.read(new JSONHandler()
+                    {
+                        @Override
+                        public boolean onLong(long value)
+                        {
+                            return value < 2;
+                        }
+                    }));
+                    test.assertEqual(JSONReaderEvent.NumberValue, reader.getCurrent());
+                    test.assertEqual(2L, reader.getLong());
+                });
+            });
+
+            runner.testGroup("getBoolean()", () ->
+            {
+                runner.test("with BooleanValue events", (Test test) ->
+                {
+                    final JSONReader reader = JSONReader.create("[true, false]");
+                    reader.next();
+                    reader.next();
+                    test.assertTrue(reader.getBoolean());
+                    reader.next();
+                    test.assertFalse(reader.getBoolean());
+                });
+            });
+
+            runner.testGroup("skipValue()", () ->
+            {
+                runner.test("with no current event", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONReader.create("[]").skipValue(),
+                        new PreConditionFailure("this.hasCurrent() cannot be false."));
+                });
+
+                runner.test("with EndArray event", (Test test) ->
+                {
+                    final JSONReader reader = JSONReader.create("[]");
+                    reader.next();
+                    reader.next();
+                    test.assertThrows(() -> reader.skipValue(),
+                        new PreConditionFailure("JSONReader.endsValue(this.getCurrent()) cannot be true."));
+                });
+
+                runner.test("with scalar", (Test test) ->
+                {
+                    final JSONReader reader = JSONReader.create("[1, 2]");
+                    reader.next();
+                    reader.next();
+                    reader.skipValue();
+                    test.assertEqual(JSONReaderEvent.NumberValue, reader.getCurrent());
+                    test.assertTrue(reader.next());
+                    test.assertEqual(2.0, reader.getNumber());
+                });
+
+                runner.test("with nested object", (Test test) ->
+                {
+                    final JSONReader reader = JSONReader.create("[{\"a\": [1, {\"b\": []}]}, 2]");
+                    reader.next();
+                    reader.next();
+                    test.assertEqual(JSONReaderEvent.StartObject, reader.getCurrent());
+                    reader.skipValue();
+                    test.assertEqual(JSONReaderEvent.EndObject, reader.getCurrent());
+                    test.assertEqual(1, reader.getDepth());
+                    test.assertTrue(reader.next());
+                    test.assertEqual(2.0, reader.getNumber());
+                });
+
+                runner.test("with PropertyName event", (Test test) ->
+                {
+                    final JSONReader reader = JSONReader.create("{\"skip\": {\"x\": [1, 2]}, \"id\": 7}");
+                    long id = 0;
+                    while (reader.next())
+                    {
+                        if (reader.getCurrent() == JSONReaderEvent.PropertyName)
+                        {
+                            if (reader.getPropertyName().equals("id"))
+                            {
+                                reader.next();
+                                id = reader.getLong();
+                            }
+                            else
+                            {
+                                reader.skipValue();
+                            }
+                        }
+                    }
+                    test.assertEqual(7L, id);
+                });
+
+                runner.test("with invalid skipped contents", (Test test) ->
+                {
+                    final JSONReader reader = JSONReader.create("[[1 2 : ,], 3]");
+                    reader.next();
+                    reader.next();
+                    reader.skipValue();
+                    test.assertEqual(JSONReaderEvent.EndArray, reader.getCurrent());
+                    test.assertEqual(1, reader.getDepth());
+                    test.assertTrue(reader.next());
+                    test.assertEqual(3.0, reader.getNumber());
+                    test.assertTrue(reader.next());
+                    test.assertEqual(JSONReaderEvent.EndArray, reader.getCurrent());
+                    test.assertFalse(reader.next());
+                });
+
+                runner.test("with brackets in strings and comments", (Test test) ->
+                {
+                    final JSONReader reader = JSONReader.create("{\"a\": [\"]\\\"]\", '}', /* ] */ // ]\n 1], \"b\": 2}");
+                    reader.next();
+                    reader.next();
+                    reader.skipValue();
+                    test.assertEqual(JSONReaderEvent.EndArray, reader.getCurrent());
+                    test.assertTrue(reader.next());
+                    test.assertEqual(JSONReaderEvent.PropertyName, reader.getCurrent());
+                    test.assertEqual("b", reader.getPropertyName());
+                });
+
+                runner.test("with missing right square bracket", (Test test) ->
+                {
+                    final JSONReader reader = JSONReader.create("[[1, 2]");
+                    reader.next();
+                    test.assertThrows(() -> reader.skipValue(),
+                        new ParseException("Missing array right square bracket (']')."));
+                });
+            });
+
+            runner.testGroup("readValue()", () ->
+            {
+                runner.test("with PropertyName event", (Test test) ->
+                {
+                    final JSONReader reader = JSONReader.create("{\"a\": 1}");
+                    reader.next();
+                    reader.next();
+                    test.assertThrows(() -> reader.readValue(),
+                        new PreConditionFailure("this.getCurrent() (PropertyName) must not be PropertyName."));
+                });
+
+                runner.test("with scalars", (Test test) ->
+                {
+                    final JSONReader reader = JSONReader.create("['a', 1, true, null]");
+                    reader.next();
+                    reader.next();
+                    test.assertEqual(JSONString.get("a", '\''), reader.readValue());
+                    reader.next();
+                    test.assertEqual(JSONNumber.get(1), reader.readValue());
+                    reader.next();
+                    test.assertEqual(JSONBoolean.trueSegment, reader.readValue());
+                    reader.next();
+                    test.assertEqual(JSONNull.segment, reader.readValue());
+                });
+
+                runner.test("with nested object", (Test test) ->
+                {
+                    final JSONReader reader = JSONReader.create("[{\"a\": [1, {\"b\": []}]}, 2]");
+                    reader.next();
+                    reader.next();
+                    test.assertEqual(
+                        JSONObject.create(JSONProperty.create("a", JSONArray.create(JSONNumber.get(1), JSONObject.create(JSONProperty.create("b", JSONArray.create()))))),
+                        reader.readValue());
+                    test.assertEqual(JSONReaderEvent.EndObject, reader.getCurrent());
+                    test.assertEqual(1, reader.getDepth());
+                    test.assertTrue(reader.next());
+                    test.assertEqual(2.0, reader.getNumber());
+                    test.assertTrue(reader.next());
+                    test.assertEqual(JSONReaderEvent.EndArray, reader.getCurrent());
+                    test.assertFalse(reader.next());
+                });
+
+                runner.test("with unterminated array", (Test test) ->
+                {
+                    final JSONReader reader = JSONReader.create("[1, [2");
+                    reader.next();
+                    test.assertThrows(() -> reader.readValue(),
+                        new ParseException("Missing array right square bracket (']')."));
+                });
+            });
+        });
+    }
+}
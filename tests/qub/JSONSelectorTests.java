@@ -0,0 +1,155 @@
+package qub;
+
+public interface JSONSelectorTests
+{
+    static void test(TestRunner runner)
+    {
+        PreCondition.assertNotNull(runner, "runner");
+
+        runner.testGroup(JSONSelector.class, () ->
+        {
+            runner.testGroup("create(Iterable<String>)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONSelector.create(null),
+                        new PreConditionFailure("jsonPointers cannot be null."));
+                });
+
+                runner.test("with invalid JSON Pointer", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONSelector.create(Iterable.create("/a", "b")),
+                        new ParseException("Expected JSON Pointer \"b\" to start with \"/\"."));
+                });
+            });
+
+            runner.testGroup("parseJSONPointer(String)", () ->
+            {
+                final Action2<String,Iterable<String>> parseJSONPointerTest = (String jsonPointer, Iterable<String> expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(jsonPointer), (Test test) ->
+                    {
+                        test.assertEqual(expected, Iterable.create(JSONSelector.parseJSONPointer(jsonPointer)));
+                    });
+                };
+
+                parseJSONPointerTest.run("", Iterable.create());
+                parseJSONPointerTest.run("/", Iterable.create(""));
+                parseJSONPointerTest.run("/a", Iterable.create("a"));
+                parseJSONPointerTest.run("/a/0/*", Iterable.create("a", "0", "*"));
+                parseJSONPointerTest.run("/a~1b/c~0d", Iterable.create("a/b", "c~d"));
+                parseJSONPointerTest.run("/~01", Iterable.create("~1"));
+
+                final Action2<String,Throwable> parseJSONPointerErrorTest = (String jsonPointer, Throwable expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(jsonPointer), (Test test) ->
+                    {
+                        test.assertThrows(() -> JSONSelector.parseJSONPointer(jsonPointer), expected);
+                    });
+                };
+
+                parseJSONPointerErrorTest.run(null, new PreConditionFailure("jsonPointer cannot be null."));
+                parseJSONPointerErrorTest.run("a", new ParseException("Expected JSON Pointer \"a\" to start with \"/\"."));
+                parseJSONPointerErrorTest.run("/a~", new ParseException("Expected \"~\" in JSON Pointer \"/a~\" to be followed by \"0\" or \"1\"."));
+                parseJSONPointerErrorTest.run("/a~2", new ParseException("Expected \"~\" in JSON Pointer \"/a~2\" to be followed by \"0\" or \"1\"."));
+            });
+
+            runner.testGroup("getArrayIndex(String)", () ->
+            {
+                final Action2<String,Integer> getArrayIndexTest = (String referenceToken, Integer expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(referenceToken), (Test test) ->
+                    {
+                        test.assertEqual(expected, JSONSelector.getArrayIndex(referenceToken));
+                    });
+                };
+
+                getArrayIndexTest.run("", -1);
+                getArrayIndexTest.run("0", 0);
+                getArrayIndexTest.run("7", 7);
+                getArrayIndexTest.run("123", 123);
+                getArrayIndexTest.run("01", -1);
+                getArrayIndexTest.run("-1", -1);
+                getArrayIndexTest.run("a", -1);
+                getArrayIndexTest.run("*", -1);
+                getArrayIndexTest.run("1234567890", -1);
+            });
+
+            runner.testGroup("select(JSONReader)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    final JSONSelector selector = JSONSelector.create(Iterable.create("/a"));
+                    test.assertThrows(() -> selector.select(null),
+                        new PreConditionFailure("reader cannot be null."));
+                });
+
+                runner.test("with StartArray event", (Test test) ->
+                {
+                    final JSONSelector selector = JSONSelector.create(Iterable.create("/a"));
+                    final JSONReader reader = JSONReader.create("[]");
+                    reader.next();
+                    test.assertThrows(() -> selector.select(reader),
+                        new PreConditionFailure("reader.getCurrent() (StartArray) must be StartObject."));
+                });
+
+                final Action3<Iterable<String>,String,String> selectTest = (Iterable<String> jsonPointers, String text, String expected) ->
+                {
+                    runner.test("with " + jsonPointers + " and " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        final JSONSelector selector = JSONSelector.create(jsonPointers);
+                        final JSONReader reader = JSONReader.create(text);
+                        reader.next();
+                        test.assertEqual(JSON.parse(expected).await(), selector.select(reader));
+                        test.assertEqual(JSONReaderEvent.EndObject, reader.getCurrent());
+                        test.assertEqual(0, reader.getDepth());
+                    });
+                };
+
+                selectTest.run(Iterable.create(), "{\"a\": 1}", "{}");
+                selectTest.run(Iterable.create(""), "{\"a\": 1}", "{\"a\": 1}");
+                selectTest.run(Iterable.create("/a"), "{\"a\": 1, \"b\": 2}", "{\"a\": 1}");
+                selectTest.run(Iterable.create("/c"), "{\"a\": 1, \"b\": 2}", "{}");
+                selectTest.run(Iterable.create("/a", "/a/b"), "{\"a\": {\"b\": 1, \"c\": 2}}", "{\"a\": {\"b\": 1, \"c\": 2}}");
+                selectTest.run(Iterable.create("/a/b"), "{\"a\": 5}", "{}");
+                selectTest.run(
+                    Iterable.create("/metadata/id", "/items/*/price"),
+                    "{\"metadata\": {\"id\": 7, \"tags\": [\"x\", \"y\"]}, \"body\": {\"text\": \"}]\"}, \"items\": [{\"price\": 1.5, \"name\": \"a\"}, {\"name\": \"b\"}, {\"price\": 2}]}",
+                    "{\"metadata\": {\"id\": 7}, \"items\": [{\"price\": 1.5}, {}, {\"price\": 2}]}");
+                selectTest.run(Iterable.create("/items/1"), "{\"items\": [1, [2, 3], 4]}", "{\"items\": [null, [2, 3]]}");
+                selectTest.run(Iterable.create("/items/1/0", "/items/*/1"), "{\"items\": [[1, 2], [3, 4]]}", "{\"items\": [[null, 2], [3, 4]]}");
+                selectTest.run(Iterable.create("/items/*/price"), "{\"items\": [5, {\"price\": 1}, 6, [7]]}", "{\"items\": [null, {\"price\": 1}, null, []]}");
+                selectTest.run(Iterable.create("/items/*"), "{\"items\": [1, [2], {}]}", "{\"items\": [1, [2], {}]}");
+                selectTest.run(Iterable.create("/items/1/a"), "{\"items\": [{\"a\": 1}, 2, 3]}", "{\"items\": []}");
+                selectTest.run(Iterable.create("/*/id", "/a/name"), "{\"a\": {\"id\": 1, \"name\": \"x\", \"c\": 2}, \"b\": {\"id\": 3, \"name\": \"y\"}}", "{\"a\": {\"id\": 1, \"name\": \"x\"}, \"b\": {\"id\": 3}}");
+                selectTest.run(Iterable.create("/a~1b"), "{\"a/b\": 1, \"a\": {\"b\": 2}}", "{\"a/b\": 1}");
+
+                runner.test("with invalid skipped value", (Test test) ->
+                {
+                    final JSONSelector selector = JSONSelector.create(Iterable.create("/b"));
+                    final JSONReader reader = JSONReader.create("{\"a\": [1 2], \"b\": 3}");
+                    reader.next();
+                    test.assertEqual(JSON.parse("{\"b\": 3}").await(), selector.select(reader));
+                });
+
+                runner.test("with invalid selected value", (Test test) ->
+                {
+                    final JSONSelector selector = JSONSelector.create(Iterable.create("/a"));
+                    final JSONReader reader = JSONReader.create("{\"a\": [1 2], \"b\": 3}");
+                    reader.next();
+                    test.assertThrows(() -> selector.select(reader),
+                        new ParseException("Expected array element separator (',') or right square bracket (']')."));
+                });
+
+                runner.test("with missing right curly bracket", (Test test) ->
+                {
+                    final JSONSelector selector = JSONSelector.create(Iterable.create("/b"));
+                    final JSONReader reader = JSONReader.create("{\"a\": {\"b\": 1}");
+                    reader.next();
+                    test.assertThrows(() -> selector.select(reader),
+                        new ParseException("Missing object right curly bracket ('}')."));
+                });
+            });
+        });
+    }
+}
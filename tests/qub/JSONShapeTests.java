@@ -0,0 +1,193 @@
+package qub;
+
+public interface JSONShapeTests
+{
+    static void test(TestRunner runner)
+    {
+        PreCondition.assertNotNull(runner, "runner");
+
+        runner.testGroup(JSONShape.class, () ->
+        {
+            runner.test("create()", (Test test) ->
+            {
+                final JSONShape shape = JSONShape.create();
+                test.assertEqual(0, shape.getCount());
+                test.assertEqual(-1, shape.getIndex("a"));
+                test.assertFalse(shape.isFrozen());
+            });
+
+            runner.testGroup("addProperty(String,Class<? extends JSONSegment>)", () ->
+            {
+                runner.test("with null propertyName", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONShape.create().addProperty(null, JSONString.class),
+                        new PreConditionFailure("propertyName cannot be null."));
+                });
+
+                runner.test("with empty propertyName", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONShape.create().addProperty("", JSONString.class),
+                        new PreConditionFailure("propertyName cannot be empty."));
+                });
+
+                runner.test("with null propertyType", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONShape.create().addProperty("a", null),
+                        new PreConditionFailure("propertyType cannot be null."));
+                });
+
+                runner.test("with unsupported propertyType", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONShape.create().addProperty("a", JSONNull.class),
+                        new PreConditionFailure("JSONShape.isSupportedType(propertyType) cannot be false."));
+                });
+
+                runner.test("with existing propertyName", (Test test) ->
+                {
+                    final JSONShape shape = JSONShape.create().addProperty("a", JSONString.class);
+                    test.assertThrows(() -> shape.addProperty("a", JSONNumber.class),
+                        new PreConditionFailure("this.getIndex(propertyName) (0) must be -1."));
+                });
+
+                runner.test("after parsing an object", (Test test) ->
+                {
+                    final JSONShape shape = JSONShape.create().addProperty("a", JSONString.class);
+                    shape.parse(JSON.createTokenizer("{\"a\": \"b\"}"));
+                    test.assertTrue(shape.isFrozen());
+                    test.assertThrows(() -> shape.addProperty("c", JSONNumber.class),
+                        new PreConditionFailure("this.isFrozen() cannot be true."));
+                    test.assertEqual(1, shape.getCount());
+                });
+
+                runner.test("with new properties", (Test test) ->
+                {
+                    final JSONShape shape = JSONShape.create();
+                    test.assertSame(shape, shape.addProperty("id", JSONNumber.class));
+                    test.assertSame(shape, shape.addProperty("name", JSONString.class));
+                    test.assertEqual(2, shape.getCount());
+                    test.assertEqual("id", shape.getPropertyName(0));
+                    test.assertEqual(JSONNumber.class, shape.getPropertyType(0));
+                    test.assertEqual("name", shape.getPropertyName(1));
+                    test.assertEqual(JSONString.class, shape.getPropertyType(1));
+                });
+            });
+
+            runner.testGroup("isSupportedType(Class<?>)", () ->
+            {
+                final Action2<java.lang.Class<?>,Boolean> isSupportedTypeTest = (java.lang.Class<?> propertyType, Boolean expected) ->
+                {
+                    runner.test("with " + propertyType, (Test test) ->
+                    {
+                        test.assertEqual(expected, JSONShape.isSupportedType(propertyType));
+                    });
+                };
+
+                isSupportedTypeTest.run(null, false);
+                isSupportedTypeTest.run(JSONSegment.class, true);
+                isSupportedTypeTest.run(JSONObject.class, true);
+                isSupportedTypeTest.run(JSONArray.class, true);
+                isSupportedTypeTest.run(JSONString.class, true);
+                isSupportedTypeTest.run(JSONNumber.class, true);
+                isSupportedTypeTest.run(JSONBoolean.class, true);
+                isSupportedTypeTest.run(JSONNull.class, false);
+                isSupportedTypeTest.run(String.class, false);
+            });
+
+            runner.testGroup("getIndex(String)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONShape.create().getIndex((String)null),
+                        new PreConditionFailure("propertyName cannot be null."));
+                });
+
+                final Action1<Integer> getIndexTest = (Integer count) ->
+                {
+                    runner.test("with " + count + " properties", (Test test) ->
+                    {
+                        final JSONShape shape = JSONShape.create();
+                        for (int i = 0; i < count; ++i)
+                        {
+                            shape.addProperty("field" + i, JSONSegment.class);
+                        }
+                        for (int i = 0; i < count; ++i)
+                        {
+                            test.assertEqual(i, shape.getIndex("field" + i));
+                        }
+                        test.assertEqual(-1, shape.getIndex(""));
+                        test.assertEqual(-1, shape.getIndex("field"));
+                        test.assertEqual(-1, shape.getIndex("field" + count));
+                        test.assertEqual(-1, shape.getIndex("other"));
+                    });
+                };
+
+                getIndexTest.run(1);
+                getIndexTest.run(2);
+                getIndexTest.run(20);
+                getIndexTest.run(500);
+            });
+
+            runner.testGroup("parse(JSONTokenizer)", () ->
+            {
+                final JSONShape shape = JSONShape.create()
+                    .addProperty("id", JSONNumber.class)
+                    .addProperty("name", JSONString.class)
+                    .addProperty("active", JSONBoolean.class)
+                    .addProperty("tags", JSONArray.class)
+                    .addProperty("owner", JSONObject.class)
+                    .addProperty("extra", JSONSegment.class);
+
+                runner.test("with all properties", (Test test) ->
+                {
+                    final JSONTokenizer tokenizer = JSON.createTokenizer("{\"id\": 7, \"name\": \"a\\\"b\", \"active\": true, \"tags\": [1, 2], \"owner\": {\"x\": null}, \"extra\": \"e\"} 5");
+                    final JSONShapedObject object = shape.parse(tokenizer);
+                    test.assertSame(shape, object.getShape());
+                    test.assertEqual(7.0, object.getNumber(0));
+                    test.assertEqual("a\\\"b", object.getString(1));
+                    test.assertTrue(object.getBoolean(2));
+                    test.assertEqual(JSON.parseArray("[1, 2]").await(), object.getArray(3));
+                    test.assertEqual(JSON.parseObject("{\"x\": null}").await(), object.getObject(4));
+                    test.assertEqual(JSONString.get("e"), object.get(5));
+                    test.assertEqual(JSONToken.number("5"), tokenizer.getCurrent());
+                });
+
+                runner.test("with unknown, null, and missing properties", (Test test) ->
+                {
+                    final JSONTokenizer tokenizer = JSON.createTokenizer("{\"other\": {\"id\": [1, {}]}, \"n\\u0061me\": \"b\", \"id\": null, \"more\": 5}");
+                    final JSONShapedObject object = shape.parse(tokenizer);
+                    test.assertTrue(object.contains(0));
+                    test.assertFalse(object.hasValue(0));
+                    test.assertEqual(JSONNull.segment, object.get(0));
+                    test.assertFalse(object.contains(1));
+                    test.assertNull(object.getString(1));
+                    test.assertFalse(object.contains(2));
+                    test.assertNull(object.get(2));
+                    test.assertNull(object.getArray(3));
+                    test.assertFalse(tokenizer.hasCurrent());
+                });
+
+                final Action2<String,Throwable> parseErrorTest = (String text, Throwable expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        test.assertThrows(() -> shape.parse(JSON.createTokenizer(text)), expected);
+                    });
+                };
+
+                parseErrorTest.run("{", new ParseException("Missing object right curly bracket ('}')."));
+                parseErrorTest.run("{\"id\": 1,", new ParseException("Missing object property."));
+                parseErrorTest.run("{\"id\": 1,}", new ParseException("Expected quoted-string object property name."));
+                parseErrorTest.run("{,}", new ParseException("Expected quoted-string object property name or right curly bracket ('}')."));
+                parseErrorTest.run("{\"id\"", new ParseException("Missing object property name and value separator (':')."));
+                parseErrorTest.run("{\"id\" 1}", new ParseException("Expected object property name and value separator (':')."));
+                parseErrorTest.run("{\"id\":", new ParseException("Missing object property value."));
+                parseErrorTest.run("{\"id\":,}", new ParseException("Expected object property value."));
+                parseErrorTest.run("{\"id\": 1 \"name\": \"a\"}", new ParseException("Expected object property separator (',') or right curly bracket ('}')."));
+                parseErrorTest.run("{\"\": 1}", new ParseException("Expected object property name to be not empty."));
+                parseErrorTest.run("{\"tags\": [1}", new ParseException("Unexpected array element token: \"}\""));
+                parseErrorTest.run("{\"id\": \"7\"}", new WrongTypeException("Expected the property named \"id\" to be a JSONNumber or JSONNull, but was a JSONString instead."));
+                parseErrorTest.run("{\"owner\": []}", new WrongTypeException("Expected the property named \"owner\" to be a JSONObject or JSONNull, but was a JSONArray instead."));
+            });
+        });
+    }
+}
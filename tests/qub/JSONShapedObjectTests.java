@@ -0,0 +1,126 @@
+package qub;
+
+public interface JSONShapedObjectTests
+{
+    static JSONShape createShape()
+    {
+        return JSONShape.create()
+            .addProperty("id", JSONNumber.class)
+            .addProperty("name", JSONString.class)
+            .addProperty("active", JSONBoolean.class)
+            .addProperty("owner", JSONObject.class);
+    }
+
+    static void test(TestRunner runner)
+    {
+        PreCondition.assertNotNull(runner, "runner");
+
+        runner.testGroup(JSONShapedObject.class, () ->
+        {
+            runner.testGroup("contains(int)", () ->
+            {
+                runner.test("with negative index", (Test test) ->
+                {
+                    final JSONShapedObject object = JSON.parseObject("{}", JSONShapedObjectTests.createShape()).await();
+                    test.assertThrows(() -> object.contains(-1),
+                        new PreConditionFailure("index (-1) must be between 0 and 3."));
+                });
+
+                runner.test("with missing, null, and present properties", (Test test) ->
+                {
+                    final JSONShapedObject object = JSON.parseObject("{\"id\": null, \"name\": \"a\"}", JSONShapedObjectTests.createShape()).await();
+                    test.assertTrue(object.contains(0));
+                    test.assertFalse(object.hasValue(0));
+                    test.assertTrue(object.contains(1));
+                    test.assertTrue(object.hasValue(1));
+                    test.assertFalse(object.contains(2));
+                    test.assertFalse(object.hasValue(2));
+                });
+            });
+
+            runner.testGroup("get(int)", () ->
+            {
+                runner.test("with each type", (Test test) ->
+                {
+                    final JSONShapedObject object = JSON.parseObject("{\"id\": 1.5, \"name\": \"a\", \"active\": false, \"owner\": {}}", JSONShapedObjectTests.createShape()).await();
+                    test.assertEqual(JSONNumber.get(1.5), object.get(0));
+                    test.assertEqual(JSONString.get("a"), object.get(1));
+                    test.assertEqual(JSONBoolean.falseSegment, object.get(2));
+                    test.assertEqual(JSONObject.create(), object.get(3));
+                });
+            });
+
+            runner.testGroup("getNumber(int)", () ->
+            {
+                runner.test("with wrong type", (Test test) ->
+                {
+                    final JSONShapedObject object = JSON.parseObject("{\"name\": \"a\"}", JSONShapedObjectTests.createShape()).await();
+                    test.assertThrows(() -> object.getNumber(1),
+                        new PreConditionFailure("this.getShape().getPropertyType(index) == JSONNumber.class cannot be false."));
+                });
+
+                runner.test("with missing value", (Test test) ->
+                {
+                    final JSONShapedObject object = JSON.parseObject("{}", JSONShapedObjectTests.createShape()).await();
+                    test.assertThrows(() -> object.getNumber(0),
+                        new PreConditionFailure("this.hasValue(index) cannot be false."));
+                });
+
+                runner.test("with value", (Test test) ->
+                {
+                    final JSONShapedObject object = JSON.parseObject("{\"id\": -2e3}", JSONShapedObjectTests.createShape()).await();
+                    test.assertEqual(-2000.0, object.getNumber(0));
+                });
+            });
+
+            runner.testGroup("getBoolean(int)", () ->
+            {
+                runner.test("with missing value", (Test test) ->
+                {
+                    final JSONShapedObject object = JSON.parseObject("{\"active\": null}", JSONShapedObjectTests.createShape()).await();
+                    test.assertThrows(() -> object.getBoolean(2),
+                        new PreConditionFailure("this.hasValue(index) cannot be false."));
+                });
+
+                runner.test("with value", (Test test) ->
+                {
+                    final JSONShapedObject object = JSON.parseObject("{\"active\": true}", JSONShapedObjectTests.createShape()).await();
+                    test.assertTrue(object.getBoolean(2));
+                });
+            });
+
+            runner.testGroup("getString(int)", () ->
+            {
+                runner.test("with wrong type", (Test test) ->
+                {
+                    final JSONShapedObject object = JSON.parseObject("{}", JSONShapedObjectTests.createShape()).await();
+                    test.assertThrows(() -> object.getString(0),
+                        new PreConditionFailure("this.getShape().getPropertyType(index) == JSONString.class cannot be false."));
+                });
+
+                runner.test("with missing value", (Test test) ->
+                {
+                    final JSONShapedObject object = JSON.parseObject("{}", JSONShapedObjectTests.createShape()).await();
+                    test.assertNull(object.getString(1));
+                });
+            });
+
+            runner.testGroup("toString()", () ->
+            {
+                final Action2<String,String> toStringTest = (String text, String expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        final JSONShapedObject object = JSON.parseObject(text, JSONShapedObjectTests.createShape()).await();
+                        test.assertEqual(expected, object.toString());
+                        test.assertEqual(JSON.parseObject(expected).await(), object.toJSONObject());
+                    });
+                };
+
+                toStringTest.run("{}", "{}");
+                toStringTest.run("{\"other\": 1}", "{}");
+                toStringTest.run("{\"owner\": {\"a\": [1]}, \"id\": 5, \"active\": null}", "{\"id\":5,\"active\":null,\"owner\":{\"a\":[1]}}");
+            });
+        });
+    }
+}
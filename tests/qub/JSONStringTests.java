@@ -39,6 +39,77 @@ public interface JSONStringTests
                 getFromQuotedTest.run("'\\n'", JSONString.get("\\n", '\''));
             });
 
+            runner.testGroup("getFromQuoted(char[],int,int)", () ->
+            {
+                final Action4<char[],Integer,Integer,Throwable> getFromQuotedErrorTest = (char[] characters, Integer startIndex, Integer length, Throwable expected) ->
+                {
+                    runner.test("with " + English.andList(characters == null ? null : Strings.escapeAndQuote(new String(characters)), startIndex, length), (Test test) ->
+                    {
+                        test.assertThrows(() -> JSONString.getFromQuoted(characters, startIndex, length), expected);
+                    });
+                };
+
+                getFromQuotedErrorTest.run(null, 0, 2, new PreConditionFailure("characters cannot be null."));
+                getFromQuotedErrorTest.run("\"\"".toCharArray(), -1, 2, new PreConditionFailure("startIndex (-1) must be between 0 and 2."));
+                getFromQuotedErrorTest.run("\"\"".toCharArray(), 0, 1, new PreConditionFailure("length (1) must be between 2 and 2."));
+                getFromQuotedErrorTest.run("\"\"".toCharArray(), 0, 3, new PreConditionFailure("length (3) must be between 2 and 2."));
+                getFromQuotedErrorTest.run("ab".toCharArray(), 0, 2, new PreConditionFailure("JSONString.isQuoted(characters, startIndex, length) cannot be false."));
+                getFromQuotedErrorTest.run("\"a'".toCharArray(), 0, 3, new PreConditionFailure("JSONString.isQuoted(characters, startIndex, length) cannot be false."));
+                getFromQuotedErrorTest.run("\"\n\"".toCharArray(), 0, 3, new PreConditionFailure("text.contains(\"\\n\") cannot be true."));
+
+                final Action4<String,Integer,Integer,JSONString> getFromQuotedTest = (String text, Integer startIndex, Integer length, JSONString expected) ->
+                {
+                    runner.test("with " + English.andList(Strings.escapeAndQuote(text), startIndex, length), (Test test) ->
+                    {
+                        final JSONString string = JSONString.getFromQuoted(text.toCharArray(), startIndex, length);
+                        test.assertEqual(expected, string);
+                        test.assertEqual(expected.getValue(), string.getValue());
+                        test.assertEqual(expected.getQuote(), string.getQuote());
+                        test.assertEqual(expected.toString(), string.toString());
+                    });
+                };
+
+                getFromQuotedTest.run("\"\"", 0, 2, JSONString.get("", '\"'));
+                getFromQuotedTest.run("''", 0, 2, JSONString.get("", '\''));
+                getFromQuotedTest.run("[\"abc\"]", 1, 5, JSONString.get("abc", '\"'));
+                getFromQuotedTest.run("{'abc':", 1, 5, JSONString.get("abc", '\''));
+                getFromQuotedTest.run("\"\\n\"", 0, 4, JSONString.get("\\n", '\"'));
+            });
+
+            runner.testGroup("getUnescapedValue()", () ->
+            {
+                final Action2<String,String> getUnescapedValueTest = (String quotedText, String expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(quotedText), (Test test) ->
+                    {
+                        final JSONString string = JSONString.getFromQuoted(quotedText.toCharArray(), 0, quotedText.length());
+                        test.assertEqual(expected, string.getUnescapedValue());
+                        test.assertSame(string.getUnescapedValue(), string.getUnescapedValue());
+                    });
+                };
+
+                getUnescapedValueTest.run("\"\"", "");
+                getUnescapedValueTest.run("\"abc\"", "abc");
+                getUnescapedValueTest.run("\"a\\\"b\"", "a\"b");
+                getUnescapedValueTest.run("'a\\'b'", "a'b");
+                getUnescapedValueTest.run("\"\\\\\"", "\\");
+                getUnescapedValueTest.run("\"\\/\"", "/");
+                getUnescapedValueTest.run("\"\\b\\f\\n\\r\\t\"", "\b\f\n\r\t");
+                getUnescapedValueTest.run("\"\\u0041\"", "A");
+                getUnescapedValueTest.run("\"\\u00e9\\u00E9\"", "\u00e9\u00e9");
+                getUnescapedValueTest.run("\"\\ud83d\\ude00\"", "\ud83d\ude00");
+                getUnescapedValueTest.run("\"\\u004\"", "\\u004");
+                getUnescapedValueTest.run("\"\\u004g\"", "\\u004g");
+                getUnescapedValueTest.run("\"\\x\"", "\\x");
+                getUnescapedValueTest.run("\"a\\nb\\tc\"", "a\nb\tc");
+
+                runner.test("with no escape sequences", (Test test) ->
+                {
+                    final JSONString string = JSONString.get("abc");
+                    test.assertSame(string.getValue(), string.getUnescapedValue());
+                });
+            });
+
             runner.testGroup("get(String)", () ->
             {
                 final Action2<String,Throwable> getErrorTest = (String text, Throwable expected) ->
@@ -126,6 +197,43 @@ public interface JSONStringTests
                 toStringTest.run(JSONString.get("a'b'c", '\''), "'a\\'b\\'c'");
             });
 
+            runner.testGroup("writeQuoted(String,IndentedCharacterWriteStream)", () ->
+            {
+                runner.test("with null value", (Test test) ->
+                {
+                    final IndentedCharacterWriteStream stream = IndentedCharacterWriteStream.create(InMemoryCharacterToByteStream.create());
+                    test.assertThrows(() -> JSONString.writeQuoted(null, stream),
+                        new PreConditionFailure("value cannot be null."));
+                });
+
+                runner.test("with null stream", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONString.writeQuoted("abc", null),
+                        new PreConditionFailure("stream cannot be null."));
+                });
+
+                final Action2<String,String> writeQuotedTest = (String value, String expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(value), (Test test) ->
+                    {
+                        final InMemoryCharacterToByteStream stream = InMemoryCharacterToByteStream.create();
+                        test.assertEqual(expected.length(), JSONString.writeQuoted(value, IndentedCharacterWriteStream.create(stream)).await());
+                        test.assertEqual(expected, stream.getText().await());
+                        test.assertEqual(value, JSONString.getFromQuoted(expected.toCharArray(), 0, expected.length()).getUnescapedValue());
+                    });
+                };
+
+                writeQuotedTest.run("", "\"\"");
+                writeQuotedTest.run("abc", "\"abc\"");
+                writeQuotedTest.run("a'b", "\"a'b\"");
+                writeQuotedTest.run("She said, \"Hello!\"", "\"She said, \\\"Hello!\\\"\"");
+                writeQuotedTest.run("a\\b", "\"a\\\\b\"");
+                writeQuotedTest.run("a\nb\r\n", "\"a\\nb\\r\\n\"");
+                writeQuotedTest.run("\b\f\t", "\"\\b\\f\\t\"");
+                writeQuotedTest.run("\u0000\u001F", "\"\\u0000\\u001F\"");
+                writeQuotedTest.run("caf\u00E9", "\"caf\u00E9\"");
+            });
+
             runner.testGroup("equals(Object)", () ->
             {
                 final Action3<JSONString,Object,Boolean> equalsTest = (JSONString string, Object rhs, Boolean expected) ->
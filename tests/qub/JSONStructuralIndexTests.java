@@ -0,0 +1,96 @@
+package qub;
+
+public interface JSONStructuralIndexTests
+{
+    static void test(TestRunner runner)
+    {
+        PreCondition.assertNotNull(runner, "runner");
+
+        runner.testGroup(JSONStructuralIndex.class, () ->
+        {
+            runner.testGroup("create(String)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONStructuralIndex.create((String)null),
+                        new PreConditionFailure("text cannot be null."));
+                });
+
+                final Action2<String,int[]> createTest = (String text, int[] expectedOffsets) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        final JSONStructuralIndex index = JSONStructuralIndex.create(text);
+                        test.assertEqual(expectedOffsets.length, index.getCount());
+                        for (int i = 0; i < expectedOffsets.length; ++i)
+                        {
+                            test.assertEqual(expectedOffsets[i], index.getOffset(i));
+                        }
+                    });
+                };
+
+                createTest.run("", new int[0]);
+                createTest.run(" \t\r\n", new int[0]);
+                createTest.run("null", new int[] { 0 });
+                createTest.run("-12.5e+3", new int[] { 0 });
+                createTest.run("\"abc\"", new int[] { 0, 4 });
+                createTest.run("'a\"b'", new int[] { 0, 4 });
+                createTest.run("\"a\\\"b\"", new int[] { 0, 5 });
+                createTest.run("\"a very long string without any escapes\"", new int[] { 0, 39 });
+                createTest.run("\"\\\\\"", new int[] { 0, 3 });
+                createTest.run("{\"a\": [1, true]}", new int[] { 0, 1, 3, 4, 6, 7, 8, 10, 14, 15 });
+
+                final Action2<String,Throwable> createErrorTest = (String text, Throwable expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        test.assertThrows(() -> JSONStructuralIndex.create(text), expected);
+                    });
+                };
+
+                createErrorTest.run("// comment", new ParseException("Unsupported character at offset 0: \"/\""));
+                createErrorTest.run("[1]\r", new ParseException("Unsupported carriage return at offset 3."));
+                createErrorTest.run("\"abc", new ParseException("Missing quoted-string closing quote: \""));
+                createErrorTest.run("\"abc\\\"", new ParseException("Missing quoted-string closing quote: \""));
+            });
+
+            runner.testGroup("getOffset(int)", () ->
+            {
+                runner.test("with -1", (Test test) ->
+                {
+                    final JSONStructuralIndex index = JSONStructuralIndex.create("[]");
+                    test.assertThrows(() -> index.getOffset(-1),
+                        new PreConditionFailure("index (-1) must be between 0 and 1."));
+                });
+
+                runner.test("with count", (Test test) ->
+                {
+                    final JSONStructuralIndex index = JSONStructuralIndex.create("[]");
+                    test.assertThrows(() -> index.getOffset(2),
+                        new PreConditionFailure("index (2) must be between 0 and 1."));
+                });
+            });
+
+            runner.testGroup("findClosingQuote(char[],int,int,char)", () ->
+            {
+                final Action2<String,Integer> findClosingQuoteTest = (String text, Integer expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        final char[] characters = text.toCharArray();
+                        test.assertEqual(expected, JSONStructuralIndex.findClosingQuote(characters, 1, characters.length, characters[0]));
+                    });
+                };
+
+                findClosingQuoteTest.run("\"", -1);
+                findClosingQuoteTest.run("\"\"", 1);
+                findClosingQuoteTest.run("\"abcdefgh\"", 9);
+                findClosingQuoteTest.run("\"abcdefg\\\"h\"", 11);
+                findClosingQuoteTest.run("\"abc\\\\\"", 6);
+                findClosingQuoteTest.run("'abc\"defgh'", 10);
+                findClosingQuoteTest.run("\"\u20AC\u20AC\u20AC\u20AC\u20AC\"", 6);
+                findClosingQuoteTest.run("\"\u2222\u225C\u2222\u225C\"", 5);
+            });
+        });
+    }
+}
@@ -0,0 +1,101 @@
+package qub;
+
+public interface JSONTapeArrayTests
+{
+    static JSONTapeArray parse(String text)
+    {
+        return (JSONTapeArray)JSON.parseTape(text).await().getRoot();
+    }
+
+    static void test(TestRunner runner)
+    {
+        PreCondition.assertNotNull(runner, "runner");
+
+        runner.testGroup(JSONTapeArray.class, () ->
+        {
+            runner.testGroup("getCount()", () ->
+            {
+                final Action2<String,Integer> getCountTest = (String text, Integer expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        test.assertEqual(expected, JSONTapeArrayTests.parse(text).getCount());
+                    });
+                };
+
+                getCountTest.run("[]", 0);
+                getCountTest.run("[null]", 1);
+                getCountTest.run("[1, [2, 3], {\"a\": [4]}, \"b\"]", 4);
+            });
+
+            runner.testGroup("get(int)", () ->
+            {
+                runner.test("with negative index", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONTapeArrayTests.parse("[1]").get(-1),
+                        new PreConditionFailure("index (-1) must be equal to 0."));
+                });
+
+                runner.test("with index equal to the count", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONTapeArrayTests.parse("[1]").get(1),
+                        new PreConditionFailure("index (1) must be equal to 0."));
+                });
+
+                runner.test("with valid indexes", (Test test) ->
+                {
+                    final JSONTapeArray array = JSONTapeArrayTests.parse("[1, [2, 3], {\"a\": [4]}, \"b\"]");
+                    test.assertEqual(JSONNumber.get(1), array.get(0));
+                    test.assertEqual("[2,3]", array.get(1).toString());
+                    test.assertEqual("{\"a\":[4]}", array.get(2).toString());
+                    test.assertEqual(JSONString.get("b"), array.get(3));
+                });
+            });
+
+            runner.test("getElements()", (Test test) ->
+            {
+                final JSONTapeArray array = JSONTapeArrayTests.parse("[true, 'x', [], -2]");
+                test.assertEqual(
+                    Iterable.create(JSONBoolean.trueSegment, JSONString.get("x", '\''), JSONTapeArrayTests.parse("[]"), JSONNumber.get(-2)),
+                    array.getElements());
+            });
+
+            runner.testGroup("toString()", () ->
+            {
+                final Action1<String> toStringTest = (String text) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        test.assertEqual(JSON.parseArray(text).await().toString(), JSONTapeArrayTests.parse(text).toString());
+                    });
+                };
+
+                toStringTest.run("[]");
+                toStringTest.run("[1,2]");
+                toStringTest.run("[{\"a\": [null, false]}, [[]], \"c\"]");
+            });
+
+            runner.testGroup("equals(Object)", () ->
+            {
+                runner.test("with same view", (Test test) ->
+                {
+                    final JSONTapeArray array = JSONTapeArrayTests.parse("[1]");
+                    test.assertTrue(array.equals((Object)array));
+                });
+
+                runner.test("with views of different tapes", (Test test) ->
+                {
+                    test.assertTrue(JSONTapeArrayTests.parse("[1, 2]").equals((Object)JSONTapeArrayTests.parse("[1,2]")));
+                    test.assertFalse(JSONTapeArrayTests.parse("[1]").equals((Object)JSONTapeArrayTests.parse("[2]")));
+                    test.assertFalse(JSONTapeArrayTests.parse("[[1], 2]").equals((Object)JSONTapeArrayTests.parse("[[1, 2]]")));
+                    test.assertTrue(JSONTapeArrayTests.parse("[{\"a\": [true]}, \"b\"]").equals((Object)JSONTapeArrayTests.parse("[{\"a\":[true]},\"b\"]")));
+                });
+
+                runner.test("with JSONArray", (Test test) ->
+                {
+                    test.assertFalse(JSONTapeArrayTests.parse("[]").equals((Object)JSONArray.create()));
+                });
+            });
+        });
+    }
+}
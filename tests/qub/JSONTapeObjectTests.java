@@ -0,0 +1,148 @@
+package qub;
+
+public interface JSONTapeObjectTests
+{
+    static JSONTapeObject parse(String text)
+    {
+        return (JSONTapeObject)JSON.parseTape(text).await().getRoot();
+    }
+
+    static void test(TestRunner runner)
+    {
+        PreCondition.assertNotNull(runner, "runner");
+
+        runner.testGroup(JSONTapeObject.class, () ->
+        {
+            runner.testGroup("getCount()", () ->
+            {
+                final Action2<String,Integer> getCountTest = (String text, Integer expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        test.assertEqual(expected, JSONTapeObjectTests.parse(text).getCount());
+                    });
+                };
+
+                getCountTest.run("{}", 0);
+                getCountTest.run("{\"a\": 1}", 1);
+                getCountTest.run("{\"a\": [1, 2], \"b\": {\"c\": 3}, \"d\": null}", 3);
+                getCountTest.run("{\"a\": 1, \"b\": 2, \"a\": 3}", 2);
+            });
+
+            runner.testGroup("contains(String)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONTapeObjectTests.parse("{}").contains(null),
+                        new PreConditionFailure("propertyName cannot be null."));
+                });
+
+                runner.test("with existing and missing names", (Test test) ->
+                {
+                    final JSONTapeObject object = JSONTapeObjectTests.parse("{\"a\": {\"b\": 1}, \"bc\": 2}");
+                    test.assertTrue(object.contains("a"));
+                    test.assertTrue(object.contains("bc"));
+                    test.assertFalse(object.contains("b"));
+                    test.assertFalse(object.contains("c"));
+                });
+            });
+
+            runner.testGroup("get(String)", () ->
+            {
+                runner.test("with empty", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONTapeObjectTests.parse("{}").get(""),
+                        new PreConditionFailure("propertyName cannot be empty."));
+                });
+
+                runner.test("with missing name", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONTapeObjectTests.parse("{\"a\": 1}").get("b").await(),
+                        new NotFoundException("No property found with the name: \"b\""));
+                });
+
+                runner.test("with duplicate names", (Test test) ->
+                {
+                    final JSONTapeObject object = JSONTapeObjectTests.parse("{\"a\": 1, \"b\": 2, \"a\": 3}");
+                    test.assertEqual(JSON.parseObject("{\"a\": 1, \"b\": 2, \"a\": 3}").await().get("a").await(), object.get("a").await());
+                    test.assertEqual(JSONNumber.get(3), object.get("a").await());
+                });
+
+                runner.test("with scalar values", (Test test) ->
+                {
+                    final JSONTapeObject object = JSONTapeObjectTests.parse("{\"a\": 1.5, \"b\": \"x\", \"c\": true, \"d\": false, \"e\": null}");
+                    test.assertEqual(JSONNumber.get(1.5), object.get("a").await());
+                    test.assertEqual(JSONString.get("x"), object.get("b").await());
+                    test.assertEqual(JSONBoolean.trueSegment, object.get("c").await());
+                    test.assertEqual(JSONBoolean.falseSegment, object.get("d").await());
+                    test.assertEqual(JSONNull.segment, object.get("e").await());
+                });
+            });
+
+            runner.test("typed getters", (Test test) ->
+            {
+                final JSONTapeObject object = JSONTapeObjectTests.parse("{\"o\": {\"n\": 2}, \"a\": [1], \"b\": true, \"s\": \"t\"}");
+                test.assertEqual(2.0, object.getObject("o").await().getNumber("n").await());
+                test.assertEqual(1, object.getArray("a").await().getCount());
+                test.assertEqual(true, object.getBoolean("b").await());
+                test.assertEqual("t", object.getString("s").await());
+                test.assertThrows(() -> object.getNumber("s").await(),
+                    new WrongTypeException("Expected the property named \"s\" to be a JSONNumber, but was a JSONString instead."));
+            });
+
+            runner.test("getPropertyNames()", (Test test) ->
+            {
+                test.assertEqual(Iterable.create("a", "b", "c"), JSONTapeObjectTests.parse("{\"a\": {\"x\": 1}, \"b\": [2], \"c\": 3}").getPropertyNames());
+                test.assertEqual(Iterable.create("a", "b"), JSONTapeObjectTests.parse("{\"a\": 1, \"b\": 2, \"a\": 3}").getPropertyNames());
+            });
+
+            runner.test("getProperties()", (Test test) ->
+            {
+                final Iterable<JSONProperty> properties = JSONTapeObjectTests.parse("{\"a\": 1, \"b\": \"c\"}").getProperties();
+                test.assertEqual(Iterable.create(JSONProperty.create("a", JSONNumber.get(1)), JSONProperty.create("b", JSONString.get("c"))), properties);
+                test.assertEqual(
+                    Iterable.create(JSONProperty.create("a", JSONNumber.get(3)), JSONProperty.create("b", JSONNumber.get(2))),
+                    JSONTapeObjectTests.parse("{\"a\": 1, \"b\": 2, \"a\": 3}").getProperties());
+            });
+
+            runner.testGroup("toString()", () ->
+            {
+                final Action1<String> toStringTest = (String text) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        test.assertEqual(JSON.parseObject(text).await().toString(), JSONTapeObjectTests.parse(text).toString());
+                    });
+                };
+
+                toStringTest.run("{}");
+                toStringTest.run("{\"a\":1}");
+                toStringTest.run("{\"a\": [1, {\"b\": \"c\\\"d\"}], \"e\": {}}");
+            });
+
+            runner.testGroup("equals(Object)", () ->
+            {
+                runner.test("with same view", (Test test) ->
+                {
+                    final JSONTapeObject object = JSONTapeObjectTests.parse("{\"a\": 1}");
+                    test.assertTrue(object.equals((Object)object));
+                });
+
+                runner.test("with views of different tapes", (Test test) ->
+                {
+                    test.assertTrue(JSONTapeObjectTests.parse("{\"a\": 1}").equals((Object)JSONTapeObjectTests.parse("{\"a\":1}")));
+                    test.assertFalse(JSONTapeObjectTests.parse("{\"a\": 1}").equals((Object)JSONTapeObjectTests.parse("{\"a\": 2}")));
+                    test.assertFalse(JSONTapeObjectTests.parse("{\"a\": 1}").equals((Object)JSONTapeObjectTests.parse("{\"b\": 1}")));
+                    test.assertFalse(JSONTapeObjectTests.parse("{\"a\": \"1\"}").equals((Object)JSONTapeObjectTests.parse("{\"a\": 1}")));
+                    test.assertFalse(JSONTapeObjectTests.parse("{\"a\": [1]}").equals((Object)JSONTapeObjectTests.parse("{\"a\": [1, 2]}")));
+                    test.assertTrue(JSONTapeObjectTests.parse("{\"a\": [1, {\"b\": null}]}").equals((Object)JSONTapeObjectTests.parse("{ \"a\" : [ 1 , { \"b\" : null } ] }")));
+                });
+
+                runner.test("with JSONObject", (Test test) ->
+                {
+                    test.assertFalse(JSONTapeObjectTests.parse("{}").equals((Object)JSONObject.create()));
+                });
+            });
+        });
+    }
+}
@@ -0,0 +1,87 @@
+package qub;
+
+public interface JSONTapeTests
+{
+    static void test(TestRunner runner)
+    {
+        PreCondition.assertNotNull(runner, "runner");
+
+        runner.testGroup(JSONTape.class, () ->
+        {
+            runner.testGroup("parse(JSONReader)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONTape.parse(null),
+                        new PreConditionFailure("reader cannot be null."));
+                });
+
+                runner.test("with reader with no current event", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONTape.parse(JSONReader.create("[]")),
+                        new PreConditionFailure("reader.hasCurrent() cannot be false."));
+                });
+
+                final Action3<String,Integer,Integer> parseTest = (String text, Integer expectedEntryCount, Integer expectedCharacterCount) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        final JSONReader reader = JSONReader.create(text);
+                        reader.next();
+                        final JSONTape tape = JSONTape.parse(reader);
+                        test.assertEqual(expectedEntryCount, tape.getEntryCount());
+                        test.assertEqual(expectedCharacterCount, tape.getCharacterCount());
+                        test.assertEqual(JSON.parse(text).await().toString(), tape.getRoot().toString());
+                    });
+                };
+
+                parseTest.run("null", 1, 0);
+                parseTest.run("true", 1, 0);
+                parseTest.run("-1.5e3", 1, 6);
+                parseTest.run("'a\\'b'", 1, 6);
+                parseTest.run("[]", 2, 0);
+                parseTest.run("{}", 2, 0);
+                parseTest.run("[1, [2, 3], false]", 8, 3);
+                parseTest.run("{\"a\": {\"b\": [null]}, \"c\": \"d\"}", 11, 12);
+
+                runner.test("with more top-level values", (Test test) ->
+                {
+                    final JSONReader reader = JSONReader.create("[1] [2]");
+                    reader.next();
+                    final JSONTape tape = JSONTape.parse(reader);
+                    test.assertEqual("[1]", tape.getRoot().toString());
+                    test.assertEqual(JSONReaderEvent.EndArray, reader.getCurrent());
+                    test.assertTrue(reader.next());
+                    test.assertEqual(JSONReaderEvent.StartArray, reader.getCurrent());
+                });
+
+                runner.test("with invalid value", (Test test) ->
+                {
+                    final JSONReader reader = JSONReader.create("{\"a\": [1 2]}");
+                    reader.next();
+                    test.assertThrows(() -> JSONTape.parse(reader),
+                        new ParseException("Expected array element separator (',') or right square bracket (']')."));
+                });
+
+                runner.test("with deeply nested arrays", (Test test) ->
+                {
+                    final int depth = 10000;
+                    final StringBuilder text = new StringBuilder();
+                    for (int i = 0; i < depth; ++i)
+                    {
+                        text.append('[');
+                    }
+                    for (int i = 0; i < depth; ++i)
+                    {
+                        text.append(']');
+                    }
+                    final JSONReader reader = JSONReader.create(text.toString());
+                    reader.next();
+                    final JSONTape tape = JSONTape.parse(reader);
+                    test.assertEqual(depth * 2, tape.getEntryCount());
+                    test.assertEqual(1, ((JSONTapeArray)tape.getRoot()).getCount());
+                });
+            });
+        });
+    }
+}
@@ -41,6 +41,357 @@ public interface JSONTests
                 parseTest.run("{}", JSONObject.create());
             });
 
+            runner.testGroup("parse(String,JSONParseOptions)", () ->
+            {
+                runner.test("with null text", (Test test) ->
+                {
+                    test.assertThrows(() -> JSON.parse((String)null, JSONParseOptions.create()),
+                        new PreConditionFailure("text cannot be null."));
+                });
+
+                runner.test("with null options", (Test test) ->
+                {
+                    test.assertThrows(() -> JSON.parse("[]", (JSONParseOptions)null),
+                        new PreConditionFailure("options cannot be null."));
+                });
+
+                final JSONParseOptions options = JSONParseOptions.create()
+                    .setMaxDepth(2)
+                    .setMaxMembers(3)
+                    .setMaxStringLength(5)
+                    .setMaxTotalLength(40);
+
+                final Action2<String,JSONSegment> parseTest = (String text, JSONSegment expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        test.assertEqual(expected, JSON.parse(text, options).await());
+                    });
+                };
+
+                parseTest.run("null", JSONNull.segment);
+                parseTest.run("\"hello\"", JSONString.get("hello"));
+                parseTest.run("[1, 2, [3]]", JSONArray.create(JSONNumber.get(1), JSONNumber.get(2), JSONArray.create(JSONNumber.get(3))));
+                parseTest.run("{\"a\": {\"b\": 1}}", JSONObject.create(JSONProperty.create("a", JSONObject.create(JSONProperty.create("b", 1)))));
+
+                final Action2<String,Throwable> parseErrorTest = (String text, Throwable expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        test.assertThrows(() -> JSON.parse(text, options).await(), expected);
+                    });
+                };
+
+                parseErrorTest.run("", new ParseException("No JSON tokens found."));
+                parseErrorTest.run("[[[]]]", new ParseException("Expected objects and arrays to be nested no more than 2 levels deep."));
+                parseErrorTest.run("{\"a\": 1, \"b\": 2, \"c\": 3, \"d\": 4}", new ParseException("Expected objects and arrays to have no more than 3 members."));
+                parseErrorTest.run("[\"hello!\"]", new ParseException("Expected quoted strings to have no more than 5 characters."));
+                parseErrorTest.run("[1,                                      2]", new ParseException("Expected the JSON to have no more than 40 characters."));
+            });
+
+            runner.testGroup("parse(String,JSONHandler)", () ->
+            {
+                final Function1<List<String>,JSONHandler> createRecordingHandler = (List<String> calls) ->
+                {
+                    return new JSONHandler()
+                    {
+                        @Override
+                        public boolean onObjectStart()
+                        {
+                            calls.add("{");
+                            return true;
+                        }
+
+                        @Override
+                        public boolean onObjectEnd()
+                        {
+                            calls.add("}");
+                            return true;
+                        }
+
+                        @Override
+                        public boolean onArrayStart()
+                        {
+                            calls.add("[");
+                            return true;
+                        }
+
+                        @Override
+                        public boolean onArrayEnd()
+                        {
+                            calls.add("]");
+                            return true;
+                        }
+
+                        @Override
+                        public boolean onPropertyName(String name)
+                        {
+                            calls.add("name:" + name);
+                            return !name.equals("stop");
+                        }
+
+                        @Override
+                        public boolean onString(String value)
+                        {
+                            calls.add("string:" + value);
+                            return true;
+                        }
+
+                        @Override
+                        public boolean onNumber(double value)
+                        {
+                            calls.add("number:" + value);
+                            return true;
+                        }
+
+                        @Override
+                        public boolean onLong(long value)
+                        {
+                            calls.add("long:" + value);
+                            return true;
+                        }
+
+                        @Override
+                        public boolean onBoolean(boolean value)
+                        {
+                            calls.add("boolean:" + value);
+                            return true;
+                        }
+
+                        @Override
+                        public boolean onNull()
+                        {
+                            calls.add("null");
+                            return true;
+                        }
+                    };
+                };
+
+                runner.test("with null text", (Test test) ->
+                {
+                    test.assertThrows(() -> JSON.parse((String)null, createRecordingHandler.run(List.create())),
+                        new PreConditionFailure("text cannot be null."));
+                });
+
+                runner.test("with null handler", (Test test) ->
+                {
+                    test.assertThrows(() -> JSON.parse("[]", (JSONHandler)null),
+                        new PreConditionFailure("handler cannot be null."));
+                });
+
+                final Action3<String,Boolean,Iterable<String>> parseTest = (String text, Boolean expected, Iterable<String> expectedCalls) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        final List<String> calls = List.create();
+                        test.assertEqual(expected, JSON.parse(text, createRecordingHandler.run(calls)).await());
+                        test.assertEqual(expectedCalls, calls);
+                    });
+                };
+
+                parseTest.run("null", true, Iterable.create("null"));
+                parseTest.run("[1, 2.5, 'a', true]", true, Iterable.create("[", "long:1", "number:2.5", "string:a", "boolean:true", "]"));
+                parseTest.run("{\"a\": {\"b\": []}}", true, Iterable.create("{", "name:a", "{", "name:b", "[", "]", "}", "}"));
+                parseTest.run("{} []", true, Iterable.create("{", "}", "[", "]"));
+                parseTest.run("{\"a\": 1, \"stop\": 2, \"c\": 3}", false, Iterable.create("{", "name:a", "long:1", "name:stop"));
+                parseTest.run("[{\"stop\": 1 2]", false, Iterable.create("[", "{", "name:stop"));
+
+                final Action2<String,Throwable> parseErrorTest = (String text, Throwable expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        test.assertThrows(() -> JSON.parse(text, createRecordingHandler.run(List.create())).await(), expected);
+                    });
+                };
+
+                parseErrorTest.run("", new ParseException("No JSON tokens found."));
+                parseErrorTest.run("[1", new ParseException("Missing array right square bracket (']')."));
+                parseErrorTest.run("{\"a\" 1}", new ParseException("Expected object property name and value separator (':')."));
+            });
+
+            runner.testGroup("parse(String,Iterable<String>)", () ->
+            {
+                runner.test("with null text", (Test test) ->
+                {
+                    test.assertThrows(() -> JSON.parse((String)null, Iterable.create("/a")),
+                        new PreConditionFailure("text cannot be null."));
+                });
+
+                runner.test("with null jsonPointers", (Test test) ->
+                {
+                    test.assertThrows(() -> JSON.parse("{}", (Iterable<String>)null),
+                        new PreConditionFailure("jsonPointers cannot be null."));
+                });
+
+                final Action2<String,Throwable> parseErrorTest = (String text, Throwable expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        test.assertThrows(() -> JSON.parse(text, Iterable.create("/a")).await(), expected);
+                    });
+                };
+
+                parseErrorTest.run("", new ParseException("Missing object left curly bracket ('{')."));
+                parseErrorTest.run("[1]", new ParseException("Expected object left curly bracket ('{')."));
+                parseErrorTest.run("{\"a\": 1", new ParseException("Missing object right curly bracket ('}')."));
+
+                runner.test("with invalid JSON Pointer", (Test test) ->
+                {
+                    test.assertThrows(() -> JSON.parse("{}", Iterable.create("a")).await(),
+                        new ParseException("Expected JSON Pointer \"a\" to start with \"/\"."));
+                });
+
+                runner.test("with selected paths", (Test test) ->
+                {
+                    final JSONObject result = JSON.parse(
+                        "{\"metadata\": {\"id\": 12, \"owner\": \"x\"}, \"items\": [{\"price\": 3, \"tags\": [1, 2]}, {\"price\": 4.5}]}",
+                        Iterable.create("/metadata/id", "/items/*/price")).await();
+                    test.assertEqual(
+                        JSON.parse("{\"metadata\": {\"id\": 12}, \"items\": [{\"price\": 3}, {\"price\": 4.5}]}").await(),
+                        result);
+                });
+            });
+
+            runner.testGroup("parse(ByteReadStream,Iterable<String>)", () ->
+            {
+                runner.test("with null bytes", (Test test) ->
+                {
+                    test.assertThrows(() -> JSON.parse((ByteReadStream)null, Iterable.create("/a")),
+                        new PreConditionFailure("bytes cannot be null."));
+                });
+
+                runner.test("with selected path", (Test test) ->
+                {
+                    final InMemoryByteStream bytes = InMemoryByteStream.create("{\"a\": \"caf\u00E9\", \"b\": [1]}".getBytes(java.nio.charset.StandardCharsets.UTF_8)).endOfStream();
+                    test.assertEqual(
+                        JSONObject.create(JSONProperty.create("a", "caf\u00E9")),
+                        JSON.parse(bytes, Iterable.create("/a")).await());
+                });
+            });
+
+            runner.testGroup("parseIndexed(String)", () ->
+            {
+                final Action2<String,Throwable> parseIndexedErrorTest = (String text, Throwable expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        test.assertThrows(() -> JSON.parseIndexed(text).await(), expected);
+                    });
+                };
+
+                parseIndexedErrorTest.run(null, new PreConditionFailure("text cannot be null."));
+                parseIndexedErrorTest.run("", new ParseException("No JSON tokens found."));
+                parseIndexedErrorTest.run("// hello", new ParseException("No JSON tokens found."));
+                parseIndexedErrorTest.run(",", new ParseException("Unexpected JSON token: ,"));
+                parseIndexedErrorTest.run("tru", new ParseException("Unrecognized JSONToken literal: tru"));
+                parseIndexedErrorTest.run("[-]", new ParseException("Missing digits after number's negative sign: \"-\""));
+                parseIndexedErrorTest.run("[\"abc", new ParseException("Missing quoted-string closing quote: \""));
+                parseIndexedErrorTest.run("[1,]", new ParseException("Expected array element."));
+                parseIndexedErrorTest.run("[1 2]", new ParseException("Expected array element separator (',') or right square bracket (']')."));
+                parseIndexedErrorTest.run("{\"a\"}", new ParseException("Expected object property name and value separator (':')."));
+                parseIndexedErrorTest.run("{\"\":1}", new ParseException("Expected object property name to be not empty."));
+                parseIndexedErrorTest.run("[1] x", new ParseException("Unrecognized JSONToken literal: x"));
+
+                final Action2<String,JSONSegment> parseIndexedTest = (String text, JSONSegment expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        test.assertEqual(expected, JSON.parseIndexed(text).await());
+                    });
+                };
+
+                parseIndexedTest.run("null", JSONNull.segment);
+                parseIndexedTest.run("false", JSONBoolean.falseSegment);
+                parseIndexedTest.run("true", JSONBoolean.trueSegment);
+                parseIndexedTest.run("-1.5e+3", JSONNumber.get("-1.5e+3"));
+                parseIndexedTest.run("\"hello\"", JSONString.get("hello"));
+                parseIndexedTest.run("'hello'", JSONString.get("hello", '\''));
+                parseIndexedTest.run("[]", JSONArray.create());
+                parseIndexedTest.run("{}", JSONObject.create());
+                parseIndexedTest.run(
+                    "[1, [2, {\"a\": 'b'}], \"c\\\"d\"]",
+                    JSONArray.create(
+                        JSONNumber.get(1),
+                        JSONArray.create(JSONNumber.get(2), JSONObject.create(JSONProperty.create("a", JSONString.get("b", '\'')))),
+                        JSONString.get("c\\\"d")));
+                parseIndexedTest.run(
+                    "{\r\n  \"a\": 1,\r\n  \"b\": [true, null]\r\n}",
+                    JSONObject.create(
+                        JSONProperty.create("a", 1),
+                        JSONProperty.create("b", JSONArray.create(JSONBoolean.trueSegment, JSONNull.segment))));
+                parseIndexedTest.run("[1] // comment", JSONArray.create(JSONNumber.get(1)));
+                parseIndexedTest.run("[1] 2", JSONArray.create(JSONNumber.get(1)));
+
+                runner.test("with deeply nested unclosed arrays", (Test test) ->
+                {
+                    final StringBuilder text = new StringBuilder();
+                    for (int i = 0; i < 100000; ++i)
+                    {
+                        text.append('[');
+                    }
+                    test.assertThrows(() -> JSON.parseIndexed(text.toString()).await(),
+                        new ParseException("Missing array right square bracket (']')."));
+                });
+            });
+
+            runner.testGroup("parse(ByteReadStream)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSON.parse((ByteReadStream)null),
+                        new PreConditionFailure("bytes cannot be null."));
+                });
+
+                final Action2<String,JSONSegment> parseTest = (String text, JSONSegment expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        final InMemoryByteStream bytes = InMemoryByteStream.create(text.getBytes(java.nio.charset.StandardCharsets.UTF_8)).endOfStream();
+                        test.assertEqual(expected, JSON.parse(bytes).await());
+                    });
+                };
+
+                parseTest.run("null", JSONNull.segment);
+                parseTest.run("\"caf\u00E9\"", JSONString.get("caf\u00E9"));
+                parseTest.run("[1, \"\u20AC\"]", JSONArray.create(JSONNumber.get(1), JSONString.get("\u20AC")));
+                parseTest.run("{\"a\":\"\uD83D\uDE00\"}", JSONObject.create(JSONProperty.create("a", "\uD83D\uDE00")));
+            });
+
+            runner.testGroup("parse(ByteReadStream,JSONParseOptions)", () ->
+            {
+                runner.test("with null bytes", (Test test) ->
+                {
+                    test.assertThrows(() -> JSON.parse((ByteReadStream)null, JSONParseOptions.create()),
+                        new PreConditionFailure("bytes cannot be null."));
+                });
+
+                runner.test("with null options", (Test test) ->
+                {
+                    final InMemoryByteStream bytes = InMemoryByteStream.create("[]".getBytes(java.nio.charset.StandardCharsets.UTF_8)).endOfStream();
+                    test.assertThrows(() -> JSON.parse(bytes, (JSONParseOptions)null),
+                        new PreConditionFailure("options cannot be null."));
+                });
+
+                runner.test("with JSON within the limits", (Test test) ->
+                {
+                    final InMemoryByteStream bytes = InMemoryByteStream.create("[\"caf\u00E9\"]".getBytes(java.nio.charset.StandardCharsets.UTF_8)).endOfStream();
+                    test.assertEqual(JSONArray.create(JSONString.get("caf\u00E9")), JSON.parse(bytes, JSONParseOptions.create().setMaxStringLength(4)).await());
+                });
+
+                runner.test("with string that is too long", (Test test) ->
+                {
+                    final StringBuilder text = new StringBuilder("[\"");
+                    for (int i = 0; i < 100000; ++i)
+                    {
+                        text.append('a');
+                    }
+                    text.append("\"]");
+                    final InMemoryByteStream bytes = InMemoryByteStream.create(text.toString().getBytes(java.nio.charset.StandardCharsets.UTF_8)).endOfStream();
+                    test.assertThrows(() -> JSON.parse(bytes, JSONParseOptions.create().setMaxStringLength(1000)).await(),
+                        new ParseException("Expected quoted strings to have no more than 1000 characters."));
+                });
+            });
+
             runner.testGroup("parse(Iterable<Character>)", () ->
             {
                 runner.test("with null", (Test test) ->
@@ -102,6 +453,53 @@ public interface JSONTests
                 });
             });
 
+            runner.testGroup("parseObject(String,JSONShape)", () ->
+            {
+                final JSONShape shape = JSONShape.create()
+                    .addProperty("a", JSONNumber.class)
+                    .addProperty("b", JSONString.class);
+
+                runner.test("with null text", (Test test) ->
+                {
+                    test.assertThrows(() -> JSON.parseObject((String)null, shape),
+                        new PreConditionFailure("text cannot be null."));
+                });
+
+                runner.test("with null shape", (Test test) ->
+                {
+                    test.assertThrows(() -> JSON.parseObject("{}", (JSONShape)null),
+                        new PreConditionFailure("shape cannot be null."));
+                });
+
+                final Action2<String,Throwable> parseObjectErrorTest = (String text, Throwable expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        test.assertThrows(() -> JSON.parseObject(text, shape).await(), expected);
+                    });
+                };
+
+                parseObjectErrorTest.run("", new ParseException("Missing object left curly bracket ('{')."));
+                parseObjectErrorTest.run("[]", new ParseException("Expected object left curly bracket ('{')."));
+
+                runner.test("with object", (Test test) ->
+                {
+                    final JSONShapedObject object = JSON.parseObject("/* c */ {\"b\": \"x\", \"c\": [1, 2], \"a\": 3}", shape).await();
+                    test.assertEqual(3.0, object.getNumber(0));
+                    test.assertEqual("x", object.getString(1));
+                });
+            });
+
+            runner.testGroup("parseObject(ByteReadStream,JSONShape)", () ->
+            {
+                runner.test("with object", (Test test) ->
+                {
+                    final JSONShape shape = JSONShape.create().addProperty("caf\u00E9", JSONString.class);
+                    final InMemoryByteStream bytes = InMemoryByteStream.create("{\"caf\u00E9\": \"\u20AC\"}".getBytes(java.nio.charset.StandardCharsets.UTF_8)).endOfStream();
+                    test.assertEqual("\u20AC", JSON.parseObject(bytes, shape).await().getString(0));
+                });
+            });
+
             runner.testGroup("parseObject(String)", () ->
             {
                 final Action2<String,Throwable> parseObjectErrorTest = (String text, Throwable expected) ->
@@ -350,6 +748,259 @@ public interface JSONTests
                         new PreConditionFailure("tokenizer cannot be null."));
                 });
             });
+
+            runner.testGroup("parseObjectLazy(String)", () ->
+            {
+                final Action2<String,Throwable> parseObjectLazyErrorTest = (String text, Throwable expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        test.assertThrows(() -> JSON.parseObjectLazy(text).await(), expected);
+                    });
+                };
+
+                parseObjectLazyErrorTest.run(null, new PreConditionFailure("text cannot be null."));
+                parseObjectLazyErrorTest.run("", new ParseException("Missing object left curly bracket ('{')."));
+                parseObjectLazyErrorTest.run("[]", new ParseException("Expected object left curly bracket ('{')."));
+                parseObjectLazyErrorTest.run("{\"a\": [1}", new ParseException("Missing object right curly bracket ('}')."));
+
+                final Action1<String> parseObjectLazyTest = (String text) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        final JSONObject result = JSON.parseObjectLazy(text).await();
+                        test.assertTrue(result.isLazy());
+                        test.assertEqual(JSON.parseObject(text).await(), result);
+                        test.assertFalse(result.isLazy());
+                    });
+                };
+
+                parseObjectLazyTest.run("{}");
+                parseObjectLazyTest.run(" // a\n{\"a\": 1} 2");
+                parseObjectLazyTest.run("{\"a\": {\"b\": [1, {\"c\": \"}\"}]}, \"d\": [], \"e\": null}");
+
+                runner.test("only parses the values that are accessed", (Test test) ->
+                {
+                    final JSONObject result = JSON.parseObjectLazy("{\"a\": {\"b\": [1, 2]}, \"c\": [{}]}").await();
+                    final JSONObject a = result.getObject("a").await();
+                    final JSONArray c = result.getArray("c").await();
+                    test.assertTrue(a.isLazy());
+                    test.assertTrue(c.isLazy());
+
+                    final JSONArray b = a.getArray("b").await();
+                    test.assertFalse(a.isLazy());
+                    test.assertTrue(b.isLazy());
+                    test.assertTrue(c.isLazy());
+                    test.assertEqual(JSONNumber.get(2), b.get(1));
+                    test.assertFalse(b.isLazy());
+                });
+
+                runner.test("when accessed from several threads", (Test test) ->
+                {
+                    final java.util.concurrent.ExecutorService executor = java.util.concurrent.Executors.newFixedThreadPool(4);
+                    try
+                    {
+                        for (int i = 0; i < 100; ++i)
+                        {
+                            final JSONObject result = JSON.parseObjectLazy("{\"a\": [1, {\"b\": 2}], \"c\": 3}").await();
+                            final List<java.util.concurrent.CompletableFuture<JSONSegment>> futures = List.create();
+                            for (int j = 0; j < 4; ++j)
+                            {
+                                futures.add(java.util.concurrent.CompletableFuture.supplyAsync(() -> result.getArray("a").await().get(1), executor));
+                            }
+                            for (final java.util.concurrent.CompletableFuture<JSONSegment> future : futures)
+                            {
+                                test.assertEqual(JSON.parse("{\"b\": 2}").await(), future.join());
+                            }
+                            test.assertFalse(result.isLazy());
+                        }
+                    }
+                    finally
+                    {
+                        executor.shutdownNow();
+                    }
+                });
+
+                runner.test("with invalid nested value", (Test test) ->
+                {
+                    final JSONObject result = JSON.parseObjectLazy("{\"a\": [1 2], \"b\": 3}").await();
+                    test.assertEqual(JSONNumber.get(3), result.getNumberSegment("b").await());
+                    final JSONArray a = result.getArray("a").await();
+                    test.assertThrows(() -> a.get(0),
+                        new ParseException("Expected array element separator (',') or right square bracket (']')."));
+                });
+
+                runner.test("with changes before the first access", (Test test) ->
+                {
+                    final JSONObject result = JSON.parseObjectLazy("{\"a\": 1}").await();
+                    result.setBoolean("b", true);
+                    test.assertEqual(
+                        JSONObject.create(JSONProperty.create("a", JSONNumber.get(1)), JSONProperty.create("b", JSONBoolean.trueSegment)),
+                        result);
+                });
+            });
+
+            runner.testGroup("parseDocuments(String)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSON.parseDocuments((String)null),
+                        new PreConditionFailure("text cannot be null."));
+                });
+
+                runner.test("with back-to-back objects", (Test test) ->
+                {
+                    test.assertEqual(
+                        Iterable.create(JSON.parse("{\"a\": 1}").await(), JSON.parse("{\"a\": 2}").await()),
+                        JSON.parseDocuments("{\"a\":1}{\"a\":2}").toList());
+                });
+            });
+
+            runner.testGroup("parseDocuments(ByteReadStream)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSON.parseDocuments((ByteReadStream)null),
+                        new PreConditionFailure("bytes cannot be null."));
+                });
+
+                runner.test("with whitespace-separated values", (Test test) ->
+                {
+                    final InMemoryByteStream bytes = InMemoryByteStream.create("1\n[2]\n\"3\"".getBytes(java.nio.charset.StandardCharsets.UTF_8)).endOfStream();
+                    test.assertEqual(
+                        Iterable.create(JSONNumber.get(1), JSON.parse("[2]").await(), JSONString.get("3")),
+                        JSON.parseDocuments(bytes).toList());
+                });
+            });
+
+            runner.testGroup("parseArrayParallel(String,int)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSON.parseArrayParallel((String)null, 2),
+                        new PreConditionFailure("text cannot be null."));
+                });
+
+                runner.test("with 0 parallelism", (Test test) ->
+                {
+                    test.assertThrows(() -> JSON.parseArrayParallel("[]", 0),
+                        new PreConditionFailure("parallelism (0) must be greater than or equal to 1."));
+                });
+
+                runner.test("with object", (Test test) ->
+                {
+                    test.assertThrows(() -> JSON.parseArrayParallel("{}", 2).await(),
+                        new ParseException("Expected array left square bracket ('[')."));
+                });
+
+                runner.test("with array", (Test test) ->
+                {
+                    test.assertEqual(
+                        JSON.parseArray("[{\"a\": 1}, [2], \"3\"]").await(),
+                        JSON.parseArrayParallel("[{\"a\": 1}, [2], \"3\"]", 2).await());
+                });
+            });
+
+            runner.testGroup("parseArrayParallel(ByteReadStream,int)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSON.parseArrayParallel((ByteReadStream)null, 2),
+                        new PreConditionFailure("bytes cannot be null."));
+                });
+
+                runner.test("with array", (Test test) ->
+                {
+                    final InMemoryByteStream bytes = InMemoryByteStream.create("[\"caf\u00E9\", {\"b\": null}]".getBytes(java.nio.charset.StandardCharsets.UTF_8)).endOfStream();
+                    test.assertEqual(
+                        JSON.parseArray("[\"caf\u00E9\", {\"b\": null}]").await(),
+                        JSON.parseArrayParallel(bytes, 2).await());
+                });
+            });
+
+            runner.testGroup("parseTape(String)", () ->
+            {
+                final Action2<String,Throwable> parseTapeErrorTest = (String text, Throwable expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        test.assertThrows(() -> JSON.parseTape(text).await(), expected);
+                    });
+                };
+
+                parseTapeErrorTest.run(null, new PreConditionFailure("text cannot be null."));
+                parseTapeErrorTest.run("", new ParseException("No JSON tokens found."));
+                parseTapeErrorTest.run("// a", new ParseException("No JSON tokens found."));
+                parseTapeErrorTest.run("{\"a\": 1", new ParseException("Missing object right curly bracket ('}')."));
+                parseTapeErrorTest.run(",", new ParseException("Unexpected JSON token: ,"));
+
+                final Action1<String> parseTapeTest = (String text) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        test.assertEqual(JSON.parse(text).await().toString(), JSON.parseTape(text).await().getRoot().toString());
+                    });
+                };
+
+                parseTapeTest.run("null");
+                parseTapeTest.run("12");
+                parseTapeTest.run("\"a\"");
+                parseTapeTest.run("[1, {\"a\": [true, null]}]");
+                parseTapeTest.run("/* a */ {\"b\": {\"c\": \"d\"}, \"e\": []}");
+            });
+
+            runner.testGroup("parseTape(ByteReadStream)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSON.parseTape((ByteReadStream)null),
+                        new PreConditionFailure("bytes cannot be null."));
+                });
+
+                runner.test("with non-ASCII text", (Test test) ->
+                {
+                    final InMemoryByteStream bytes = InMemoryByteStream.create("{\"a\": [\"caf\u00E9\", \"\u20AC\"]}".getBytes(java.nio.charset.StandardCharsets.UTF_8)).endOfStream();
+                    final JSONTapeObject root = (JSONTapeObject)JSON.parseTape(bytes).await().getRoot();
+                    test.assertEqual(JSONString.get("\u20AC"), root.getArray("a").await().get(1));
+                });
+            });
+
+            runner.testGroup("parseArrayLazy(String)", () ->
+            {
+                final Action2<String,Throwable> parseArrayLazyErrorTest = (String text, Throwable expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        test.assertThrows(() -> JSON.parseArrayLazy(text).await(), expected);
+                    });
+                };
+
+                parseArrayLazyErrorTest.run(null, new PreConditionFailure("text cannot be null."));
+                parseArrayLazyErrorTest.run("", new ParseException("Missing array left square bracket ('[')."));
+                parseArrayLazyErrorTest.run("{}", new ParseException("Expected array left square bracket ('[')."));
+                parseArrayLazyErrorTest.run("[[1]", new ParseException("Missing array right square bracket (']')."));
+
+                final Action1<String> parseArrayLazyTest = (String text) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        final JSONArray result = JSON.parseArrayLazy(text).await();
+                        test.assertTrue(result.isLazy());
+                        test.assertEqual(JSON.parseArray(text).await(), result);
+                        test.assertFalse(result.isLazy());
+                    });
+                };
+
+                parseArrayLazyTest.run("[]");
+                parseArrayLazyTest.run("[1, \"]\", [true, [null]], {\"a\": {}}]");
+
+                runner.test("with invalid array", (Test test) ->
+                {
+                    final JSONArray result = JSON.parseArrayLazy("[1, , 2]").await();
+                    test.assertThrows(() -> result.get(0),
+                        new ParseException("Expected array element."));
+                });
+            });
         });
     }
 }
@@ -37,6 +37,212 @@ public interface JSONTokenTests
                 });
             });
 
+            runner.testGroup("constructor(char[],int,int,JSONTokenType)", () ->
+            {
+                runner.test("with null characters", (Test test) ->
+                {
+                    test.assertThrows(() -> new JSONToken(null, 0, 1, JSONTokenType.Number),
+                        new PreConditionFailure("characters cannot be null."));
+                });
+
+                runner.test("with zero length", (Test test) ->
+                {
+                    test.assertThrows(() -> new JSONToken("123".toCharArray(), 0, 0, JSONTokenType.Number),
+                        new PreConditionFailure("length (0) must be between 1 and 3."));
+                });
+
+                runner.test("with length past the end of the characters", (Test test) ->
+                {
+                    test.assertThrows(() -> new JSONToken("123".toCharArray(), 1, 3, JSONTokenType.Number),
+                        new PreConditionFailure("length (3) must be between 1 and 2."));
+                });
+
+                runner.test("with null type", (Test test) ->
+                {
+                    test.assertThrows(() -> new JSONToken("123".toCharArray(), 0, 3, null),
+                        new PreConditionFailure("type cannot be null."));
+                });
+
+                runner.test("with valid values", (Test test) ->
+                {
+                    final JSONToken token = new JSONToken("[123]".toCharArray(), 1, 3, JSONTokenType.Number);
+                    test.assertEqual(3, token.getLength());
+                    test.assertEqual('1', token.getCharacter(0));
+                    test.assertEqual('3', token.getCharacter(2));
+                    test.assertTrue(token.textEquals("123"));
+                    test.assertFalse(token.textEquals("[123"));
+                    test.assertEqual("123", token.getText());
+                    test.assertSame(token.getText(), token.getText());
+                    test.assertEqual(JSONTokenType.Number, token.getType());
+                    test.assertEqual("123", token.toString());
+                    test.assertEqual(JSONToken.number("123"), token);
+                });
+            });
+
+            runner.testGroup("getCharacter(int)", () ->
+            {
+                runner.test("with negative index", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONToken.number("123").getCharacter(-1),
+                        new PreConditionFailure("index (-1) must be between 0 and 2."));
+                });
+
+                runner.test("with index equal to length", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONToken.number("123").getCharacter(3),
+                        new PreConditionFailure("index (3) must be between 0 and 2."));
+                });
+
+                runner.test("with valid index", (Test test) ->
+                {
+                    test.assertEqual('2', JSONToken.number("123").getCharacter(1));
+                });
+            });
+
+            runner.testGroup("textEquals(String)", () ->
+            {
+                final Action3<JSONToken,String,Boolean> textEqualsTest = (JSONToken token, String text, Boolean expected) ->
+                {
+                    runner.test("with " + token + " and " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        test.assertEqual(expected, token.textEquals(text));
+                    });
+                };
+
+                textEqualsTest.run(JSONToken.nullToken, "null", true);
+                textEqualsTest.run(JSONToken.nullToken, "nul", false);
+                textEqualsTest.run(JSONToken.nullToken, "nulls", false);
+                textEqualsTest.run(new JSONToken("'a'".toCharArray(), 0, 3, JSONTokenType.QuotedString), "'a'", true);
+                textEqualsTest.run(new JSONToken("'a'".toCharArray(), 0, 3, JSONTokenType.QuotedString), "'b'", false);
+            });
+
+            runner.testGroup("getUnquotedText()", () ->
+            {
+                runner.test("with non-quoted-string token", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONToken.number("1").getUnquotedText(),
+                        new PreConditionFailure("this.getType() (Number) must be QuotedString."));
+                });
+
+                final Action2<JSONToken,String> getUnquotedTextTest = (JSONToken token, String expected) ->
+                {
+                    runner.test("with " + token, (Test test) ->
+                    {
+                        test.assertEqual(expected, token.getUnquotedText());
+                    });
+                };
+
+                getUnquotedTextTest.run(JSONToken.quotedString("\"\""), "");
+                getUnquotedTextTest.run(JSONToken.quotedString("'abc'"), "abc");
+                getUnquotedTextTest.run(new JSONToken("[\"abc\"]".toCharArray(), 1, 5, JSONTokenType.QuotedString), "abc");
+                getUnquotedTextTest.run(new JSONToken("'a\\'b'".toCharArray(), 0, 6, JSONTokenType.QuotedString), "a\\'b");
+            });
+
+            runner.testGroup("getUnquotedText(JSONNameTable)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONToken.quotedString("\"a\"").getUnquotedText(null),
+                        new PreConditionFailure("names cannot be null."));
+                });
+
+                runner.test("with non-quoted-string token", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONToken.number("1").getUnquotedText(JSONNameTable.create()),
+                        new PreConditionFailure("this.getType() (Number) must be QuotedString."));
+                });
+
+                final Action2<JSONToken,String> getUnquotedTextTest = (JSONToken token, String expected) ->
+                {
+                    runner.test("with " + token, (Test test) ->
+                    {
+                        test.assertEqual(expected, token.getUnquotedText(JSONNameTable.create()));
+                    });
+                };
+
+                getUnquotedTextTest.run(JSONToken.quotedString("\"\""), "");
+                getUnquotedTextTest.run(JSONToken.quotedString("'abc'"), "abc");
+                getUnquotedTextTest.run(new JSONToken("[\"abc\"]".toCharArray(), 1, 5, JSONTokenType.QuotedString), "abc");
+                getUnquotedTextTest.run(new JSONToken("'a\\'b'".toCharArray(), 0, 6, JSONTokenType.QuotedString), "a\\'b");
+
+                runner.test("with two tokens with the same text", (Test test) ->
+                {
+                    final JSONNameTable names = JSONNameTable.create();
+                    final String first = new JSONToken("\"abc\"".toCharArray(), 0, 5, JSONTokenType.QuotedString).getUnquotedText(names);
+                    final String second = new JSONToken("{\"abc\"".toCharArray(), 1, 5, JSONTokenType.QuotedString).getUnquotedText(names);
+                    test.assertEqual("abc", first);
+                    test.assertSame(first, second);
+                });
+            });
+
+            runner.testGroup("getStringSegment()", () ->
+            {
+                runner.test("with non-quoted-string token", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONToken.number("1").getStringSegment(),
+                        new PreConditionFailure("this.getType() (Number) must be QuotedString."));
+                });
+
+                final Action2<JSONToken,JSONString> getStringSegmentTest = (JSONToken token, JSONString expected) ->
+                {
+                    runner.test("with " + token, (Test test) ->
+                    {
+                        test.assertEqual(expected, token.getStringSegment());
+                    });
+                };
+
+                getStringSegmentTest.run(JSONToken.quotedString("\"\""), JSONString.get(""));
+                getStringSegmentTest.run(JSONToken.quotedString("'abc'"), JSONString.get("abc", '\''));
+                getStringSegmentTest.run(new JSONToken("[\"abc\"]".toCharArray(), 1, 5, JSONTokenType.QuotedString), JSONString.get("abc"));
+                getStringSegmentTest.run(new JSONToken("'a\\'b'".toCharArray(), 0, 6, JSONTokenType.QuotedString), JSONString.get("a\\'b", '\''));
+            });
+
+            runner.testGroup("getNumberSegment()", () ->
+            {
+                runner.test("with non-number token", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONToken.quotedString("'a'").getNumberSegment(),
+                        new PreConditionFailure("this.getType() (QuotedString) must be Number."));
+                });
+
+                final Action2<JSONToken,JSONNumber> getNumberSegmentTest = (JSONToken token, JSONNumber expected) ->
+                {
+                    runner.test("with " + token, (Test test) ->
+                    {
+                        test.assertEqual(expected, token.getNumberSegment());
+                    });
+                };
+
+                getNumberSegmentTest.run(JSONToken.number("12"), JSONNumber.get("12"));
+                getNumberSegmentTest.run(new JSONToken("[-1.5e3]".toCharArray(), 1, 6, JSONTokenType.Number), JSONNumber.get("-1.5e3"));
+            });
+
+            runner.testGroup("isInteger()", () ->
+            {
+                runner.test("with non-Number token", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONToken.nullToken.isInteger(),
+                        new PreConditionFailure("this.getType() (Null) must be Number."));
+                });
+
+                final Action2<JSONToken,Boolean> isIntegerTest = (JSONToken token, Boolean expected) ->
+                {
+                    runner.test("with " + token, (Test test) ->
+                    {
+                        test.assertEqual(expected, token.isInteger());
+                    });
+                };
+
+                isIntegerTest.run(JSONToken.number("0"), true);
+                isIntegerTest.run(JSONToken.number("-12"), true);
+                isIntegerTest.run(JSONToken.number("9223372036854775808"), true);
+                isIntegerTest.run(JSONToken.number("1.0"), false);
+                isIntegerTest.run(JSONToken.number("1e3"), false);
+                isIntegerTest.run(JSONToken.number("1E3"), false);
+                isIntegerTest.run(new JSONToken("[15,2.5]".toCharArray(), 1, 2, JSONTokenType.Number), true);
+                isIntegerTest.run(new JSONToken("[15,2.5]".toCharArray(), 4, 3, JSONTokenType.Number), false);
+            });
+
             runner.testGroup("equals(Object)", () ->
             {
                 final Action3<JSONToken,Object,Boolean> equalsTest = (JSONToken token, Object rhs, Boolean expected) ->
@@ -68,6 +274,8 @@ public interface JSONTokenTests
                 equalsTest.run(new JSONToken("123", JSONTokenType.Number), new JSONToken("12", JSONTokenType.Number), false);
                 equalsTest.run(new JSONToken("123", JSONTokenType.Number), new JSONToken("123", JSONTokenType.Whitespace), false);
                 equalsTest.run(new JSONToken("123", JSONTokenType.Number), new JSONToken("123", JSONTokenType.Number), true);
+                equalsTest.run(new JSONToken("123", JSONTokenType.Number), new JSONToken("0123".toCharArray(), 1, 3, JSONTokenType.Number), true);
+                equalsTest.run(new JSONToken("123", JSONTokenType.Number), new JSONToken("0124".toCharArray(), 1, 3, JSONTokenType.Number), false);
             });
         });
     }
@@ -0,0 +1,66 @@
+package qub;
+
+public interface JSONTokenizerInputTests
+{
+    static void test(TestRunner runner)
+    {
+        PreCondition.assertNotNull(runner, "runner");
+
+        runner.testGroup(JSONTokenizerInput.class, () ->
+        {
+            runner.testGroup("create(Iterator<Character>)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONTokenizerInput.create((Iterator<Character>)null),
+                        new PreConditionFailure("characters cannot be null."));
+                });
+
+                runner.test("with empty", (Test test) ->
+                {
+                    final JSONTokenizerInput input = JSONTokenizerInput.create(Strings.iterable("").iterate());
+                    final char[] buffer = new char[3];
+                    test.assertEqual(-1, input.read(buffer, 0, 3));
+                });
+
+                runner.test("with non-empty", (Test test) ->
+                {
+                    final JSONTokenizerInput input = JSONTokenizerInput.create(Strings.iterable("ab").iterate());
+                    final char[] buffer = new char[3];
+                    test.assertEqual(1, input.read(buffer, 1, 2));
+                    test.assertEqual('a', buffer[1]);
+                    test.assertEqual(1, input.read(buffer, 0, 3));
+                    test.assertEqual('b', buffer[0]);
+                    test.assertEqual(-1, input.read(buffer, 0, 3));
+                });
+            });
+
+            runner.testGroup("create(CharSequence)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONTokenizerInput.create((CharSequence)null),
+                        new PreConditionFailure("characters cannot be null."));
+                });
+
+                runner.test("with empty", (Test test) ->
+                {
+                    final JSONTokenizerInput input = JSONTokenizerInput.create("");
+                    final char[] buffer = new char[3];
+                    test.assertEqual(-1, input.read(buffer, 0, 3));
+                });
+
+                runner.test("with more characters than the buffer", (Test test) ->
+                {
+                    final JSONTokenizerInput input = JSONTokenizerInput.create("abcde");
+                    final char[] buffer = new char[3];
+                    test.assertEqual(3, input.read(buffer, 0, 3));
+                    test.assertEqual("abc", new String(buffer));
+                    test.assertEqual(2, input.read(buffer, 1, 2));
+                    test.assertEqual("ade", new String(buffer));
+                    test.assertEqual(-1, input.read(buffer, 0, 3));
+                });
+            });
+        });
+    }
+}
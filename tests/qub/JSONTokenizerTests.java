@@ -181,6 +181,451 @@ public interface JSONTokenizerTests
                     JSONToken.lineComment("// 4")));
             });
 
+            runner.testGroup("create(char[])", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONTokenizer.create((char[])null),
+                        new PreConditionFailure("characters cannot be null."));
+                });
+
+                runner.test("with empty", (Test test) ->
+                {
+                    final JSONTokenizer tokenizer = JSONTokenizer.create(new char[0]);
+                    test.assertFalse(tokenizer.next());
+                    test.assertTrue(tokenizer.hasStarted());
+                    test.assertFalse(tokenizer.hasCurrent());
+                });
+
+                runner.test("with tokens", (Test test) ->
+                {
+                    final JSONTokenizer tokenizer = JSONTokenizer.create("{\"a\": [1, true]}".toCharArray());
+                    test.assertEqual(
+                        Iterable.create(
+                            JSONToken.leftCurlyBracket,
+                            JSONToken.quotedString("\"a\""),
+                            JSONToken.colon,
+                            JSONToken.whitespace(" "),
+                            JSONToken.leftSquareBracket,
+                            JSONToken.number("1"),
+                            JSONToken.comma,
+                            JSONToken.whitespace(" "),
+                            JSONToken.trueToken,
+                            JSONToken.rightSquareBracket,
+                            JSONToken.rightCurlyBracket),
+                        tokenizer.toList());
+                });
+            });
+
+            runner.testGroup("create(char[],int,int)", () ->
+            {
+                runner.test("with negative startIndex", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONTokenizer.create(new char[] { '1' }, -1, 1),
+                        new PreConditionFailure("startIndex (-1) must be between 0 and 1."));
+                });
+
+                runner.test("with length past the end of the characters", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONTokenizer.create(new char[] { '1' }, 0, 2),
+                        new PreConditionFailure("length (2) must be between 0 and 1."));
+                });
+
+                runner.test("with characters in the middle of the array", (Test test) ->
+                {
+                    final JSONTokenizer tokenizer = JSONTokenizer.create("xx[50]yy".toCharArray(), 2, 4);
+                    test.assertEqual(
+                        Iterable.create(
+                            JSONToken.leftSquareBracket,
+                            JSONToken.number("50"),
+                            JSONToken.rightSquareBracket),
+                        tokenizer.toList());
+                });
+            });
+
+            runner.testGroup("create(CharSequence)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONTokenizer.create((CharSequence)null),
+                        new PreConditionFailure("characters cannot be null."));
+                });
+
+                runner.test("with StringBuilder", (Test test) ->
+                {
+                    final JSONTokenizer tokenizer = JSONTokenizer.create(new StringBuilder("[null,'b']"));
+                    test.assertEqual(
+                        Iterable.create(
+                            JSONToken.leftSquareBracket,
+                            JSONToken.nullToken,
+                            JSONToken.comma,
+                            JSONToken.quotedString("'b'"),
+                            JSONToken.rightSquareBracket),
+                        tokenizer.toList());
+                });
+
+                runner.test("with tokens that cross the tokenizer's buffer boundary", (Test test) ->
+                {
+                    final StringBuilder text = new StringBuilder();
+                    final StringBuilder longString = new StringBuilder("\"");
+                    for (int i = 0; i < 5000; ++i)
+                    {
+                        text.append(' ');
+                        longString.append((char)('a' + (i % 26)));
+                    }
+                    longString.append('\"');
+                    text.append(longString).append("12345");
+
+                    final JSONTokenizer tokenizer = JSONTokenizer.create(text);
+                    test.assertEqual(
+                        Iterable.create(
+                            JSONToken.whitespace(text.substring(0, 5000)),
+                            JSONToken.quotedString(longString.toString()),
+                            JSONToken.number("12345")),
+                        tokenizer.toList());
+                });
+            });
+
+            runner.testGroup("create(Iterator<Character>)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONTokenizer.create((Iterator<Character>)null),
+                        new PreConditionFailure("characters cannot be null."));
+                });
+
+                runner.test("with tokens", (Test test) ->
+                {
+                    final JSONTokenizer tokenizer = JSONTokenizer.create(Strings.iterable("// a\r\n-1.5e3").iterate());
+                    test.assertEqual(
+                        Iterable.create(
+                            JSONToken.lineComment("// a"),
+                            JSONToken.carriageReturnNewLine,
+                            JSONToken.number("-1.5e3")),
+                        tokenizer.toList());
+                });
+
+                runner.test("only reads the characters that it needs", (Test test) ->
+                {
+                    final Iterator<Character> characters = Strings.iterable("[]").iterate();
+                    final JSONTokenizer tokenizer = JSONTokenizer.create(characters);
+                    test.assertTrue(tokenizer.next());
+                    test.assertEqual(JSONToken.leftSquareBracket, tokenizer.getCurrent());
+                    test.assertTrue(characters.hasCurrent());
+                    test.assertEqual(']', characters.getCurrent());
+                });
+            });
+
+            runner.testGroup("getNameTable()", () ->
+            {
+                runner.test("with new tokenizer", (Test test) ->
+                {
+                    final JSONTokenizer tokenizer = JSONTokenizer.create("");
+                    final JSONNameTable names = tokenizer.getNameTable();
+                    test.assertNotNull(names);
+                    test.assertSame(names, tokenizer.getNameTable());
+                });
+            });
+
+            runner.testGroup("setNameTable(JSONNameTable)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONTokenizer.create("").setNameTable(null),
+                        new PreConditionFailure("names cannot be null."));
+                });
+
+                runner.test("with non-null", (Test test) ->
+                {
+                    final JSONTokenizer tokenizer = JSONTokenizer.create("");
+                    final JSONNameTable names = JSONNameTable.create();
+                    test.assertSame(tokenizer, tokenizer.setNameTable(names));
+                    test.assertSame(names, tokenizer.getNameTable());
+                });
+            });
+
+            runner.testGroup("getParseOptions()", () ->
+            {
+                runner.test("with new tokenizer", (Test test) ->
+                {
+                    final JSONTokenizer tokenizer = JSONTokenizer.create("");
+                    final JSONParseOptions options = tokenizer.getParseOptions();
+                    test.assertEqual(JSONParseOptions.create(), options);
+                    test.assertSame(options, tokenizer.getParseOptions());
+                });
+            });
+
+            runner.testGroup("setParseOptions(JSONParseOptions)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONTokenizer.create("").setParseOptions(null),
+                        new PreConditionFailure("parseOptions cannot be null."));
+                });
+
+                runner.test("with non-null", (Test test) ->
+                {
+                    final JSONTokenizer tokenizer = JSONTokenizer.create("");
+                    final JSONParseOptions options = JSONParseOptions.create();
+                    test.assertSame(tokenizer, tokenizer.setParseOptions(options));
+                    test.assertSame(options, tokenizer.getParseOptions());
+                });
+
+                runner.test("with options that change afterwards", (Test test) ->
+                {
+                    final JSONParseOptions options = JSONParseOptions.create();
+                    final JSONTokenizer tokenizer = JSONTokenizer.create("[[1]]").setParseOptions(options);
+                    options.setMaxDepth(1);
+                    test.assertEqual(5, tokenizer.toList().getCount());
+                });
+
+                final Action3<JSONParseOptions,String,Integer> setParseOptionsTest = (JSONParseOptions options, String text, Integer expectedTokenCount) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text) + " and " + options.getMaxDepth() + "," + options.getMaxMembers() + "," + options.getMaxStringLength() + "," + options.getMaxTotalLength(), (Test test) ->
+                    {
+                        final JSONTokenizer tokenizer = JSONTokenizer.create(text).setParseOptions(options);
+                        test.assertEqual(expectedTokenCount, tokenizer.toList().getCount());
+                    });
+                };
+
+                setParseOptionsTest.run(JSONParseOptions.create().setMaxDepth(0), "\"a\"", 1);
+                setParseOptionsTest.run(JSONParseOptions.create().setMaxDepth(1), "[1] {}", 6);
+                setParseOptionsTest.run(JSONParseOptions.create().setMaxDepth(2), "[[1], {\"a\": 2}]", 13);
+                setParseOptionsTest.run(JSONParseOptions.create().setMaxDepth(1), "]] [1]", 6);
+                setParseOptionsTest.run(JSONParseOptions.create().setMaxMembers(1), "[] [1] {\"a\": 1}", 13);
+                setParseOptionsTest.run(JSONParseOptions.create().setMaxMembers(2), "[[1, 2], {\"a\": 3, \"b\": 4}]", 22);
+                setParseOptionsTest.run(JSONParseOptions.create().setMaxMembers(1), "1, 2, 3", 7);
+                setParseOptionsTest.run(JSONParseOptions.create().setMaxStringLength(0), "\"\" ''", 3);
+                setParseOptionsTest.run(JSONParseOptions.create().setMaxStringLength(4), "\"abc\" 'a\\'b'", 3);
+                setParseOptionsTest.run(JSONParseOptions.create().setMaxTotalLength(0), "", 0);
+                setParseOptionsTest.run(JSONParseOptions.create().setMaxTotalLength(5), "[1,2]", 5);
+
+                final Action3<JSONParseOptions,String,Throwable> setParseOptionsErrorTest = (JSONParseOptions options, String text, Throwable expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text) + " and " + options.getMaxDepth() + "," + options.getMaxMembers() + "," + options.getMaxStringLength() + "," + options.getMaxTotalLength(), (Test test) ->
+                    {
+                        final JSONTokenizer tokenizer = JSONTokenizer.create(text).setParseOptions(options);
+                        test.assertThrows(() -> tokenizer.toList(), expected);
+                    });
+                };
+
+                setParseOptionsErrorTest.run(JSONParseOptions.create().setMaxDepth(0), "[]", new ParseException("Expected objects and arrays to be nested no more than 0 levels deep."));
+                setParseOptionsErrorTest.run(JSONParseOptions.create().setMaxDepth(2), "[{\"a\": [1]}]", new ParseException("Expected objects and arrays to be nested no more than 2 levels deep."));
+                setParseOptionsErrorTest.run(JSONParseOptions.create().setMaxMembers(1), "[1, 2]", new ParseException("Expected objects and arrays to have no more than 1 members."));
+                setParseOptionsErrorTest.run(JSONParseOptions.create().setMaxMembers(2), "[[1, 2], 3, 4]", new ParseException("Expected objects and arrays to have no more than 2 members."));
+                setParseOptionsErrorTest.run(JSONParseOptions.create().setMaxMembers(2), "{\"a\": 1, \"b\": 2, \"c\": 3}", new ParseException("Expected objects and arrays to have no more than 2 members."));
+                setParseOptionsErrorTest.run(JSONParseOptions.create().setMaxStringLength(0), "\"a\"", new ParseException("Expected quoted strings to have no more than 0 characters."));
+                setParseOptionsErrorTest.run(JSONParseOptions.create().setMaxStringLength(3), "{\"abcd\": 1}", new ParseException("Expected quoted strings to have no more than 3 characters."));
+                setParseOptionsErrorTest.run(JSONParseOptions.create().setMaxStringLength(3), "\"abcd", new ParseException("Expected quoted strings to have no more than 3 characters."));
+                setParseOptionsErrorTest.run(JSONParseOptions.create().setMaxTotalLength(4), "[1,2]", new ParseException("Expected the JSON to have no more than 4 characters."));
+
+                runner.test("with skipped value deeper than the maximum depth", (Test test) ->
+                {
+                    final JSONTokenizer tokenizer = JSONTokenizer.create("[{\"a\": [[[1]]]}, [2]]")
+                        .setParseOptions(JSONParseOptions.create().setMaxDepth(2));
+                    test.assertTrue(tokenizer.next());
+                    test.assertTrue(tokenizer.next());
+                    tokenizer.skipValue();
+                    test.assertEqual(JSONToken.rightCurlyBracket, tokenizer.getCurrent());
+                    test.assertEqual(
+                        Iterable.create(
+                            JSONToken.rightCurlyBracket,
+                            JSONToken.comma,
+                            JSONToken.whitespace(" "),
+                            JSONToken.leftSquareBracket,
+                            JSONToken.number("2"),
+                            JSONToken.rightSquareBracket,
+                            JSONToken.rightSquareBracket),
+                        tokenizer.toList());
+                });
+
+                runner.test("with endless quoted string", (Test test) ->
+                {
+                    final long[] charactersRead = new long[1];
+                    final JSONTokenizer tokenizer = JSONTokenizer.create((char[] buffer, int startIndex, int length) ->
+                    {
+                        for (int i = 0; i < length; ++i)
+                        {
+                            buffer[startIndex + i] = (charactersRead[0] + i == 0 ? '\"' : 'a');
+                        }
+                        charactersRead[0] += length;
+                        return length;
+                    });
+                    tokenizer.setParseOptions(JSONParseOptions.create().setMaxStringLength(100000));
+                    test.assertThrows(() -> tokenizer.next(),
+                        new ParseException("Expected quoted strings to have no more than 100000 characters."));
+                    test.assertTrue(charactersRead[0] <= 300000);
+                });
+
+                runner.test("with endless whitespace", (Test test) ->
+                {
+                    final long[] charactersRead = new long[1];
+                    final JSONTokenizer tokenizer = JSONTokenizer.create((char[] buffer, int startIndex, int length) ->
+                    {
+                        java.util.Arrays.fill(buffer, startIndex, startIndex + length, ' ');
+                        charactersRead[0] += length;
+                        return length;
+                    });
+                    tokenizer.setSkipTrivia(true).setParseOptions(JSONParseOptions.create().setMaxTotalLength(100000));
+                    test.assertThrows(() -> tokenizer.next(),
+                        new ParseException("Expected the JSON to have no more than 100000 characters."));
+                    test.assertTrue(charactersRead[0] <= 110000);
+                });
+
+                runner.test("with endless nested arrays", (Test test) ->
+                {
+                    final JSONTokenizer tokenizer = JSONTokenizer.create((char[] buffer, int startIndex, int length) ->
+                    {
+                        java.util.Arrays.fill(buffer, startIndex, startIndex + length, '[');
+                        return length;
+                    });
+                    tokenizer.setParseOptions(JSONParseOptions.create().setMaxDepth(1000));
+                    for (int i = 0; i < 1000; ++i)
+                    {
+                        test.assertTrue(tokenizer.next());
+                    }
+                    test.assertThrows(() -> tokenizer.next(),
+                        new ParseException("Expected objects and arrays to be nested no more than 1000 levels deep."));
+                });
+            });
+
+            runner.testGroup("getSkipTrivia()", () ->
+            {
+                runner.test("with new tokenizer", (Test test) ->
+                {
+                    test.assertFalse(JSONTokenizer.create("").getSkipTrivia());
+                });
+            });
+
+            runner.testGroup("setSkipTrivia(boolean)", () ->
+            {
+                runner.test("returns the tokenizer", (Test test) ->
+                {
+                    final JSONTokenizer tokenizer = JSONTokenizer.create("");
+                    test.assertSame(tokenizer, tokenizer.setSkipTrivia(true));
+                    test.assertTrue(tokenizer.getSkipTrivia());
+                    test.assertSame(tokenizer, tokenizer.setSkipTrivia(false));
+                    test.assertFalse(tokenizer.getSkipTrivia());
+                });
+
+                final Action2<String,Iterable<JSONToken>> skipTriviaTest = (String text, Iterable<JSONToken> expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        final JSONTokenizer tokenizer = JSONTokenizer.create(text).setSkipTrivia(true);
+                        test.assertEqual(expected, tokenizer.toList());
+                    });
+                };
+
+                skipTriviaTest.run("", Iterable.create());
+                skipTriviaTest.run(" \t\r\n\r\n", Iterable.create());
+                skipTriviaTest.run("// a\n/* b */", Iterable.create());
+                skipTriviaTest.run(
+                    " [ 1 ,// a\r\n /* b */\ttrue ]\n",
+                    Iterable.create(
+                        JSONToken.leftSquareBracket,
+                        JSONToken.number("1"),
+                        JSONToken.comma,
+                        JSONToken.trueToken,
+                        JSONToken.rightSquareBracket));
+
+                final Action2<String,Throwable> skipTriviaErrorTest = (String text, Throwable expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        final JSONTokenizer tokenizer = JSONTokenizer.create(text).setSkipTrivia(true);
+                        test.assertThrows(() -> tokenizer.toList(), expected);
+                    });
+                };
+
+                skipTriviaErrorTest.run("[] /", new ParseException("Missing comment start sequence second character."));
+                skipTriviaErrorTest.run("[] /a", new ParseException("Unrecognized comment start sequence second character: \"a\""));
+                skipTriviaErrorTest.run("[] /* a", new ParseException("Missing block comment end sequence (\"*/\")."));
+
+                runner.test("with whitespace that crosses the buffer boundary", (Test test) ->
+                {
+                    final StringBuilder text = new StringBuilder();
+                    for (int i = 0; i < 10000; ++i)
+                    {
+                        text.append(' ');
+                    }
+                    text.append("null");
+                    final JSONTokenizer tokenizer = JSONTokenizer.create((CharSequence)text).setSkipTrivia(true);
+                    test.assertEqual(Iterable.create(JSONToken.nullToken), tokenizer.toList());
+                });
+            });
+
+            runner.testGroup("skipValue()", () ->
+            {
+                runner.test("with no current token", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONTokenizer.create("[]").skipValue(),
+                        new PreConditionFailure("this.hasCurrent() cannot be false."));
+                });
+
+                runner.test("with scalar", (Test test) ->
+                {
+                    final JSONTokenizer tokenizer = JSONTokenizer.create("1 ]");
+                    tokenizer.next();
+                    tokenizer.skipValue();
+                    test.assertEqual(JSONToken.number("1"), tokenizer.getCurrent());
+                    test.assertTrue(tokenizer.next());
+                    test.assertEqual(JSONToken.whitespace(" "), tokenizer.getCurrent());
+                });
+
+                final Action3<String,JSONToken,Iterable<JSONToken>> skipValueTest = (String text, JSONToken expectedCurrent, Iterable<JSONToken> expectedRest) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        final JSONTokenizer tokenizer = JSONTokenizer.create(text).setSkipTrivia(true);
+                        tokenizer.next();
+                        tokenizer.skipValue();
+                        test.assertEqual(expectedCurrent, tokenizer.getCurrent());
+                        tokenizer.next();
+                        test.assertEqual(expectedRest, tokenizer.toList());
+                    });
+                };
+
+                skipValueTest.run("[]", JSONToken.rightSquareBracket, Iterable.create());
+                skipValueTest.run("{}, 1", JSONToken.rightCurlyBracket, Iterable.create(JSONToken.comma, JSONToken.number("1")));
+                skipValueTest.run("[[1], {\"a\": [2]}] null", JSONToken.rightSquareBracket, Iterable.create(JSONToken.nullToken));
+                skipValueTest.run("[\"]\", '[', \"\\\"]\"] 1", JSONToken.rightSquareBracket, Iterable.create(JSONToken.number("1")));
+                skipValueTest.run("{/* } */ // }\n} 1", JSONToken.rightCurlyBracket, Iterable.create(JSONToken.number("1")));
+                skipValueTest.run("[1 2 : } 1", JSONToken.rightCurlyBracket, Iterable.create(JSONToken.number("1")));
+
+                final Action2<String,Throwable> skipValueErrorTest = (String text, Throwable expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(text), (Test test) ->
+                    {
+                        final JSONTokenizer tokenizer = JSONTokenizer.create(text);
+                        tokenizer.next();
+                        test.assertThrows(() -> tokenizer.skipValue(), expected);
+                    });
+                };
+
+                skipValueErrorTest.run("[", new ParseException("Missing array right square bracket (']')."));
+                skipValueErrorTest.run("{\"a\": [1]", new ParseException("Missing object right curly bracket ('}')."));
+                skipValueErrorTest.run("[\"]", new ParseException("Missing quoted-string closing quote: \""));
+                skipValueErrorTest.run("[/* ]", new ParseException("Missing block comment end sequence (\"*/\")."));
+
+                runner.test("with value that crosses the buffer boundary", (Test test) ->
+                {
+                    final StringBuilder text = new StringBuilder("[");
+                    for (int i = 0; i < 10000; ++i)
+                    {
+                        text.append("{\"a\": \"]\\\"\"}, ");
+                    }
+                    text.append("1] true");
+                    final JSONTokenizer tokenizer = JSONTokenizer.create((CharSequence)text).setSkipTrivia(true);
+                    tokenizer.next();
+                    tokenizer.skipValue();
+                    test.assertEqual(JSONToken.rightSquareBracket, tokenizer.getCurrent());
+                    test.assertTrue(tokenizer.next());
+                    test.assertEqual(JSONToken.trueToken, tokenizer.getCurrent());
+                    test.assertFalse(tokenizer.next());
+                });
+            });
+
             runner.testGroup("isLetter(char)", () ->
             {
                 final Action2<Character,Boolean> isLetterTest = (Character character, Boolean expected) ->
@@ -0,0 +1,189 @@
+package qub;
+
+public interface JSONTreeParserTests
+{
+    static void test(TestRunner runner)
+    {
+        PreCondition.assertNotNull(runner, "runner");
+
+        runner.testGroup(JSONTreeParser.class, () ->
+        {
+            runner.testGroup("create(JSONNameTable)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONTreeParser.create(null),
+                        new PreConditionFailure("names cannot be null."));
+                });
+            });
+
+            runner.testGroup("add(JSONToken)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONTreeParser.create().add(null),
+                        new PreConditionFailure("token cannot be null."));
+                });
+
+                runner.test("with a scalar", (Test test) ->
+                {
+                    final JSONTreeParser parser = JSONTreeParser.create();
+                    test.assertEqual(JSONNumber.get("12"), parser.add(JSONToken.number("12")));
+                    test.assertFalse(parser.isParsingValue());
+                });
+
+                runner.test("with an object", (Test test) ->
+                {
+                    final JSONTreeParser parser = JSONTreeParser.create();
+                    test.assertNull(parser.add(JSONToken.leftCurlyBracket));
+                    test.assertTrue(parser.isParsingValue());
+                    test.assertNull(parser.add(JSONToken.quotedString("\"a\"")));
+                    test.assertNull(parser.add(JSONToken.colon));
+                    test.assertNull(parser.add(JSONToken.leftSquareBracket));
+                    test.assertNull(parser.add(JSONToken.trueToken));
+                    test.assertNull(parser.add(JSONToken.rightSquareBracket));
+                    test.assertTrue(parser.isParsingValue());
+                    test.assertEqual(
+                        JSONObject.create(JSONProperty.create("a", JSONArray.create(JSONBoolean.trueSegment))),
+                        parser.add(JSONToken.rightCurlyBracket));
+                    test.assertFalse(parser.isParsingValue());
+                });
+
+                final Action2<Iterable<JSONToken>,Throwable> addErrorTest = (Iterable<JSONToken> tokens, Throwable expected) ->
+                {
+                    runner.test("with " + tokens, (Test test) ->
+                    {
+                        final JSONTreeParser parser = JSONTreeParser.create();
+                        test.assertThrows(() ->
+                        {
+                            for (final JSONToken token : tokens)
+                            {
+                                parser.add(token);
+                            }
+                        },
+                        expected);
+                    });
+                };
+
+                addErrorTest.run(Iterable.create(JSONToken.colon), new ParseException("Unexpected JSON token: :"));
+                addErrorTest.run(Iterable.create(JSONToken.leftSquareBracket, JSONToken.comma), new ParseException("Expected array element."));
+                addErrorTest.run(Iterable.create(JSONToken.leftSquareBracket, JSONToken.nullToken, JSONToken.nullToken), new ParseException("Expected array element separator (',') or right square bracket (']')."));
+                addErrorTest.run(Iterable.create(JSONToken.leftCurlyBracket, JSONToken.comma), new ParseException("Expected quoted-string object property name or right curly bracket ('}')."));
+                addErrorTest.run(Iterable.create(JSONToken.leftCurlyBracket, JSONToken.quotedString("''")), new ParseException("Expected object property name to be not empty."));
+                addErrorTest.run(Iterable.create(JSONToken.leftCurlyBracket, JSONToken.quotedString("'a'"), JSONToken.comma), new ParseException("Expected object property name and value separator (':')."));
+                addErrorTest.run(Iterable.create(JSONToken.leftCurlyBracket, JSONToken.quotedString("'a'"), JSONToken.colon, JSONToken.comma), new ParseException("Expected object property value."));
+            });
+
+            runner.testGroup("getMissingMessage()", () ->
+            {
+                runner.test("when not parsing a value", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONTreeParser.create().getMissingMessage(),
+                        new PreConditionFailure("this.isParsingValue() cannot be false."));
+                });
+
+                final Action2<Iterable<JSONToken>,String> getMissingMessageTest = (Iterable<JSONToken> tokens, String expected) ->
+                {
+                    runner.test("with " + tokens, (Test test) ->
+                    {
+                        final JSONTreeParser parser = JSONTreeParser.create();
+                        for (final JSONToken token : tokens)
+                        {
+                            test.assertNull(parser.add(token));
+                        }
+                        test.assertEqual(expected, parser.getMissingMessage());
+                    });
+                };
+
+                getMissingMessageTest.run(Iterable.create(JSONToken.leftSquareBracket), "Missing array right square bracket (']').");
+                getMissingMessageTest.run(Iterable.create(JSONToken.leftSquareBracket, JSONToken.nullToken, JSONToken.comma), "Missing array element.");
+                getMissingMessageTest.run(Iterable.create(JSONToken.leftCurlyBracket), "Missing object right curly bracket ('}').");
+                getMissingMessageTest.run(Iterable.create(JSONToken.leftCurlyBracket, JSONToken.quotedString("'a'")), "Missing object property name and value separator (':').");
+                getMissingMessageTest.run(Iterable.create(JSONToken.leftCurlyBracket, JSONToken.quotedString("'a'"), JSONToken.colon), "Missing object property value.");
+                getMissingMessageTest.run(Iterable.create(JSONToken.leftCurlyBracket, JSONToken.quotedString("'a'"), JSONToken.colon, JSONToken.nullToken, JSONToken.comma), "Missing object property.");
+            });
+
+            runner.testGroup("parseLazy(char[],int,int,JSONNameTable)", () ->
+            {
+                runner.test("with object", (Test test) ->
+                {
+                    final char[] characters = "x {\"a\": [1, 2], \"b\": {\"c\": 3}, \"d\": 4} y".toCharArray();
+                    final JSONObject result = (JSONObject)JSONTreeParser.parseLazy(characters, 2, characters.length - 4, JSONNameTable.create());
+                    test.assertFalse(result.isLazy());
+                    test.assertTrue(result.getArray("a").await().isLazy());
+                    test.assertTrue(result.getObject("b").await().isLazy());
+                    test.assertEqual(JSONNumber.get(4), result.getNumberSegment("d").await());
+                    test.assertEqual(JSON.parseObject("{\"a\": [1, 2], \"b\": {\"c\": 3}, \"d\": 4}").await(), result);
+                });
+
+                runner.test("with array", (Test test) ->
+                {
+                    final char[] characters = "[[], {}]".toCharArray();
+                    final JSONArray result = (JSONArray)JSONTreeParser.parseLazy(characters, 0, characters.length, JSONNameTable.create());
+                    test.assertTrue(((JSONArray)result.get(0)).isLazy());
+                    test.assertTrue(((JSONObject)result.get(1)).isLazy());
+                    test.assertEqual(JSONArray.create(JSONArray.create(), JSONObject.create()), result);
+                });
+
+                runner.test("with nested value in the wrong place", (Test test) ->
+                {
+                    final char[] characters = "[1 [2]]".toCharArray();
+                    test.assertThrows(() -> JSONTreeParser.parseLazy(characters, 0, characters.length, JSONNameTable.create()),
+                        new ParseException("Expected array element separator (',') or right square bracket (']')."));
+                });
+            });
+
+            runner.testGroup("parse(JSONTokenizer)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONTreeParser.parse(null),
+                        new PreConditionFailure("tokenizer cannot be null."));
+                });
+
+                runner.test("with tokenizer with no current token", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONTreeParser.parse(JSONTokenizer.create("")),
+                        new PreConditionFailure("tokenizer.hasCurrent() cannot be false."));
+                });
+
+                runner.test("with tokens after the value", (Test test) ->
+                {
+                    final JSONTokenizer tokenizer = JSON.createTokenizer("[1, {\"a\": null}] 2");
+                    test.assertEqual(
+                        JSONArray.create(JSONNumber.get(1), JSONObject.create(JSONProperty.create("a", JSONNull.segment))),
+                        JSONTreeParser.parse(tokenizer));
+                    test.assertEqual(JSONToken.number("2"), tokenizer.getCurrent());
+                });
+
+                runner.test("with deeply nested arrays", (Test test) ->
+                {
+                    final int depth = 100000;
+                    final StringBuilder text = new StringBuilder();
+                    for (int i = 0; i < depth; ++i)
+                    {
+                        text.append('[');
+                    }
+                    for (int i = 0; i < depth; ++i)
+                    {
+                        text.append(']');
+                    }
+                    final JSONTokenizer tokenizer = JSON.createTokenizer(text.toString());
+                    JSONSegment segment = JSONTreeParser.parse(tokenizer);
+                    test.assertFalse(tokenizer.hasCurrent());
+                    for (int i = 1; i < depth; ++i)
+                    {
+                        segment = ((JSONArray)segment).get(0);
+                    }
+                    test.assertEqual(JSONArray.create(), segment);
+                });
+
+                runner.test("with missing closing bracket", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONTreeParser.parse(JSON.createTokenizer("[[1]")),
+                        new ParseException("Missing array right square bracket (']')."));
+                });
+            });
+        });
+    }
+}
@@ -0,0 +1,71 @@
+package qub;
+
+public interface JSONUTF8TokenizerInputTests
+{
+    static void test(TestRunner runner)
+    {
+        PreCondition.assertNotNull(runner, "runner");
+
+        runner.testGroup(JSONUTF8TokenizerInput.class, () ->
+        {
+            runner.testGroup("create(ByteReadStream)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONUTF8TokenizerInput.create((ByteReadStream)null),
+                        new PreConditionFailure("byteReadStream cannot be null."));
+                });
+            });
+
+            runner.testGroup("create(JSONByteInput)", () ->
+            {
+                runner.test("with null", (Test test) ->
+                {
+                    test.assertThrows(() -> JSONUTF8TokenizerInput.create((JSONByteInput)null),
+                        new PreConditionFailure("byteInput cannot be null."));
+                });
+            });
+
+            runner.testGroup("read(char[],int,int)", () ->
+            {
+                final Action3<byte[],Integer,String> readTest = (byte[] bytes, Integer bufferLength, String expected) ->
+                {
+                    runner.test("with " + Strings.escapeAndQuote(expected) + " and a buffer length of " + bufferLength, (Test test) ->
+                    {
+                        final JSONUTF8TokenizerInput input = JSONUTF8TokenizerInput.create(JSONByteInput.create(InMemoryByteStream.create(bytes).endOfStream()), bufferLength);
+                        final StringBuilder builder = new StringBuilder();
+                        final char[] buffer = new char[3];
+                        int charactersRead = input.read(buffer, 0, buffer.length);
+                        while (charactersRead != -1)
+                        {
+                            test.assertTrue(1 <= charactersRead && charactersRead <= buffer.length);
+                            builder.append(buffer, 0, charactersRead);
+                            charactersRead = input.read(buffer, 0, buffer.length);
+                        }
+                        test.assertEqual(expected, builder.toString());
+                    });
+                };
+
+                final Action2<String,Integer> readUTF8Test = (String text, Integer bufferLength) ->
+                {
+                    readTest.run(text.getBytes(java.nio.charset.StandardCharsets.UTF_8), bufferLength, text);
+                };
+
+                for (final int bufferLength : new int[] { 4, 5, 8192 })
+                {
+                    readUTF8Test.run("", bufferLength);
+                    readUTF8Test.run("{\"a\":[1,2,3]}", bufferLength);
+                    readUTF8Test.run("\"caf\u00E9\"", bufferLength);
+                    readUTF8Test.run("[\"5 \u20AC\"]", bufferLength);
+                    readUTF8Test.run("'\uD83D\uDE00'", bufferLength);
+                    readUTF8Test.run("\uD83D\uDE00\uD83D\uDE00\uD83D\uDE00", bufferLength);
+                }
+
+                readTest.run(new byte[] { '"', (byte)0xFF, '"' }, 4, "\"\uFFFD\"");
+                readTest.run(new byte[] { '"', (byte)0xC3, '"' }, 4, "\"\uFFFD\"");
+                readTest.run(new byte[] { '"', (byte)0xC0, (byte)0x80, '"' }, 4, "\"\uFFFD\uFFFD\"");
+                readTest.run(new byte[] { '"', (byte)0xE2, (byte)0x82 }, 4, "\"\uFFFD");
+            });
+        });
+    }
+}